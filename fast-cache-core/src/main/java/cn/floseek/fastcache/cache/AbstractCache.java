@@ -1,9 +1,14 @@
 package cn.floseek.fastcache.cache;
 
 import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.TtlJitter;
+import org.apache.commons.lang3.time.DurationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Objects;
+
 /**
  * 缓存抽象类
  *
@@ -34,6 +39,54 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
     public void close() {
     }
 
+    /**
+     * 计算缓存条目的存活时间，未指定存活时间时按缓存过期策略计算，过期策略未配置或返回 <code>null</code> 时使用默认存活时间，
+     * 配置了存活时间抖动策略时对结果应用抖动
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttl        指定的存活时间，可以为 <code>null</code>
+     * @param defaultTtl 默认存活时间，可以为 <code>null</code>
+     * @return 存活时间，<code>null</code> 表示永不过期
+     */
+    protected Duration resolveTtl(K key, V value, Duration ttl, Duration defaultTtl) {
+        return this.applyTtlJitter(key, this.resolveBaseTtl(key, value, ttl, defaultTtl));
+    }
+
+    /**
+     * 计算未应用抖动的存活时间
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttl        指定的存活时间，可以为 <code>null</code>
+     * @param defaultTtl 默认存活时间，可以为 <code>null</code>
+     * @return 存活时间，<code>null</code> 表示永不过期
+     */
+    protected Duration resolveBaseTtl(K key, V value, Duration ttl, Duration defaultTtl) {
+        if (Objects.isNull(ttl) && Objects.nonNull(config.getExpiry())) {
+            ttl = config.getExpiry().expireAfterCreate(key, value);
+        }
+        if (Objects.nonNull(ttl)) {
+            return ttl;
+        }
+        return Objects.nonNull(defaultTtl) && DurationUtils.isPositive(defaultTtl) ? defaultTtl : null;
+    }
+
+    /**
+     * 按缓存配置的存活时间抖动策略调整存活时间
+     *
+     * @param key 缓存键
+     * @param ttl 存活时间，可以为 <code>null</code>
+     * @return 抖动后的存活时间，<code>null</code> 表示永不过期
+     */
+    protected Duration applyTtlJitter(K key, Duration ttl) {
+        TtlJitter ttlJitter = config.getTtlJitter();
+        if (Objects.isNull(ttlJitter) || Objects.isNull(ttl) || !DurationUtils.isPositive(ttl)) {
+            return ttl;
+        }
+        return ttlJitter.apply(key, ttl);
+    }
+
     @Override
     public CacheConfig<K, V> getConfig() {
         return config;
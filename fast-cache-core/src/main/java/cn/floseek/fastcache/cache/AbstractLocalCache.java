@@ -1,7 +1,22 @@
 package cn.floseek.fastcache.cache;
 
+import cn.floseek.fastcache.cache.snapshot.SnapshotEntry;
+import cn.floseek.fastcache.common.exception.CacheException;
 import cn.floseek.fastcache.config.CacheConfig;
 import cn.floseek.fastcache.common.enums.CacheType;
+import org.apache.commons.lang3.time.DurationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * 本地缓存抽象类
@@ -12,6 +27,28 @@ import cn.floseek.fastcache.common.enums.CacheType;
  */
 public abstract class AbstractLocalCache<K, V> extends AbstractCache<K, V> {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractLocalCache.class);
+
+    /**
+     * 关闭时执行的回调
+     */
+    private final List<Runnable> closeCallbacks = new CopyOnWriteArrayList<>();
+
+    /**
+     * 从快照恢复期间写入或删除过的缓存键，未在恢复时为 <code>null</code>
+     */
+    private volatile Set<Object> restoreSkippedKeys;
+
+    /**
+     * 从快照恢复期间是否清空过缓存
+     */
+    private volatile boolean restoreCleared;
+
+    /**
+     * 恢复的条目的数据时间戳（毫秒），0 表示没有恢复过条目
+     */
+    private volatile long restoredAt;
+
     public AbstractLocalCache(CacheConfig<K, V> config) {
         super(config);
     }
@@ -21,4 +58,233 @@ public abstract class AbstractLocalCache<K, V> extends AbstractCache<K, V> {
         return CacheType.LOCAL;
     }
 
+    /**
+     * 清空本地缓存
+     */
+    public abstract void clear();
+
+    /**
+     * 获取已缓存的值，不触发本地缓存自身的加载，未命中时返回 <code>null</code>
+     *
+     * @param key 缓存键
+     * @return 缓存值
+     */
+    public V getIfPresent(K key) {
+        return this.get(key);
+    }
+
+    /**
+     * 批量获取已缓存的值，不触发本地缓存自身的加载
+     *
+     * @param keys 缓存键集合
+     * @return 命中的缓存值
+     * @see #getIfPresent(Object)
+     */
+    public Map<K, V> getAllPresent(Collection<? extends K> keys) {
+        return this.getAll(keys);
+    }
+
+    /**
+     * 关闭本地缓存，执行关闭回调，覆盖该方法的子类应调用 <code>super.close()</code>
+     */
+    @Override
+    public void close() {
+        for (Runnable callback : closeCallbacks) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                log.error("Failed to run close callback, cacheName: {}", config.getCacheName(), e);
+            }
+        }
+        closeCallbacks.clear();
+    }
+
+    /**
+     * 添加关闭回调，如从内存预算中取消注册
+     *
+     * @param callback 关闭回调
+     */
+    public void addCloseCallback(Runnable callback) {
+        closeCallbacks.add(callback);
+    }
+
+    /**
+     * 计算本地缓存条目的存活时间，不超过本地缓存过期时间，抖动在截断到本地缓存过期时间之后应用
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @param ttl   指定的存活时间，可以为 <code>null</code>
+     * @return 存活时间，<code>null</code> 表示永不过期
+     */
+    protected Duration resolveLocalTtl(K key, V value, Duration ttl) {
+        Duration localExpireTime = config.getLocalExpireTime();
+        Duration resolvedTtl = this.resolveBaseTtl(key, value, ttl, localExpireTime);
+        if (Objects.nonNull(resolvedTtl) && Objects.nonNull(localExpireTime) && DurationUtils.isPositive(localExpireTime)
+                && resolvedTtl.compareTo(localExpireTime) > 0) {
+            resolvedTtl = localExpireTime;
+        }
+        return this.applyTtlJitter(key, resolvedTtl);
+    }
+
+    /**
+     * 运行时调整最大权重，仅对按权重限制容量的缓存生效
+     *
+     * @param maximumWeight 最大权重
+     * @return 是否调整成功，不支持调整时返回 <code>false</code>
+     */
+    public boolean setMaximumWeight(long maximumWeight) {
+        return false;
+    }
+
+    /**
+     * 设置淘汰监听器，缓存条目因容量或过期被淘汰时在淘汰线程上同步回调，主动删除和清空不回调
+     *
+     * @param listener 淘汰监听器，参数为被淘汰的缓存键
+     * @return 是否设置成功，不支持时返回 <code>false</code>
+     */
+    public boolean setEvictionListener(Consumer<? super K> listener) {
+        return false;
+    }
+
+    /**
+     * 获取当前缓存条目的总权重
+     *
+     * @return 总权重，不支持时返回 -1
+     */
+    public long getWeightedSize() {
+        return -1;
+    }
+
+    /**
+     * 获取未命中次数，按权重限制容量的缓存才记录
+     *
+     * @return 未命中次数，不支持时返回 -1
+     */
+    public long getMissCount() {
+        return -1;
+    }
+
+    /**
+     * 是否由本地缓存自身完成缓存加载和刷新，为 <code>true</code> 时不再添加缓存加载器装饰器和缓存刷新装饰器
+     *
+     * @return boolean
+     */
+    public boolean supportLoading() {
+        return false;
+    }
+
+    /**
+     * 是否支持快照
+     *
+     * @return boolean
+     */
+    public boolean supportSnapshot() {
+        return false;
+    }
+
+    /**
+     * 获取最热的缓存条目，用于生成快照
+     *
+     * @param limit 最大条目数量
+     * @return 按热度降序排列的快照条目列表
+     */
+    public List<SnapshotEntry<K, V>> snapshot(int limit) {
+        throw new CacheException("Snapshot not supported by local cache: " + this.getClass().getName());
+    }
+
+    /**
+     * 开始从快照恢复，之后写入、删除或清空的缓存键不再被快照中的旧值覆盖，
+     * 需要在订阅失效广播之前调用，避免恢复完成前收到的失效通知丢失
+     *
+     * @param snapshotAt 快照的创建时间戳（毫秒）
+     */
+    public void beginRestore(long snapshotAt) {
+        restoreCleared = false;
+        restoreSkippedKeys = ConcurrentHashMap.newKeySet();
+        this.updateRestoredAt(snapshotAt);
+    }
+
+    /**
+     * 结束从快照恢复
+     */
+    public void endRestore() {
+        restoreSkippedKeys = null;
+    }
+
+    /**
+     * 获取恢复的条目的数据时间戳，该时间之后其他实例发出的失效广播没有作用到恢复的条目上，
+     * 支持补发的广播传输方式从该时间开始重新读取
+     *
+     * @return 毫秒时间戳，0 表示没有恢复过条目
+     */
+    public long getRestoredAt() {
+        return restoredAt;
+    }
+
+    /**
+     * 更新恢复的条目的数据时间戳，多次恢复时保留最早的时间
+     *
+     * @param timestamp 毫秒时间戳
+     */
+    protected synchronized void updateRestoredAt(long timestamp) {
+        if (timestamp > 0 && (restoredAt == 0 || timestamp < restoredAt)) {
+            restoredAt = timestamp;
+        }
+    }
+
+    /**
+     * 记录从快照恢复期间写入或删除的缓存键，子类在写入和删除之前调用
+     *
+     * @param key 缓存键
+     */
+    protected void skipRestore(Object key) {
+        Set<Object> skippedKeys = restoreSkippedKeys;
+        if (Objects.nonNull(skippedKeys)) {
+            skippedKeys.add(key);
+        }
+    }
+
+    /**
+     * 记录从快照恢复期间批量写入或删除的缓存键
+     *
+     * @param keys 缓存键集合
+     */
+    protected void skipRestoreAll(Collection<?> keys) {
+        Set<Object> skippedKeys = restoreSkippedKeys;
+        if (Objects.nonNull(skippedKeys)) {
+            skippedKeys.addAll(keys);
+        }
+    }
+
+    /**
+     * 记录从快照恢复期间清空了缓存，之后快照中的条目都不再恢复
+     */
+    protected void skipRestoreAll() {
+        if (Objects.nonNull(restoreSkippedKeys)) {
+            restoreCleared = true;
+        }
+    }
+
+    /**
+     * 判断缓存键是否在从快照恢复期间被写入或删除过
+     *
+     * @param key 缓存键
+     * @return boolean
+     */
+    protected boolean isRestoreSkipped(Object key) {
+        Set<Object> skippedKeys = restoreSkippedKeys;
+        return Objects.nonNull(skippedKeys) && (restoreCleared || skippedKeys.contains(key));
+    }
+
+    /**
+     * 从快照恢复缓存条目，缓存中已存在该键或恢复期间写入、删除过该键时忽略
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @param ttl   剩余存活时间，<code>null</code> 表示永不过期
+     */
+    public void restore(K key, V value, Duration ttl) {
+        throw new CacheException("Snapshot not supported by local cache: " + this.getClass().getName());
+    }
+
 }
@@ -1,13 +1,28 @@
 package cn.floseek.fastcache.cache;
 
+import cn.floseek.fastcache.common.constant.CacheConstant;
+import cn.floseek.fastcache.common.exception.CacheException;
 import cn.floseek.fastcache.config.CacheConfig;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.util.CacheUtils;
 
 import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 本地缓存抽象类
+ * <p>
+ * 缓存键中包含缓存的命名空间版本号，格式为 <code>缓存名称:#版本号:缓存键</code>，未清空过时版本号为 0。
+ * {@link #clear()} 递增版本号后全部旧缓存键不再被访问，并按存活时间自然过期。版本号缓存在本地，每
+ * {@link #GENERATION_REFRESH_MILLIS} 毫秒由一个线程从分布式缓存重新读取，读取期间其他线程继续使用本地的版本号；
+ * 收到其他实例的清空通知后，构建缓存键前等待同一次读取完成，不会读取旧版本号下的缓存值
+ * </p>
  *
  * @param <K> 缓存键类型
  * @param <V> 缓存值类型
@@ -15,6 +30,33 @@ import java.nio.charset.Charset;
  */
 public abstract class AbstractRemoteCache<K, V> extends AbstractCache<K, V> {
 
+    /**
+     * 本地缓存的版本号的有效时间（毫秒）
+     */
+    public static final long GENERATION_REFRESH_MILLIS = 1000;
+
+    private static final long GENERATION_REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(GENERATION_REFRESH_MILLIS);
+
+    /**
+     * 本地缓存的命名空间版本号
+     */
+    private volatile long generation;
+
+    /**
+     * 版本号的读取时间，0 表示需要等待重新读取
+     */
+    private volatile long generationLoadedNanos;
+
+    /**
+     * 版本号的失效次数，用于丢弃失效前发起的读取结果
+     */
+    private final AtomicLong generationResets = new AtomicLong();
+
+    /**
+     * 进行中的版本号读取，同一时间只有一个
+     */
+    private final AtomicReference<CompletableFuture<Long>> generationLoading = new AtomicReference<>();
+
     public AbstractRemoteCache(CacheConfig<K, V> config) {
         super(config);
     }
@@ -31,8 +73,212 @@ public abstract class AbstractRemoteCache<K, V> extends AbstractCache<K, V> {
      * @return 字节数组
      */
     public byte[] buildCacheKey(K key) {
-        String cacheKey = CacheUtils.generateKey(config.getCacheName(), config.getKeyConverter().convert(key));
+        return this.buildCacheKey(key, this.getGeneration());
+    }
+
+    /**
+     * 按指定的命名空间版本号构建缓存键，用于先通过 {@link #getGenerationAsync()} 异步获取版本号的场景
+     *
+     * @param key        缓存键
+     * @param generation 命名空间版本号
+     * @return 字节数组
+     */
+    public byte[] buildCacheKey(K key, long generation) {
+        // 始终写入版本号段，避免以 #版本号: 开头的缓存键与其他版本号下的缓存键冲突
+        String convertedKey = config.getKeyConverter().convert(key);
+        String cacheKey = CacheUtils.generateKey(config.getCacheName(), CacheConstant.GENERATION_MARKER + generation, convertedKey);
         return cacheKey.getBytes(Charset.defaultCharset());
     }
 
+    /**
+     * 递增命名空间版本号，使全部缓存键失效，旧版本号的缓存键按存活时间自然过期
+     */
+    @Override
+    public void clear() {
+        long newGeneration = this.incrementGeneration();
+        generationResets.incrementAndGet();
+        this.updateGeneration(newGeneration, Math.max(System.nanoTime(), 1));
+    }
+
+    /**
+     * 异步获取缓存值
+     * <p>
+     * 默认在调用线程同步获取，支持异步命令的实现应覆盖该方法，并通过 {@link #getGenerationAsync()} 获取命名空间版本号，
+     * 不阻塞调用线程
+     * </p>
+     *
+     * @param key 缓存键
+     * @return 缓存值，不存在时为 <code>null</code>
+     */
+    public CompletableFuture<V> getAsync(K key) {
+        try {
+            return CompletableFuture.completedFuture(this.get(key));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 异步批量获取缓存值
+     *
+     * @param keys 缓存键集合
+     * @return 命中的缓存值
+     * @see #getAsync(Object)
+     */
+    public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys) {
+        try {
+            return CompletableFuture.completedFuture(this.getAll(keys));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 获取命名空间版本号
+     * <p>
+     * 本地版本号过期时由一个线程从分布式缓存重新读取，其他线程直接返回当前版本号；
+     * 尚未读取过或已调用 {@link #resetGeneration()} 时等待读取完成
+     * </p>
+     *
+     * @return 命名空间版本号
+     */
+    public long getGeneration() {
+        long loadedNanos = generationLoadedNanos;
+        if (loadedNanos != 0) {
+            if (System.nanoTime() - loadedNanos >= GENERATION_REFRESH_NANOS) {
+                this.refreshGeneration();
+            }
+            return generation;
+        }
+
+        try {
+            return this.refreshGeneration().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CacheException("Failed to load cache generation: " + config.getCacheName(), e.getCause());
+        }
+    }
+
+    /**
+     * 异步获取命名空间版本号，与 {@link #getGeneration()} 共用同一次读取，不阻塞调用线程
+     *
+     * @return 命名空间版本号
+     */
+    public CompletableFuture<Long> getGenerationAsync() {
+        long loadedNanos = generationLoadedNanos;
+        if (loadedNanos == 0) {
+            return this.refreshGeneration();
+        }
+        if (System.nanoTime() - loadedNanos >= GENERATION_REFRESH_NANOS) {
+            this.refreshGeneration();
+        }
+        return CompletableFuture.completedFuture(generation);
+    }
+
+    /**
+     * 使本地缓存的版本号失效，下次构建缓存键时等待重新读取
+     */
+    public void resetGeneration() {
+        generationResets.incrementAndGet();
+        this.generationLoadedNanos = 0;
+        // 失效前发起的读取可能读到旧版本号，后续调用方不再等待它
+        generationLoading.set(null);
+    }
+
+    /**
+     * 从分布式缓存读取命名空间版本号
+     *
+     * @return 命名空间版本号，未清空过时为 0
+     */
+    protected long loadGeneration() {
+        return 0;
+    }
+
+    /**
+     * 从分布式缓存异步读取命名空间版本号，默认在调用线程同步读取，支持异步命令的实现应覆盖该方法
+     *
+     * @return 命名空间版本号，未清空过时为 0
+     */
+    protected CompletableFuture<Long> loadGenerationAsync() {
+        try {
+            return CompletableFuture.completedFuture(this.loadGeneration());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 单次读取命名空间版本号，已有进行中的读取时直接返回
+     *
+     * @return 读取结果
+     */
+    private CompletableFuture<Long> refreshGeneration() {
+        while (true) {
+            CompletableFuture<Long> loading = generationLoading.get();
+            if (loading != null) {
+                return loading;
+            }
+
+            CompletableFuture<Long> future = new CompletableFuture<>();
+            if (!generationLoading.compareAndSet(null, future)) {
+                continue;
+            }
+
+            long resets = generationResets.get();
+            long startNanos = System.nanoTime();
+            CompletableFuture<Long> load;
+            try {
+                load = this.loadGenerationAsync();
+            } catch (Exception e) {
+                load = CompletableFuture.failedFuture(e);
+            }
+            load.whenComplete((value, throwable) -> {
+                generationLoading.compareAndSet(future, null);
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+                // 读取期间发生过失效时，结果可能早于清空，只更新版本号而不更新读取时间
+                this.updateGeneration(value, resets == generationResets.get() ? startNanos : 0);
+                future.complete(Math.max(generation, value));
+            });
+            return future;
+        }
+    }
+
+    /**
+     * 更新本地的命名空间版本号，版本号只会递增
+     *
+     * @param value       读取到的版本号
+     * @param loadedNanos 读取时间，0 表示不更新读取时间
+     */
+    private synchronized void updateGeneration(long value, long loadedNanos) {
+        if (value > generation) {
+            generation = value;
+        }
+        if (loadedNanos != 0) {
+            generationLoadedNanos = Math.max(loadedNanos, 1);
+        }
+    }
+
+    /**
+     * 在分布式缓存中原子地递增命名空间版本号
+     *
+     * @return 递增后的命名空间版本号
+     */
+    protected long incrementGeneration() {
+        throw new CacheException("Clear not supported by remote cache: " + this.getClass().getName());
+    }
+
+    /**
+     * 获取命名空间版本号在分布式缓存中的键
+     *
+     * @return 版本号键
+     */
+    public String getGenerationKey() {
+        return CacheConstant.GENERATION_KEY_PREFIX + config.getCacheName();
+    }
+
 }
@@ -4,6 +4,7 @@ import cn.floseek.fastcache.config.CacheConfig;
 import cn.floseek.fastcache.common.enums.CacheType;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -61,6 +62,15 @@ public interface Cache<K, V> extends Closeable {
      */
     void put(K key, V value);
 
+    /**
+     * 设置缓存值并指定存活时间
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @param ttl   存活时间，本地缓存的存活时间不会超过本地缓存过期时间
+     */
+    void put(K key, V value, Duration ttl);
+
     /**
      * 批量设置缓存值
      *
@@ -68,6 +78,16 @@ public interface Cache<K, V> extends Closeable {
      */
     void putAll(Map<? extends K, ? extends V> map);
 
+    /**
+     * 批量设置缓存值并指定存活时间
+     *
+     * @param map 映射
+     * @param ttl 存活时间，本地缓存的存活时间不会超过本地缓存过期时间
+     */
+    default void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        map.forEach((key, value) -> this.put(key, value, ttl));
+    }
+
     /**
      * 删除缓存值
      *
@@ -82,6 +102,14 @@ public interface Cache<K, V> extends Closeable {
      */
     void removeAll(Collection<? extends K> keys);
 
+    /**
+     * 清空缓存
+     * <p>
+     * 分布式缓存通过递增缓存的命名空间版本号使全部缓存键失效，旧版本的缓存值按存活时间自然过期
+     * </p>
+     */
+    void clear();
+
     /**
      * 刷新缓存值
      *
@@ -0,0 +1,39 @@
+package cn.floseek.fastcache.cache;
+
+import java.time.Duration;
+
+/**
+ * 缓存过期策略
+ * <p>
+ * 按缓存条目计算存活时间，例如根据缓存值中的业务截止时间设置过期。返回 <code>null</code> 时使用缓存配置的过期时间，
+ * 本地缓存的存活时间不会超过本地缓存过期时间
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+@FunctionalInterface
+public interface CacheExpiry<K, V> {
+
+    /**
+     * 计算新写入的缓存条目的存活时间
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @return 存活时间，<code>null</code> 表示使用缓存配置的过期时间
+     */
+    Duration expireAfterCreate(K key, V value);
+
+    /**
+     * 计算被覆盖的缓存条目的存活时间，分布式缓存无法区分新写入和覆盖，始终按新写入计算
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @return 存活时间，<code>null</code> 表示使用缓存配置的过期时间
+     */
+    default Duration expireAfterUpdate(K key, V value) {
+        return this.expireAfterCreate(key, value);
+    }
+
+}
@@ -1,6 +1,10 @@
 package cn.floseek.fastcache.cache;
 
+import cn.floseek.fastcache.cache.family.CacheFamily;
+import cn.floseek.fastcache.cache.reactive.ReactiveCache;
+import cn.floseek.fastcache.cache.warmup.CacheWarmUpManager;
 import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.CacheFamilyPolicy;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.config.GlobalProperties;
 
@@ -35,6 +39,52 @@ public interface CacheManager extends AutoCloseable {
      */
     <K, V> Cache<K, V> getCache(CacheType cacheType, String cacheName);
 
+    /**
+     * 根据缓存名称获取缓存实例
+     * <p>
+     * 同名缓存存在多种类型时，按 {@link CacheType} 的声明顺序返回第一个
+     * </p>
+     *
+     * @param cacheName 缓存名称
+     * @param <K>       缓存键类型
+     * @param <V>       缓存值类型
+     * @return 缓存实例，不存在时返回 <code>null</code>
+     */
+    <K, V> Cache<K, V> getCache(String cacheName);
+
+    /**
+     * 获取或创建缓存实例的响应式视图，同一个缓存返回同一个视图
+     *
+     * @param config 缓存配置对象
+     * @param <K>    缓存键类型
+     * @param <V>    缓存值类型
+     * @return 响应式缓存
+     */
+    <K, V> ReactiveCache<K, V> getOrCreateReactiveCache(CacheConfig<K, V> config);
+
+    /**
+     * 获取缓存实例的响应式视图
+     *
+     * @param cacheType 缓存类型
+     * @param cacheName 缓存名称
+     * @param <K>       缓存键类型
+     * @param <V>       缓存值类型
+     * @return 响应式缓存，缓存不存在时返回 <code>null</code>
+     */
+    <K, V> ReactiveCache<K, V> getReactiveCache(CacheType cacheType, String cacheName);
+
+    /**
+     * 获取或创建缓存族，缓存族的成员共享一个本地存储和容量。缓存族只使用本地存储，成员数据不在实例之间同步
+     *
+     * @param config 缓存配置对象，缓存类型必须为 {@link CacheType#LOCAL}，不支持缓存同步；
+     *               缓存名称作为缓存族名称，本地缓存最大容量作为共享容量
+     * @param policy 缓存族策略，可以为 <code>null</code>
+     * @param <K>    缓存键类型
+     * @param <V>    缓存值类型
+     * @return 缓存族
+     */
+    <K, V> CacheFamily<K, V> getOrCreateFamily(CacheConfig<K, V> config, CacheFamilyPolicy policy);
+
     /**
      * 获取全局配置
      *
@@ -42,4 +92,11 @@ public interface CacheManager extends AutoCloseable {
      */
     GlobalProperties getGlobalProperties();
 
+    /**
+     * 获取缓存预热管理器
+     *
+     * @return 缓存预热管理器
+     */
+    CacheWarmUpManager getWarmUpManager();
+
 }
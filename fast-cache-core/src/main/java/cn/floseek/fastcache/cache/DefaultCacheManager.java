@@ -1,28 +1,46 @@
 package cn.floseek.fastcache.cache;
 
+import cn.floseek.fastcache.cache.broadcast.BatchingBroadcastManager;
 import cn.floseek.fastcache.cache.broadcast.BroadcastManager;
+import cn.floseek.fastcache.cache.budget.LocalMemoryBudget;
 import cn.floseek.fastcache.cache.builder.CacheBuilderManager;
 import cn.floseek.fastcache.cache.builder.LocalCacheBuilder;
 import cn.floseek.fastcache.cache.builder.RemoteCacheBuilder;
 import cn.floseek.fastcache.cache.decorator.BroadcastDecorator;
+import cn.floseek.fastcache.cache.decorator.CacheDecorator;
 import cn.floseek.fastcache.cache.decorator.CacheLoaderDecorator;
 import cn.floseek.fastcache.cache.decorator.RefreshCacheDecorator;
+import cn.floseek.fastcache.cache.family.CacheFamily;
+import cn.floseek.fastcache.cache.local.TieredLocalCache;
 import cn.floseek.fastcache.cache.multilevel.MultiLevelCacheBuilder;
+import cn.floseek.fastcache.cache.reactive.DefaultReactiveCache;
+import cn.floseek.fastcache.cache.reactive.ReactiveCache;
+import cn.floseek.fastcache.cache.snapshot.LocalCacheSnapshotManager;
+import cn.floseek.fastcache.cache.tracking.TrackedLocalCache;
+import cn.floseek.fastcache.cache.tracking.TrackingManager;
+import cn.floseek.fastcache.cache.warmup.CacheWarmUpManager;
 import cn.floseek.fastcache.common.enums.CacheSyncMode;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.common.enums.LocalCacheProvider;
 import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
 import cn.floseek.fastcache.common.exception.CacheException;
 import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.CacheFamilyPolicy;
 import cn.floseek.fastcache.config.GlobalProperties;
 import cn.floseek.fastcache.lock.LockTemplate;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -36,14 +54,39 @@ public class DefaultCacheManager implements CacheManager {
     private static final Logger log = LoggerFactory.getLogger(DefaultCacheManager.class);
 
     /**
-     * 缓存映射
+     * 缓存映射，先按缓存类型再按缓存名称查找，查找时不需要创建组合键
      */
-    private final Map<String, Cache<?, ?>> cacheMap = new ConcurrentHashMap<>();
+    private final Map<CacheType, Map<String, Cache<?, ?>>> cacheMap = newTypedMap();
+
+    /**
+     * 创建中的缓存映射，并发创建同一缓存时等待同一次创建完成
+     */
+    private final Map<CacheType, Map<String, CompletableFuture<Cache<?, ?>>>> pendingCacheMap = newTypedMap();
+
+    /**
+     * 缓存名称索引，供广播按缓存名称查找缓存。同名缓存存在多种类型时优先保留启用了广播的一个，
+     * 都启用或都未启用时保留 {@link CacheType} 声明顺序靠前的一个
+     */
+    private final Map<String, Cache<?, ?>> cacheNameIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 响应式缓存视图映射
+     */
+    private final Map<CacheType, Map<String, ReactiveCache<?, ?>>> reactiveCacheMap = newTypedMap();
+
+    /**
+     * 缓存族映射，key 为缓存族名称
+     */
+    private final Map<String, CacheFamily<?, ?>> familyMap = new ConcurrentHashMap<>();
 
     private GlobalProperties globalProperties;
     private CacheBuilderManager<?, ?> cacheBuilderManager;
     private LockTemplate lockTemplate;
     private BroadcastManager broadcastManager;
+    private TrackingManager trackingManager;
+    private LocalCacheSnapshotManager snapshotManager;
+    private CacheWarmUpManager warmUpManager;
+    private LocalMemoryBudget memoryBudget;
 
     private DefaultCacheManager() {
     }
@@ -55,10 +98,210 @@ public class DefaultCacheManager implements CacheManager {
 
         // 初始化广播管理器
         this.initBroadcastManager();
+
+        // 初始化本地缓存快照管理器
+        if (globalProperties.getSnapshot().isEnabled()) {
+            this.snapshotManager = new LocalCacheSnapshotManager(globalProperties.getSnapshot());
+        }
+
+        // 初始化缓存预热管理器
+        this.warmUpManager = new CacheWarmUpManager(globalProperties.getWarmUp());
+
+        // 初始化本地缓存内存预算
+        Long budget = globalProperties.getLocal().getMemoryBudget();
+        if (Objects.nonNull(budget) && budget > 0) {
+            this.memoryBudget = new LocalMemoryBudget(globalProperties.getLocal());
+        }
     }
 
     @Override
     public <K, V> Cache<K, V> getOrCreateCache(CacheConfig<K, V> config) {
+        // 缓存已存在时只做两次无锁查找，不分配对象
+        Map<String, Cache<?, ?>> caches = this.getTypedMap(cacheMap, config.getCacheType());
+        String cacheName = config.getCacheName();
+        Cache<K, V> cache = Objects.isNull(cacheName) ? null : (Cache<K, V>) caches.get(cacheName);
+        if (cache != null) {
+            return cache;
+        }
+
+        // 在映射之外创建缓存，不持有映射的锁
+        return this.initCache(config, caches);
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getCache(CacheType cacheType, String cacheName) {
+        if (Objects.isNull(cacheType) || Objects.isNull(cacheName)) {
+            return null;
+        }
+        return (Cache<K, V>) cacheMap.get(cacheType).get(cacheName);
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getCache(String cacheName) {
+        return (Cache<K, V>) cacheNameIndex.get(cacheName);
+    }
+
+    @Override
+    public <K, V> ReactiveCache<K, V> getOrCreateReactiveCache(CacheConfig<K, V> config) {
+        Cache<K, V> cache = this.getOrCreateCache(config);
+        return this.getReactiveCache(config.getCacheType(), config.getCacheName(), cache);
+    }
+
+    @Override
+    public <K, V> ReactiveCache<K, V> getReactiveCache(CacheType cacheType, String cacheName) {
+        Cache<K, V> cache = this.getCache(cacheType, cacheName);
+        return Objects.isNull(cache) ? null : this.getReactiveCache(cacheType, cacheName, cache);
+    }
+
+    @Override
+    public <K, V> CacheFamily<K, V> getOrCreateFamily(CacheConfig<K, V> config, CacheFamilyPolicy policy) {
+        CacheFamily<K, V> family = (CacheFamily<K, V>) familyMap.get(config.getCacheName());
+        if (family != null) {
+            return family;
+        }
+
+        return (CacheFamily<K, V>) familyMap.computeIfAbsent(config.getCacheName(), key -> this.initFamily(config, policy));
+    }
+
+    @Override
+    public GlobalProperties getGlobalProperties() {
+        return globalProperties;
+    }
+
+    @Override
+    public CacheWarmUpManager getWarmUpManager() {
+        return warmUpManager;
+    }
+
+    /**
+     * 获取本地缓存内存预算
+     *
+     * @return 本地缓存内存预算，未配置时返回 <code>null</code>
+     */
+    public LocalMemoryBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (Objects.nonNull(broadcastManager)) {
+            try {
+                broadcastManager.close();
+            } catch (Exception e) {
+                log.error("Closing broadcast manager failed", e);
+            }
+            broadcastManager = null;
+        }
+
+        if (Objects.nonNull(trackingManager)) {
+            try {
+                trackingManager.close();
+            } catch (Exception e) {
+                log.error("Closing tracking manager failed", e);
+            }
+            trackingManager = null;
+        }
+
+        if (Objects.nonNull(snapshotManager)) {
+            try {
+                snapshotManager.close();
+            } catch (Exception e) {
+                log.error("Closing snapshot manager failed", e);
+            }
+            snapshotManager = null;
+        }
+
+        if (Objects.nonNull(memoryBudget)) {
+            memoryBudget.close();
+            memoryBudget = null;
+        }
+
+        if (MapUtils.isNotEmpty(familyMap)) {
+            familyMap.values().forEach(CacheFamily::close);
+            familyMap.clear();
+        }
+
+        cacheMap.forEach((cacheType, caches) -> {
+            caches.forEach((cacheName, cache) -> this.closeQuietly(cacheType, cacheName, cache));
+            caches.clear();
+        });
+        cacheNameIndex.clear();
+        reactiveCacheMap.values().forEach(Map::clear);
+    }
+
+    /**
+     * 获取缓存实例的响应式视图，包含分布式缓存的写入在 {@link Schedulers#boundedElastic()} 中执行
+     *
+     * @param cacheType 缓存类型
+     * @param cacheName 缓存名称
+     * @param cache     缓存实例
+     * @param <K>       缓存键类型
+     * @param <V>       缓存值类型
+     * @return 响应式缓存
+     */
+    private <K, V> ReactiveCache<K, V> getReactiveCache(CacheType cacheType, String cacheName, Cache<K, V> cache) {
+        return (ReactiveCache<K, V>) this.getTypedMap(reactiveCacheMap, cacheType).computeIfAbsent(cacheName,
+                key -> new DefaultReactiveCache<>(cache, Schedulers.boundedElastic()));
+    }
+
+    /**
+     * 创建按缓存类型划分的映射，创建后只读
+     *
+     * @param <T> 映射值类型
+     * @return 按缓存类型划分的映射
+     */
+    private static <T> Map<CacheType, Map<String, T>> newTypedMap() {
+        Map<CacheType, Map<String, T>> typedMap = new EnumMap<>(CacheType.class);
+        for (CacheType cacheType : CacheType.values()) {
+            typedMap.put(cacheType, new ConcurrentHashMap<>());
+        }
+        return typedMap;
+    }
+
+    /**
+     * 获取指定缓存类型的映射
+     *
+     * @param typedMap  按缓存类型划分的映射
+     * @param cacheType 缓存类型
+     * @param <T>       映射值类型
+     * @return 指定缓存类型的映射
+     */
+    private <T> Map<String, T> getTypedMap(Map<CacheType, Map<String, T>> typedMap, CacheType cacheType) {
+        if (Objects.isNull(cacheType)) {
+            throw new CacheException("Cache type must not be null");
+        }
+        return typedMap.get(cacheType);
+    }
+
+    /**
+     * 关闭缓存实例，异常只记录日志
+     *
+     * @param cacheType 缓存类型
+     * @param cacheName 缓存名称
+     * @param cache     缓存实例
+     */
+    private void closeQuietly(CacheType cacheType, String cacheName, Cache<?, ?> cache) {
+        try {
+            cache.close();
+        } catch (Exception e) {
+            log.error("Closing cache failed, cacheType: {}, cacheName: {}", cacheType, cacheName, e);
+        }
+    }
+
+    /**
+     * 初始化缓存实例，复制缓存配置后填充全局默认值，不修改调用方传入的缓存配置
+     * <p>
+     * 缓存在映射之外创建，不持有映射的锁；并发创建同一缓存时只有一个线程创建，其他线程等待创建完成后返回同一实例，
+     * 创建失败时抛出同一异常。独占资源（如磁盘缓存目录）的缓存因此只初始化一次
+     * </p>
+     *
+     * @param config 缓存配置对象
+     * @param caches 缓存类型对应的缓存映射
+     * @param <K>    缓存键类型
+     * @param <V>    缓存值类型
+     * @return 缓存实例
+     */
+    private <K, V> Cache<K, V> initCache(CacheConfig<K, V> config, Map<String, Cache<?, ?>> caches) {
         // 参数校验
         if (cacheBuilderManager == null) {
             throw new CacheException("CacheBuilderManager is not initialized");
@@ -69,110 +312,178 @@ public class DefaultCacheManager implements CacheManager {
         }
 
         // 初始化配置参数
+        config = config.copy();
         if (Objects.isNull(config.getCacheSyncMode())) {
             config.cacheSyncMode(globalProperties.getCacheSyncMode());
         }
         if (Objects.isNull(config.getLocalMaximumSize())) {
             config.localMaximumSize(globalProperties.getLocalCacheMaximumSize());
         }
+        if (Objects.isNull(config.getLocalMaximumWeight())) {
+            config.localMaximumWeight(globalProperties.getLocalCacheMaximumWeight());
+        }
         if (Objects.isNull(config.getKeyConverter())) {
             config.keyConverter(globalProperties.getRemoteCacheKeyConverter());
         }
         if (Objects.isNull(config.getValueSerializer())) {
             config.serializer(globalProperties.getRemoteCacheValueSerializer());
         }
-
-        // 生成映射的 key
-        String cacheMapKey = this.generateMapKey(config.getCacheType(), cacheName);
-
-        // 使用双重检查锁定模式获取缓存
-        Cache<K, V> cache = (Cache<K, V>) cacheMap.get(cacheMapKey);
-        if (cache == null) {
-            synchronized (cacheMap) {
-                cache = (Cache<K, V>) cacheMap.get(cacheMapKey);
-                if (cache == null) {
-                    cache = this.createCache(config);
-                    cacheMap.put(cacheMapKey, cache);
-                }
-            }
+        if (Objects.nonNull(config.getLocalMaximumWeight()) && Objects.isNull(config.getWeigher())) {
+            config.weigher(globalProperties.getLocal().getWeigher().createWeigher(config.getValueSerializer()));
         }
 
-        // 订阅广播频道
-        if (config.isSyncEnabled() && Objects.nonNull(broadcastManager) && !broadcastManager.isSubscribed()) {
-            this.subscribeBroadcast(config.getCacheSyncMode());
+        // 其他线程正在创建同一缓存时等待其完成
+        Map<String, CompletableFuture<Cache<?, ?>>> pendingCaches = this.getTypedMap(pendingCacheMap, config.getCacheType());
+        CompletableFuture<Cache<?, ?>> future = new CompletableFuture<>();
+        CompletableFuture<Cache<?, ?>> pendingCache = pendingCaches.putIfAbsent(cacheName, future);
+        if (pendingCache != null) {
+            return (Cache<K, V>) this.awaitCache(pendingCache);
         }
-        return cache;
-    }
-
-    @Override
-    public <K, V> Cache<K, V> getCache(CacheType cacheType, String cacheName) {
-        String cacheMapKey = this.generateMapKey(cacheType, cacheName);
-        return (Cache<K, V>) cacheMap.get(cacheMapKey);
-    }
 
-    @Override
-    public GlobalProperties getGlobalProperties() {
-        return globalProperties;
+        try {
+            // 首次查找之后其他线程可能已完成创建
+            Cache<K, V> cache = (Cache<K, V>) caches.get(cacheName);
+            if (cache == null) {
+                List<Runnable> registrations = new ArrayList<>();
+                cache = this.createCache(config, registrations);
+                caches.put(cacheName, cache);
+
+                cacheNameIndex.merge(cacheName, cache, this::selectIndexedCache);
+                // 订阅广播频道的登记在最后执行，此时本地缓存已开始从快照恢复，补发的消息可以按缓存名称找到缓存
+                registrations.forEach(Runnable::run);
+            }
+            future.complete(cache);
+            return cache;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 缓存放入映射之后再移除，之后的调用方总能在映射中找到
+            pendingCaches.remove(cacheName, future);
+        }
     }
 
-    @Override
-    public void close() throws Exception {
-        if (Objects.nonNull(broadcastManager)) {
-            try {
-                broadcastManager.close();
-            } catch (Exception e) {
-                log.error("Closing broadcast manager failed", e);
+    /**
+     * 等待其他线程创建缓存，创建失败时抛出创建线程的异常
+     *
+     * @param pendingCache 创建中的缓存
+     * @return 缓存实例
+     */
+    private Cache<?, ?> awaitCache(CompletableFuture<Cache<?, ?>> pendingCache) {
+        try {
+            return pendingCache.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            broadcastManager = null;
+            throw new CacheException("Failed to create cache", e.getCause());
         }
+    }
 
-        if (MapUtils.isNotEmpty(cacheMap)) {
-            cacheMap.forEach((key, cache) -> {
-                try {
-                    cache.close();
-                } catch (Exception e) {
-                    log.error("Closing cache failed, key: {}", key, e);
-                }
-            });
-            cacheMap.clear();
+    /**
+     * 选择缓存名称索引中保留的缓存，启用了广播的缓存优先，否则按缓存类型的声明顺序
+     *
+     * @param oldCache 索引中已有的缓存
+     * @param newCache 新创建的缓存
+     * @return 保留的缓存
+     */
+    private Cache<?, ?> selectIndexedCache(Cache<?, ?> oldCache, Cache<?, ?> newCache) {
+        boolean oldBroadcast = this.isBroadcastCache(oldCache);
+        if (oldBroadcast != this.isBroadcastCache(newCache)) {
+            return oldBroadcast ? oldCache : newCache;
         }
+        return oldCache.getCacheType().ordinal() <= newCache.getCacheType().ordinal() ? oldCache : newCache;
     }
 
     /**
-     * 生成映射的 key
+     * 判断缓存是否启用了广播
      *
-     * @param cacheType 缓存类型
-     * @param cacheName 缓存名称
-     * @return 映射的 key
+     * @param cache 缓存实例
+     * @return boolean
      */
-    private String generateMapKey(CacheType cacheType, String cacheName) {
-        return cacheName + "_" + cacheType;
+    private boolean isBroadcastCache(Cache<?, ?> cache) {
+        return cache instanceof CacheDecorator<?, ?> cacheDecorator && cacheDecorator.containsDecorator(BroadcastDecorator.class);
     }
 
     /**
-     * 创建缓存实例
+     * 初始化缓存族，缓存族只使用本地存储，复制缓存配置后填充本地缓存的全局默认值。
+     * 缓存族不支持分布式缓存、多级缓存和缓存同步，配置了这些选项时抛出异常，避免调用方误以为数据会在实例间共享
      *
      * @param config 缓存配置对象
+     * @param policy 缓存族策略
      * @param <K>    缓存键类型
      * @param <V>    缓存值类型
+     * @return 缓存族
+     */
+    private <K, V> CacheFamily<K, V> initFamily(CacheConfig<K, V> config, CacheFamilyPolicy policy) {
+        if (StringUtils.isBlank(config.getCacheName())) {
+            throw new CacheException("Cache family name must not be empty");
+        }
+        if (config.getCacheType() != CacheType.LOCAL) {
+            throw new CacheException("Cache family only supports local cache type, cacheName: " + config.getCacheName()
+                    + ", cacheType: " + config.getCacheType());
+        }
+        if (Objects.nonNull(config.getCacheSyncMode()) && config.getCacheSyncMode() != CacheSyncMode.NONE) {
+            throw new CacheException("Cache family does not support cache sync, cacheName: " + config.getCacheName()
+                    + ", cacheSyncMode: " + config.getCacheSyncMode());
+        }
+
+        config = config.copy();
+        if (Objects.isNull(config.getLocalMaximumSize())) {
+            config.localMaximumSize(globalProperties.getLocalCacheMaximumSize());
+        }
+        if (Objects.isNull(config.getLocalMaximumWeight())) {
+            config.localMaximumWeight(globalProperties.getLocalCacheMaximumWeight());
+        }
+        if (Objects.isNull(config.getValueSerializer())) {
+            config.serializer(globalProperties.getRemoteCacheValueSerializer());
+        }
+        if (Objects.nonNull(config.getLocalMaximumWeight()) && Objects.isNull(config.getWeigher())) {
+            config.weigher(globalProperties.getLocal().getWeigher().createWeigher(config.getValueSerializer()));
+        }
+        return new CacheFamily<>(config, policy);
+    }
+
+    /**
+     * 创建缓存实例
+     *
+     * @param config        缓存配置对象
+     * @param registrations 缓存生效后执行的登记操作
+     * @param <K>           缓存键类型
+     * @param <V>           缓存值类型
      * @return 缓存实例
      */
-    private <K, V> Cache<K, V> createCache(CacheConfig<K, V> config) {
+    private <K, V> Cache<K, V> createCache(CacheConfig<K, V> config, List<Runnable> registrations) {
         // 创建缓存实例
         Cache<K, V> cache;
+        Cache<K, V> localTier = null;
         if (config.getCacheType() == CacheType.LOCAL) {
-            cache = this.createLocalCache(config);
+            cache = this.createLocalCache(config, registrations);
+            this.registerSnapshot(config, cache, registrations);
+            localTier = cache;
         } else if (config.getCacheType() == CacheType.REMOTE) {
             cache = this.createRemoteCache(config);
         } else {
-            Cache<K, V> localCache = this.createLocalCache(config);
             Cache<K, V> remoteCache = this.createRemoteCache(config);
+            Cache<K, V> localCache;
+            if (config.isTrackingEnabled()) {
+                localCache = this.createTrackedLocalCache(config, remoteCache, registrations);
+            } else {
+                localCache = this.createLocalCache(config, registrations);
+                if (globalProperties.getLocal().isDiskTierEnabled()) {
+                    localCache = this.createTieredLocalCache(config, localCache);
+                }
+                this.registerSnapshot(config, localCache, registrations);
+            }
+            localTier = localCache;
             MultiLevelCacheBuilder<K, V> builder = new MultiLevelCacheBuilder<>(localCache, remoteCache);
 
             cache = builder.build(config);
         }
 
-        if (Objects.nonNull(config.getLoader())) {
+        // 本地缓存自身完成加载和刷新时不再添加装饰器
+        boolean selfLoading = cache instanceof AbstractLocalCache<K, V> localCache && localCache.supportLoading();
+        if (Objects.nonNull(config.getLoader()) && !selfLoading) {
             if (Objects.nonNull(config.getRefreshPolicy())) {
                 // 添加缓存刷新装饰器
                 cache = new RefreshCacheDecorator<>(cache, lockTemplate);
@@ -182,8 +493,16 @@ public class DefaultCacheManager implements CacheManager {
             }
         }
 
-        // 添加广播装饰器
-        if (config.isSyncEnabled()) {
+        // 登记缓存预热任务
+        if (config.isWarmUpEnabled()) {
+            Cache<K, V> warmUpCache = cache;
+            registrations.add(() -> warmUpManager.register(config, warmUpCache));
+        }
+
+        // 添加广播装饰器，订阅时补发本地缓存恢复的条目的数据时间之后的消息
+        if (config.isBroadcastEnabled()) {
+            AbstractLocalCache<K, V> restoredCache = localTier instanceof AbstractLocalCache<K, V> abstractLocalCache ? abstractLocalCache : null;
+            registrations.add(() -> this.subscribeBroadcast(config.getCacheName(), Objects.isNull(restoredCache) ? 0 : restoredCache.getRestoredAt()));
             return new BroadcastDecorator<>(cache, broadcastManager);
         }
 
@@ -193,12 +512,13 @@ public class DefaultCacheManager implements CacheManager {
     /**
      * 创建本地缓存
      *
-     * @param config 缓存配置
-     * @param <K>    缓存键类型
-     * @param <V>    缓存值类型
+     * @param config        缓存配置
+     * @param registrations 缓存生效后执行的登记操作
+     * @param <K>           缓存键类型
+     * @param <V>           缓存值类型
      * @return 本地缓存
      */
-    private <K, V> Cache<K, V> createLocalCache(CacheConfig<K, V> config) {
+    private <K, V> Cache<K, V> createLocalCache(CacheConfig<K, V> config, List<Runnable> registrations) {
         LocalCacheProvider provider = globalProperties.getLocalCacheProvider();
         LocalCacheBuilder<K, V> builder = (LocalCacheBuilder<K, V>) cacheBuilderManager.getLocalCacheBuilder(provider);
 
@@ -206,7 +526,88 @@ public class DefaultCacheManager implements CacheManager {
             throw new CacheException("LocalCacheBuilder not found for provider: " + provider);
         }
 
-        return builder.build(config);
+        // 未单独配置最大权重的堆内缓存从内存预算中分配，堆外缓存和磁盘缓存使用各自的字节容量
+        boolean budgeted = memoryBudget != null && Objects.isNull(config.getLocalMaximumWeight())
+                && (provider == LocalCacheProvider.CAFFEINE || provider == LocalCacheProvider.GUAVA);
+        if (!budgeted) {
+            return builder.build(config);
+        }
+
+        long share = memoryBudget.nextShare();
+        config.localMaximumWeight(share);
+        if (Objects.isNull(config.getWeigher())) {
+            config.weigher(globalProperties.getLocal().getWeigher().createWeigher(config.getValueSerializer()));
+        }
+        Cache<K, V> localCache = builder.build(config);
+        if (localCache instanceof AbstractLocalCache<K, V> abstractLocalCache) {
+            String budgetName = config.getCacheName() + "_" + config.getCacheType();
+            registrations.add(() -> {
+                LocalMemoryBudget budget = memoryBudget;
+                budget.register(budgetName, abstractLocalCache, share);
+                abstractLocalCache.addCloseCallback(() -> budget.unregister(budgetName, abstractLocalCache));
+            });
+        }
+        return localCache;
+    }
+
+    /**
+     * 在本地缓存之后增加磁盘缓存层
+     *
+     * @param config     缓存配置
+     * @param localCache 本地缓存
+     * @param <K>        缓存键类型
+     * @param <V>        缓存值类型
+     * @return 分层本地缓存，磁盘缓存不可用时返回原本地缓存
+     */
+    private <K, V> Cache<K, V> createTieredLocalCache(CacheConfig<K, V> config, Cache<K, V> localCache) {
+        if (globalProperties.getLocalCacheProvider() == LocalCacheProvider.DISK) {
+            return localCache;
+        }
+
+        LocalCacheBuilder<K, V> builder = (LocalCacheBuilder<K, V>) cacheBuilderManager.getLocalCacheBuilder(LocalCacheProvider.DISK);
+        if (builder == null) {
+            log.warn("Disk cache builder not found, disk tier disabled for cache: {}", config.getCacheName());
+            return localCache;
+        }
+        return new TieredLocalCache<>(config, localCache, builder.build(config));
+    }
+
+    /**
+     * 注册本地缓存快照，被跟踪的本地缓存恢复的条目不在跟踪范围内，因此不注册
+     *
+     * @param config        缓存配置
+     * @param localCache    本地缓存
+     * @param registrations 缓存生效后执行的登记操作
+     * @param <K>           缓存键类型
+     * @param <V>           缓存值类型
+     */
+    private <K, V> void registerSnapshot(CacheConfig<K, V> config, Cache<K, V> localCache, List<Runnable> registrations) {
+        if (snapshotManager != null && localCache instanceof AbstractLocalCache<K, V> abstractLocalCache) {
+            registrations.add(() -> snapshotManager.register(config.getCacheName(), config.getCacheType(), abstractLocalCache));
+        }
+    }
+
+    /**
+     * 创建被跟踪的本地缓存
+     *
+     * @param config        缓存配置
+     * @param remoteCache   分布式缓存
+     * @param registrations 缓存生效后执行的登记操作
+     * @param <K>           缓存键类型
+     * @param <V>           缓存值类型
+     * @return 本地缓存
+     */
+    private <K, V> Cache<K, V> createTrackedLocalCache(CacheConfig<K, V> config, Cache<K, V> remoteCache, List<Runnable> registrations) {
+        Cache<K, V> localCache = this.createLocalCache(config, registrations);
+        TrackingManager manager = this.getOrInitTrackingManager();
+        if (manager == null) {
+            log.warn("Tracking not available, local cache will not be synchronized: {}", config.getCacheName());
+            return localCache;
+        }
+
+        TrackedLocalCache<K, V> trackedLocalCache = new TrackedLocalCache<>(localCache);
+        registrations.add(() -> manager.track(trackedLocalCache, remoteCache));
+        return trackedLocalCache;
     }
 
     /**
@@ -247,7 +648,12 @@ public class DefaultCacheManager implements CacheManager {
         }
 
         broadcastManager = builder.createBroadcastManager(this);
-        if (globalProperties.getCacheSyncMode() == CacheSyncMode.NONE) {
+        GlobalProperties.CacheSyncStrategy syncStrategy = globalProperties.getSyncStrategy();
+        if (syncStrategy.isBatchEnabled()) {
+            broadcastManager = new BatchingBroadcastManager(broadcastManager, syncStrategy.getBatchMaxDelay(), syncStrategy.getBatchMaxSize());
+        }
+        if (globalProperties.getCacheSyncMode() == CacheSyncMode.NONE
+                || globalProperties.getCacheSyncMode() == CacheSyncMode.TRACKING) {
             log.info("Broadcast manager initialized, skip subscribe broadcast");
             return;
         }
@@ -257,22 +663,40 @@ public class DefaultCacheManager implements CacheManager {
     }
 
     /**
-     * 订阅广播频道
+     * 获取或初始化服务端辅助失效管理器
      *
-     * @param cacheSyncMode 缓存同步模式
+     * @return 服务端辅助失效管理器，不支持时返回 <code>null</code>
      */
-    private void subscribeBroadcast(CacheSyncMode cacheSyncMode) {
-        log.info("Subscribing broadcast manager");
-        if (cacheSyncMode == CacheSyncMode.NONE) {
-            log.debug("Cache sync mode is NONE, skip subscribe broadcast");
-            return;
+    private synchronized TrackingManager getOrInitTrackingManager() {
+        if (Objects.nonNull(trackingManager)) {
+            return trackingManager;
         }
+
+        RemoteCacheProvider provider = globalProperties.getRemoteCacheProvider();
+        RemoteCacheBuilder<?, ?> builder = cacheBuilderManager.getRemoteCacheBuilder(provider);
+        if (builder == null || !builder.supportTracking()) {
+            log.debug("Tracking not supported by provider: {}", provider);
+            return null;
+        }
+
+        log.info("Initializing tracking manager");
+        trackingManager = builder.createTrackingManager(this);
+        return trackingManager;
+    }
+
+    /**
+     * 订阅缓存对应的广播频道
+     *
+     * @param cacheName 缓存名称
+     * @param since     补发的起始时间戳（毫秒），0 表示不补发
+     */
+    private void subscribeBroadcast(String cacheName, long since) {
         if (broadcastManager == null) {
             log.debug("Broadcast manager not initialized, skip subscribe broadcast");
             return;
         }
-        broadcastManager.subscribe();
-        log.info("Broadcast manager subscribed");
+        broadcastManager.subscribe(cacheName, since);
+        log.debug("Broadcast manager subscribed for cache: {}, since: {}", cacheName, since);
     }
 
 }
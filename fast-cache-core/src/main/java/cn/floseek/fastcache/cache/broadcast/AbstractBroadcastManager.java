@@ -1,20 +1,31 @@
 package cn.floseek.fastcache.cache.broadcast;
 
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.cache.AbstractRemoteCache;
 import cn.floseek.fastcache.cache.Cache;
 import cn.floseek.fastcache.cache.CacheManager;
 import cn.floseek.fastcache.cache.decorator.BroadcastDecorator;
 import cn.floseek.fastcache.cache.decorator.CacheDecorator;
 import cn.floseek.fastcache.cache.multilevel.MultiLevelCache;
 import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 广播管理器抽象类
  * <p>
- * 提供广播消息处理的基本实现，具体广播机制由子类实现
+ * 提供广播消息处理的基本实现，具体广播机制由子类实现。
+ * 接收到的消息交由 {@link BroadcastDispatcher} 在工作线程上按缓存顺序处理，不会阻塞订阅线程
  * </p>
  *
  * @author ChenHongwei472
@@ -24,14 +35,28 @@ public abstract class AbstractBroadcastManager implements BroadcastManager {
     private static final Logger log = LoggerFactory.getLogger(AbstractBroadcastManager.class);
 
     /**
-     * 当前实例 ID
+     * 当前实例 ID，十六进制表示的随机 64 位节点 ID
      */
-    private final String instanceId = UUID.randomUUID().toString();
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+
+    /**
+     * 每个缓存最近一次接收到的消息序号
+     */
+    private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+
+    /**
+     * 发现消息丢失的次数
+     */
+    private final LongAdder gapCount = new LongAdder();
 
     private final CacheManager cacheManager;
+    private final BroadcastDispatcher dispatcher;
 
     protected AbstractBroadcastManager(CacheManager cacheManager) {
         this.cacheManager = cacheManager;
+        GlobalProperties.CacheSyncStrategy syncStrategy = cacheManager.getGlobalProperties().getSyncStrategy();
+        this.dispatcher = new BroadcastDispatcher(syncStrategy.getBroadcastThreads(), syncStrategy.getBroadcastQueueCapacity(),
+                syncStrategy.getBroadcastQueueOfferTimeout(), this::invalidateLocalCache);
     }
 
     @Override
@@ -39,8 +64,34 @@ public abstract class AbstractBroadcastManager implements BroadcastManager {
         return instanceId;
     }
 
+    @Override
+    public void close() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * 获取广播消息分发器，可用于获取队列长度等背压指标
+     *
+     * @return {@link BroadcastDispatcher}
+     */
+    public BroadcastDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * 获取发现消息丢失的次数
+     *
+     * @return 消息丢失次数
+     */
+    public long getGapCount() {
+        return gapCount.sum();
+    }
+
     /**
      * 处理接收到的广播消息
+     * <p>
+     * 在订阅线程上完成基本校验后，交由分发器异步处理
+     * </p>
      *
      * @param broadcastMessage 广播消息对象
      */
@@ -52,56 +103,173 @@ public abstract class AbstractBroadcastManager implements BroadcastManager {
         }
         log.debug("Received broadcast message: {}", broadcastMessage);
 
+        // 检查消息序号，本实例发出的消息同样参与检查
+        this.checkSequence(broadcastMessage);
+
         // 忽略本实例发出的消息
         if (this.instanceId.equals(broadcastMessage.getInstanceId())) {
             log.debug("Received broadcast message from current instance, skip processing");
             return;
         }
 
-        // 获取被装饰的缓存实例
-        CacheDecorator<Object, Object> cacheDecorator = null;
-        for (CacheType value : CacheType.values()) {
-            Cache<Object, Object> cache = cacheManager.getCache(value, broadcastMessage.getCacheName());
-            if (cache instanceof CacheDecorator<Object, Object>) {
-                cacheDecorator = (CacheDecorator<Object, Object>) cache;
-                break;
+        dispatcher.dispatch(broadcastMessage.getCacheName(), () -> this.syncLocalCache(broadcastMessage));
+    }
+
+    /**
+     * 检查消息序号
+     * <p>
+     * 同一缓存的消息序号由 Redis 原子分配并按序发布，序号不连续说明订阅期间丢失了消息，
+     * 此时无法得知丢失了哪些键，因此清空该缓存的本地缓存，后续读取会回源到分布式缓存
+     * </p>
+     *
+     * @param broadcastMessage 广播消息对象
+     */
+    private void checkSequence(BroadcastMessage broadcastMessage) {
+        long sequence = broadcastMessage.getSequence();
+        if (sequence <= 0) {
+            return;
+        }
+
+        String cacheName = broadcastMessage.getCacheName();
+        Long lastSequence = lastSequences.put(cacheName, sequence);
+        if (Objects.isNull(lastSequence) || sequence == lastSequence + 1) {
+            return;
+        }
+
+        log.warn("Broadcast message gap detected, invalidate local cache, cacheName: {}, expected sequence: {}, actual sequence: {}",
+                cacheName, lastSequence + 1, sequence);
+        dispatcher.dispatch(cacheName, () -> this.invalidateLocalCache(cacheName));
+    }
+
+    /**
+     * 丢失消息后清空本地缓存，分发队列溢出丢弃消息时同样调用
+     *
+     * @param cacheName 缓存名称
+     */
+    private void invalidateLocalCache(String cacheName) {
+        gapCount.increment();
+        Cache<Object, Object> localCache = this.getLocalCache(cacheName);
+        if (localCache instanceof AbstractLocalCache<Object, Object> abstractLocalCache) {
+            abstractLocalCache.clear();
+        }
+    }
+
+    /**
+     * 根据广播消息同步本地缓存数据
+     *
+     * @param broadcastMessage 广播消息对象
+     */
+    private void syncLocalCache(BroadcastMessage broadcastMessage) {
+        if (broadcastMessage.isClear()) {
+            this.clearLocalCache(broadcastMessage.getCacheName());
+            return;
+        }
+
+        Cache<Object, Object> localCache = this.getLocalCache(broadcastMessage.getCacheName());
+        if (localCache == null) {
+            return;
+        }
+
+        // 同步本地缓存数据
+        if (broadcastMessage.isInvalidate()) {
+            localCache.removeAll(broadcastMessage.getKeys());
+            log.debug("Invalidate local cache success, cacheName: {}, keys: {}", broadcastMessage.getCacheName(), broadcastMessage.getKeys());
+        } else if (broadcastMessage.isUpdate()) {
+            localCache.putAll(broadcastMessage.getKeyValues());
+            log.debug("Update local cache success, cacheName: {}, keyValues: {}", broadcastMessage.getCacheName(), broadcastMessage.getKeyValues());
+        } else if (broadcastMessage.isMixed()) {
+            if (CollectionUtils.isNotEmpty(broadcastMessage.getKeys())) {
+                localCache.removeAll(broadcastMessage.getKeys());
             }
+            if (MapUtils.isNotEmpty(broadcastMessage.getKeyValues())) {
+                localCache.putAll(broadcastMessage.getKeyValues());
+            }
+            log.debug("Sync local cache success, cacheName: {}, keys: {}, keyValues: {}",
+                    broadcastMessage.getCacheName(), broadcastMessage.getKeys(), broadcastMessage.getKeyValues());
         }
+    }
 
-        // 检查缓存实例是否存在
+    /**
+     * 其他实例清空了缓存，重新读取分布式缓存的命名空间版本号并清空本地缓存
+     *
+     * @param cacheName 缓存名称
+     */
+    private void clearLocalCache(String cacheName) {
+        CacheDecorator<Object, Object> cacheDecorator = this.getCacheDecorator(cacheName);
         if (cacheDecorator == null) {
-            log.warn("Cache does not exist: {}", broadcastMessage.getCacheName());
             return;
         }
 
+        Cache<Object, Object> cache = cacheDecorator.unwrapAll();
+        if (cache instanceof MultiLevelCache<Object, Object> multiLevelCache) {
+            if (multiLevelCache.getRemoteCache() instanceof AbstractRemoteCache<Object, Object> remoteCache) {
+                remoteCache.resetGeneration();
+            }
+            multiLevelCache.getLocalCache().clear();
+        } else if (cache instanceof AbstractRemoteCache<Object, Object> remoteCache) {
+            remoteCache.resetGeneration();
+        } else {
+            cache.clear();
+        }
+        log.debug("Clear local cache success, cacheName: {}", cacheName);
+    }
+
+    /**
+     * 获取缓存的值序列化器，用于编解码广播消息中的键值
+     *
+     * @param cacheName 缓存名称
+     * @return 值序列化器，缓存不存在时返回 <code>null</code>
+     */
+    protected ValueSerializer getValueSerializer(String cacheName) {
+        CacheDecorator<Object, Object> cacheDecorator = this.getCacheDecorator(cacheName);
+        return Objects.isNull(cacheDecorator) ? null : cacheDecorator.getConfig().getValueSerializer();
+    }
+
+    /**
+     * 获取接收广播的本地缓存实例
+     *
+     * @param cacheName 缓存名称
+     * @return 本地缓存实例，缓存不存在或不需要同步时返回 <code>null</code>
+     */
+    private Cache<Object, Object> getLocalCache(String cacheName) {
+        // 获取被装饰的缓存实例
+        CacheDecorator<Object, Object> cacheDecorator = this.getCacheDecorator(cacheName);
+
+        // 检查缓存实例是否存在
+        if (cacheDecorator == null) {
+            log.debug("Cache does not exist: {}", cacheName);
+            return null;
+        }
+
         // 检查缓存实例是否支持广播
         if (!cacheDecorator.containsDecorator(BroadcastDecorator.class)) {
-            log.debug("Cache does not support broadcast: {}", broadcastMessage.getCacheName());
-            return;
+            log.debug("Cache does not support broadcast: {}", cacheName);
+            return null;
         }
 
         // 获取被装饰的原始缓存实例
         Cache<Object, Object> cache = cacheDecorator.unwrapAll();
         if (cache.getCacheType() == CacheType.REMOTE) {
-            log.debug("Skip broadcast for remote cache: {}", broadcastMessage.getCacheName());
-            return;
+            log.debug("Skip broadcast for remote cache: {}", cacheName);
+            return null;
         }
 
-        // 获取本地缓存实例
-        Cache<Object, Object> localCache = cache;
+        // 如果是多级缓存实例，则获取本地缓存实例
         if (cache instanceof MultiLevelCache<Object, Object> multiLevelCache) {
-            // 如果是多级缓存实例，则获取本地缓存实例
-            localCache = multiLevelCache.getLocalCache();
+            return multiLevelCache.getLocalCache();
         }
+        return cache;
+    }
 
-        // 同步本地缓存数据
-        if (broadcastMessage.isInvalidate()) {
-            localCache.removeAll(broadcastMessage.getKeys());
-            log.info("Invalidate local cache success, cacheName: {}, keys: {}", broadcastMessage.getCacheName(), broadcastMessage.getKeys());
-        } else if (broadcastMessage.isUpdate()) {
-            localCache.putAll(broadcastMessage.getKeyValues());
-            log.info("Update local cache success, cacheName: {}, keyValues: {}", broadcastMessage.getCacheName(), broadcastMessage.getKeyValues());
-        }
+    /**
+     * 获取被装饰的缓存实例
+     *
+     * @param cacheName 缓存名称
+     * @return 被装饰的缓存实例，不存在时返回 <code>null</code>
+     */
+    private CacheDecorator<Object, Object> getCacheDecorator(String cacheName) {
+        Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+        return cache instanceof CacheDecorator<Object, Object> cacheDecorator ? cacheDecorator : null;
     }
 
 }
@@ -0,0 +1,263 @@
+package cn.floseek.fastcache.cache.broadcast;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 合并发送的广播管理器
+ * <p>
+ * 在发布端按缓存名称合并一段时间内的广播消息，对缓存键去重后以一条消息发送，降低广播频道上的消息数量。
+ * 同一个键先更新后删除时只保留删除，先删除后更新时只保留最后一次更新。
+ * 消息在最大延迟时间到达或键数量达到上限时发送，关闭时会发送全部未发送的消息。
+ * 同一缓存的取出批次、转换和发送在同一把锁内完成，批次按取出顺序发送，清空消息之后不会再发送清空之前的批次。
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class BatchingBroadcastManager implements BroadcastManager {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingBroadcastManager.class);
+
+    /**
+     * 待发送批次映射，key 为缓存名称
+     */
+    private final Map<String, Batch> batchMap = new ConcurrentHashMap<>();
+
+    /**
+     * 发送锁映射，key 为缓存名称
+     */
+    private final Map<String, ReentrantLock> publishLocks = new ConcurrentHashMap<>();
+
+    private final BroadcastManager broadcastManager;
+    private final int maxSize;
+    private final ScheduledExecutorService scheduler;
+
+    public BatchingBroadcastManager(BroadcastManager broadcastManager, Duration maxDelay, int maxSize) {
+        this.broadcastManager = broadcastManager;
+        this.maxSize = Math.max(maxSize, 1);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-broadcast-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long delayMillis = Math.max(maxDelay.toMillis(), 1);
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(BroadcastMessage broadcastMessage) {
+        if (Objects.isNull(broadcastMessage)) {
+            return;
+        }
+
+        String cacheName = broadcastMessage.getCacheName();
+        if (broadcastMessage.isClear()) {
+            // 清空之前的更新和删除已无意义，丢弃待发送批次后立即发送，避免接收方在清空后再应用旧值
+            ReentrantLock lock = this.getPublishLock(cacheName);
+            lock.lock();
+            try {
+                this.discard(cacheName);
+                broadcastManager.publish(broadcastMessage);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        while (true) {
+            Batch batch = batchMap.computeIfAbsent(cacheName, key -> new Batch());
+            int size;
+            synchronized (batch) {
+                // 批次已被取走发送，重新获取新批次
+                if (batch.flushed) {
+                    continue;
+                }
+                batch.merge(broadcastMessage);
+                size = batch.size();
+            }
+            if (size >= maxSize) {
+                this.flush(cacheName);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 立即发送全部待发送的广播消息
+     */
+    public void flush() {
+        for (String cacheName : batchMap.keySet()) {
+            this.flush(cacheName);
+        }
+    }
+
+    /**
+     * 立即发送指定缓存待发送的广播消息
+     *
+     * @param cacheName 缓存名称
+     */
+    private void flush(String cacheName) {
+        ReentrantLock lock = this.getPublishLock(cacheName);
+        lock.lock();
+        try {
+            Batch batch = batchMap.remove(cacheName);
+            if (Objects.isNull(batch)) {
+                return;
+            }
+
+            BroadcastMessage broadcastMessage;
+            synchronized (batch) {
+                batch.flushed = true;
+                broadcastMessage = batch.toMessage(broadcastManager.getInstanceId(), cacheName);
+            }
+            if (Objects.nonNull(broadcastMessage)) {
+                broadcastManager.publish(broadcastMessage);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取指定缓存的发送锁
+     *
+     * @param cacheName 缓存名称
+     * @return 发送锁
+     */
+    private ReentrantLock getPublishLock(String cacheName) {
+        return publishLocks.computeIfAbsent(cacheName, key -> new ReentrantLock());
+    }
+
+    /**
+     * 丢弃指定缓存待发送的广播消息，调用方需持有该缓存的发送锁
+     *
+     * @param cacheName 缓存名称
+     */
+    private void discard(String cacheName) {
+        Batch batch = batchMap.remove(cacheName);
+        if (Objects.isNull(batch)) {
+            return;
+        }
+        synchronized (batch) {
+            batch.flushed = true;
+        }
+    }
+
+    /**
+     * 定时发送广播消息，异常不能抛出，否则后续调度会被取消
+     */
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (Exception e) {
+            log.error("Failed to flush broadcast messages", e);
+        }
+    }
+
+    @Override
+    public void subscribe() {
+        broadcastManager.subscribe();
+    }
+
+    @Override
+    public void subscribe(String cacheName) {
+        broadcastManager.subscribe(cacheName);
+    }
+
+    @Override
+    public void subscribe(String cacheName, long since) {
+        broadcastManager.subscribe(cacheName, since);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            this.flush();
+        } finally {
+            broadcastManager.close();
+        }
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        return broadcastManager.isSubscribed();
+    }
+
+    @Override
+    public String getInstanceId() {
+        return broadcastManager.getInstanceId();
+    }
+
+    /**
+     * 待发送批次，更新键与删除键互不重叠
+     */
+    private static class Batch {
+
+        private final Map<Object, Object> keyValues = new LinkedHashMap<>();
+        private final Set<Object> keys = new LinkedHashSet<>();
+        private boolean flushed = false;
+
+        /**
+         * 合并广播消息
+         *
+         * @param broadcastMessage 广播消息
+         */
+        private void merge(BroadcastMessage broadcastMessage) {
+            if (broadcastMessage.isInvalidate() || broadcastMessage.isMixed()) {
+                if (Objects.nonNull(broadcastMessage.getKeys())) {
+                    broadcastMessage.getKeys().forEach(key -> {
+                        keyValues.remove(key);
+                        keys.add(key);
+                    });
+                }
+            }
+            if (broadcastMessage.isUpdate() || broadcastMessage.isMixed()) {
+                if (Objects.nonNull(broadcastMessage.getKeyValues())) {
+                    broadcastMessage.getKeyValues().forEach((key, value) -> {
+                        keys.remove(key);
+                        keyValues.put(key, value);
+                    });
+                }
+            }
+        }
+
+        private int size() {
+            return keyValues.size() + keys.size();
+        }
+
+        /**
+         * 转换为广播消息
+         *
+         * @param instanceId 实例 ID
+         * @param cacheName  缓存名称
+         * @return 广播消息，批次为空时返回 <code>null</code>
+         */
+        private BroadcastMessage toMessage(String instanceId, String cacheName) {
+            if (keys.isEmpty() && keyValues.isEmpty()) {
+                return null;
+            }
+            if (keyValues.isEmpty()) {
+                return BroadcastMessage.buildInvalidate(instanceId, cacheName, new ArrayList<>(keys));
+            }
+            if (keys.isEmpty()) {
+                return BroadcastMessage.buildUpdate(instanceId, cacheName, new LinkedHashMap<>(keyValues));
+            }
+            return BroadcastMessage.buildMixed(instanceId, cacheName, new ArrayList<>(keys), new LinkedHashMap<>(keyValues));
+        }
+    }
+
+}
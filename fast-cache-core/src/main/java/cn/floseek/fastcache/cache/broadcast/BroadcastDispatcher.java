@@ -0,0 +1,295 @@
+package cn.floseek.fastcache.cache.broadcast;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 广播消息分发器
+ * <p>
+ * 将广播消息的处理从订阅线程转移到有界的工作线程上执行。按缓存名称的哈希值选择单线程的工作线程，
+ * 同一缓存的消息始终按接收顺序处理，不同缓存的消息可以并行处理。
+ * 队列已满时订阅线程最多阻塞等待指定时间，以此向上游施加背压；超时后丢弃该工作线程排队中的全部消息，
+ * 并在队列中放入一个清空任务，对被丢弃消息涉及的缓存调用溢出处理器，由其清空本地缓存，不会长时间阻塞订阅线程。
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class BroadcastDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BroadcastDispatcher.class);
+
+    /**
+     * 队列已满时的默认最长等待时间
+     */
+    public static final Duration DEFAULT_OFFER_TIMEOUT = Duration.ofMillis(100);
+
+    /**
+     * 已提交的消息数量
+     */
+    private final LongAdder submittedCount = new LongAdder();
+
+    /**
+     * 已处理完成的消息数量
+     */
+    private final LongAdder completedCount = new LongAdder();
+
+    /**
+     * 处理失败的消息数量
+     */
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 因队列已满而阻塞提交的次数
+     */
+    private final LongAdder blockedCount = new LongAdder();
+
+    /**
+     * 因队列溢出而丢弃的消息数量
+     */
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final ThreadPoolExecutor[] executors;
+    private final int queueCapacity;
+    private final long offerTimeoutNanos;
+    private final Consumer<String> overflowHandler;
+
+    /**
+     * 构造方法，队列已满时最多等待 {@link #DEFAULT_OFFER_TIMEOUT}，溢出时只丢弃消息
+     *
+     * @param threads       工作线程数量
+     * @param queueCapacity 每个工作线程的队列容量
+     */
+    public BroadcastDispatcher(int threads, int queueCapacity) {
+        this(threads, queueCapacity, DEFAULT_OFFER_TIMEOUT, null);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param threads         工作线程数量
+     * @param queueCapacity   每个工作线程的队列容量
+     * @param offerTimeout    队列已满时的最长等待时间
+     * @param overflowHandler 溢出处理器，在工作线程上以被丢弃消息的缓存名称调用，可以为 <code>null</code>
+     */
+    public BroadcastDispatcher(int threads, int queueCapacity, Duration offerTimeout, Consumer<String> overflowHandler) {
+        this.offerTimeoutNanos = Math.max(offerTimeout.toNanos(), 0);
+        this.overflowHandler = overflowHandler;
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.executors = new ThreadPoolExecutor[Math.max(threads, 1)];
+        for (int i = 0; i < executors.length; i++) {
+            String threadName = "fast-cache-broadcast-" + i;
+            executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(this.queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new BlockingPolicy());
+            executors[i].prestartAllCoreThreads();
+        }
+    }
+
+    /**
+     * 分发任务，同一缓存名称的任务按提交顺序执行
+     *
+     * @param cacheName 缓存名称
+     * @param task      任务
+     */
+    public void dispatch(String cacheName, Runnable task) {
+        submittedCount.increment();
+        ThreadPoolExecutor executor = executors[Math.floorMod(cacheName.hashCode(), executors.length)];
+        executor.execute(new DispatchTask(cacheName, task));
+    }
+
+    /**
+     * 关闭分发器，已提交的任务会继续执行
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 等待已提交的任务执行完成
+     *
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return 全部任务在超时前执行完成时返回 <code>true</code>
+     * @throws InterruptedException 等待时被中断
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor executor : executors) {
+            if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取当前排队等待处理的消息数量
+     *
+     * @return 排队消息数量
+     */
+    public int getQueueSize() {
+        return Arrays.stream(executors).mapToInt(executor -> executor.getQueue().size()).sum();
+    }
+
+    /**
+     * 获取队列总容量
+     *
+     * @return 队列总容量
+     */
+    public int getQueueCapacity() {
+        return queueCapacity * executors.length;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 分发任务
+     */
+    private class DispatchTask implements Runnable {
+
+        private final String cacheName;
+        private final Set<String> overflowCacheNames;
+        private final Runnable task;
+
+        private DispatchTask(String cacheName, Runnable task) {
+            this.cacheName = cacheName;
+            this.overflowCacheNames = null;
+            this.task = task;
+        }
+
+        /**
+         * 溢出后的清空任务
+         *
+         * @param overflowCacheNames 需要清空本地缓存的缓存名称
+         * @param task               任务
+         */
+        private DispatchTask(Set<String> overflowCacheNames, Runnable task) {
+            this.cacheName = String.join(",", overflowCacheNames);
+            this.overflowCacheNames = overflowCacheNames;
+            this.task = task;
+        }
+
+        /**
+         * 任务涉及的缓存名称
+         *
+         * @return 缓存名称集合
+         */
+        private Set<String> cacheNames() {
+            return Objects.isNull(overflowCacheNames) ? Set.of(cacheName) : overflowCacheNames;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (Exception e) {
+                failedCount.increment();
+                log.error("Failed to process broadcast message, cacheName: {}", cacheName, e);
+            } finally {
+                completedCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 队列已满时阻塞提交线程，超过最长等待时间后丢弃排队中的消息并放入清空任务
+     */
+    private class BlockingPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Broadcast dispatcher has been shut down");
+            }
+
+            blockedCount.increment();
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            try {
+                if (queue.offer(runnable, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for broadcast queue", e);
+            }
+
+            this.overflow(runnable, queue);
+        }
+
+        /**
+         * 丢弃排队中的消息，被丢弃消息涉及的缓存由溢出处理器在工作线程上清空本地缓存。
+         * 其他订阅线程可能同时放入消息，因此循环丢弃直到清空任务放入队列
+         *
+         * @param runnable 被拒绝的任务
+         * @param queue    工作线程的队列
+         */
+        private void overflow(Runnable runnable, BlockingQueue<Runnable> queue) {
+            Set<String> cacheNames = new LinkedHashSet<>();
+            List<Runnable> dropped = new ArrayList<>();
+            DispatchTask overflowTask = null;
+            do {
+                queue.drainTo(dropped);
+                if (Objects.isNull(overflowTask)) {
+                    dropped.add(runnable);
+                }
+                // 之前放入的清空任务同样被丢弃，合并到本次的清空任务中
+                dropped.forEach(task -> cacheNames.addAll(((DispatchTask) task).cacheNames()));
+                droppedCount.add(dropped.size());
+                // 被丢弃的任务不会执行，计入已完成，使提交数量与完成数量保持一致
+                completedCount.add(dropped.size());
+                dropped.clear();
+
+                if (Objects.isNull(overflowHandler)) {
+                    break;
+                }
+                if (Objects.isNull(overflowTask)) {
+                    submittedCount.increment();
+                    overflowTask = new DispatchTask(cacheNames, () -> cacheNames.forEach(overflowHandler));
+                }
+            } while (!queue.offer(overflowTask));
+            log.warn("Broadcast queue overflow, dropped queued messages, invalidate local cache: {}", cacheNames);
+        }
+    }
+
+}
@@ -22,6 +22,32 @@ public interface BroadcastManager {
      */
     void subscribe();
 
+    /**
+     * 订阅指定缓存对应的广播频道
+     * <p>
+     * 使用独立频道或分桶频道时，节点只订阅本地已创建的缓存对应的频道
+     * </p>
+     *
+     * @param cacheName 缓存名称
+     */
+    default void subscribe(String cacheName) {
+        this.subscribe();
+    }
+
+    /**
+     * 订阅指定缓存对应的广播频道，并补发指定时间之后发出的消息
+     * <p>
+     * 本地缓存从快照或磁盘缓存恢复了条目时，实例停止期间的失效广播没有作用到这些条目上，
+     * 支持保留历史消息的实现应从指定时间开始重新读取，默认不补发
+     * </p>
+     *
+     * @param cacheName 缓存名称
+     * @param since     补发的起始时间戳（毫秒），0 表示不补发
+     */
+    default void subscribe(String cacheName, long since) {
+        this.subscribe(cacheName);
+    }
+
     /**
      * 关闭广播管理器
      */
@@ -26,6 +26,14 @@ public class BroadcastMessage implements Serializable {
      * 删除
      */
     public static final int TYPE_INVALIDATE = 2;
+    /**
+     * 混合（同时包含更新和删除）
+     */
+    public static final int TYPE_MIXED = 3;
+    /**
+     * 清空
+     */
+    public static final int TYPE_CLEAR = 4;
 
     /**
      * 来源实例 ID
@@ -42,10 +50,18 @@ public class BroadcastMessage implements Serializable {
      */
     private int type;
 
+    /**
+     * 消息序号
+     * <p>
+     * 由 Redis 按缓存分配，从 1 开始单调递增，接收方据此发现丢失的消息。0 表示未分配
+     * </p>
+     */
+    private long sequence;
+
     /**
      * 缓存键值对
      * <p>
-     * 当 {@link #type} = {@link #TYPE_UPDATE} 时有效，用于批量修改缓存
+     * 当 {@link #type} = {@link #TYPE_UPDATE} 或 {@link #TYPE_MIXED} 时有效，用于批量修改缓存
      * </p>
      */
     private Map<Object, Object> keyValues;
@@ -53,7 +69,7 @@ public class BroadcastMessage implements Serializable {
     /**
      * 缓存键列表
      * <p>
-     * 当 {@link #type} = {@link #TYPE_INVALIDATE} 时有效，用于批量删除缓存
+     * 当 {@link #type} = {@link #TYPE_INVALIDATE} 或 {@link #TYPE_MIXED} 时有效，用于批量删除缓存
      * </p>
      */
     private List<Object> keys;
@@ -82,6 +98,14 @@ public class BroadcastMessage implements Serializable {
         this.type = type;
     }
 
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     public Map<Object, Object> getKeyValues() {
         return keyValues;
     }
@@ -104,6 +128,7 @@ public class BroadcastMessage implements Serializable {
                 "instanceId='" + instanceId + '\'' +
                 ", cacheName='" + cacheName + '\'' +
                 ", type=" + type +
+                ", sequence=" + sequence +
                 ", keyValues=" + keyValues +
                 ", keys=" + keys +
                 '}';
@@ -143,6 +168,43 @@ public class BroadcastMessage implements Serializable {
         return broadcastMessage;
     }
 
+    /**
+     * 创建混合广播消息
+     * <p>
+     * 缓存键列表与缓存键值对中的键互不重叠，因此接收方可以按任意顺序处理
+     * </p>
+     *
+     * @param instanceId 实例 ID
+     * @param cacheName  缓存名称
+     * @param keys       需要删除的缓存键列表
+     * @param keyValues  需要更新的缓存键值对
+     * @return {@link BroadcastMessage}
+     */
+    public static BroadcastMessage buildMixed(String instanceId, String cacheName, List<Object> keys, Map<Object, Object> keyValues) {
+        BroadcastMessage broadcastMessage = new BroadcastMessage();
+        broadcastMessage.setInstanceId(instanceId);
+        broadcastMessage.setCacheName(cacheName);
+        broadcastMessage.setType(TYPE_MIXED);
+        broadcastMessage.setKeys(keys);
+        broadcastMessage.setKeyValues(keyValues);
+        return broadcastMessage;
+    }
+
+    /**
+     * 创建清空广播消息
+     *
+     * @param instanceId 实例 ID
+     * @param cacheName  缓存名称
+     * @return {@link BroadcastMessage}
+     */
+    public static BroadcastMessage buildClear(String instanceId, String cacheName) {
+        BroadcastMessage broadcastMessage = new BroadcastMessage();
+        broadcastMessage.setInstanceId(instanceId);
+        broadcastMessage.setCacheName(cacheName);
+        broadcastMessage.setType(TYPE_CLEAR);
+        return broadcastMessage;
+    }
+
     /**
      * 判断是否为删除广播消息
      *
@@ -161,4 +223,22 @@ public class BroadcastMessage implements Serializable {
         return this.type == TYPE_UPDATE;
     }
 
+    /**
+     * 判断是否为混合广播消息
+     *
+     * @return boolean
+     */
+    public boolean isMixed() {
+        return this.type == TYPE_MIXED;
+    }
+
+    /**
+     * 判断是否为清空广播消息
+     *
+     * @return boolean
+     */
+    public boolean isClear() {
+        return this.type == TYPE_CLEAR;
+    }
+
 }
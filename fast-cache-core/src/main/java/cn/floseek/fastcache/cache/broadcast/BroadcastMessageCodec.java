@@ -0,0 +1,281 @@
+package cn.floseek.fastcache.cache.broadcast;
+
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 广播消息编解码器
+ * <p>
+ * 将广播消息编码为紧凑的二进制格式，格式如下（varint 为无符号变长整数）：
+ * <pre>
+ * byte    版本号
+ * long    节点 ID
+ * long    消息序号，位于固定偏移量 {@link #SEQUENCE_OFFSET}，便于发布时由 Redis 原子地写入
+ * varint  缓存名称 ID
+ * byte    消息类型
+ * varint  删除键数量，随后为每个键
+ * varint  更新键值对数量，随后为每个键，以及值的 varint 长度 + 字节
+ * </pre>
+ * 键以 1 字节类型标记开头：{@link String}、{@link Long}、{@link Integer} 类型的键直接编码，其它类型的键
+ * 使用缓存配置的值序列化器编码（键转换器只能单向转换，无法用于解码）。值使用缓存配置的值序列化器编码，
+ * 接收方无需再对整条消息做一次 Java 序列化。
+ * </p>
+ * <p>
+ * 解码时会跳过本节点不存在的缓存的消息；本节点发出的消息只解析消息头，用于跟踪消息序号。两种情况都不会反序列化任何键值
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class BroadcastMessageCodec {
+
+    /**
+     * 当前编码格式版本号
+     */
+    public static final byte VERSION = 2;
+
+    /**
+     * 消息序号在编码结果中的字节偏移量
+     */
+    public static final int SEQUENCE_OFFSET = 9;
+
+    private static final byte KEY_SERIALIZED = 0;
+    private static final byte KEY_STRING = 1;
+    private static final byte KEY_LONG = 2;
+    private static final byte KEY_INTEGER = 3;
+
+    private final long nodeId;
+    private final CacheNameDictionary cacheNameDictionary;
+    private final Function<String, ValueSerializer> valueSerializerResolver;
+
+    /**
+     * 构造方法
+     *
+     * @param instanceId              当前实例 ID，需为十六进制数字
+     * @param cacheNameDictionary     缓存名称字典
+     * @param valueSerializerResolver 根据缓存名称获取值序列化器，缓存不存在时返回 <code>null</code>
+     */
+    public BroadcastMessageCodec(String instanceId, CacheNameDictionary cacheNameDictionary,
+                                 Function<String, ValueSerializer> valueSerializerResolver) {
+        this.nodeId = parseNodeId(instanceId);
+        this.cacheNameDictionary = cacheNameDictionary;
+        this.valueSerializerResolver = valueSerializerResolver;
+    }
+
+    /**
+     * 编码广播消息
+     *
+     * @param broadcastMessage 广播消息
+     * @return 字节数组
+     */
+    public byte[] encode(BroadcastMessage broadcastMessage) {
+        String cacheName = broadcastMessage.getCacheName();
+        ValueSerializer valueSerializer = valueSerializerResolver.apply(cacheName);
+        if (Objects.isNull(valueSerializer)) {
+            throw new CacheException("Value serializer not found for cache: " + cacheName);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(VERSION);
+        writeLong(out, parseNodeId(broadcastMessage.getInstanceId()));
+        writeLong(out, broadcastMessage.getSequence());
+        writeVarInt(out, cacheNameDictionary.getId(cacheName));
+        out.write(broadcastMessage.getType());
+
+        List<Object> keys = broadcastMessage.getKeys();
+        writeVarInt(out, Objects.isNull(keys) ? 0 : keys.size());
+        if (Objects.nonNull(keys)) {
+            keys.forEach(key -> writeKey(out, key, valueSerializer));
+        }
+
+        Map<Object, Object> keyValues = broadcastMessage.getKeyValues();
+        writeVarInt(out, Objects.isNull(keyValues) ? 0 : keyValues.size());
+        if (Objects.nonNull(keyValues)) {
+            keyValues.forEach((key, value) -> {
+                writeKey(out, key, valueSerializer);
+                writeBytes(out, valueSerializer.serialize(value));
+            });
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 注册缓存名称，订阅缓存的广播前调用，解码该缓存的消息时不再访问缓存名称字典的远程存储
+     *
+     * @param cacheName 缓存名称
+     */
+    public void register(String cacheName) {
+        cacheNameDictionary.getId(cacheName);
+    }
+
+    /**
+     * 解码广播消息
+     *
+     * @param bytes 字节数组
+     * @return 广播消息，本节点不存在对应缓存时返回 <code>null</code>；本节点发出的消息只包含消息头
+     */
+    public BroadcastMessage decode(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new CacheException("Unsupported broadcast message version: " + version);
+            }
+
+            long senderNodeId = buffer.getLong();
+            long sequence = buffer.getLong();
+            String cacheName = cacheNameDictionary.getName(readVarInt(buffer));
+            if (Objects.isNull(cacheName)) {
+                return null;
+            }
+            ValueSerializer valueSerializer = valueSerializerResolver.apply(cacheName);
+            if (Objects.isNull(valueSerializer)) {
+                return null;
+            }
+
+            BroadcastMessage broadcastMessage = new BroadcastMessage();
+            broadcastMessage.setInstanceId(Long.toHexString(senderNodeId));
+            broadcastMessage.setCacheName(cacheName);
+            broadcastMessage.setType(buffer.get());
+            broadcastMessage.setSequence(sequence);
+            if (senderNodeId == nodeId) {
+                return broadcastMessage;
+            }
+
+            int keySize = readVarInt(buffer);
+            if (keySize > 0) {
+                List<Object> keys = new ArrayList<>(keySize);
+                for (int i = 0; i < keySize; i++) {
+                    keys.add(readKey(buffer, valueSerializer));
+                }
+                broadcastMessage.setKeys(keys);
+            }
+
+            int keyValueSize = readVarInt(buffer);
+            if (keyValueSize > 0) {
+                Map<Object, Object> keyValues = new LinkedHashMap<>(keyValueSize * 4 / 3 + 1);
+                for (int i = 0; i < keyValueSize; i++) {
+                    Object key = readKey(buffer, valueSerializer);
+                    keyValues.put(key, valueSerializer.deserialize(readBytes(buffer)));
+                }
+                broadcastMessage.setKeyValues(keyValues);
+            }
+            return broadcastMessage;
+        } catch (BufferUnderflowException e) {
+            throw new CacheException("Malformed broadcast message", e);
+        }
+    }
+
+    /**
+     * 将十六进制实例 ID 解析为节点 ID
+     *
+     * @param instanceId 实例 ID
+     * @return 节点 ID
+     */
+    private static long parseNodeId(String instanceId) {
+        try {
+            return Long.parseUnsignedLong(instanceId, 16);
+        } catch (NumberFormatException e) {
+            throw new CacheException("Instance ID must be a hexadecimal number: " + instanceId, e);
+        }
+    }
+
+    private static void writeKey(ByteArrayOutputStream out, Object key, ValueSerializer valueSerializer) {
+        if (key instanceof String string) {
+            out.write(KEY_STRING);
+            writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+        } else if (key instanceof Long number) {
+            out.write(KEY_LONG);
+            writeVarLong(out, number);
+        } else if (key instanceof Integer number) {
+            out.write(KEY_INTEGER);
+            writeVarLong(out, number);
+        } else {
+            out.write(KEY_SERIALIZED);
+            writeBytes(out, valueSerializer.serialize(key));
+        }
+    }
+
+    private static Object readKey(ByteBuffer buffer, ValueSerializer valueSerializer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case KEY_STRING -> new String(readBytes(buffer), StandardCharsets.UTF_8);
+            case KEY_LONG -> readVarLong(buffer);
+            case KEY_INTEGER -> (int) readVarLong(buffer);
+            case KEY_SERIALIZED -> valueSerializer.deserialize(readBytes(buffer));
+            default -> throw new CacheException("Unknown key type in broadcast message: " + tag);
+        };
+    }
+
+    /**
+     * 写入 zigzag 编码的变长整数，负数同样只占用少量字节
+     */
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new CacheException("Malformed varint in broadcast message");
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int i = 56; i >= 0; i -= 8) {
+            out.write((int) (value >>> i));
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        writeVarInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CacheException("Malformed varint in broadcast message");
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
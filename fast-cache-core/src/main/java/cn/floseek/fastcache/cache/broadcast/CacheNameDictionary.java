@@ -0,0 +1,32 @@
+package cn.floseek.fastcache.cache.broadcast;
+
+/**
+ * 缓存名称字典接口
+ * <p>
+ * 为缓存名称分配集群内一致的数字 ID，广播消息中只传输 ID 而不是完整的缓存名称
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public interface CacheNameDictionary {
+
+    /**
+     * 获取缓存名称对应的 ID，不存在时分配新的 ID
+     *
+     * @param cacheName 缓存名称
+     * @return 缓存名称 ID
+     */
+    int getId(String cacheName);
+
+    /**
+     * 获取 ID 对应的缓存名称
+     * <p>
+     * 在接收广播消息的线程中调用，实现不应阻塞访问远程存储；本节点的缓存在订阅时已通过 {@link #getId(String)} 注册，
+     * 尚未注册的 ID 可以返回 <code>null</code> 并在后台解析
+     * </p>
+     *
+     * @param id 缓存名称 ID
+     * @return 缓存名称，不存在或尚未解析时返回 <code>null</code>
+     */
+    String getName(int id);
+}
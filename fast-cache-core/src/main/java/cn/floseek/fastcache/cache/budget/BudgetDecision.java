@@ -0,0 +1,16 @@
+package cn.floseek.fastcache.cache.budget;
+
+/**
+ * 内存预算重新分配的决策记录
+ *
+ * @param timestamp    决策时间戳（毫秒）
+ * @param donor        让出容量的缓存名称
+ * @param receiver     获得容量的缓存名称
+ * @param weight       转移的权重
+ * @param donorGain    让出方单位权重的未命中数量
+ * @param receiverGain 获得方单位权重的未命中数量
+ * @author ChenHongwei472
+ */
+public record BudgetDecision(long timestamp, String donor, String receiver, long weight,
+                             double donorGain, double receiverGain) {
+}
@@ -0,0 +1,356 @@
+package cn.floseek.fastcache.cache.budget;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.config.GlobalProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存内存预算
+ * <p>
+ * JVM 内全部按预算分配容量的本地缓存共享一个总权重（通常为字节数）。新缓存创建时分得剩余预算的平均份额，
+ * 其他缓存按当前份额等比缩小；缓存取消注册时等比放大。支持运行时调整最大权重的缓存（Caffeine）
+ * 通过 {@code Policy.eviction().setMaximum} 调整，不支持调整的缓存（Guava）保留创建时的份额，并从可分配的预算中扣除。
+ * </p>
+ * <p>
+ * 预算定时重新分配：已写满的缓存在一个周期内的未命中数量除以其容量，作为增加单位容量可获得的命中收益估计，
+ * 未写满的缓存增加容量没有收益。每个周期从收益最低的缓存向收益最高的缓存转移一步容量，
+ * 每个缓存的容量保持在配置的上下限之间。决策记录可以通过 {@link #getDecisions()} 获取
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class LocalMemoryBudget implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalMemoryBudget.class);
+
+    /**
+     * 已使用权重达到最大权重的该比例时视为已写满
+     */
+    private static final double FULL_RATIO = 0.9;
+
+    /**
+     * 保留的决策记录数量
+     */
+    private static final int MAX_DECISIONS = 100;
+
+    /**
+     * 已注册的本地缓存映射，key 为缓存名称
+     */
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * 最近的决策记录
+     */
+    private final Deque<BudgetDecision> decisions = new ArrayDeque<>();
+
+    private final long totalWeight;
+    private final long minWeight;
+    private final long maxWeight;
+    private final long stepWeight;
+    private final ScheduledExecutorService scheduler;
+    private long rebalanceCount;
+
+    public LocalMemoryBudget(GlobalProperties.LocalCache properties) {
+        this.totalWeight = properties.getMemoryBudget();
+        this.minWeight = Math.max((long) (totalWeight * properties.getMemoryBudgetMinRatio()), 1);
+        this.maxWeight = Math.max((long) (totalWeight * properties.getMemoryBudgetMaxRatio()), minWeight);
+        this.stepWeight = Math.max((long) (totalWeight * properties.getMemoryBudgetStepRatio()), 1);
+
+        long intervalMillis = properties.getMemoryBudgetRebalanceInterval() == null ? 0 : properties.getMemoryBudgetRebalanceInterval().toMillis();
+        if (intervalMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fast-cache-memory-budget");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::rebalanceQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 计算新缓存可分得的最大权重，可分配的预算不足以让每个缓存达到下限时低于下限
+     *
+     * @return 最大权重
+     */
+    public synchronized long nextShare() {
+        int adjustableCount = 1;
+        for (Registration registration : registrations.values()) {
+            if (registration.adjustable) {
+                adjustableCount++;
+            }
+        }
+        long share = this.availableWeight() / adjustableCount;
+        return Math.max(Math.min(share, maxWeight), 1);
+    }
+
+    /**
+     * 注册本地缓存，其他可调整的缓存等比缩小以容纳新缓存
+     *
+     * @param name       缓存名称
+     * @param localCache 本地缓存
+     * @param weight     创建时分得的最大权重
+     */
+    public synchronized void register(String name, AbstractLocalCache<?, ?> localCache, long weight) {
+        boolean adjustable = localCache.setMaximumWeight(weight);
+        Registration registration = new Registration(localCache, weight, adjustable);
+        registration.lastMissCount = Math.max(localCache.getMissCount(), 0);
+        registrations.put(name, registration);
+        this.normalize(adjustable ? name : null);
+    }
+
+    /**
+     * 取消注册本地缓存，其他可调整的缓存等比放大
+     *
+     * @param name 缓存名称
+     */
+    public synchronized void unregister(String name) {
+        if (registrations.remove(name) != null) {
+            this.normalize(null);
+        }
+    }
+
+    /**
+     * 取消注册本地缓存，仅当该名称仍注册为指定的本地缓存时生效，用于缓存关闭时回调
+     *
+     * @param name       缓存名称
+     * @param localCache 本地缓存
+     */
+    public synchronized void unregister(String name, AbstractLocalCache<?, ?> localCache) {
+        Registration registration = registrations.get(name);
+        if (registration != null && registration.localCache == localCache) {
+            this.unregister(name);
+        }
+    }
+
+    /**
+     * 按各缓存单位容量的未命中数量转移一步容量，已达到下限的缓存不转出，已达到上限的缓存不转入
+     *
+     * @return 决策记录，本周期没有转移容量时返回 <code>null</code>
+     */
+    public synchronized BudgetDecision rebalance() {
+        rebalanceCount++;
+        Map.Entry<String, Registration> donor = null;
+        Map.Entry<String, Registration> receiver = null;
+        for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+            Registration registration = entry.getValue();
+            if (!registration.adjustable) {
+                continue;
+            }
+            registration.sample();
+            if (registration.weight < maxWeight && (receiver == null || registration.gain > receiver.getValue().gain)) {
+                receiver = entry;
+            }
+            if (registration.weight > minWeight && (donor == null || registration.gain < donor.getValue().gain)) {
+                donor = entry;
+            }
+        }
+        if (donor == null || receiver == null || donor == receiver || receiver.getValue().gain <= donor.getValue().gain) {
+            return null;
+        }
+
+        Registration from = donor.getValue();
+        Registration to = receiver.getValue();
+        long weight = Math.min(stepWeight, Math.min(from.weight - minWeight, maxWeight - to.weight));
+        if (weight <= 0) {
+            return null;
+        }
+        from.resize(from.weight - weight);
+        to.resize(to.weight + weight);
+
+        BudgetDecision decision = new BudgetDecision(System.currentTimeMillis(), donor.getKey(), receiver.getKey(),
+                weight, from.gain, to.gain);
+        decisions.addLast(decision);
+        if (decisions.size() > MAX_DECISIONS) {
+            decisions.removeFirst();
+        }
+        log.debug("Local memory budget rebalanced: {}", decision);
+        return decision;
+    }
+
+    /**
+     * 获取总权重
+     *
+     * @return 总权重
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * 获取已分配给各缓存的最大权重
+     *
+     * @return 最大权重映射，key 为缓存名称
+     */
+    public synchronized Map<String, Long> getAllocations() {
+        Map<String, Long> allocations = new HashMap<>(registrations.size());
+        registrations.forEach((name, registration) -> allocations.put(name, registration.weight));
+        return allocations;
+    }
+
+    /**
+     * 获取最近的决策记录，按时间升序排列
+     *
+     * @return 决策记录列表
+     */
+    public synchronized List<BudgetDecision> getDecisions() {
+        return new ArrayList<>(decisions);
+    }
+
+    /**
+     * 获取已执行的重新分配次数，包括没有转移容量的周期
+     *
+     * @return 重新分配次数
+     */
+    public synchronized long getRebalanceCount() {
+        return rebalanceCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        registrations.clear();
+    }
+
+    /**
+     * 定时重新分配，异常不能抛出，否则后续调度会被取消
+     */
+    private void rebalanceQuietly() {
+        try {
+            this.rebalance();
+        } catch (Exception e) {
+            log.error("Failed to rebalance local memory budget", e);
+        }
+    }
+
+    /**
+     * 将可调整缓存的份额等比缩放到可分配的预算
+     * <p>
+     * 缩放后低于下限的缓存固定为下限，剩余预算在其他缓存之间重新等比缩放，直到没有缓存低于下限，
+     * 因此下限不会使总份额超过可分配的预算；预算不足以让每个缓存达到下限时，下限降为平均份额
+     * </p>
+     *
+     * @param fixedName 保持份额不变的缓存名称，可以为 <code>null</code>
+     */
+    private void normalize(String fixedName) {
+        long available = this.availableWeight();
+        List<Registration> scaled = new ArrayList<>();
+        long scaledWeight = 0;
+        for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+            if (entry.getValue().adjustable) {
+                if (entry.getKey().equals(fixedName)) {
+                    available -= entry.getValue().weight;
+                } else {
+                    scaled.add(entry.getValue());
+                    scaledWeight += entry.getValue().weight;
+                }
+            }
+        }
+        if (scaled.isEmpty()) {
+            return;
+        }
+
+        available = Math.max(available, 0);
+        long floor = Math.max(Math.min(minWeight, available / scaled.size()), 1);
+        Map<Registration, Long> targets = new HashMap<>(scaled.size());
+        boolean pinned = true;
+        while (pinned && !scaled.isEmpty()) {
+            pinned = false;
+            double ratio = (double) available / scaledWeight;
+            Iterator<Registration> iterator = scaled.iterator();
+            while (iterator.hasNext()) {
+                Registration registration = iterator.next();
+                if ((long) (registration.weight * ratio) < floor) {
+                    targets.put(registration, floor);
+                    available -= floor;
+                    scaledWeight -= registration.weight;
+                    iterator.remove();
+                    pinned = true;
+                }
+            }
+        }
+        double ratio = scaledWeight == 0 ? 0 : (double) Math.max(available, 0) / scaledWeight;
+        for (Registration registration : scaled) {
+            targets.put(registration, Math.min((long) (registration.weight * ratio), maxWeight));
+        }
+        targets.forEach(Registration::resize);
+        log.debug("Local memory budget normalized, caches: {}, available: {}", registrations.size(), available);
+    }
+
+    /**
+     * 获取扣除不可调整缓存后可分配的权重
+     *
+     * @return 可分配的权重
+     */
+    private long availableWeight() {
+        long fixedWeight = 0;
+        for (Registration registration : registrations.values()) {
+            if (!registration.adjustable) {
+                fixedWeight += registration.weight;
+            }
+        }
+        return Math.max(totalWeight - fixedWeight, 1);
+    }
+
+    /**
+     * 注册信息
+     */
+    private static class Registration {
+
+        private final AbstractLocalCache<?, ?> localCache;
+        private final boolean adjustable;
+        private long weight;
+        private long lastMissCount;
+
+        /**
+         * 最近一个周期单位权重的未命中数量
+         */
+        private double gain;
+
+        private Registration(AbstractLocalCache<?, ?> localCache, long weight, boolean adjustable) {
+            this.localCache = localCache;
+            this.weight = weight;
+            this.adjustable = adjustable;
+        }
+
+        /**
+         * 采样未命中统计，已写满的缓存中的未命中是增加容量后可能转为命中的请求
+         */
+        private void sample() {
+            long missCount = localCache.getMissCount();
+            long weightedSize = localCache.getWeightedSize();
+            if (missCount < 0 || weightedSize < 0) {
+                gain = 0;
+                return;
+            }
+
+            long misses = missCount - lastMissCount;
+            lastMissCount = missCount;
+            gain = weightedSize >= weight * FULL_RATIO ? (double) misses / weight : 0;
+        }
+
+        private void resize(long newWeight) {
+            if (newWeight != weight) {
+                localCache.setMaximumWeight(newWeight);
+                weight = newWeight;
+            }
+        }
+    }
+
+}
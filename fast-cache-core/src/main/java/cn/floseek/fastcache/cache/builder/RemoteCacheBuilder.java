@@ -2,7 +2,9 @@ package cn.floseek.fastcache.cache.builder;
 
 import cn.floseek.fastcache.cache.broadcast.BroadcastManager;
 import cn.floseek.fastcache.cache.CacheManager;
+import cn.floseek.fastcache.cache.tracking.TrackingManager;
 import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
+import cn.floseek.fastcache.common.exception.CacheException;
 
 /**
  * 分布式缓存构建器
@@ -31,6 +33,25 @@ public abstract class RemoteCacheBuilder<K, V> implements CacheBuilder<K, V> {
      */
     public abstract BroadcastManager createBroadcastManager(CacheManager cacheManager);
 
+    /**
+     * 是否支持服务端辅助失效
+     *
+     * @return boolean
+     */
+    public boolean supportTracking() {
+        return false;
+    }
+
+    /**
+     * 创建服务端辅助失效管理器实例
+     *
+     * @param cacheManager 缓存管理器实例
+     * @return 服务端辅助失效管理器实例
+     */
+    public TrackingManager createTrackingManager(CacheManager cacheManager) {
+        throw new CacheException("Tracking not supported by provider: " + this.getProvider());
+    }
+
     /**
      * 获取分布式缓存提供者
      *
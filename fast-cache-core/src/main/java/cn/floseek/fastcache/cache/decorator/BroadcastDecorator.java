@@ -8,6 +8,7 @@ import cn.floseek.fastcache.config.CacheConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -43,12 +44,27 @@ public class BroadcastDecorator<K, V> extends CacheDecorator<K, V> {
         this.notifyUpdateOrInvalidate(Map.of(key, value));
     }
 
+    /**
+     * 广播消息不携带存活时间，指定存活时间的写入通知其他实例删除本地缓存，由其他实例重新加载
+     */
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        super.put(key, value, ttl);
+        this.notifyInvalidate(List.of(key));
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         super.putAll(map);
         this.notifyUpdateOrInvalidate(map);
     }
 
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        super.putAll(map, ttl);
+        this.notifyInvalidate(map.keySet());
+    }
+
     @Override
     public void remove(K key) {
         super.remove(key);
@@ -61,6 +77,21 @@ public class BroadcastDecorator<K, V> extends CacheDecorator<K, V> {
         this.notifyInvalidate(keys);
     }
 
+    /**
+     * 清空缓存后通知其他实例清空本地缓存
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        if (this.skipBroadcast()) {
+            return;
+        }
+
+        BroadcastMessage broadcastMessage = BroadcastMessage.buildClear(broadcastManager.getInstanceId(), config.getCacheName());
+        broadcastManager.publish(broadcastMessage);
+        log.debug("Send clear broadcast message success, cacheName: {}", config.getCacheName());
+    }
+
     /**
      * 通知更新或删除缓存
      *
@@ -4,6 +4,7 @@ import cn.floseek.fastcache.cache.Cache;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.config.CacheConfig;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 
@@ -43,11 +44,21 @@ public abstract class CacheDecorator<K, V> implements Cache<K, V> {
         decoratedCache.put(key, value);
     }
 
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        decoratedCache.put(key, value, ttl);
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         decoratedCache.putAll(map);
     }
 
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        decoratedCache.putAll(map, ttl);
+    }
+
     @Override
     public void remove(K key) {
         decoratedCache.remove(key);
@@ -58,6 +69,11 @@ public abstract class CacheDecorator<K, V> implements Cache<K, V> {
         decoratedCache.removeAll(keys);
     }
 
+    @Override
+    public void clear() {
+        decoratedCache.clear();
+    }
+
     @Override
     public V refresh(K key) {
         return decoratedCache.refresh(key);
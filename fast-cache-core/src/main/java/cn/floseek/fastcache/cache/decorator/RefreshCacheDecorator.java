@@ -4,6 +4,7 @@ import cn.floseek.fastcache.cache.AbstractLocalCache;
 import cn.floseek.fastcache.cache.Cache;
 import cn.floseek.fastcache.cache.CacheLoader;
 import cn.floseek.fastcache.cache.multilevel.MultiLevelCache;
+import cn.floseek.fastcache.cache.tracking.TrackedLocalCache;
 import cn.floseek.fastcache.config.RefreshPolicy;
 import cn.floseek.fastcache.lock.LockTemplate;
 import cn.floseek.fastcache.util.CacheUtils;
@@ -270,8 +271,15 @@ public class RefreshCacheDecorator<K, V> extends CacheLoaderDecorator<K, V> {
             if (!shouldRefresh) {
                 // 如果本地缓存不为空，则从分布式缓存中同步数据到本地缓存中
                 if (Objects.nonNull(localCache)) {
+                    // 被跟踪的本地缓存在读取之前获取失效版本，读取期间发生失效时不回填
+                    TrackedLocalCache<K, V> trackedLocalCache = localCache instanceof TrackedLocalCache<K, V> tracked ? tracked : null;
+                    long[] stamps = Objects.isNull(trackedLocalCache) ? null : trackedLocalCache.stamps();
                     V value = remoteCache.get(key);
-                    localCache.put(key, value);
+                    if (Objects.isNull(trackedLocalCache)) {
+                        localCache.put(key, value);
+                    } else {
+                        trackedLocalCache.fill(key, value, stamps);
+                    }
                     log.debug("Synchronized from remote to local cache, key: {}", key);
                 }
                 return;
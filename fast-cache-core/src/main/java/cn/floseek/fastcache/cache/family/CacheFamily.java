@@ -0,0 +1,406 @@
+package cn.floseek.fastcache.cache.family;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.CacheLoader;
+import cn.floseek.fastcache.cache.decorator.CacheLoaderDecorator;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.CacheFamilyPolicy;
+import cn.floseek.fastcache.weigher.Weigher;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存族
+ * <p>
+ * 多个逻辑缓存（成员）共享一个 Caffeine 本地存储和容量，例如按租户划分的缓存 <code>orders:&lt;tenantId&gt;</code>。
+ * 成员缓存的条目以（成员名称，缓存键）作为存储键，不再为每个成员单独创建缓存实例和缓存映射条目，
+ * 成员数量增长时内存占用受缓存族的总容量约束。
+ * </p>
+ * <p>
+ * 缓存族策略可以限制每个成员的最大条目数量，超出时淘汰该成员的任意一个其他条目，避免单个成员占满共享容量；
+ * 空闲超过指定时间的成员整体淘汰；{@link #invalidate(String)} 按成员批量失效。
+ * 每次创建成员时分配新的纪元并写入存储键，成员被失效或淘汰后，与之并发写入的条目属于旧纪元，
+ * 不会被同名的新成员读到；写入后发现成员已被移除时立即删除该条目，其余情况由共享容量和过期时间回收
+ * </p>
+ * <p>
+ * 缓存族只使用本地存储，不写入分布式缓存，也不参与广播和服务端辅助失效，多个实例之间的成员数据互不同步
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class CacheFamily<K, V> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheFamily.class);
+
+    /**
+     * 成员名称与缓存键的分隔符
+     */
+    private static final String MEMBER_SEPARATOR = ":";
+
+    private final CacheConfig<K, V> config;
+    private final CacheFamilyPolicy policy;
+    private final com.github.benmanes.caffeine.cache.Cache<FamilyKey<K>, V> store;
+
+    /**
+     * 成员映射，key 为成员名称
+     */
+    private final Map<String, Member<K, V>> members = new ConcurrentHashMap<>();
+
+    /**
+     * 成员纪元计数器
+     */
+    private final AtomicLong epochs = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler;
+
+    public CacheFamily(CacheConfig<K, V> config, CacheFamilyPolicy policy) {
+        this.config = config;
+        this.policy = Objects.isNull(policy) ? CacheFamilyPolicy.newPolicy(0) : policy;
+        this.store = this.newCaffeine(config)
+                .evictionListener(this::onEviction)
+                .build();
+
+        long idleMillis = this.policy.getMemberIdleMillis();
+        if (idleMillis > 0) {
+            long intervalMillis = Math.max(idleMillis / 2, 1);
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fast-cache-family-" + config.getCacheName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::evictIdleMembersQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 获取成员缓存
+     *
+     * @param member 成员名称，例如租户 ID
+     * @return 成员缓存
+     */
+    public Cache<K, V> getCache(String member) {
+        return this.getCache(member, null);
+    }
+
+    /**
+     * 获取成员缓存，成员首次获取时指定的缓存加载器生效
+     *
+     * @param member 成员名称，例如租户 ID
+     * @param loader 缓存加载器，可以为 <code>null</code>
+     * @return 成员缓存
+     */
+    public Cache<K, V> getCache(String member, CacheLoader<K, V> loader) {
+        Member<K, V> familyMember = this.member(member);
+        Cache<K, V> cache = familyMember.cache;
+        if (cache == null) {
+            synchronized (familyMember) {
+                cache = familyMember.cache;
+                if (cache == null) {
+                    CacheConfig<K, V> memberConfig = config.copy();
+                    memberConfig.setCacheName(config.getCacheName() + MEMBER_SEPARATOR + member);
+                    memberConfig.setLoader(loader);
+                    cache = new FamilyMemberCache<>(memberConfig, this, member);
+                    if (memberConfig.loaderEnabled()) {
+                        cache = new CacheLoaderDecorator<>(cache);
+                    }
+                    familyMember.cache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 批量失效成员的全部条目并移除成员
+     *
+     * @param member 成员名称
+     */
+    public void invalidate(String member) {
+        Member<K, V> familyMember = members.remove(member);
+        if (familyMember != null) {
+            this.invalidateKeys(familyMember);
+        }
+    }
+
+    /**
+     * 失效全部成员的条目
+     */
+    public void invalidateAll() {
+        members.clear();
+        store.invalidateAll();
+    }
+
+    /**
+     * 淘汰空闲超过指定时间的成员
+     *
+     * @return 淘汰的成员数量
+     */
+    public int evictIdleMembers() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(policy.getMemberIdleMillis());
+        if (idleNanos <= 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Member<K, V> familyMember : members.values()) {
+            if (now - familyMember.lastAccessNanos >= idleNanos && members.remove(familyMember.name, familyMember)) {
+                this.invalidateKeys(familyMember);
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle members from cache family: {}", evicted, config.getCacheName());
+        }
+        return evicted;
+    }
+
+    /**
+     * 获取当前的成员名称
+     *
+     * @return 成员名称集合
+     */
+    public Set<String> getMembers() {
+        return Set.copyOf(members.keySet());
+    }
+
+    /**
+     * 获取成员的条目数量
+     *
+     * @param member 成员名称
+     * @return 条目数量
+     */
+    public int getMemberSize(String member) {
+        Member<K, V> familyMember = members.get(member);
+        return familyMember == null ? 0 : familyMember.keys.size();
+    }
+
+    /**
+     * 获取共享存储的估计条目数量
+     *
+     * @return 估计条目数量
+     */
+    public long estimatedSize() {
+        return store.estimatedSize();
+    }
+
+    public CacheConfig<K, V> getConfig() {
+        return config;
+    }
+
+    public CacheFamilyPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        this.invalidateAll();
+    }
+
+    V get(String member, K key) {
+        Member<K, V> familyMember = this.member(member);
+        return store.getIfPresent(familyMember.familyKey(key));
+    }
+
+    Map<K, V> getAll(String member, Collection<? extends K> keys) {
+        Member<K, V> familyMember = this.member(member);
+        List<FamilyKey<K>> familyKeys = new ArrayList<>(keys.size());
+        keys.forEach(key -> familyKeys.add(familyMember.familyKey(key)));
+
+        Map<K, V> valueMap = new HashMap<>();
+        store.getAllPresent(familyKeys).forEach((familyKey, value) -> valueMap.put(familyKey.key(), value));
+        return valueMap;
+    }
+
+    void put(String member, K key, V value, Duration ttl) {
+        Member<K, V> familyMember = this.member(member);
+        FamilyKey<K> familyKey = familyMember.familyKey(key);
+        if (Objects.isNull(ttl)) {
+            store.put(familyKey, value);
+        } else if (ttl.isZero() || ttl.isNegative()) {
+            this.remove(member, key);
+            return;
+        } else {
+            store.policy().expireVariably().orElseThrow().put(familyKey, value, ttl);
+        }
+
+        long maximumSize = policy.getMemberMaximumSize();
+        if (familyMember.keys.add(key) && maximumSize > 0 && familyMember.keys.size() > maximumSize) {
+            this.evictOne(familyMember, key);
+        }
+
+        // 写入期间成员被失效或淘汰，旧纪元的条目不会再被读到，立即删除
+        if (members.get(member) != familyMember) {
+            familyMember.keys.remove(key);
+            store.invalidate(familyKey);
+        }
+    }
+
+    void remove(String member, K key) {
+        Member<K, V> familyMember = this.member(member);
+        familyMember.keys.remove(key);
+        store.invalidate(familyMember.familyKey(key));
+    }
+
+    /**
+     * 获取或创建成员并记录访问时间
+     *
+     * @param member 成员名称
+     * @return 成员
+     */
+    private Member<K, V> member(String member) {
+        Member<K, V> familyMember = members.computeIfAbsent(member, name -> new Member<>(name, epochs.incrementAndGet()));
+        familyMember.lastAccessNanos = System.nanoTime();
+        return familyMember;
+    }
+
+    /**
+     * 成员超出最大条目数量时淘汰该成员的一个其他条目
+     *
+     * @param familyMember 成员
+     * @param retainedKey  刚写入的缓存键，不淘汰
+     */
+    private void evictOne(Member<K, V> familyMember, K retainedKey) {
+        for (K key : familyMember.keys) {
+            if (!Objects.equals(key, retainedKey) && familyMember.keys.remove(key)) {
+                store.invalidate(familyMember.familyKey(key));
+                return;
+            }
+        }
+    }
+
+    private void invalidateKeys(Member<K, V> familyMember) {
+        List<FamilyKey<K>> familyKeys = new ArrayList<>(familyMember.keys.size());
+        familyMember.keys.forEach(key -> familyKeys.add(familyMember.familyKey(key)));
+        store.invalidateAll(familyKeys);
+    }
+
+    /**
+     * 共享存储因容量或过期淘汰条目时同步更新成员的条目记录
+     */
+    private void onEviction(FamilyKey<K> familyKey, V value, RemovalCause cause) {
+        if (familyKey == null) {
+            return;
+        }
+        Member<K, V> familyMember = members.get(familyKey.member());
+        if (familyMember != null && familyMember.epoch == familyKey.epoch()) {
+            familyMember.keys.remove(familyKey.key());
+        }
+    }
+
+    private void evictIdleMembersQuietly() {
+        try {
+            this.evictIdleMembers();
+        } catch (Exception e) {
+            log.error("Evicting idle members failed, cache family: {}", config.getCacheName(), e);
+        }
+    }
+
+    /**
+     * 按缓存配置创建共享存储，条目默认永不过期，存活时间在写入时按条目指定
+     *
+     * @param config 缓存配置
+     * @return Caffeine 构建器
+     */
+    private Caffeine<FamilyKey<K>, V> newCaffeine(CacheConfig<K, V> config) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder();
+        if (config.isLocalWeighted()) {
+            Weigher weigher = config.getWeigher();
+            caffeine.maximumWeight(config.getLocalMaximumWeight())
+                    .weigher((key, value) -> weigher.weigh(((FamilyKey<?>) key).key(), value));
+        } else if (Objects.nonNull(config.getLocalMaximumSize())) {
+            caffeine.maximumSize(config.getLocalMaximumSize());
+        }
+        return caffeine.expireAfter(new ExpireAfterTtl<>());
+    }
+
+    /**
+     * 共享存储的键
+     *
+     * @param member 成员名称
+     * @param epoch  成员纪元
+     * @param key    缓存键
+     */
+    private record FamilyKey<K>(String member, long epoch, K key) {
+    }
+
+    /**
+     * 成员
+     *
+     * @param <K> 缓存键类型
+     * @param <V> 缓存值类型
+     */
+    private static class Member<K, V> {
+
+        private final String name;
+
+        /**
+         * 成员纪元，同名成员每次创建时不同
+         */
+        private final long epoch;
+
+        /**
+         * 成员在共享存储中的缓存键
+         */
+        private final Set<K> keys = ConcurrentHashMap.newKeySet();
+
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private volatile Cache<K, V> cache;
+
+        private Member(String name, long epoch) {
+            this.name = name;
+            this.epoch = epoch;
+        }
+
+        private FamilyKey<K> familyKey(K key) {
+            return new FamilyKey<>(name, epoch, key);
+        }
+    }
+
+    /**
+     * 未指定存活时间的条目永不过期，读取不会延长存活时间
+     */
+    private static class ExpireAfterTtl<K, V> implements Expiry<K, V> {
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package cn.floseek.fastcache.cache.family;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.config.CacheConfig;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 缓存族成员缓存，读写缓存族的共享存储
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class FamilyMemberCache<K, V> extends AbstractLocalCache<K, V> {
+
+    private final CacheFamily<K, V> family;
+    private final String member;
+
+    FamilyMemberCache(CacheConfig<K, V> config, CacheFamily<K, V> family, String member) {
+        super(config);
+        this.family = family;
+        this.member = member;
+    }
+
+    @Override
+    public V get(K key) {
+        return family.get(member, key);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        return family.getAll(member, keys);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        this.put(key, value, null);
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        family.put(member, key, value, this.resolveLocalTtl(key, value, ttl));
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void remove(K key) {
+        family.remove(member, key);
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        keys.forEach(this::remove);
+    }
+
+    /**
+     * 批量失效当前成员的全部条目
+     */
+    @Override
+    public void clear() {
+        family.invalidate(member);
+    }
+
+    public String getMember() {
+        return member;
+    }
+
+}
@@ -1,14 +1,27 @@
 package cn.floseek.fastcache.cache.local;
 
 import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.cache.CacheExpiry;
+import cn.floseek.fastcache.cache.snapshot.SnapshotEntry;
 import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.TtlJitter;
+import cn.floseek.fastcache.weigher.Weigher;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
 import org.apache.commons.lang3.time.DurationUtils;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Caffeine 缓存
@@ -19,19 +32,53 @@ import java.util.Objects;
  */
 public class CaffeineCache<K, V> extends AbstractLocalCache<K, V> {
 
+    /**
+     * 剩余存活时间超过该值的条目视为永不过期，Caffeine 内部将永不过期截断为约 146 年
+     */
+    private static final Duration NEVER_EXPIRE_THRESHOLD = Duration.ofDays(365L * 100);
+
     private final Cache<K, V> cache;
 
+    private final EvictionRelay evictionRelay;
+
     public CaffeineCache(CacheConfig<K, V> config) {
+        this(config, new EvictionRelay());
+    }
+
+    private CaffeineCache(CacheConfig<K, V> config, EvictionRelay evictionRelay) {
+        this(config, newCaffeine(config, evictionRelay).build(), evictionRelay);
+    }
+
+    protected CaffeineCache(CacheConfig<K, V> config, Cache<K, V> cache, EvictionRelay evictionRelay) {
         super(config);
+        this.cache = cache;
+        this.evictionRelay = evictionRelay;
+    }
 
-        Caffeine<Object, Object> caffeine = Caffeine.newBuilder();
-        if (Objects.nonNull(config.getLocalMaximumSize())) {
+    /**
+     * 按缓存配置创建 Caffeine 构建器，设置容量、过期策略和淘汰监听器
+     *
+     * @param config        缓存配置
+     * @param evictionRelay 淘汰监听器转发器
+     * @return Caffeine 构建器
+     */
+    @SuppressWarnings("unchecked")
+    protected static Caffeine<Object, Object> newCaffeine(CacheConfig<?, ?> config, EvictionRelay evictionRelay) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder().evictionListener(evictionRelay);
+        if (config.isLocalWeighted()) {
+            // Caffeine 不允许同时设置最大容量和最大权重，设置最大权重时忽略最大容量
+            Weigher weigher = config.getWeigher();
+            caffeine.maximumWeight(config.getLocalMaximumWeight())
+                    .weigher((key, value) -> weigher.weigh(key, value))
+                    .recordStats();
+        } else if (Objects.nonNull(config.getLocalMaximumSize())) {
             caffeine.maximumSize(config.getLocalMaximumSize());
         }
-        if (Objects.nonNull(config.getLocalExpireTime()) && DurationUtils.isPositive(config.getLocalExpireTime())) {
-            caffeine.expireAfterWrite(config.getLocalExpireTime());
-        }
-        this.cache = caffeine.build();
+        // 始终使用可变过期策略实现写入后过期，以便按条目指定存活时间，以及从快照恢复时保留条目的剩余存活时间
+        Duration localExpireTime = Objects.nonNull(config.getLocalExpireTime()) && DurationUtils.isPositive(config.getLocalExpireTime())
+                ? config.getLocalExpireTime() : null;
+        caffeine.expireAfter(new ExpireAfterWrite(localExpireTime, (CacheExpiry<Object, Object>) config.getExpiry(), config.getTtlJitter()));
+        return caffeine;
     }
 
     @Override
@@ -46,22 +93,173 @@ public class CaffeineCache<K, V> extends AbstractLocalCache<K, V> {
 
     @Override
     public void put(K key, V value) {
+        this.skipRestore(key);
         cache.put(key, value);
     }
 
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        if (Objects.isNull(ttl)) {
+            this.put(key, value);
+            return;
+        }
+
+        Duration resolvedTtl = this.resolveLocalTtl(key, value, ttl);
+        this.skipRestore(key);
+        if (!DurationUtils.isPositive(resolvedTtl)) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.policy().expireVariably().orElseThrow().put(key, value, resolvedTtl);
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
+        this.skipRestoreAll(map.keySet());
         cache.putAll(map);
     }
 
     @Override
     public void remove(K key) {
+        this.skipRestore(key);
         cache.invalidate(key);
     }
 
     @Override
     public void removeAll(Collection<? extends K> keys) {
+        this.skipRestoreAll(keys);
         cache.invalidateAll(keys);
     }
 
+    @Override
+    public void clear() {
+        this.skipRestoreAll();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean setMaximumWeight(long maximumWeight) {
+        if (!this.getConfig().isLocalWeighted()) {
+            return false;
+        }
+        return cache.policy().eviction()
+                .map(eviction -> {
+                    eviction.setMaximum(maximumWeight);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean setEvictionListener(Consumer<? super K> listener) {
+        evictionRelay.listener = (Consumer<Object>) listener;
+        return true;
+    }
+
+    @Override
+    public long getWeightedSize() {
+        Optional<Policy.Eviction<K, V>> eviction = cache.policy().eviction();
+        return eviction.isPresent() ? eviction.get().weightedSize().orElse(-1) : -1;
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.getConfig().isLocalWeighted() ? cache.stats().missCount() : -1;
+    }
+
+    @Override
+    public boolean supportSnapshot() {
+        return true;
+    }
+
+    @Override
+    public List<SnapshotEntry<K, V>> snapshot(int limit) {
+        Map<K, V> entries = cache.policy().eviction()
+                .map(eviction -> eviction.hottest(limit))
+                .orElseGet(() -> cache.asMap().entrySet().stream()
+                        .limit(limit)
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+        Optional<Policy.VarExpiration<K, V>> varExpiration = cache.policy().expireVariably();
+        return entries.entrySet().stream()
+                .map(entry -> new SnapshotEntry<>(entry.getKey(), entry.getValue(),
+                        varExpiration.flatMap(expiration -> expiration.getExpiresAfter(entry.getKey()))
+                                .filter(ttl -> ttl.compareTo(NEVER_EXPIRE_THRESHOLD) < 0)
+                                .orElse(null)))
+                .toList();
+    }
+
+    @Override
+    public void restore(K key, V value, Duration ttl) {
+        if (this.isRestoreSkipped(key)) {
+            return;
+        }
+        Optional<Policy.VarExpiration<K, V>> varExpiration = cache.policy().expireVariably();
+        V existingValue = Objects.nonNull(ttl) && varExpiration.isPresent()
+                ? varExpiration.get().putIfAbsent(key, value, ttl)
+                : cache.asMap().putIfAbsent(key, value);
+        // 写入和删除先记录缓存键再修改缓存，恢复的值写入后再次检查，撤销与之并发的删除之前写入的旧值
+        if (Objects.isNull(existingValue) && this.isRestoreSkipped(key)) {
+            cache.asMap().remove(key, value);
+        }
+    }
+
+    /**
+     * 淘汰监听器转发器，Caffeine 构建器在缓存实例创建之前配置监听器，创建之后再设置实际的监听器
+     */
+    protected static class EvictionRelay implements RemovalListener<Object, Object> {
+
+        private volatile Consumer<Object> listener;
+
+        @Override
+        public void onRemoval(Object key, Object value, RemovalCause cause) {
+            Consumer<Object> currentListener = listener;
+            if (Objects.nonNull(currentListener) && Objects.nonNull(key)) {
+                currentListener.accept(key);
+            }
+        }
+    }
+
+    /**
+     * 写入后过期策略，读取不会延长存活时间。配置了缓存过期策略时按条目计算存活时间，不超过本地缓存过期时间，
+     * 配置了存活时间抖动策略时对截断后的存活时间应用抖动
+     *
+     * @param duration  本地缓存过期时间，<code>null</code> 表示永不过期
+     * @param expiry    缓存过期策略，可以为 <code>null</code>
+     * @param ttlJitter 存活时间抖动策略，可以为 <code>null</code>
+     */
+    private record ExpireAfterWrite(Duration duration, CacheExpiry<Object, Object> expiry, TtlJitter ttlJitter) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return this.toNanos(key, Objects.isNull(expiry) ? null : expiry.expireAfterCreate(key, value));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return this.toNanos(key, Objects.isNull(expiry) ? null : expiry.expireAfterUpdate(key, value));
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long toNanos(Object key, Duration ttl) {
+            if (Objects.isNull(ttl)) {
+                ttl = duration;
+            } else if (Objects.nonNull(duration) && ttl.compareTo(duration) > 0) {
+                ttl = duration;
+            }
+            if (Objects.isNull(ttl) || ttl.compareTo(NEVER_EXPIRE_THRESHOLD) >= 0) {
+                return Long.MAX_VALUE;
+            }
+            if (Objects.nonNull(ttlJitter) && DurationUtils.isPositive(ttl)) {
+                ttl = ttlJitter.apply(key, ttl);
+            }
+            return Math.max(ttl.toNanos(), 0);
+        }
+    }
+
 }
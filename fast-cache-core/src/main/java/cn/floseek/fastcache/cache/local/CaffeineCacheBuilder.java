@@ -1,12 +1,26 @@
 package cn.floseek.fastcache.cache.local;
 
 import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.config.CacheConfig;
 import cn.floseek.fastcache.cache.builder.LocalCacheBuilder;
 import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.config.RefreshPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Caffeine 缓存构建器
+ * <p>
+ * 配置了缓存加载器和缓存刷新策略的本地缓存构建为 {@link CaffeineLoadingCache}，由 Caffeine 原生完成加载和写入后刷新。
+ * 未指定加载执行器时使用公共线程池，启用虚拟线程时每个缓存独占一个虚拟线程执行器，缓存关闭时关闭
+ * </p>
  *
  * @param <K> 缓存键类型
  * @param <V> 缓存值类型
@@ -14,9 +28,40 @@ import cn.floseek.fastcache.common.enums.LocalCacheProvider;
  */
 public class CaffeineCacheBuilder<K, V> extends LocalCacheBuilder<K, V> {
 
+    private static final Logger log = LoggerFactory.getLogger(CaffeineCacheBuilder.class);
+
+    private final GlobalProperties globalProperties;
+
+    /**
+     * 运行环境是否支持虚拟线程，首次创建执行器时确定
+     */
+    private volatile Boolean virtualThreadsSupported;
+
+    public CaffeineCacheBuilder() {
+        this(null);
+    }
+
+    public CaffeineCacheBuilder(GlobalProperties globalProperties) {
+        this.globalProperties = globalProperties;
+    }
+
     @Override
     public Cache<K, V> build(CacheConfig<K, V> config) {
-        return new CaffeineCache<>(config);
+        if (!this.isNativeLoading(config)) {
+            return new CaffeineCache<>(config);
+        }
+        if (Objects.nonNull(config.getLoaderExecutor())) {
+            return new CaffeineLoadingCache<>(config, config.getLoaderExecutor());
+        }
+
+        // 虚拟线程执行器由缓存独占，缓存关闭时关闭执行器
+        ExecutorService virtualThreadExecutor = this.createVirtualThreadExecutor();
+        if (Objects.isNull(virtualThreadExecutor)) {
+            return new CaffeineLoadingCache<>(config, ForkJoinPool.commonPool());
+        }
+        CaffeineLoadingCache<K, V> cache = new CaffeineLoadingCache<>(config, virtualThreadExecutor);
+        cache.addCloseCallback(virtualThreadExecutor::shutdown);
+        return cache;
     }
 
     @Override
@@ -24,4 +69,40 @@ public class CaffeineCacheBuilder<K, V> extends LocalCacheBuilder<K, V> {
         return LocalCacheProvider.CAFFEINE;
     }
 
+    /**
+     * 是否使用 Caffeine 原生加载缓存，多级缓存的刷新需要分布式锁协调，仍由缓存刷新装饰器完成
+     *
+     * @param config 缓存配置
+     * @return boolean
+     */
+    private boolean isNativeLoading(CacheConfig<K, V> config) {
+        RefreshPolicy refreshPolicy = config.getRefreshPolicy();
+        return config.getCacheType() == CacheType.LOCAL
+                && config.loaderEnabled()
+                && Objects.nonNull(refreshPolicy)
+                && refreshPolicy.getRefreshMillis() > 0;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器，未启用虚拟线程或运行环境不支持时返回 <code>null</code>，使用公共线程池
+     *
+     * @return 执行器
+     */
+    private ExecutorService createVirtualThreadExecutor() {
+        if (globalProperties == null || !globalProperties.getLocal().isLoaderVirtualThreads()
+                || Boolean.FALSE.equals(virtualThreadsSupported)) {
+            return null;
+        }
+        try {
+            // 编译目标为 Java 17，通过反射创建虚拟线程执行器
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreadsSupported = true;
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads not supported by current runtime, falling back to common pool");
+            virtualThreadsSupported = false;
+            return null;
+        }
+    }
+
 }
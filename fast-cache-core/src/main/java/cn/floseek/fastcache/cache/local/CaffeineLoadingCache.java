@@ -0,0 +1,94 @@
+package cn.floseek.fastcache.cache.local;
+
+import cn.floseek.fastcache.cache.CacheLoader;
+import cn.floseek.fastcache.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Caffeine 加载缓存
+ * <p>
+ * 使用 Caffeine 原生的 {@link LoadingCache} 实现缓存加载和写入后刷新：未命中时由缓存加载器加载，批量未命中时调用
+ * {@link CacheLoader#loadAll(Collection)}；条目写入超过刷新间隔后，下一次读取返回旧值并在执行器中异步重新加载，
+ * 不需要定时任务，长期不访问的条目也不会被刷新。同一个键并发未命中时只加载一次
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class CaffeineLoadingCache<K, V> extends CaffeineCache<K, V> {
+
+    private final LoadingCache<K, V> loadingCache;
+
+    public CaffeineLoadingCache(CacheConfig<K, V> config, Executor executor) {
+        this(config, executor, new EvictionRelay());
+    }
+
+    private CaffeineLoadingCache(CacheConfig<K, V> config, Executor executor, EvictionRelay evictionRelay) {
+        this(config, CaffeineCache.newCaffeine(config, evictionRelay)
+                .refreshAfterWrite(Duration.ofMillis(config.getRefreshPolicy().getRefreshMillis()))
+                .executor(executor)
+                .build(new Loader<>(config.getLoader())), evictionRelay);
+    }
+
+    private CaffeineLoadingCache(CacheConfig<K, V> config, LoadingCache<K, V> loadingCache, EvictionRelay evictionRelay) {
+        super(config, loadingCache, evictionRelay);
+        this.loadingCache = loadingCache;
+    }
+
+    @Override
+    public V get(K key) {
+        return loadingCache.get(key);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        return loadingCache.getAll(keys);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return loadingCache.getIfPresent(key);
+    }
+
+    @Override
+    public Map<K, V> getAllPresent(Collection<? extends K> keys) {
+        return loadingCache.getAllPresent(keys);
+    }
+
+    @Override
+    public V refresh(K key) {
+        return loadingCache.refresh(key).join();
+    }
+
+    @Override
+    public boolean supportLoading() {
+        return true;
+    }
+
+    /**
+     * 适配缓存加载器
+     *
+     * @param loader 缓存加载器
+     */
+    private record Loader<K, V>(CacheLoader<K, V> loader) implements com.github.benmanes.caffeine.cache.CacheLoader<K, V> {
+
+        @Override
+        public V load(K key) {
+            return loader.load(key);
+        }
+
+        @Override
+        public Map<? extends K, ? extends V> loadAll(Set<? extends K> keys) {
+            return loader.loadAll(new ArrayList<>(keys));
+        }
+    }
+
+}
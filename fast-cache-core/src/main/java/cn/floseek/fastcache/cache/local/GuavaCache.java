@@ -2,16 +2,24 @@ package cn.floseek.fastcache.cache.local;
 
 import cn.floseek.fastcache.cache.AbstractLocalCache;
 import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.weigher.Weigher;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang3.time.DurationUtils;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Guava 缓存
+ * <p>
+ * Guava 只支持整个缓存统一的写入后过期时间，条目统一在本地缓存过期时间后过期：按条目指定的存活时间、
+ * 缓存配置的 {@link cn.floseek.fastcache.cache.CacheExpiry} 和存活时间抖动策略都不会生效，
+ * 只有计算出的存活时间不为正数时立即删除条目。需要按条目设置存活时间时使用 Caffeine 缓存
+ * </p>
  *
  * @param <K> 缓存键类型
  * @param <V> 缓存值类型
@@ -21,11 +29,25 @@ public class GuavaCache<K, V> extends AbstractLocalCache<K, V> {
 
     private final Cache<K, V> cache;
 
+    private volatile Consumer<? super K> evictionListener;
+
+    @SuppressWarnings("unchecked")
     public GuavaCache(CacheConfig<K, V> config) {
         super(config);
 
-        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
-        if (Objects.nonNull(config.getLocalMaximumSize())) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .removalListener(notification -> {
+                    Consumer<? super K> listener = evictionListener;
+                    if (notification.wasEvicted() && Objects.nonNull(listener) && Objects.nonNull(notification.getKey())) {
+                        listener.accept((K) notification.getKey());
+                    }
+                });
+        if (config.isLocalWeighted()) {
+            // Guava 不允许同时设置最大容量和最大权重，设置最大权重时忽略最大容量
+            Weigher weigher = config.getWeigher();
+            builder.maximumWeight(config.getLocalMaximumWeight())
+                    .weigher((key, value) -> weigher.weigh(key, value));
+        } else if (Objects.nonNull(config.getLocalMaximumSize())) {
             builder.maximumSize(config.getLocalMaximumSize());
         }
         if (Objects.nonNull(config.getLocalExpireTime()) && DurationUtils.isPositive(config.getLocalExpireTime())) {
@@ -49,6 +71,25 @@ public class GuavaCache<K, V> extends AbstractLocalCache<K, V> {
         cache.put(key, value);
     }
 
+    /**
+     * Guava 不支持按条目设置存活时间，存活时间为正数时忽略存活时间，使用缓存配置的本地缓存过期时间；
+     * 存活时间不为正数时删除条目
+     */
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        if (Objects.isNull(ttl)) {
+            this.put(key, value);
+            return;
+        }
+
+        Duration resolvedTtl = this.resolveLocalTtl(key, value, ttl);
+        if (Objects.nonNull(resolvedTtl) && !DurationUtils.isPositive(resolvedTtl)) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.put(key, value);
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         cache.putAll(map);
@@ -64,4 +105,15 @@ public class GuavaCache<K, V> extends AbstractLocalCache<K, V> {
         cache.invalidateAll(keys);
     }
 
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean setEvictionListener(Consumer<? super K> listener) {
+        this.evictionListener = listener;
+        return true;
+    }
+
 }
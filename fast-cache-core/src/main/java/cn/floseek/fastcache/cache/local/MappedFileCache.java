@@ -0,0 +1,672 @@
+package cn.floseek.fastcache.cache.local;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import org.apache.commons.lang3.time.DurationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 基于内存映射文件的磁盘缓存
+ * <p>
+ * 每个缓存在独立目录下以追加写的方式将条目写入固定大小的段文件，段文件通过内存映射读写，缓存值不占用堆内存。
+ * 堆内只保留缓存键到记录位置的索引，删除操作写入删除标记，重启时按段文件顺序重放记录恢复索引，
+ * 校验失败的记录及其之后的内容会被丢弃。
+ * </p>
+ * <p>
+ * 写满一个段文件后切换到新的段文件，并整理最旧的段文件：磁盘占用超过容量时直接淘汰其中的全部条目，
+ * 否则在其中过期、被覆盖和被删除的数据比例达到压缩阈值时，将仍然有效的记录复制到当前段文件后删除。
+ * 始终只整理最旧的段文件，因此可以安全地丢弃其中的删除标记。
+ * </p>
+ * <p>
+ * 恢复的条目的数据时间取段文件的最后修改时间，支持补发的广播传输方式从该时间开始补发失效广播；
+ * 不支持补发时重启后恢复的条目可能已经过时，指定了恢复条目的最大存活时间时，恢复的条目最多再保留该时间
+ * </p>
+ * <p>
+ * 关闭后释放段文件的内存映射，之后的写入操作抛出 {@link CacheException}
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class MappedFileCache<K, V> extends AbstractLocalCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileCache.class);
+
+    private static final int MAGIC = 0x46434d46;
+    private static final byte VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 5;
+
+    /**
+     * 记录头长度：记录长度（4）、类型（1）、过期时间（8）、键长度（4）
+     */
+    private static final int RECORD_HEADER_SIZE = 17;
+
+    /**
+     * 记录尾部校验和长度
+     */
+    private static final int CHECKSUM_SIZE = 4;
+
+    private static final byte TYPE_PUT = 0;
+    private static final byte TYPE_REMOVE = 1;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    /**
+     * 释放内存映射的方法句柄，通过 <code>sun.misc.Unsafe#invokeCleaner</code> 实现，不可用时为 <code>null</code>，由垃圾回收释放
+     */
+    private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 索引，key 为缓存键，value 为记录位置
+     */
+    private final Map<K, Location> index = new HashMap<>();
+
+    /**
+     * 段文件映射，key 为段文件 ID，按写入顺序排列
+     */
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    private final Path directory;
+    private final ValueSerializer serializer;
+    private final long capacity;
+    private final int segmentSize;
+    private final double compactionThreshold;
+    private final Duration restoreMaxTtl;
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+
+    private Segment activeSegment;
+
+    /**
+     * 是否已关闭，由写锁保护
+     */
+    private boolean closed;
+
+    public MappedFileCache(CacheConfig<K, V> config, String directory, long capacity, int segmentSize, double compactionThreshold) {
+        this(config, directory, capacity, segmentSize, compactionThreshold, null);
+    }
+
+    public MappedFileCache(CacheConfig<K, V> config, String directory, long capacity, int segmentSize, double compactionThreshold,
+                           Duration restoreMaxTtl) {
+        super(config);
+        this.serializer = config.getValueSerializer();
+        if (Objects.isNull(this.serializer)) {
+            throw new CacheException("Value serializer is required for disk cache: " + config.getCacheName());
+        }
+        String cacheDirectory = (config.getCacheName() + "." + config.getCacheType().name().toLowerCase(Locale.ROOT))
+                .replaceAll("[^A-Za-z0-9._-]", "_");
+        this.directory = Paths.get(directory, cacheDirectory);
+        this.segmentSize = Math.max(segmentSize, 4096);
+        this.capacity = Math.max(capacity, 2L * this.segmentSize);
+        this.compactionThreshold = compactionThreshold;
+        this.restoreMaxTtl = restoreMaxTtl;
+
+        try {
+            Files.createDirectories(this.directory);
+            // 同一目录只允许一个进程使用
+            this.lockChannel = FileChannel.open(this.directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.fileLock = this.lockDirectory();
+            this.recover();
+        } catch (IOException e) {
+            throw new CacheException("Failed to open disk cache: " + this.directory, e);
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        byte[] bytes;
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null || location.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            bytes = location.segment.read(location.valueOffset(), location.valueLength);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return serializer.deserialize(bytes);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> resultMap = new HashMap<>(keys.size());
+        for (K key : keys) {
+            V value = this.get(key);
+            if (Objects.nonNull(value)) {
+                resultMap.put(key, value);
+            }
+        }
+        return resultMap;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        this.put(key, value, null);
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        Duration resolvedTtl = Objects.isNull(value) ? null : this.resolveLocalTtl(key, value, ttl);
+        if (Objects.isNull(value) || (Objects.nonNull(resolvedTtl) && !DurationUtils.isPositive(resolvedTtl))) {
+            this.remove(key);
+            return;
+        }
+
+        byte[] keyBytes = serializer.serialize(key);
+        byte[] valueBytes = serializer.serialize(value);
+        long expireAt = Objects.nonNull(resolvedTtl) ? System.currentTimeMillis() + resolvedTtl.toMillis() : 0;
+
+        lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            Location location = this.append(TYPE_PUT, keyBytes, valueBytes, expireAt);
+            if (location == null) {
+                // 超过段文件大小的值不缓存，同时移除旧值
+                this.removeLocked(key, keyBytes);
+                return;
+            }
+            this.putIndex(key, location);
+        } catch (IOException e) {
+            throw new CacheException("Failed to write disk cache: " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void remove(K key) {
+        byte[] keyBytes = serializer.serialize(key);
+        lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            this.removeLocked(key, keyBytes);
+        } catch (IOException e) {
+            throw new CacheException("Failed to write disk cache: " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        keys.forEach(this::remove);
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            index.clear();
+            int nextId = activeSegment.id + 1;
+            for (Segment segment : segments.values()) {
+                segment.delete();
+            }
+            segments.clear();
+            activeSegment = this.createSegment(nextId);
+        } catch (IOException e) {
+            throw new CacheException("Failed to clear disk cache: " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            activeSegment = null;
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+            fileLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.error("Failed to close disk cache: {}", directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        super.close();
+    }
+
+    /**
+     * 获取缓存条目数量，包括已过期但尚未清理的条目
+     *
+     * @return 缓存条目数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取磁盘占用（字节）
+     *
+     * @return 段文件的总大小
+     */
+    public long getDiskUsage() {
+        lock.readLock().lock();
+        try {
+            return segments.values().stream().mapToLong(segment -> segment.buffer.capacity()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 锁定缓存目录，同一目录只允许一个缓存实例使用
+     *
+     * @return 文件锁
+     */
+    private FileLock lockDirectory() throws IOException {
+        FileLock directoryLock;
+        try {
+            directoryLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // 当前进程内的其他缓存实例已持有该目录的锁
+            directoryLock = null;
+        }
+        if (directoryLock == null) {
+            lockChannel.close();
+            throw new CacheException("Disk cache directory is used by another process: " + directory);
+        }
+        return directoryLock;
+    }
+
+    /**
+     * 检查缓存未关闭，关闭后段文件的内存映射已释放，不能继续写入，调用方需持有写锁
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new CacheException("Disk cache is closed: " + directory);
+        }
+    }
+
+    /**
+     * 删除缓存条目并写入删除标记，调用方需持有写锁
+     */
+    private void removeLocked(K key, byte[] keyBytes) throws IOException {
+        if (this.removeIndex(key) != null) {
+            this.append(TYPE_REMOVE, keyBytes, new byte[0], 0);
+        }
+    }
+
+    /**
+     * 追加记录，当前段文件空间不足时切换到新的段文件并整理最旧的段文件，调用方需持有写锁
+     *
+     * @return 记录位置，记录超过段文件大小时返回 <code>null</code>
+     */
+    private Location append(byte type, byte[] keyBytes, byte[] valueBytes, long expireAt) throws IOException {
+        int recordLength = RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length + CHECKSUM_SIZE;
+        if (recordLength > segmentSize - FILE_HEADER_SIZE) {
+            return null;
+        }
+        if (!activeSegment.hasRemaining(recordLength)) {
+            this.rollSegment();
+        }
+
+        byte[] record = new byte[recordLength];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(recordLength).put(type).putLong(expireAt).putInt(keyBytes.length).put(keyBytes).put(valueBytes);
+        CRC32 crc32 = new CRC32();
+        crc32.update(record, 0, recordLength - CHECKSUM_SIZE);
+        buffer.putInt((int) crc32.getValue());
+
+        int offset = activeSegment.append(record);
+        return new Location(activeSegment, offset, recordLength, valueBytes.length, expireAt);
+    }
+
+    /**
+     * 复制记录到当前段文件，调用方需持有写锁
+     */
+    private Location copy(Location location) throws IOException {
+        if (!activeSegment.hasRemaining(location.length)) {
+            activeSegment.force();
+            activeSegment = this.createSegment(activeSegment.id + 1);
+        }
+        byte[] record = location.segment.read(location.offset, location.length);
+        int offset = activeSegment.append(record);
+        return new Location(activeSegment, offset, location.length, location.valueLength, location.expireAt);
+    }
+
+    /**
+     * 切换到新的段文件并整理最旧的段文件
+     */
+    private void rollSegment() throws IOException {
+        activeSegment.force();
+        activeSegment = this.createSegment(activeSegment.id + 1);
+
+        // 磁盘占用超过容量时淘汰最旧的段文件
+        while ((long) segments.size() * segmentSize > capacity && segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            index.values().removeIf(location -> location.segment == oldest);
+            this.deleteSegment(oldest);
+            log.debug("Disk cache segment evicted: {}", oldest.path);
+        }
+
+        Segment oldest = segments.firstEntry().getValue();
+        if (oldest == activeSegment) {
+            return;
+        }
+        // 有效数据量随索引增量维护，已过期但尚未删除的条目仍计入有效数据，在压缩时清理
+        long usedBytes = Math.max(oldest.writePosition - FILE_HEADER_SIZE, 1);
+        if (1 - (double) oldest.liveBytes / usedBytes >= compactionThreshold) {
+            this.compact(oldest, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 压缩段文件，将仍然有效的记录复制到当前段文件后删除该段文件
+     */
+    private void compact(Segment segment, long now) throws IOException {
+        int copied = 0;
+        Iterator<Map.Entry<K, Location>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Location> entry = iterator.next();
+            Location location = entry.getValue();
+            if (location.segment != segment) {
+                continue;
+            }
+            if (location.isExpired(now)) {
+                iterator.remove();
+            } else {
+                Location copiedLocation = this.copy(location);
+                copiedLocation.segment.liveBytes += copiedLocation.length;
+                entry.setValue(copiedLocation);
+                copied++;
+            }
+        }
+        this.deleteSegment(segment);
+        log.debug("Disk cache segment compacted: {}, live records: {}", segment.path, copied);
+    }
+
+    private static MethodHandle lookupInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Unmapping disk cache segments is not supported, mapped memory is released by garbage collection", e);
+            return null;
+        }
+    }
+
+    /**
+     * 更新索引并维护各段文件的有效数据量，调用方需持有写锁
+     */
+    private void putIndex(K key, Location location) {
+        Location oldLocation = index.put(key, location);
+        if (oldLocation != null) {
+            oldLocation.segment.liveBytes -= oldLocation.length;
+        }
+        location.segment.liveBytes += location.length;
+    }
+
+    /**
+     * 删除索引并维护段文件的有效数据量，调用方需持有写锁
+     */
+    private Location removeIndex(K key) {
+        Location location = index.remove(key);
+        if (location != null) {
+            location.segment.liveBytes -= location.length;
+        }
+        return location;
+    }
+
+    private void deleteSegment(Segment segment) throws IOException {
+        segments.remove(segment.id);
+        segment.delete();
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Path path = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        Segment segment = Segment.open(id, path, segmentSize);
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.put(4, VERSION);
+        segment.writePosition = FILE_HEADER_SIZE;
+        segments.put(id, segment);
+        return segment;
+    }
+
+    /**
+     * 按段文件顺序重放记录恢复索引
+     */
+    private void recover() throws IOException {
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.forEach(path -> {
+                String fileName = path.getFileName().toString();
+                if (fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX)) {
+                    files.put(Integer.parseInt(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length())), path);
+                }
+            });
+        }
+
+        long now = System.currentTimeMillis();
+        long restoreExpireAt = Objects.nonNull(restoreMaxTtl) && DurationUtils.isPositive(restoreMaxTtl) ? now + restoreMaxTtl.toMillis() : 0;
+        long lastModified = 0;
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            // 内存映射写入不会每次都更新修改时间，修改时间不晚于最后一次写入，作为恢复的数据时间是安全的
+            lastModified = Math.max(lastModified, Files.getLastModifiedTime(file.getValue()).toMillis());
+            Segment segment = Segment.open(file.getKey(), file.getValue(), (int) Math.min(Files.size(file.getValue()), Integer.MAX_VALUE));
+            if (segment.buffer.capacity() < FILE_HEADER_SIZE || segment.buffer.getInt(0) != MAGIC || segment.buffer.get(4) != VERSION) {
+                log.warn("Unrecognized disk cache segment, deleted: {}", file.getValue());
+                segment.delete();
+                continue;
+            }
+            segments.put(segment.id, segment);
+            this.replay(segment, now, restoreExpireAt);
+        }
+
+        if (segments.isEmpty()) {
+            activeSegment = this.createSegment(files.isEmpty() ? 0 : files.lastKey() + 1);
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+        }
+        if (!index.isEmpty()) {
+            this.updateRestoredAt(lastModified);
+        }
+        log.info("Disk cache opened: {}, segments: {}, entries: {}", directory, segments.size(), index.size());
+    }
+
+    /**
+     * 重放段文件中的记录，遇到不完整或校验失败的记录时停止
+     *
+     * @param segment         段文件
+     * @param now             当前时间戳（毫秒）
+     * @param restoreExpireAt 恢复条目的最晚过期时间戳（毫秒），0 表示不限制
+     */
+    private void replay(Segment segment, long now, long restoreExpireAt) {
+        int position = FILE_HEADER_SIZE;
+        int limit = segment.buffer.capacity();
+        while (position + RECORD_HEADER_SIZE + CHECKSUM_SIZE <= limit) {
+            int recordLength = segment.buffer.getInt(position);
+            if (recordLength < RECORD_HEADER_SIZE + CHECKSUM_SIZE || position + recordLength > limit) {
+                break;
+            }
+            byte[] record = segment.read(position, recordLength);
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            CRC32 crc32 = new CRC32();
+            crc32.update(record, 0, recordLength - CHECKSUM_SIZE);
+            if (buffer.getInt(recordLength - CHECKSUM_SIZE) != (int) crc32.getValue()) {
+                break;
+            }
+
+            byte type = buffer.get(4);
+            long expireAt = buffer.getLong(5);
+            if (restoreExpireAt > 0 && (expireAt == 0 || expireAt > restoreExpireAt)) {
+                expireAt = restoreExpireAt;
+            }
+            int keyLength = buffer.getInt(13);
+            try {
+                K key = serializer.deserialize(Arrays.copyOfRange(record, RECORD_HEADER_SIZE, RECORD_HEADER_SIZE + keyLength));
+                Location location = new Location(segment, position, recordLength,
+                        recordLength - RECORD_HEADER_SIZE - keyLength - CHECKSUM_SIZE, expireAt);
+                if (type == TYPE_PUT && !location.isExpired(now)) {
+                    this.putIndex(key, location);
+                } else {
+                    this.removeIndex(key);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to recover disk cache record: {}, position: {}", segment.path, position, e);
+            }
+            position += recordLength;
+        }
+        segment.writePosition = position;
+    }
+
+    /**
+     * 记录位置
+     *
+     * @param segment     段文件
+     * @param offset      记录偏移量
+     * @param length      记录长度
+     * @param valueLength 缓存值长度
+     * @param expireAt    过期时间戳（毫秒），0 表示永不过期
+     */
+    private record Location(Segment segment, int offset, int length, int valueLength, long expireAt) {
+
+        private int valueOffset() {
+            return offset + length - CHECKSUM_SIZE - valueLength;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt != 0 && expireAt <= now;
+        }
+    }
+
+    /**
+     * 段文件
+     */
+    private static class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        /**
+         * 索引仍引用的记录的总长度
+         */
+        private long liveBytes;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(int id, Path path, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private boolean hasRemaining(int length) {
+            return writePosition + length <= buffer.capacity();
+        }
+
+        private int append(byte[] record) {
+            int offset = writePosition;
+            buffer.put(offset, record);
+            writePosition += record.length;
+            return offset;
+        }
+
+        private byte[] read(int offset, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return bytes;
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+        private void close() throws IOException {
+            buffer.force();
+            channel.close();
+            unmap(buffer);
+        }
+
+        private void delete() throws IOException {
+            channel.close();
+            unmap(buffer);
+            Files.deleteIfExists(path);
+        }
+
+        /**
+         * 立即释放内存映射，不等待垃圾回收，释放后不能再访问该缓冲区
+         */
+        private static void unmap(MappedByteBuffer buffer) {
+            if (INVOKE_CLEANER == null) {
+                return;
+            }
+            try {
+                INVOKE_CLEANER.invoke(buffer);
+            } catch (Throwable e) {
+                log.warn("Failed to unmap disk cache segment", e);
+            }
+        }
+    }
+
+}
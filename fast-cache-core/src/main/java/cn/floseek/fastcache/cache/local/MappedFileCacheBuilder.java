@@ -0,0 +1,36 @@
+package cn.floseek.fastcache.cache.local;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.builder.LocalCacheBuilder;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+
+/**
+ * 内存映射文件磁盘缓存构建器
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class MappedFileCacheBuilder<K, V> extends LocalCacheBuilder<K, V> {
+
+    private final GlobalProperties globalProperties;
+
+    public MappedFileCacheBuilder(GlobalProperties globalProperties) {
+        this.globalProperties = globalProperties;
+    }
+
+    @Override
+    public Cache<K, V> build(CacheConfig<K, V> config) {
+        GlobalProperties.LocalCache local = globalProperties.getLocal();
+        return new MappedFileCache<>(config, local.getDiskDirectory(), local.getDiskCapacity(),
+                local.getDiskSegmentSize(), local.getDiskCompactionThreshold(), local.getDiskRestoreMaxTtl());
+    }
+
+    @Override
+    public LocalCacheProvider getProvider() {
+        return LocalCacheProvider.DISK;
+    }
+
+}
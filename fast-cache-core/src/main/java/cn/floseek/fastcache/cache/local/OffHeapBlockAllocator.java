@@ -0,0 +1,199 @@
+package cn.floseek.fastcache.cache.local;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 堆外内存块分配器
+ * <p>
+ * 以页为单位申请直接内存，每页划分为固定大小的块，一个值占用若干个块，块地址为全局块序号。
+ * 块大小固定，任何释放的块都可以被任意大小的值复用，不会出现按大小分级分配时的内存固化问题。
+ * 堆外内存在第一次需要时按页申请，直到达到容量上限。
+ * </p>
+ * <p>
+ * 该类不是线程安全的，由调用方加锁
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class OffHeapBlockAllocator {
+
+    /**
+     * 页大小（字节）
+     */
+    public static final int PAGE_SIZE = 1024 * 1024;
+
+    private final int blockSize;
+    private final int blocksPerPage;
+    private final int maxBlocks;
+
+    /**
+     * 已申请的页
+     */
+    private final List<ByteBuffer> pages = new ArrayList<>();
+
+    /**
+     * 空闲块栈
+     */
+    private int[] freeBlocks = new int[0];
+    private int freeCount;
+
+    /**
+     * 已划分的块数量
+     */
+    private int carvedBlocks;
+
+    public OffHeapBlockAllocator(long capacity, int blockSize) {
+        this.blockSize = Math.max(blockSize, 16);
+        this.blocksPerPage = Math.max(PAGE_SIZE / this.blockSize, 1);
+        this.maxBlocks = (int) Math.min(capacity / this.blockSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 计算存储指定长度的数据需要的块数量
+     *
+     * @param length 数据长度
+     * @return 块数量
+     */
+    public int blocksFor(int length) {
+        return Math.max((length + blockSize - 1) / blockSize, 1);
+    }
+
+    /**
+     * 获取可分配的块数量，包括尚未申请内存的块
+     *
+     * @return 可分配的块数量
+     */
+    public int available() {
+        return freeCount + (maxBlocks - carvedBlocks);
+    }
+
+    /**
+     * 获取最大块数量
+     *
+     * @return 最大块数量
+     */
+    public int getMaxBlocks() {
+        return maxBlocks;
+    }
+
+    /**
+     * 分配块
+     *
+     * @param count 块数量
+     * @return 块地址数组，可分配的块不足时返回 <code>null</code>
+     */
+    public int[] allocate(int count) {
+        if (count > this.available()) {
+            return null;
+        }
+        while (freeCount < count) {
+            this.addPage();
+        }
+
+        int[] blocks = new int[count];
+        for (int i = 0; i < count; i++) {
+            blocks[i] = freeBlocks[--freeCount];
+        }
+        return blocks;
+    }
+
+    /**
+     * 释放块
+     *
+     * @param blocks 块地址数组
+     */
+    public void free(int[] blocks) {
+        for (int block : blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    /**
+     * 写入数据
+     *
+     * @param blocks 块地址数组
+     * @param bytes  数据
+     */
+    public void write(int[] blocks, byte[] bytes) {
+        int position = 0;
+        for (int block : blocks) {
+            int length = Math.min(blockSize, bytes.length - position);
+            this.page(block).put(this.offset(block), bytes, position, length);
+            position += length;
+        }
+    }
+
+    /**
+     * 读取数据
+     *
+     * @param blocks 块地址数组
+     * @param length 数据长度
+     * @return 数据
+     */
+    public byte[] read(int[] blocks, int length) {
+        byte[] bytes = new byte[length];
+        int position = 0;
+        for (int block : blocks) {
+            int size = Math.min(blockSize, length - position);
+            this.page(block).get(this.offset(block), bytes, position, size);
+            position += size;
+        }
+        return bytes;
+    }
+
+    /**
+     * 获取已使用的堆外内存（字节）
+     *
+     * @return 已使用的字节数
+     */
+    public long getUsedBytes() {
+        return (long) (carvedBlocks - freeCount) * blockSize;
+    }
+
+    /**
+     * 获取已申请的堆外内存（字节）
+     *
+     * @return 已申请的字节数
+     */
+    public long getReservedBytes() {
+        return (long) carvedBlocks * blockSize;
+    }
+
+    /**
+     * 释放全部页，直接内存在页对象被回收时归还
+     */
+    public void clear() {
+        pages.clear();
+        freeBlocks = new int[0];
+        freeCount = 0;
+        carvedBlocks = 0;
+    }
+
+    /**
+     * 申请新页并将其中的块加入空闲块栈，最后一页可能小于页大小
+     */
+    private void addPage() {
+        int blocks = Math.min(blocksPerPage, maxBlocks - carvedBlocks);
+        pages.add(ByteBuffer.allocateDirect(blocks * blockSize));
+        // 空闲块栈需要能容纳全部已划分的块
+        if (freeBlocks.length < carvedBlocks + blocks) {
+            freeBlocks = Arrays.copyOf(freeBlocks, Math.min(Math.max(freeBlocks.length * 2, carvedBlocks + blocks), maxBlocks));
+        }
+        for (int i = carvedBlocks + blocks - 1; i >= carvedBlocks; i--) {
+            freeBlocks[freeCount++] = i;
+        }
+        carvedBlocks += blocks;
+    }
+
+    private ByteBuffer page(int block) {
+        return pages.get(block / blocksPerPage);
+    }
+
+    private int offset(int block) {
+        return (block % blocksPerPage) * blockSize;
+    }
+
+}
@@ -0,0 +1,279 @@
+package cn.floseek.fastcache.cache.local;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import org.apache.commons.lang3.time.DurationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 堆外缓存
+ * <p>
+ * 缓存值使用缓存配置的值序列化器序列化后存储在直接内存中，堆内只保留缓存键和块地址索引，
+ * 大量缓存值不再进入老年代，降低垃圾回收的停顿时间。读取时反序列化，每次读取返回新的对象。
+ * </p>
+ * <p>
+ * 缓存按键的哈希值分为多个分段，每个分段独立加锁并按字节容量执行 LRU 淘汰，
+ * 同时遵守本地缓存最大容量、写入后过期时间和按条目计算的存活时间
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class OffHeapCache<K, V> extends AbstractLocalCache<K, V> {
+
+    /**
+     * 最大分段数量
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    private final List<Segment<K>> segments;
+    private final ValueSerializer serializer;
+
+    public OffHeapCache(CacheConfig<K, V> config, long capacity, int blockSize) {
+        super(config);
+        this.serializer = config.getValueSerializer();
+        if (Objects.isNull(this.serializer)) {
+            throw new CacheException("Value serializer is required for off-heap cache: " + config.getCacheName());
+        }
+
+        // 每个分段至少保留 4 页，避免容量较小时分段过多导致大值无法存储
+        int segmentCount = (int) Math.min(MAX_SEGMENTS, Math.max(capacity / (4L * OffHeapBlockAllocator.PAGE_SIZE), 1));
+        long maximumSize = Objects.nonNull(config.getLocalMaximumSize()) ? config.getLocalMaximumSize() : Long.MAX_VALUE;
+        List<Segment<K>> segmentList = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segmentList.add(new Segment<>(new OffHeapBlockAllocator(capacity / segmentCount, blockSize),
+                    Math.max((maximumSize + segmentCount - 1) / segmentCount, 1)));
+        }
+        this.segments = List.copyOf(segmentList);
+    }
+
+    @Override
+    public V get(K key) {
+        byte[] bytes = this.segment(key).get(key);
+        return bytes == null ? null : serializer.deserialize(bytes);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> resultMap = new HashMap<>(keys.size());
+        for (K key : keys) {
+            V value = this.get(key);
+            if (Objects.nonNull(value)) {
+                resultMap.put(key, value);
+            }
+        }
+        return resultMap;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        this.put(key, value, null);
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        Duration resolvedTtl = Objects.isNull(value) ? null : this.resolveLocalTtl(key, value, ttl);
+        if (Objects.isNull(value) || (Objects.nonNull(resolvedTtl) && !DurationUtils.isPositive(resolvedTtl))) {
+            this.remove(key);
+            return;
+        }
+
+        byte[] bytes = serializer.serialize(value);
+        long expireAt = Objects.nonNull(resolvedTtl) ? System.nanoTime() + resolvedTtl.toNanos() : 0;
+        this.segment(key).put(key, bytes, expireAt);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void remove(K key) {
+        this.segment(key).remove(key);
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        keys.forEach(this::remove);
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.clear();
+        super.close();
+    }
+
+    /**
+     * 获取缓存条目数量
+     *
+     * @return 缓存条目数量
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 获取已使用的堆外内存（字节）
+     *
+     * @return 已使用的字节数
+     */
+    public long getUsedBytes() {
+        long usedBytes = 0;
+        for (Segment<K> segment : segments) {
+            usedBytes += segment.getUsedBytes();
+        }
+        return usedBytes;
+    }
+
+    private Segment<K> segment(K key) {
+        int hash = Objects.hashCode(key);
+        return segments.get(Math.floorMod(hash ^ (hash >>> 16), segments.size()));
+    }
+
+    /**
+     * 缓存分段
+     *
+     * @param <K> 缓存键类型
+     */
+    private static class Segment<K> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 索引，按访问顺序排列，第一个为最久未访问的条目
+         */
+        private final LinkedHashMap<K, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final OffHeapBlockAllocator allocator;
+        private final long maximumSize;
+
+        private Segment(OffHeapBlockAllocator allocator, long maximumSize) {
+            this.allocator = allocator;
+            this.maximumSize = maximumSize;
+        }
+
+        private byte[] get(K key) {
+            lock.lock();
+            try {
+                Entry entry = index.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.isExpired()) {
+                    this.release(index.remove(key));
+                    return null;
+                }
+                return allocator.read(entry.blocks, entry.length);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(K key, byte[] bytes, long expireAt) {
+            lock.lock();
+            try {
+                this.release(index.remove(key));
+
+                int blockCount = allocator.blocksFor(bytes.length);
+                if (blockCount > allocator.getMaxBlocks()) {
+                    // 超过分段容量的值不缓存
+                    return;
+                }
+                Iterator<Entry> iterator = index.values().iterator();
+                while ((allocator.available() < blockCount || index.size() >= maximumSize) && iterator.hasNext()) {
+                    this.release(iterator.next());
+                    iterator.remove();
+                }
+
+                int[] blocks = allocator.allocate(blockCount);
+                allocator.write(blocks, bytes);
+                index.put(key, new Entry(blocks, bytes.length, expireAt));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(K key) {
+            lock.lock();
+            try {
+                this.release(index.remove(key));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                index.clear();
+                allocator.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return index.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long getUsedBytes() {
+            lock.lock();
+            try {
+                return allocator.getUsedBytes();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release(Entry entry) {
+            if (entry != null) {
+                allocator.free(entry.blocks);
+            }
+        }
+    }
+
+    /**
+     * 索引条目
+     *
+     * @param blocks   块地址数组
+     * @param length   数据长度
+     * @param expireAt 过期时间（纳秒），0 表示永不过期
+     */
+    private record Entry(int[] blocks, int length, long expireAt) {
+
+        private boolean isExpired() {
+            return expireAt != 0 && System.nanoTime() - expireAt >= 0;
+        }
+    }
+
+}
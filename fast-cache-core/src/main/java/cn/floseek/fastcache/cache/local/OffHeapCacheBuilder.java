@@ -0,0 +1,35 @@
+package cn.floseek.fastcache.cache.local;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.builder.LocalCacheBuilder;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+
+/**
+ * 堆外缓存构建器
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class OffHeapCacheBuilder<K, V> extends LocalCacheBuilder<K, V> {
+
+    private final GlobalProperties globalProperties;
+
+    public OffHeapCacheBuilder(GlobalProperties globalProperties) {
+        this.globalProperties = globalProperties;
+    }
+
+    @Override
+    public Cache<K, V> build(CacheConfig<K, V> config) {
+        GlobalProperties.LocalCache local = globalProperties.getLocal();
+        return new OffHeapCache<>(config, local.getOffHeapCapacity(), local.getOffHeapBlockSize());
+    }
+
+    @Override
+    public LocalCacheProvider getProvider() {
+        return LocalCacheProvider.OFF_HEAP;
+    }
+
+}
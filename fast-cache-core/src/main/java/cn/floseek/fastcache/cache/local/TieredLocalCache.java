@@ -0,0 +1,167 @@
+package cn.floseek.fastcache.cache.local;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.config.CacheConfig;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 分层本地缓存
+ * <p>
+ * 将堆内缓存和磁盘缓存组合为一个本地缓存，作为多级缓存的本地缓存使用时形成“堆内缓存 -> 磁盘缓存 -> 分布式缓存”的查询链路。
+ * 读取时先查询第一层，未命中时查询第二层并回填第一层；写入和删除同时作用于两层，广播和失效通知因此可以同步两层缓存
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class TieredLocalCache<K, V> extends AbstractLocalCache<K, V> {
+
+    /**
+     * 第一层缓存
+     */
+    private final Cache<K, V> firstTier;
+
+    /**
+     * 第二层缓存
+     */
+    private final Cache<K, V> secondTier;
+
+    public TieredLocalCache(CacheConfig<K, V> config, Cache<K, V> firstTier, Cache<K, V> secondTier) {
+        super(config);
+        this.firstTier = firstTier;
+        this.secondTier = secondTier;
+    }
+
+    @Override
+    public V get(K key) {
+        V value = firstTier.get(key);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+
+        value = secondTier.get(key);
+        if (Objects.nonNull(value)) {
+            firstTier.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return Collections.emptyMap();
+        }
+
+        Map<K, V> resultMap = new HashMap<>(firstTier.getAll(keys));
+        Set<K> missingKeys = new HashSet<>(keys);
+        missingKeys.removeAll(resultMap.keySet());
+        if (CollectionUtils.isNotEmpty(missingKeys)) {
+            Map<K, V> valueMap = secondTier.getAll(missingKeys);
+            if (MapUtils.isNotEmpty(valueMap)) {
+                resultMap.putAll(valueMap);
+                firstTier.putAll(valueMap);
+            }
+        }
+        return resultMap;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        secondTier.put(key, value);
+        firstTier.put(key, value);
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        secondTier.put(key, value, ttl);
+        firstTier.put(key, value, ttl);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        secondTier.putAll(map);
+        firstTier.putAll(map);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        secondTier.putAll(map, ttl);
+        firstTier.putAll(map, ttl);
+    }
+
+    @Override
+    public void remove(K key) {
+        secondTier.remove(key);
+        firstTier.remove(key);
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        secondTier.removeAll(keys);
+        firstTier.removeAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        if (secondTier instanceof AbstractLocalCache<K, V> localCache) {
+            localCache.clear();
+        }
+        if (firstTier instanceof AbstractLocalCache<K, V> localCache) {
+            localCache.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            firstTier.close();
+        } finally {
+            try {
+                secondTier.close();
+            } finally {
+                super.close();
+            }
+        }
+    }
+
+    /**
+     * 获取各层缓存中最早的恢复时间戳
+     *
+     * @return 毫秒时间戳，0 表示没有恢复过条目
+     */
+    @Override
+    public long getRestoredAt() {
+        long restoredAt = super.getRestoredAt();
+        for (Cache<K, V> tier : List.of(firstTier, secondTier)) {
+            if (tier instanceof AbstractLocalCache<K, V> localCache) {
+                long tierRestoredAt = localCache.getRestoredAt();
+                if (tierRestoredAt > 0 && (restoredAt == 0 || tierRestoredAt < restoredAt)) {
+                    restoredAt = tierRestoredAt;
+                }
+            }
+        }
+        return restoredAt;
+    }
+
+    public Cache<K, V> getFirstTier() {
+        return firstTier;
+    }
+
+    public Cache<K, V> getSecondTier() {
+        return secondTier;
+    }
+
+}
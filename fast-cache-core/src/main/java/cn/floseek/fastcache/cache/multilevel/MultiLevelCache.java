@@ -2,11 +2,13 @@ package cn.floseek.fastcache.cache.multilevel;
 
 import cn.floseek.fastcache.cache.AbstractCache;
 import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.tracking.TrackedLocalCache;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.config.CacheConfig;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,10 +36,16 @@ public class MultiLevelCache<K, V> extends AbstractCache<K, V> {
      */
     private final Cache<K, V> remoteCache;
 
+    /**
+     * 被跟踪的本地缓存，未开启服务端辅助失效时为 <code>null</code>
+     */
+    private final TrackedLocalCache<K, V> trackedLocalCache;
+
     public MultiLevelCache(CacheConfig<K, V> config, Cache<K, V> localCache, Cache<K, V> remoteCache) {
         super(config);
         this.localCache = localCache;
         this.remoteCache = remoteCache;
+        this.trackedLocalCache = localCache instanceof TrackedLocalCache<K, V> tracked ? tracked : null;
     }
 
     @Override
@@ -48,10 +56,15 @@ public class MultiLevelCache<K, V> extends AbstractCache<K, V> {
             return value;
         }
 
-        // 缓存未命中，则从分布式缓存中获取数据
+        // 缓存未命中，则从分布式缓存中获取数据，被跟踪的本地缓存在读取之前获取失效版本
+        long[] stamps = Objects.isNull(trackedLocalCache) ? null : trackedLocalCache.stamps();
         value = remoteCache.get(key);
         if (Objects.nonNull(value)) {
-            localCache.put(key, value);
+            if (Objects.isNull(stamps)) {
+                localCache.put(key, value);
+            } else {
+                trackedLocalCache.fill(key, value, stamps);
+            }
             return value;
         }
         return value;
@@ -79,11 +92,16 @@ public class MultiLevelCache<K, V> extends AbstractCache<K, V> {
 
         // 如果有未命中的键，则尝试从分布式缓存中获取数据
         if (CollectionUtils.isNotEmpty(missingKeys)) {
+            long[] stamps = Objects.isNull(trackedLocalCache) ? null : trackedLocalCache.stamps();
             valueMap = remoteCache.getAll(missingKeys);
             // 如果获取到数据，则添加到缓存结果中，并回填到本地缓存中
             if (MapUtils.isNotEmpty(valueMap)) {
                 resultMap.putAll(valueMap);
-                localCache.putAll(valueMap);
+                if (Objects.isNull(stamps)) {
+                    localCache.putAll(valueMap);
+                } else {
+                    trackedLocalCache.fillAll(valueMap, stamps);
+                }
             }
         }
 
@@ -96,12 +114,24 @@ public class MultiLevelCache<K, V> extends AbstractCache<K, V> {
         localCache.put(key, value);
     }
 
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        remoteCache.put(key, value, ttl);
+        localCache.put(key, value, ttl);
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         remoteCache.putAll(map);
         localCache.putAll(map);
     }
 
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        remoteCache.putAll(map, ttl);
+        localCache.putAll(map, ttl);
+    }
+
     @Override
     public void remove(K key) {
         remoteCache.remove(key);
@@ -114,6 +144,24 @@ public class MultiLevelCache<K, V> extends AbstractCache<K, V> {
         localCache.removeAll(keys);
     }
 
+    /**
+     * 先使分布式缓存的全部缓存键失效，再清空本地缓存，避免本地缓存从分布式缓存重新加载旧值
+     */
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.clear();
+    }
+
+    @Override
+    public void close() {
+        try {
+            localCache.close();
+        } finally {
+            remoteCache.close();
+        }
+    }
+
     @Override
     public CacheType getCacheType() {
         return CacheType.MULTI_LEVEL;
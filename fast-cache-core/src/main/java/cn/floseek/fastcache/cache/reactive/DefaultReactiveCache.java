@@ -0,0 +1,290 @@
+package cn.floseek.fastcache.cache.reactive;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.cache.AbstractRemoteCache;
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.decorator.CacheDecorator;
+import cn.floseek.fastcache.cache.multilevel.MultiLevelCache;
+import cn.floseek.fastcache.cache.tracking.TrackedLocalCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 默认响应式缓存实现
+ * <p>
+ * 读取时绕过装饰器直接访问各级缓存：本地缓存在调用线程中读取，自身支持加载的本地缓存只读取已缓存的值，分布式缓存通过 {@link AbstractRemoteCache#getAsync(Object)}
+ * 异步读取并回填本地缓存，未命中时调用响应式加载器，加载结果先发出再异步回填。不调用缓存配置中的同步加载器。
+ * </p>
+ * <p>
+ * 写入经过完整的装饰器链，保持广播和失效语义不变；包含分布式缓存的写入是阻塞的，在写入调度器中执行，本地缓存的写入在调用线程中执行
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class DefaultReactiveCache<K, V> implements ReactiveCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultReactiveCache.class);
+
+    private final Cache<K, V> cache;
+    private final Cache<K, V> localCache;
+    private final Cache<K, V> remoteCache;
+    private final Scheduler writeScheduler;
+
+    /**
+     * 去掉装饰器的本地缓存，用于读取已缓存的值
+     */
+    private final AbstractLocalCache<K, V> rawLocalCache;
+
+    /**
+     * 被跟踪的本地缓存，未开启服务端辅助失效时为 <code>null</code>
+     */
+    private final TrackedLocalCache<K, V> trackedLocalCache;
+
+    /**
+     * 正在加载的键
+     */
+    private final Map<K, CompletableFuture<V>> loadingMap = new ConcurrentHashMap<>();
+
+    public DefaultReactiveCache(Cache<K, V> cache, Scheduler writeScheduler) {
+        this.cache = cache;
+        this.writeScheduler = writeScheduler;
+
+        Cache<K, V> rawCache = cache instanceof CacheDecorator<K, V> decorator ? decorator.unwrapAll() : cache;
+        if (rawCache instanceof MultiLevelCache<K, V> multiLevelCache) {
+            this.localCache = multiLevelCache.getLocalCache();
+            this.remoteCache = multiLevelCache.getRemoteCache();
+        } else if (rawCache.getCacheType() == CacheType.REMOTE) {
+            this.localCache = null;
+            this.remoteCache = rawCache;
+        } else {
+            this.localCache = rawCache;
+            this.remoteCache = null;
+        }
+        Cache<K, V> rawLocal = localCache instanceof CacheDecorator<K, V> decorator ? decorator.unwrapAll() : localCache;
+        this.rawLocalCache = rawLocal instanceof AbstractLocalCache<K, V> abstractLocalCache ? abstractLocalCache : null;
+        this.trackedLocalCache = localCache instanceof TrackedLocalCache<K, V> tracked ? tracked : null;
+    }
+
+    @Override
+    public Mono<V> get(K key) {
+        return this.get(key, null);
+    }
+
+    @Override
+    public Mono<V> get(K key, Function<? super K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            if (Objects.nonNull(localCache)) {
+                V value = this.getLocal(key);
+                if (Objects.nonNull(value)) {
+                    return Mono.just(value);
+                }
+            }
+
+            Mono<V> remoteValue = Objects.isNull(remoteCache) ? Mono.empty() : this.getRemote(key);
+            return Objects.isNull(loader) ? remoteValue : remoteValue.switchIfEmpty(Mono.defer(() -> this.load(key, loader)));
+        });
+    }
+
+    @Override
+    public Flux<Map.Entry<K, V>> getAll(Collection<? extends K> keys) {
+        return this.getAll(keys, null);
+    }
+
+    @Override
+    public Flux<Map.Entry<K, V>> getAll(Collection<? extends K> keys, Function<? super K, Mono<V>> loader) {
+        return Flux.defer(() -> {
+            if (CollectionUtils.isEmpty(keys)) {
+                return Flux.empty();
+            }
+
+            // 本地缓存命中的条目立即发出
+            Set<K> missingKeys = new LinkedHashSet<>(keys);
+            Map<K, V> localValues = Objects.isNull(localCache) ? Collections.emptyMap() : this.getAllLocal(missingKeys);
+            missingKeys.removeAll(localValues.keySet());
+            Flux<Map.Entry<K, V>> localEntries = this.toEntries(localValues);
+            if (missingKeys.isEmpty()) {
+                return localEntries;
+            }
+
+            Mono<Map<K, V>> remoteValues = Objects.isNull(remoteCache) ? Mono.just(Collections.emptyMap()) : this.getAllRemote(missingKeys);
+            Flux<Map.Entry<K, V>> remainingEntries = remoteValues.flatMapMany(valueMap -> {
+                Flux<Map.Entry<K, V>> remoteEntries = this.toEntries(valueMap);
+                if (Objects.isNull(loader)) {
+                    return remoteEntries;
+                }
+
+                // 分布式缓存仍未命中的键逐个加载，加载完成即发出
+                missingKeys.removeAll(valueMap.keySet());
+                Flux<Map.Entry<K, V>> loadedEntries = Flux.fromIterable(missingKeys)
+                        .flatMap(key -> this.load(key, loader).map(value -> Map.entry(key, value)));
+                return remoteEntries.concatWith(loadedEntries);
+            });
+            return localEntries.concatWith(remainingEntries);
+        });
+    }
+
+    @Override
+    public Mono<Void> put(K key, V value) {
+        return this.write(() -> cache.put(key, value));
+    }
+
+    @Override
+    public Mono<Void> put(K key, V value, Duration ttl) {
+        return this.write(() -> cache.put(key, value, ttl));
+    }
+
+    @Override
+    public Mono<Void> putAll(Map<? extends K, ? extends V> map) {
+        return this.write(() -> cache.putAll(map));
+    }
+
+    @Override
+    public Mono<Void> remove(K key) {
+        return this.write(() -> cache.remove(key));
+    }
+
+    @Override
+    public Mono<Void> removeAll(Collection<? extends K> keys) {
+        return this.write(() -> cache.removeAll(keys));
+    }
+
+    @Override
+    public Mono<Void> clear() {
+        return this.write(cache::clear);
+    }
+
+    @Override
+    public Cache<K, V> getCache() {
+        return cache;
+    }
+
+    /**
+     * 读取本地缓存，不触发本地缓存自身的加载
+     *
+     * @param key 缓存键
+     * @return 缓存值
+     */
+    private V getLocal(K key) {
+        return Objects.nonNull(rawLocalCache) ? rawLocalCache.getIfPresent(key) : localCache.get(key);
+    }
+
+    /**
+     * 批量读取本地缓存，不触发本地缓存自身的加载
+     *
+     * @param keys 缓存键集合
+     * @return 命中的缓存值
+     */
+    private Map<K, V> getAllLocal(Collection<K> keys) {
+        return Objects.nonNull(rawLocalCache) ? rawLocalCache.getAllPresent(keys) : localCache.getAll(keys);
+    }
+
+    /**
+     * 从分布式缓存异步读取，命中时回填本地缓存，被跟踪的本地缓存在读取之前获取失效版本
+     *
+     * @param key 缓存键
+     * @return 缓存值
+     */
+    private Mono<V> getRemote(K key) {
+        long[] stamps = Objects.isNull(trackedLocalCache) ? null : trackedLocalCache.stamps();
+        Mono<V> value = remoteCache instanceof AbstractRemoteCache<K, V> asyncCache
+                ? Mono.fromFuture(() -> asyncCache.getAsync(key))
+                : Mono.fromCallable(() -> remoteCache.get(key));
+        return Objects.isNull(localCache) ? value : value.doOnNext(v -> {
+            if (Objects.isNull(stamps)) {
+                localCache.put(key, v);
+            } else {
+                trackedLocalCache.fill(key, v, stamps);
+            }
+        });
+    }
+
+    /**
+     * 从分布式缓存异步批量读取，命中时回填本地缓存，被跟踪的本地缓存在读取之前获取失效版本
+     *
+     * @param keys 缓存键集合
+     * @return 命中的缓存值
+     */
+    private Mono<Map<K, V>> getAllRemote(Collection<K> keys) {
+        long[] stamps = Objects.isNull(trackedLocalCache) ? null : trackedLocalCache.stamps();
+        Mono<Map<K, V>> valueMap = remoteCache instanceof AbstractRemoteCache<K, V> asyncCache
+                ? Mono.fromFuture(() -> asyncCache.getAllAsync(keys))
+                : Mono.fromCallable(() -> remoteCache.getAll(keys));
+        return valueMap.doOnNext(values -> {
+            if (Objects.isNull(localCache) || MapUtils.isEmpty(values)) {
+                return;
+            }
+            if (Objects.isNull(stamps)) {
+                localCache.putAll(values);
+            } else {
+                trackedLocalCache.fillAll(values, stamps);
+            }
+        });
+    }
+
+    /**
+     * 调用响应式加载器，同一个键并发加载时共享结果，加载结果先发出再异步回填缓存
+     *
+     * @param key    缓存键
+     * @param loader 响应式加载器
+     * @return 加载的值
+     */
+    private Mono<V> load(K key, Function<? super K, Mono<V>> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> loading = loadingMap.putIfAbsent(key, future);
+        if (Objects.nonNull(loading)) {
+            return Mono.fromFuture(loading, true);
+        }
+
+        Mono.defer(() -> loader.apply(key)).subscribe(
+                value -> {
+                    loadingMap.remove(key, future);
+                    future.complete(value);
+                    this.put(key, value).subscribe(null, e -> log.warn("Failed to write back loaded value, cacheName: {}, key: {}",
+                            cache.getConfig().getCacheName(), key, e));
+                },
+                e -> {
+                    loadingMap.remove(key, future);
+                    future.completeExceptionally(e);
+                },
+                () -> {
+                    loadingMap.remove(key, future);
+                    future.complete(null);
+                });
+        return Mono.fromFuture(future, true);
+    }
+
+    /**
+     * 执行写入，包含分布式缓存时在写入调度器中执行
+     *
+     * @param action 写入操作
+     * @return 写入完成的 {@link Mono}
+     */
+    private Mono<Void> write(Runnable action) {
+        Mono<Void> write = Mono.fromRunnable(action);
+        return Objects.isNull(remoteCache) ? write : write.subscribeOn(writeScheduler);
+    }
+
+    private Flux<Map.Entry<K, V>> toEntries(Map<K, V> valueMap) {
+        return Flux.fromIterable(valueMap.entrySet()).map(entry -> Map.entry(entry.getKey(), entry.getValue()));
+    }
+
+}
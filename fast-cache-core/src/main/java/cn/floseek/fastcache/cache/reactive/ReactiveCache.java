@@ -0,0 +1,122 @@
+package cn.floseek.fastcache.cache.reactive;
+
+import cn.floseek.fastcache.cache.Cache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 响应式缓存接口
+ * <p>
+ * 同一个底层 {@link Cache} 的响应式视图，与同步接口共享缓存数据。读取时本地缓存在调用线程中直接返回，
+ * 分布式缓存通过异步命令读取，未命中时调用响应式加载器，不需要切换到阻塞线程池
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public interface ReactiveCache<K, V> {
+
+    /**
+     * 获取缓存值，不调用加载器
+     *
+     * @param key 缓存键
+     * @return 缓存值，未命中时为空
+     */
+    Mono<V> get(K key);
+
+    /**
+     * 获取缓存值，未命中时调用响应式加载器并回填缓存
+     * <p>
+     * 同一个键并发未命中时只调用一次加载器
+     * </p>
+     *
+     * @param key    缓存键
+     * @param loader 响应式加载器
+     * @return 缓存值，未命中且加载结果为空时为空
+     */
+    Mono<V> get(K key, Function<? super K, Mono<V>> loader);
+
+    /**
+     * 批量获取缓存值，不调用加载器
+     *
+     * @param keys 缓存键集合
+     * @return 命中的缓存条目，各级缓存的结果就绪后依次发出
+     */
+    Flux<Map.Entry<K, V>> getAll(Collection<? extends K> keys);
+
+    /**
+     * 批量获取缓存值，未命中的键逐个调用响应式加载器并回填缓存
+     * <p>
+     * 本地缓存命中的条目立即发出，分布式缓存命中的条目在批量读取完成后发出，加载的条目在各自加载完成后发出
+     * </p>
+     *
+     * @param keys   缓存键集合
+     * @param loader 响应式加载器
+     * @return 缓存条目
+     */
+    Flux<Map.Entry<K, V>> getAll(Collection<? extends K> keys, Function<? super K, Mono<V>> loader);
+
+    /**
+     * 写入缓存
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @return 写入完成的 {@link Mono}
+     */
+    Mono<Void> put(K key, V value);
+
+    /**
+     * 写入缓存并指定存活时间
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @param ttl   存活时间
+     * @return 写入完成的 {@link Mono}
+     */
+    Mono<Void> put(K key, V value, Duration ttl);
+
+    /**
+     * 批量写入缓存
+     *
+     * @param map 缓存键值对
+     * @return 写入完成的 {@link Mono}
+     */
+    Mono<Void> putAll(Map<? extends K, ? extends V> map);
+
+    /**
+     * 删除缓存
+     *
+     * @param key 缓存键
+     * @return 删除完成的 {@link Mono}
+     */
+    Mono<Void> remove(K key);
+
+    /**
+     * 批量删除缓存
+     *
+     * @param keys 缓存键集合
+     * @return 删除完成的 {@link Mono}
+     */
+    Mono<Void> removeAll(Collection<? extends K> keys);
+
+    /**
+     * 清空缓存
+     *
+     * @return 清空完成的 {@link Mono}
+     */
+    Mono<Void> clear();
+
+    /**
+     * 获取底层的同步缓存
+     *
+     * @return 缓存实例
+     */
+    Cache<K, V> getCache();
+
+}
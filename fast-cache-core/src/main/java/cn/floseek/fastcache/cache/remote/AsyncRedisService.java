@@ -0,0 +1,477 @@
+package cn.floseek.fastcache.cache.remote;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步 Redis 服务接口
+ * <p>
+ * 覆盖 {@link RedisService} 的对象、列表、集合、排序集合和原子值操作，全部操作立即返回 {@link CompletableFuture}，
+ * 值的序列化和反序列化在实现配置的执行器中完成，不占用 Redis 客户端的 I/O 线程
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public interface AsyncRedisService {
+
+    /**
+     * 缓存对象
+     *
+     * @param key   键名
+     * @param value 要缓存的对象
+     * @return 操作完成的 {@link CompletableFuture}
+     */
+    <T> CompletableFuture<Void> setObject(String key, T value);
+
+    /**
+     * 缓存对象
+     *
+     * @param key      键名
+     * @param value    要缓存的对象
+     * @param duration 过期时间
+     * @return 操作完成的 {@link CompletableFuture}
+     */
+    <T> CompletableFuture<Void> setObject(String key, T value, Duration duration);
+
+    /**
+     * 批量缓存对象
+     *
+     * @param objects 要缓存的对象 Map
+     * @return 操作完成的 {@link CompletableFuture}
+     */
+    <T> CompletableFuture<Void> setObjects(Map<String, T> objects);
+
+    /**
+     * 批量缓存对象
+     *
+     * @param objects  要缓存的对象 Map
+     * @param duration 过期时间
+     * @return 操作完成的 {@link CompletableFuture}
+     */
+    <T> CompletableFuture<Void> setObjects(Map<String, T> objects, Duration duration);
+
+    /**
+     * 如果键不存在，则缓存对象
+     *
+     * @param key      键名
+     * @param value    要缓存的对象
+     * @param duration 过期时间
+     * @return boolean
+     */
+    <T> CompletableFuture<Boolean> setObjectIfAbsent(String key, T value, Duration duration);
+
+    /**
+     * 如果键已存在，则缓存对象
+     *
+     * @param key      键名
+     * @param value    要缓存的对象
+     * @param duration 过期时间
+     * @return boolean
+     */
+    <T> CompletableFuture<Boolean> setObjectIfExists(String key, T value, Duration duration);
+
+    /**
+     * 设置键的过期时间
+     *
+     * @param key      键名
+     * @param duration 过期时间
+     * @return boolean
+     */
+    CompletableFuture<Boolean> expire(String key, Duration duration);
+
+    /**
+     * 获取缓存的对象
+     *
+     * @param key 键名
+     * @return 缓存的对象
+     */
+    <T> CompletableFuture<T> getObject(String key);
+
+    /**
+     * 批量获取缓存的对象
+     *
+     * @param keys 键名的集合
+     * @param <T>  对象类型
+     * @return 缓存的对象集合
+     */
+    <T> CompletableFuture<List<T>> getObjects(Collection<String> keys);
+
+    /**
+     * 获取键的剩余存活时间
+     *
+     * @param key 键名
+     * @return 剩余存活时间
+     */
+    CompletableFuture<Long> getTimeToLive(String key);
+
+    /**
+     * 删除缓存的对象
+     *
+     * @param key 键名
+     * @return boolean
+     */
+    CompletableFuture<Boolean> deleteObject(String key);
+
+    /**
+     * 删除缓存的对象
+     *
+     * @param keys 键名的集合
+     * @return 操作完成的 {@link CompletableFuture}
+     */
+    CompletableFuture<Void> deleteObjects(Collection<String> keys);
+
+    /**
+     * 检查缓存的对象是否存在
+     *
+     * @param key 键名
+     * @return boolean
+     */
+    CompletableFuture<Boolean> existsObject(String key);
+
+    /**
+     * 缓存列表
+     *
+     * @param key      键名
+     * @param dataList 要添加到列表的数据列表
+     * @return boolean
+     */
+    <T> CompletableFuture<Boolean> setList(String key, List<T> dataList);
+
+    /**
+     * 向列表添加一个元素
+     *
+     * @param key  键名
+     * @param data 要添加的数据
+     * @return boolean
+     */
+    <T> CompletableFuture<Boolean> addList(String key, T data);
+
+    /**
+     * 获取缓存的列表
+     *
+     * @param key 键名
+     * @return 缓存的列表
+     */
+    <T> CompletableFuture<List<T>> getList(String key);
+
+    /**
+     * 获取缓存的列表
+     *
+     * @param key  键名
+     * @param form 开始索引（包含）
+     * @param to   结束索引（不包含）
+     * @return 缓存的列表
+     */
+    <T> CompletableFuture<List<T>> getListRange(String key, int form, int to);
+
+    /**
+     * 缓存集合
+     *
+     * @param key     键名
+     * @param dataSet 要添加到集合的数据集合
+     * @return boolean
+     */
+    <T> CompletableFuture<Boolean> setSet(String key, Set<T> dataSet);
+
+    /**
+     * 向集合添加一个元素
+     *
+     * @param key  键名
+     * @param data 要添加的数据
+     * @return boolean
+     */
+    <T> CompletableFuture<Boolean> addSet(String key, T data);
+
+    /**
+     * 获取缓存的集合
+     *
+     * @param key 键名
+     * @return 缓存的集合
+     */
+    <T> CompletableFuture<Set<T>> getSet(String key);
+
+    /**
+     * 获取有序集合的值排名，按照从低到高的顺序排列。
+     *
+     * @param key    键名
+     * @param object 对象
+     * @param <T>    对象类型
+     * @return 排名或如果值不存在则为 <code>null</code>
+     */
+    <T> CompletableFuture<Integer> getSortedSetRank(String key, T object);
+
+    /**
+     * 获取有序集合的值排名，按照从高到低的顺序排列。
+     *
+     * @param key    键名
+     * @param object 对象
+     * @param <T>    对象类型
+     * @return 排名或如果值不存在则为 <code>null</code>
+     */
+    <T> CompletableFuture<Integer> getSortedSetReRank(String key, T object);
+
+    /**
+     * 获取有序集合的元素分数，如果元素不存在，则返回 <code>null</code>。
+     *
+     * @param key     键名
+     * @param element 元素
+     * @param <T>     对象类型
+     * @return 分数
+     */
+    <T> CompletableFuture<Double> getSortedSetScore(String key, T element);
+
+    /**
+     * 获取有序集合的元素分数
+     *
+     * @param key      键名
+     * @param elements 元素列表
+     * @param <T>      对象类型
+     * @return 元素分数列表
+     */
+    <T> CompletableFuture<List<Double>> getSortedSetScore(String key, List<T> elements);
+
+    /**
+     * 如果指定元素存在，则从有序集合中删除
+     *
+     * @param key     键名
+     * @param element 要从排序集合中删除的元素（如果存在）
+     * @param <T>     对象类型
+     * @return 如果元素被删除，则返回 <code>true</code>，否则返回 <code>false</code>
+     */
+    <T> CompletableFuture<Boolean> removeSortedSet(String key, T element);
+
+    /**
+     * 将指定 Map 中包含的所有元素添加到有序集合中。Map 中的键为对象，值为对应的分数。
+     *
+     * @param key     键名
+     * @param objects 要添加的元素 Map
+     * @param <T>     对象类型
+     * @return 添加的元素数量，不包括有序集合中已存在的元素
+     */
+    <T> CompletableFuture<Integer> addSortedSet(String key, Map<T, Double> objects);
+
+    /**
+     * 将指定 Map 中包含的所有元素添加到有序集合中。Map 中的键为对象，值为对应的分数。
+     *
+     * @param key      键名
+     * @param objects  要添加的元素 Map
+     * @param duration 过期时间
+     * @param <T>      对象类型
+     * @return 添加的元素数量，不包括有序集合中已存在的元素
+     */
+    <T> CompletableFuture<Integer> addSortedSet(String key, Map<T, Double> objects, Duration duration);
+
+    /**
+     * 将元素添加到有序集合中，如果它已经被添加过，则覆盖之前的分数。
+     *
+     * @param key    键名
+     * @param score  对象分数
+     * @param object 对象本身
+     * @param <T>    对象类型
+     * @return 如果元素被添加，则返回 <code>true</code>，否则返回 <code>false</code>
+     */
+    <T> CompletableFuture<Boolean> addSortedSet(String key, double score, T object);
+
+    /**
+     * 将元素添加到有序集合中，如果它已经被添加过，则覆盖之前的分数。
+     *
+     * @param key      键名
+     * @param score    对象分数
+     * @param object   对象本身
+     * @param duration 过期时间
+     * @param <T>      对象类型
+     * @return 如果元素被添加，则返回 <code>true</code>，否则返回 <code>false</code>
+     */
+    <T> CompletableFuture<Boolean> addSortedSet(String key, double score, T object, Duration duration);
+
+    /**
+     * 按排名范围返回有序集合的值。索引是从零开始的。
+     * <code>-1</code> 表示最高分，<code>-2</code> 表示第二高分。
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 元素列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, int startIndex, int endIndex);
+
+    /**
+     * 按分数范围返回有序集合的值。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param <T>        对象类型
+     * @return 元素列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, double startScore, double endScore);
+
+    /**
+     * 按分数范围返回有序集合的值。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param offset     排序数据的偏移量
+     * @param count      排序数据的数量
+     * @param <T>        对象类型
+     * @return 元素列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, double startScore, double endScore, int offset, int count);
+
+    /**
+     * 按排名范围返回有序集合的值，降序方式。索引是从零开始的。
+     * <code>-1</code> 表示最高分，<code>-2</code> 表示第二高分。
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 元素列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, int startIndex, int endIndex);
+
+    /**
+     * 按分数范围返回有序集合的值，降序方式。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param <T>        对象类型
+     * @return 元素列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, double startScore, double endScore);
+
+    /**
+     * 按分数范围返回有序集合的值，降序方式。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param offset     排序数据的偏移量
+     * @param count      排序数据的数量
+     * @param <T>        对象类型
+     * @return 元素列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, double startScore, double endScore, int offset, int count);
+
+    /**
+     * 按排名范围返回有序集合的条目（值及其分数）。索引是从零开始的。
+     * <code>-1</code> 表示最高分，<code>-2</code> 表示第二高分。
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, int startIndex, int endIndex);
+
+    /**
+     * 按分数范围返回有序集合的条目（值及其分数）。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, double startScore, double endScore);
+
+    /**
+     * 按分数范围返回有序集合的条目（值及其分数）。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param offset     排序数据的偏移量
+     * @param count      排序数据的数量
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, double startScore, double endScore, int offset, int count);
+
+    /**
+     * 按排名范围返回有序集合的条目（值及其分数），降序方式。索引是从零开始的。
+     * <code>-1</code> 表示最高分，<code>-2</code> 表示第二高分。
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, int startIndex, int endIndex);
+
+    /**
+     * 按分数范围返回有序集合的条目（值及其分数），降序方式。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore);
+
+    /**
+     * 按分数范围返回有序集合的条目（值及其分数），降序方式。分数范围包含开始分数和结束分数。
+     *
+     * @param key        键名
+     * @param startScore 开始分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param endScore   结束分数。使用 <code>Double.POSITIVE_INFINITY</code> 或 <code>Double.NEGATIVE_INFINITY</code> 定义无穷数
+     * @param offset     排序数据的偏移量
+     * @param count      排序数据的数量
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore, int offset, int count);
+
+    /**
+     * 设置原子值
+     *
+     * @param key   键名
+     * @param value 要设置的原子值
+     * @return 操作完成的 {@link CompletableFuture}
+     */
+    CompletableFuture<Void> setAtomicValue(String key, long value);
+
+    /**
+     * 获取原子值
+     *
+     * @param key 键名
+     * @return 当前原子值
+     */
+    CompletableFuture<Long> getAtomicValue(String key);
+
+    /**
+     * 递增原子值
+     *
+     * @param key 键名
+     * @return 递增后的原子值
+     */
+    CompletableFuture<Long> incrementAtomicValue(String key);
+
+    /**
+     * 递减原子值
+     *
+     * @param key 键名
+     * @return 递减后的原子值
+     */
+    CompletableFuture<Long> decrementAtomicValue(String key);
+
+    /**
+     * 原子值增加指定增量
+     *
+     * @param key   键名
+     * @param delta 增量，可以为负数
+     * @return 增加后的原子值
+     */
+    CompletableFuture<Long> addAtomicValue(String key, long delta);
+
+}
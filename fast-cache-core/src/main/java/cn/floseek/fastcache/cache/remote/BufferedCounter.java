@@ -0,0 +1,289 @@
+package cn.floseek.fastcache.cache.remote;
+
+import cn.floseek.fastcache.common.exception.CacheException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 缓冲计数器
+ * <p>
+ * 递增操作只通过 CAS 累加到每个键的本地增量，不加锁；后台线程按刷新间隔将增量通过 {@link RedisPipeline} 批量写入 Redis，
+ * 每个键一条 INCRBY 命令；待刷新键数量达到阈值时提前刷新。刷新时将每个键的增量原子地交换为已取出标记并移出待刷新映射，
+ * 遇到已取出标记的递增操作改为累加到新的增量上，因此不会丢失刷新期间的递增。
+ * 刷新失败的增量会合并回本地，在下一次刷新时重试。关闭时同步刷新剩余的增量，关闭后不再接受递增。
+ * </p>
+ * <p>
+ * 增量至少写入一次：管道超时等情况下 Redis 可能已经执行了 INCRBY 但结果未返回，这部分增量同样视为失败并重试，
+ * 因此可能被重复计数，计数器适合允许少量偏差的统计场景
+ * </p>
+ * <p>
+ * 开启读己之写时 {@link #get(String)} 返回 Redis 中的值加上本地尚未写入的增量，刷新进行中读取的结果可能短暂偏差一次增量
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class BufferedCounter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferedCounter.class);
+
+    /**
+     * 已取出标记，增量被刷新取出后不再接受累加
+     */
+    private static final long DRAINED = Long.MIN_VALUE;
+
+    private final RedisService redisService;
+    private final BufferedCounterOptions options;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 刷新锁，同一时刻只有一次刷新
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 是否已提交提前刷新任务
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * 待刷新的增量
+     */
+    private final ConcurrentHashMap<String, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 正在写入 Redis 的增量
+     */
+    private volatile Map<String, Long> inFlight = Map.of();
+
+    private volatile boolean closed = false;
+
+    public BufferedCounter(RedisService redisService, BufferedCounterOptions options) {
+        this.redisService = redisService;
+        this.options = Objects.isNull(options) ? BufferedCounterOptions.defaults() : options;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-counter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = this.options.getFlushIntervalMillis();
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 递增计数
+     *
+     * @param key 键名
+     */
+    public void increment(String key) {
+        this.add(key, 1);
+    }
+
+    /**
+     * 增加计数
+     *
+     * @param key   键名
+     * @param delta 增量，可以为负数
+     */
+    public void add(String key, long delta) {
+        if (closed) {
+            throw new CacheException("Buffered counter has been closed");
+        }
+        AtomicLong cell = this.accumulate(key, delta);
+        // 关闭时的刷新已经开始，增量未被取出时撤回，已被取出时已写入 Redis
+        if (closed && this.revoke(cell, delta)) {
+            throw new CacheException("Buffered counter has been closed");
+        }
+
+        if (pending.size() >= options.getMaxPendingKeys() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 获取计数，开启读己之写时合并本地尚未写入的增量
+     *
+     * @param key 键名
+     * @return 计数
+     */
+    public long get(String key) {
+        long remoteValue = redisService.getAtomicValue(key);
+        return options.isReadYourWrites() ? remoteValue + this.getLocalDelta(key) : remoteValue;
+    }
+
+    /**
+     * 获取本地尚未写入 Redis 的增量
+     *
+     * @param key 键名
+     * @return 增量
+     */
+    public long getLocalDelta(String key) {
+        AtomicLong cell = pending.get(key);
+        long delta = Objects.isNull(cell) ? 0 : cell.get();
+        return (delta == DRAINED ? 0 : delta) + inFlight.getOrDefault(key, 0L);
+    }
+
+    /**
+     * 立即刷新本地增量到 Redis
+     *
+     * @throws CacheException 部分增量写入失败时抛出，失败的增量已合并回本地
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            Map<String, Long> deltas = this.drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            inFlight = deltas;
+            try {
+                Map<String, Long> failed = this.write(deltas);
+                if (!failed.isEmpty()) {
+                    this.restore(failed);
+                    throw new CacheException("Failed to flush buffered counter, " + failed.size() + " keys will be retried");
+                }
+            } finally {
+                inFlight = Map.of();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 关闭计数器，停止后台刷新并同步刷新剩余的增量
+     *
+     * @throws CacheException 剩余增量写入失败时抛出
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(options.getFlushIntervalMillis(), TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+    }
+
+    /**
+     * 累加增量，增量已被取出时累加到新的增量上
+     *
+     * @param key   键名
+     * @param delta 增量
+     * @return 累加到的增量
+     */
+    private AtomicLong accumulate(String key, long delta) {
+        while (true) {
+            AtomicLong cell = pending.computeIfAbsent(key, k -> new AtomicLong());
+            long value = cell.get();
+            if (value == DRAINED) {
+                pending.remove(key, cell);
+                continue;
+            }
+            if (cell.compareAndSet(value, value + delta)) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * 撤回尚未被取出的增量
+     *
+     * @param cell  累加到的增量
+     * @param delta 增量
+     * @return 是否撤回成功，增量已被取出时返回 <code>false</code>
+     */
+    private boolean revoke(AtomicLong cell, long delta) {
+        while (true) {
+            long value = cell.get();
+            if (value == DRAINED) {
+                return false;
+            }
+            if (cell.compareAndSet(value, value - delta)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 取出全部待刷新增量并汇总，调用方需持有刷新锁
+     *
+     * @return 非零增量
+     */
+    private Map<String, Long> drain() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : pending.entrySet()) {
+            AtomicLong cell = entry.getValue();
+            long delta = cell.getAndSet(DRAINED);
+            pending.remove(entry.getKey(), cell);
+            if (delta != DRAINED && delta != 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 通过管道写入增量
+     *
+     * @param deltas 增量
+     * @return 写入失败的增量
+     */
+    private Map<String, Long> write(Map<String, Long> deltas) {
+        RedisPipeline pipeline = redisService.pipeline();
+        Map<String, CompletableFuture<Long>> futures = new HashMap<>(deltas.size());
+        deltas.forEach((key, delta) -> futures.put(key, pipeline.addAtomicValue(key, delta)));
+        try {
+            pipeline.execute();
+        } catch (Exception e) {
+            log.error("Failed to execute buffered counter pipeline, keys: {}", deltas.size(), e);
+        }
+
+        Map<String, Long> failed = new HashMap<>();
+        futures.forEach((key, future) -> {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                failed.put(key, deltas.get(key));
+            }
+        });
+        return failed;
+    }
+
+    /**
+     * 将写入失败的增量合并回本地，关闭后同样合并，由关闭时的刷新抛出异常
+     *
+     * @param failed 写入失败的增量
+     */
+    private void restore(Map<String, Long> failed) {
+        failed.forEach(this::accumulate);
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (Exception e) {
+            log.error("Failed to flush buffered counter", e);
+        }
+    }
+
+}
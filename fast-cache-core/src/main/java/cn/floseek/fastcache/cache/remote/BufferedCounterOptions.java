@@ -0,0 +1,111 @@
+package cn.floseek.fastcache.cache.remote;
+
+import java.time.Duration;
+
+/**
+ * 缓冲计数器选项
+ *
+ * @author ChenHongwei472
+ */
+public class BufferedCounterOptions {
+
+    /**
+     * 默认刷新间隔
+     */
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * 默认触发提前刷新的待刷新键数量
+     */
+    public static final int DEFAULT_MAX_PENDING_KEYS = 10000;
+
+    /**
+     * 刷新间隔（毫秒）
+     */
+    private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL.toMillis();
+
+    /**
+     * 待刷新键数量达到该值时提前刷新
+     */
+    private int maxPendingKeys = DEFAULT_MAX_PENDING_KEYS;
+
+    /**
+     * 读取时是否合并本地未刷新的增量
+     */
+    private boolean readYourWrites;
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getMaxPendingKeys() {
+        return maxPendingKeys;
+    }
+
+    public void setMaxPendingKeys(int maxPendingKeys) {
+        this.maxPendingKeys = maxPendingKeys;
+    }
+
+    public boolean isReadYourWrites() {
+        return readYourWrites;
+    }
+
+    public void setReadYourWrites(boolean readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public String toString() {
+        return "BufferedCounterOptions{" +
+                "flushIntervalMillis=" + flushIntervalMillis +
+                ", maxPendingKeys=" + maxPendingKeys +
+                ", readYourWrites=" + readYourWrites +
+                '}';
+    }
+
+    /**
+     * 创建默认的缓冲计数器选项
+     *
+     * @return 缓冲计数器选项
+     */
+    public static BufferedCounterOptions defaults() {
+        return new BufferedCounterOptions();
+    }
+
+    /**
+     * 设置刷新间隔
+     *
+     * @param flushInterval 刷新间隔
+     * @return 缓冲计数器选项
+     */
+    public BufferedCounterOptions flushInterval(Duration flushInterval) {
+        this.flushIntervalMillis = Math.max(flushInterval.toMillis(), 1);
+        return this;
+    }
+
+    /**
+     * 设置触发提前刷新的待刷新键数量
+     *
+     * @param maxPendingKeys 待刷新键数量
+     * @return 缓冲计数器选项
+     */
+    public BufferedCounterOptions maxPendingKeys(int maxPendingKeys) {
+        this.maxPendingKeys = Math.max(maxPendingKeys, 1);
+        return this;
+    }
+
+    /**
+     * 读取时合并本地未刷新的增量
+     *
+     * @return 缓冲计数器选项
+     */
+    public BufferedCounterOptions readYourWrites() {
+        this.readYourWrites = true;
+        return this;
+    }
+
+}
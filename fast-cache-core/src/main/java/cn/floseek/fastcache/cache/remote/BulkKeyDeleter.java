@@ -0,0 +1,88 @@
+package cn.floseek.fastcache.cache.remote;
+
+import cn.floseek.fastcache.common.exception.CacheException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * 分批删除键
+ * <p>
+ * 从惰性扫描的键迭代器中每次取出一批键交给删除函数（通常为 UNLINK），内存中最多保留一批键。
+ * 配置了限速时按已删除的键数量计算应当经过的时间，提前完成的批次休眠补齐，使删除速率不超过限制
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class BulkKeyDeleter {
+
+    private final KeyDeleteOptions options;
+
+    public BulkKeyDeleter(KeyDeleteOptions options) {
+        this.options = Objects.isNull(options) ? KeyDeleteOptions.defaults() : options;
+    }
+
+    /**
+     * 分批删除键
+     *
+     * @param keys   键迭代器
+     * @param delete 删除函数，返回实际删除的键数量
+     * @return 实际删除的键数量
+     */
+    public long delete(Iterator<String> keys, ToLongFunction<List<String>> delete) {
+        int chunkSize = Math.max(options.getChunkSize(), 1);
+        long startNanos = System.nanoTime();
+        long scanned = 0;
+        long deleted = 0;
+
+        List<String> chunk = new ArrayList<>(chunkSize);
+        while (keys.hasNext()) {
+            chunk.add(keys.next());
+            scanned++;
+            if (chunk.size() >= chunkSize || !keys.hasNext()) {
+                deleted += delete.applyAsLong(chunk);
+                chunk = new ArrayList<>(chunkSize);
+                this.reportProgress(scanned, deleted, startNanos);
+                this.throttle(scanned, startNanos);
+            }
+        }
+        return deleted;
+    }
+
+    private void reportProgress(long scanned, long deleted, long startNanos) {
+        if (Objects.nonNull(options.getProgressListener())) {
+            options.getProgressListener().accept(new KeyDeleteProgress(scanned, deleted, Duration.ofNanos(System.nanoTime() - startNanos)));
+        }
+    }
+
+    /**
+     * 按已处理的键数量限速
+     *
+     * @param processed  已处理的键数量
+     * @param startNanos 开始时间
+     */
+    private void throttle(long processed, long startNanos) {
+        long maxKeysPerSecond = options.getMaxKeysPerSecond();
+        if (maxKeysPerSecond <= 0) {
+            return;
+        }
+
+        long expectedNanos = processed * TimeUnit.SECONDS.toNanos(1) / maxKeysPerSecond;
+        long sleepNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (sleepNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Bulk key deletion interrupted after " + processed + " keys", e);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package cn.floseek.fastcache.cache.remote;
+
+import java.util.function.Consumer;
+
+/**
+ * 批量删除键选项
+ *
+ * @author ChenHongwei472
+ */
+public class KeyDeleteOptions {
+
+    /**
+     * 默认每批删除的键数量
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * SCAN 命令每次返回的键数量提示
+     */
+    private int scanCount = RedisService.DEFAULT_SCAN_COUNT;
+
+    /**
+     * 每批 UNLINK 的键数量
+     */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * 每秒最多删除的键数量，0 表示不限速
+     */
+    private long maxKeysPerSecond;
+
+    /**
+     * 每批删除完成后的进度回调
+     */
+    private Consumer<KeyDeleteProgress> progressListener;
+
+    public int getScanCount() {
+        return scanCount;
+    }
+
+    public void setScanCount(int scanCount) {
+        this.scanCount = scanCount;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getMaxKeysPerSecond() {
+        return maxKeysPerSecond;
+    }
+
+    public void setMaxKeysPerSecond(long maxKeysPerSecond) {
+        this.maxKeysPerSecond = maxKeysPerSecond;
+    }
+
+    public Consumer<KeyDeleteProgress> getProgressListener() {
+        return progressListener;
+    }
+
+    public void setProgressListener(Consumer<KeyDeleteProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyDeleteOptions{" +
+                "scanCount=" + scanCount +
+                ", chunkSize=" + chunkSize +
+                ", maxKeysPerSecond=" + maxKeysPerSecond +
+                ", progressListener=" + progressListener +
+                '}';
+    }
+
+    /**
+     * 创建默认的批量删除键选项
+     *
+     * @return 批量删除键选项
+     */
+    public static KeyDeleteOptions defaults() {
+        return new KeyDeleteOptions();
+    }
+
+    /**
+     * 设置 SCAN 命令每次返回的键数量提示
+     *
+     * @param scanCount 键数量
+     * @return 批量删除键选项
+     */
+    public KeyDeleteOptions scanCount(int scanCount) {
+        this.scanCount = Math.max(scanCount, 1);
+        return this;
+    }
+
+    /**
+     * 设置每批 UNLINK 的键数量
+     *
+     * @param chunkSize 键数量
+     * @return 批量删除键选项
+     */
+    public KeyDeleteOptions chunkSize(int chunkSize) {
+        this.chunkSize = Math.max(chunkSize, 1);
+        return this;
+    }
+
+    /**
+     * 设置每秒最多删除的键数量
+     *
+     * @param maxKeysPerSecond 键数量，0 表示不限速
+     * @return 批量删除键选项
+     */
+    public KeyDeleteOptions maxKeysPerSecond(long maxKeysPerSecond) {
+        this.maxKeysPerSecond = Math.max(maxKeysPerSecond, 0);
+        return this;
+    }
+
+    /**
+     * 设置每批删除完成后的进度回调
+     *
+     * @param progressListener 进度回调
+     * @return 批量删除键选项
+     */
+    public KeyDeleteOptions progressListener(Consumer<KeyDeleteProgress> progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+}
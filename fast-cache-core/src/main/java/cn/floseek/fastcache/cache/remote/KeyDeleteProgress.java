@@ -0,0 +1,14 @@
+package cn.floseek.fastcache.cache.remote;
+
+import java.time.Duration;
+
+/**
+ * 批量删除键的进度
+ *
+ * @param scanned 已扫描的键数量
+ * @param deleted 已删除的键数量
+ * @param elapsed 已用时间
+ * @author ChenHongwei472
+ */
+public record KeyDeleteProgress(long scanned, long deleted, Duration elapsed) {
+}
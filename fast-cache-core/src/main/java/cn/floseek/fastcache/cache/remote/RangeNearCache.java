@@ -0,0 +1,180 @@
+package cn.floseek.fastcache.cache.remote;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 排序集合范围查询近端缓存
+ * <p>
+ * 在本地缓存 {@link RedisService} 排序集合范围查询反序列化后的结果，以 (键, 范围) 作为缓存键。
+ * 同一个键的写入和键空间通知会失效该键下的全部范围，条目在较短的存活时间后过期，因此其它客户端的写入在未开启键空间通知时
+ * 最多延迟一个存活时间可见。
+ * </p>
+ * <p>
+ * 查询期间发生的失效会使本次结果不写入缓存，避免失效前读到的旧结果在失效后被缓存；
+ * 缓存的结果为不可修改列表，列表元素在调用方之间共享，调用方不应修改
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class RangeNearCache implements AutoCloseable {
+
+    /**
+     * 默认最大条目数量
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * 默认存活时间
+     */
+    public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofSeconds(1);
+
+    /**
+     * 最大存活时间，近端缓存只用于吸收热点读取，不允许长时间持有
+     */
+    public static final Duration MAX_EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    /**
+     * 失效版本分段数量
+     */
+    private static final int STAMP_STRIPES = 64;
+
+    private final Cache<RangeKey, List<?>> cache;
+
+    /**
+     * 键到已缓存范围的索引
+     */
+    private final Map<String, Set<RangeKey>> keyIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 按键哈希分段的失效版本
+     */
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public RangeNearCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE);
+    }
+
+    public RangeNearCache(long maximumSize, Duration expireAfterWrite) {
+        Duration ttl = Objects.isNull(expireAfterWrite) || expireAfterWrite.isNegative() || expireAfterWrite.isZero()
+                ? DEFAULT_EXPIRE_AFTER_WRITE : expireAfterWrite;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(maximumSize, 1))
+                .expireAfterWrite(ttl.compareTo(MAX_EXPIRE_AFTER_WRITE) > 0 ? MAX_EXPIRE_AFTER_WRITE : ttl)
+                .removalListener((RangeKey rangeKey, List<?> value, RemovalCause cause) -> {
+                    if (Objects.nonNull(rangeKey)) {
+                        this.unindex(rangeKey);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 获取范围查询结果，未命中时执行查询并缓存结果
+     *
+     * @param key    Redis 键
+     * @param range  范围描述，需要实现 {@code equals} 和 {@code hashCode}
+     * @param loader 范围查询
+     * @param <T>    元素类型
+     * @return 不可修改的结果列表
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String key, Object range, Supplier<List<T>> loader) {
+        RangeKey rangeKey = new RangeKey(key, range);
+        List<?> cached = cache.getIfPresent(rangeKey);
+        if (Objects.nonNull(cached)) {
+            return (List<T>) cached;
+        }
+
+        int stripe = this.stripe(key);
+        long stamp = stamps.get(stripe);
+        List<T> loaded = loader.get();
+        List<T> result = Objects.isNull(loaded) ? Collections.emptyList() : Collections.unmodifiableList(loaded);
+
+        // 先写入缓存再登记索引，失效版本检查覆盖两步之间发生的失效
+        cache.put(rangeKey, result);
+        keyIndex.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(rangeKey);
+        if (stamps.get(stripe) != stamp) {
+            // 查询期间发生了失效，丢弃本次结果
+            cache.invalidate(rangeKey);
+        }
+        return result;
+    }
+
+    /**
+     * 失效指定键下的全部范围
+     *
+     * @param key Redis 键
+     */
+    public void invalidate(String key) {
+        stamps.incrementAndGet(this.stripe(key));
+        Set<RangeKey> rangeKeys = keyIndex.remove(key);
+        if (Objects.nonNull(rangeKeys)) {
+            cache.invalidateAll(rangeKeys);
+        }
+    }
+
+    /**
+     * 失效全部范围
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STAMP_STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        keyIndex.clear();
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取缓存的范围数量估计值
+     *
+     * @return 范围数量
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void close() {
+        this.invalidateAll();
+    }
+
+    /**
+     * 从索引中移除范围，移除通知异步执行，范围已被重新缓存时保留索引
+     *
+     * @param rangeKey 范围缓存键
+     */
+    private void unindex(RangeKey rangeKey) {
+        keyIndex.computeIfPresent(rangeKey.key(), (key, rangeKeys) -> {
+            if (!cache.asMap().containsKey(rangeKey)) {
+                rangeKeys.remove(rangeKey);
+            }
+            return rangeKeys.isEmpty() ? null : rangeKeys;
+        });
+    }
+
+    private int stripe(String key) {
+        return Math.floorMod(key.hashCode(), STAMP_STRIPES);
+    }
+
+    /**
+     * 范围缓存键
+     *
+     * @param key   Redis 键
+     * @param range 范围描述
+     */
+    private record RangeKey(String key, Object range) {
+    }
+
+}
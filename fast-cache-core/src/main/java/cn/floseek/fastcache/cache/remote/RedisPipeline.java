@@ -0,0 +1,229 @@
+package cn.floseek.fastcache.cache.remote;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Redis 管道
+ * <p>
+ * 排队任意数量的桶、列表、集合、有序集合和原子值操作，调用 {@link #execute()} 时在一次批处理中发送，
+ * 每个操作返回的 {@link CompletableFuture} 在批处理完成后得到结果，值使用配置的值序列化器解码。
+ * 管道只能执行一次，不保证原子性
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public interface RedisPipeline {
+
+    /**
+     * 设置缓存对象
+     *
+     * @param key      键名
+     * @param value    缓存值
+     * @param duration 过期时间，非正数表示永不过期
+     * @param <T>      对象类型
+     * @return 操作完成的结果
+     */
+    <T> CompletableFuture<Void> setObject(String key, T value, Duration duration);
+
+    /**
+     * 获取缓存对象
+     *
+     * @param key 键名
+     * @param <T> 对象类型
+     * @return 缓存对象
+     */
+    <T> CompletableFuture<T> getObject(String key);
+
+    /**
+     * 删除缓存对象
+     *
+     * @param key 键名
+     * @return 是否删除成功
+     */
+    CompletableFuture<Boolean> deleteObject(String key);
+
+    /**
+     * 设置过期时间
+     *
+     * @param key      键名
+     * @param duration 过期时间
+     * @return 是否设置成功
+     */
+    CompletableFuture<Boolean> expire(String key, Duration duration);
+
+    /**
+     * 追加列表数据
+     *
+     * @param key  键名
+     * @param data 数据
+     * @param <T>  对象类型
+     * @return 是否追加成功
+     */
+    <T> CompletableFuture<Boolean> addList(String key, T data);
+
+    /**
+     * 获取列表数据
+     *
+     * @param key 键名
+     * @param <T> 对象类型
+     * @return 列表数据
+     */
+    <T> CompletableFuture<List<T>> getList(String key);
+
+    /**
+     * 获取列表指定范围的数据
+     *
+     * @param key  键名
+     * @param from 开始索引
+     * @param to   结束索引
+     * @param <T>  对象类型
+     * @return 列表数据
+     */
+    <T> CompletableFuture<List<T>> getListRange(String key, int from, int to);
+
+    /**
+     * 追加集合数据
+     *
+     * @param key  键名
+     * @param data 数据
+     * @param <T>  对象类型
+     * @return 是否追加成功
+     */
+    <T> CompletableFuture<Boolean> addSet(String key, T data);
+
+    /**
+     * 获取集合数据
+     *
+     * @param key 键名
+     * @param <T> 对象类型
+     * @return 集合数据
+     */
+    <T> CompletableFuture<Set<T>> getSet(String key);
+
+    /**
+     * 获取有序集合中元素的排名，升序方式
+     *
+     * @param key    键名
+     * @param object 元素
+     * @param <T>    对象类型
+     * @return 排名，元素不存在时为 <code>null</code>
+     */
+    <T> CompletableFuture<Integer> getSortedSetRank(String key, T object);
+
+    /**
+     * 获取有序集合中元素的分数
+     *
+     * @param key     键名
+     * @param element 元素
+     * @param <T>     对象类型
+     * @return 分数，元素不存在时为 <code>null</code>
+     */
+    <T> CompletableFuture<Double> getSortedSetScore(String key, T element);
+
+    /**
+     * 添加有序集合元素
+     *
+     * @param key    键名
+     * @param score  分数
+     * @param object 元素
+     * @param <T>    对象类型
+     * @return 是否为新增元素
+     */
+    <T> CompletableFuture<Boolean> addSortedSet(String key, double score, T object);
+
+    /**
+     * 删除有序集合元素
+     *
+     * @param key     键名
+     * @param element 元素
+     * @param <T>     对象类型
+     * @return 是否删除成功
+     */
+    <T> CompletableFuture<Boolean> removeSortedSet(String key, T element);
+
+    /**
+     * 按排名范围返回有序集合的值，升序方式
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 值列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, int startIndex, int endIndex);
+
+    /**
+     * 按排名范围返回有序集合的值，降序方式
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 值列表
+     */
+    <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, int startIndex, int endIndex);
+
+    /**
+     * 按排名范围返回有序集合的条目（值及其分数），升序方式
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, int startIndex, int endIndex);
+
+    /**
+     * 按排名范围返回有序集合的条目（值及其分数），降序方式
+     *
+     * @param key        键名
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        对象类型
+     * @return 条目列表
+     */
+    <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, int startIndex, int endIndex);
+
+    /**
+     * 获取原子值
+     *
+     * @param key 键名
+     * @return 当前原子值
+     */
+    CompletableFuture<Long> getAtomicValue(String key);
+
+    /**
+     * 递增原子值
+     *
+     * @param key 键名
+     * @return 递增后的原子值
+     */
+    CompletableFuture<Long> incrementAtomicValue(String key);
+
+    /**
+     * 递减原子值
+     *
+     * @param key 键名
+     * @return 递减后的原子值
+     */
+    CompletableFuture<Long> decrementAtomicValue(String key);
+
+    /**
+     * 原子值增加指定增量
+     *
+     * @param key   键名
+     * @param delta 增量，可以为负数
+     * @return 增加后的原子值
+     */
+    CompletableFuture<Long> addAtomicValue(String key, long delta);
+
+    /**
+     * 在一次批处理中发送全部排队的操作，阻塞直到全部操作完成
+     */
+    void execute();
+
+}
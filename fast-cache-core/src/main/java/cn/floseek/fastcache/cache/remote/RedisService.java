@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis 服务接口
@@ -13,6 +14,11 @@ import java.util.Set;
  */
 public interface RedisService {
 
+    /**
+     * 默认的 SCAN 数量提示
+     */
+    int DEFAULT_SCAN_COUNT = 1000;
+
     /**
      * 缓存对象
      *
@@ -454,8 +460,30 @@ public interface RedisService {
      */
     long decrementAtomicValue(String key);
 
+    /**
+     * 原子值增加指定增量
+     *
+     * @param key   键名
+     * @param delta 增量，可以为负数
+     * @return 增加后的原子值
+     */
+    long addAtomicValue(String key, long delta);
+
+    /**
+     * 创建缓冲计数器，在本地累加增量后按间隔或阈值批量写入 Redis
+     *
+     * @param options 缓冲计数器选项
+     * @return 缓冲计数器，使用完毕后需要关闭
+     */
+    default BufferedCounter bufferedCounter(BufferedCounterOptions options) {
+        return new BufferedCounter(this, options);
+    }
+
     /**
      * 获取指定前缀的键
+     * <p>
+     * 全部匹配的键会加载到内存中，键数量较多时使用 {@link #scanKeys(String, int)}
+     * </p>
      *
      * @param pattern 字符串前缀
      * @return 匹配的键集合
@@ -463,12 +491,47 @@ public interface RedisService {
     Collection<String> getKeys(String pattern);
 
     /**
-     * 删除指定前缀的键
+     * 惰性扫描指定前缀的键，使用默认的 SCAN 数量提示
+     *
+     * @param pattern 字符串前缀
+     * @return 键的流，使用完毕后需要关闭
+     */
+    default Stream<String> scanKeys(String pattern) {
+        return this.scanKeys(pattern, DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * 惰性扫描指定前缀的键，消费流时才按页执行 SCAN 命令，内存中最多保留一页键
+     *
+     * @param pattern 字符串前缀
+     * @param count   SCAN 命令每次返回的键数量提示
+     * @return 键的流，使用完毕后需要关闭
+     */
+    Stream<String> scanKeys(String pattern, int count);
+
+    /**
+     * 删除指定前缀的键，按默认选项分批扫描并使用 UNLINK 删除
      *
      * @param pattern 字符串前缀
      */
     void deleteKeys(String pattern);
 
+    /**
+     * 删除指定前缀的键，分批扫描并使用 UNLINK 删除，支持限速和进度回调
+     *
+     * @param pattern 字符串前缀
+     * @param options 批量删除键选项
+     * @return 实际删除的键数量
+     */
+    long deleteKeys(String pattern, KeyDeleteOptions options);
+
+    /**
+     * 创建 Redis 管道，排队的操作在一次批处理中发送
+     *
+     * @return Redis 管道
+     */
+    RedisPipeline pipeline();
+
     /**
      * 检查 Redis 中是否存在指定的键
      *
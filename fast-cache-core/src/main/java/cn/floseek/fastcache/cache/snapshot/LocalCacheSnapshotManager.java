@@ -0,0 +1,352 @@
+package cn.floseek.fastcache.cache.snapshot;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import org.apache.commons.lang3.time.DurationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地缓存快照管理器
+ * <p>
+ * 定时将本地缓存中最热的条目连同剩余存活时间保存到快照文件，应用重启后创建缓存时异步加载快照，
+ * 避免冷启动时大量请求穿透到分布式缓存。快照文件先写入临时文件再原子替换，加载时跳过已过期的条目，
+ * 超过最大有效时间的快照文件会被忽略并删除。
+ * </p>
+ * <p>
+ * 恢复的条目的数据时间为快照的创建时间，支持补发的广播传输方式从该时间开始补发失效广播，
+ * 不支持补发时恢复的条目可能已经过时，恢复的条目的存活时间不超过 {@link GlobalProperties.Snapshot#getRestoreMaxTtl()}。注册时缓存进入恢复状态，恢复完成前写入、删除或清空过的缓存键
+ * 不再从快照恢复，避免订阅广播后、数据块解码前收到的失效通知被快照中的旧值覆盖
+ * </p>
+ * <p>
+ * 文件格式：魔数、版本号、创建时间，之后为若干数据块（条目数量、字节长度、条目数据），以条目数量为 0 的数据块结束。
+ * 数据块由加载线程池并行反序列化
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class LocalCacheSnapshotManager implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCacheSnapshotManager.class);
+
+    private static final int MAGIC = 0x46435348;
+    private static final byte VERSION = 1;
+
+    /**
+     * 每个数据块的条目数量
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * 已注册的本地缓存映射，key 为快照名称
+     */
+    private final Map<String, Registration<?, ?>> registrations = new ConcurrentHashMap<>();
+
+    private final GlobalProperties.Snapshot properties;
+    private final Path directory;
+    private final ExecutorService loadExecutor;
+    private final ScheduledExecutorService scheduler;
+
+    public LocalCacheSnapshotManager(GlobalProperties.Snapshot properties) {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.loadExecutor = Executors.newFixedThreadPool(Math.max(properties.getLoadThreads(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-snapshot-load-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-snapshot-save");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(properties.getInterval().toMillis(), 1);
+        this.scheduler.scheduleWithFixedDelay(this::saveQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 注册本地缓存并异步加载其快照
+     *
+     * @param cacheName  缓存名称
+     * @param cacheType  缓存类型
+     * @param localCache 本地缓存
+     * @param <K>        缓存键类型
+     * @param <V>        缓存值类型
+     */
+    public <K, V> void register(String cacheName, CacheType cacheType, AbstractLocalCache<K, V> localCache) {
+        if (!localCache.supportSnapshot()) {
+            log.debug("Snapshot not supported by local cache, cache name: {}", cacheName);
+            return;
+        }
+
+        String snapshotName = cacheName + "." + cacheType.name().toLowerCase(Locale.ROOT);
+        Registration<K, V> registration = new Registration<>(localCache, this.resolveFile(snapshotName));
+        if (registrations.putIfAbsent(snapshotName, registration) == null) {
+            long createdAt = this.readCreatedAt(snapshotName, registration.file);
+            if (createdAt <= 0) {
+                return;
+            }
+            // 在调用方订阅广播之前进入恢复状态，广播管理器可以从快照的创建时间开始补发
+            localCache.beginRestore(createdAt);
+            try {
+                loadExecutor.execute(() -> this.load(snapshotName, registration));
+            } catch (RuntimeException e) {
+                localCache.endRestore();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 保存全部已注册本地缓存的快照
+     */
+    public void save() {
+        registrations.forEach(this::save);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            this.save();
+        } finally {
+            loadExecutor.shutdownNow();
+            registrations.clear();
+        }
+    }
+
+    /**
+     * 定时保存快照，异常不能抛出，否则后续调度会被取消
+     */
+    private void saveQuietly() {
+        try {
+            this.save();
+        } catch (Exception e) {
+            log.error("Failed to save local cache snapshots", e);
+        }
+    }
+
+    /**
+     * 保存本地缓存快照，先写入临时文件再原子替换
+     *
+     * @param snapshotName 快照名称
+     * @param registration 注册信息
+     * @param <K>          缓存键类型
+     * @param <V>          缓存值类型
+     */
+    private <K, V> void save(String snapshotName, Registration<K, V> registration) {
+        List<SnapshotEntry<K, V>> entries = registration.localCache.snapshot(properties.getMaxEntries());
+        ValueSerializer serializer = registration.localCache.getConfig().getValueSerializer();
+        long now = System.currentTimeMillis();
+
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, registration.file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeLong(now);
+
+                for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+                    List<SnapshotEntry<K, V>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+                    byte[] bytes = this.encodeChunk(chunk, serializer, now);
+                    out.writeInt(chunk.size());
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                out.writeInt(0);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+            Files.move(tempFile, registration.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Local cache snapshot saved, name: {}, entries: {}", snapshotName, entries.size());
+        } catch (Exception e) {
+            log.error("Failed to save local cache snapshot, name: {}", snapshotName, e);
+        }
+    }
+
+    /**
+     * 加载本地缓存快照，数据块提交到加载线程池并行反序列化，不等待其完成，全部数据块恢复后结束缓存的恢复状态
+     *
+     * @param snapshotName 快照名称
+     * @param registration 注册信息
+     * @param <K>          缓存键类型
+     * @param <V>          缓存值类型
+     */
+    private <K, V> void load(String snapshotName, Registration<K, V> registration) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try {
+            this.load(snapshotName, registration, futures);
+        } finally {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .whenComplete((result, throwable) -> registration.localCache.endRestore());
+        }
+    }
+
+    /**
+     * 读取快照文件并提交数据块的恢复任务
+     *
+     * @param snapshotName 快照名称
+     * @param registration 注册信息
+     * @param futures      数据块的恢复任务
+     * @param <K>          缓存键类型
+     * @param <V>          缓存值类型
+     */
+    private <K, V> void load(String snapshotName, Registration<K, V> registration, List<CompletableFuture<Void>> futures) {
+        ValueSerializer serializer = registration.localCache.getConfig().getValueSerializer();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(registration.file)))) {
+            // 文件头已在注册时校验
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                log.warn("Unrecognized local cache snapshot, name: {}", snapshotName);
+                return;
+            }
+            in.readLong();
+
+            int count;
+            while ((count = in.readInt()) > 0) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                int chunkCount = count;
+                futures.add(CompletableFuture.runAsync(() -> this.decodeChunk(registration.localCache, serializer, bytes, chunkCount), loadExecutor)
+                        .exceptionally(e -> {
+                            log.error("Failed to restore local cache snapshot chunk, name: {}", snapshotName, e);
+                            return null;
+                        }));
+            }
+            log.info("Local cache snapshot loading submitted, name: {}", snapshotName);
+        } catch (Exception e) {
+            log.error("Failed to load local cache snapshot, name: {}", snapshotName, e);
+        }
+    }
+
+    /**
+     * 读取快照文件的创建时间，删除超过最大有效时间的快照文件
+     *
+     * @param snapshotName 快照名称
+     * @param file         快照文件
+     * @return 创建时间戳（毫秒），快照文件不存在或不可用时返回 0
+     */
+    private long readCreatedAt(String snapshotName, Path file) {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                log.warn("Unrecognized local cache snapshot, name: {}", snapshotName);
+                return 0;
+            }
+            long createdAt = in.readLong();
+            if (System.currentTimeMillis() - createdAt > properties.getMaxAge().toMillis()) {
+                log.info("Local cache snapshot expired, name: {}", snapshotName);
+                Files.deleteIfExists(file);
+                return 0;
+            }
+            return createdAt;
+        } catch (Exception e) {
+            log.error("Failed to read local cache snapshot, name: {}", snapshotName, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 编码数据块，条目格式为键长度、键、值长度、值、过期时间戳（0 表示永不过期）
+     */
+    private <K, V> byte[] encodeChunk(List<SnapshotEntry<K, V>> chunk, ValueSerializer serializer, long now) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (SnapshotEntry<K, V> entry : chunk) {
+            byte[] key = serializer.serialize(entry.key());
+            byte[] value = serializer.serialize(entry.value());
+            out.writeInt(key.length);
+            out.write(key);
+            out.writeInt(value.length);
+            out.write(value);
+            out.writeLong(entry.ttl() == null ? 0 : now + entry.ttl().toMillis());
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 解码数据块并恢复到本地缓存，跳过已过期的条目
+     */
+    private <K, V> void decodeChunk(AbstractLocalCache<K, V> localCache, ValueSerializer serializer, byte[] bytes, int count) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[in.readInt()];
+                in.readFully(key);
+                byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+                long expireAt = in.readLong();
+
+                Duration ttl = null;
+                if (expireAt > 0) {
+                    long remaining = expireAt - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        continue;
+                    }
+                    ttl = Duration.ofMillis(remaining);
+                }
+                Duration restoreMaxTtl = properties.getRestoreMaxTtl();
+                if (Objects.nonNull(restoreMaxTtl) && DurationUtils.isPositive(restoreMaxTtl)
+                        && (Objects.isNull(ttl) || ttl.compareTo(restoreMaxTtl) > 0)) {
+                    ttl = restoreMaxTtl;
+                }
+                localCache.restore(serializer.deserialize(key), serializer.deserialize(value), ttl);
+            }
+        } catch (IOException e) {
+            throw new CacheException("Corrupted local cache snapshot chunk", e);
+        }
+    }
+
+    /**
+     * 解析快照文件路径，替换文件名中的非法字符
+     *
+     * @param snapshotName 快照名称
+     * @return 快照文件路径
+     */
+    private Path resolveFile(String snapshotName) {
+        return directory.resolve(snapshotName.replaceAll("[^A-Za-z0-9._-]", "_") + ".snapshot");
+    }
+
+    /**
+     * 注册信息
+     *
+     * @param localCache 本地缓存
+     * @param file       快照文件
+     */
+    private record Registration<K, V>(AbstractLocalCache<K, V> localCache, Path file) {
+    }
+
+}
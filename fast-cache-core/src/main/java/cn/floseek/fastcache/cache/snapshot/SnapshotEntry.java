@@ -0,0 +1,16 @@
+package cn.floseek.fastcache.cache.snapshot;
+
+import java.time.Duration;
+
+/**
+ * 快照条目
+ *
+ * @param key   缓存键
+ * @param value 缓存值
+ * @param ttl   剩余存活时间，<code>null</code> 表示永不过期
+ * @param <K>   缓存键类型
+ * @param <V>   缓存值类型
+ * @author ChenHongwei472
+ */
+public record SnapshotEntry<K, V>(K key, V value, Duration ttl) {
+}
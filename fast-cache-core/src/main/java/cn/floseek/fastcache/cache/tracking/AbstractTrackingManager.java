@@ -0,0 +1,176 @@
+package cn.floseek.fastcache.cache.tracking;
+
+import cn.floseek.fastcache.cache.AbstractRemoteCache;
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.common.constant.CacheConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 服务端辅助失效管理器抽象类
+ * <p>
+ * 提供失效通知的分发实现，具体的订阅机制由子类实现
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public abstract class AbstractTrackingManager implements TrackingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractTrackingManager.class);
+
+    /**
+     * 被跟踪的本地缓存映射，键为缓存键前缀
+     */
+    private final Map<String, TrackedLocalCache<?, ?>> trackedCacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * 被跟踪的命名空间版本号映射，键为版本号键
+     */
+    private final Map<String, TrackedGeneration> trackedGenerationMap = new ConcurrentHashMap<>();
+
+    /**
+     * 是否已开启命名空间版本号键的失效跟踪
+     */
+    private final AtomicBoolean generationTracked = new AtomicBoolean();
+
+    @Override
+    public void track(TrackedLocalCache<?, ?> localCache, Cache<?, ?> remoteCache) {
+        String prefix = this.buildPrefix(localCache.getConfig().getCacheName());
+        if (Objects.nonNull(trackedCacheMap.putIfAbsent(prefix, localCache))) {
+            return;
+        }
+
+        // 全部缓存共用一个版本号键前缀，避免不同缓存名称的版本号键前缀相互重叠
+        if (remoteCache instanceof AbstractRemoteCache<?, ?> abstractRemoteCache) {
+            trackedGenerationMap.put(abstractRemoteCache.getGenerationKey(), new TrackedGeneration(localCache, abstractRemoteCache));
+            if (generationTracked.compareAndSet(false, true)) {
+                this.enableTracking(CacheConstant.GENERATION_KEY_PREFIX);
+                log.info("Tracking enabled for prefix: {}", CacheConstant.GENERATION_KEY_PREFIX);
+            }
+        }
+        this.enableTracking(prefix);
+        log.info("Tracking enabled for prefix: {}", prefix);
+    }
+
+    /**
+     * 开启指定前缀的失效跟踪
+     *
+     * @param prefix 缓存键前缀
+     */
+    protected abstract void enableTracking(String prefix);
+
+    /**
+     * 获取已跟踪的缓存键前缀
+     *
+     * @return 缓存键前缀集合
+     */
+    protected Collection<String> getTrackedPrefixes() {
+        if (!generationTracked.get()) {
+            return trackedCacheMap.keySet();
+        }
+        List<String> prefixes = new ArrayList<>(trackedCacheMap.keySet());
+        prefixes.add(CacheConstant.GENERATION_KEY_PREFIX);
+        return prefixes;
+    }
+
+    /**
+     * 处理接收到的失效通知
+     *
+     * @param key 失效的 Redis 键，为 <code>null</code> 时表示服务端执行了 FLUSHDB 或 FLUSHALL
+     */
+    protected void processInvalidation(String key) {
+        if (key == null) {
+            log.debug("Received flush notification, invalidate all tracked local caches");
+            this.invalidateAll();
+            return;
+        }
+
+        // 其他实例清空了缓存，失效本地缓存并等待重新读取版本号
+        if (key.startsWith(CacheConstant.GENERATION_KEY_PREFIX)) {
+            TrackedGeneration trackedGeneration = trackedGenerationMap.get(key);
+            if (Objects.nonNull(trackedGeneration)) {
+                trackedGeneration.invalidate();
+                log.debug("Invalidate local cache by generation change, key: {}", key);
+            }
+            return;
+        }
+
+        // Redis 不允许 BCAST 前缀相互重叠，因此最多只有一个前缀能够匹配
+        int index = key.indexOf(CacheConstant.COLON);
+        while (index > 0) {
+            TrackedLocalCache<?, ?> localCache = trackedCacheMap.get(key.substring(0, index + 1));
+            if (Objects.nonNull(localCache)) {
+                localCache.invalidate(this.stripGeneration(key.substring(index + 1)));
+                log.debug("Invalidate local cache by tracking, key: {}", key);
+                return;
+            }
+            index = key.indexOf(CacheConstant.COLON, index + 1);
+        }
+    }
+
+    /**
+     * 去掉缓存键开头的命名空间版本号
+     *
+     * @param key 去掉前缀后的 Redis 键
+     * @return 转换后的缓存键
+     */
+    private String stripGeneration(String key) {
+        if (!key.startsWith(CacheConstant.GENERATION_MARKER)) {
+            return key;
+        }
+        int index = key.indexOf(CacheConstant.COLON);
+        if (index <= CacheConstant.GENERATION_MARKER.length()) {
+            return key;
+        }
+        for (int i = CacheConstant.GENERATION_MARKER.length(); i < index; i++) {
+            if (!Character.isDigit(key.charAt(i))) {
+                return key;
+            }
+        }
+        return key.substring(index + 1);
+    }
+
+    /**
+     * 失效全部被跟踪的本地缓存，期间可能错过了版本号变更，因此同时重新读取版本号
+     */
+    protected void invalidateAll() {
+        trackedGenerationMap.values().forEach(trackedGeneration -> trackedGeneration.remoteCache().resetGeneration());
+        trackedCacheMap.values().forEach(TrackedLocalCache::invalidateAll);
+    }
+
+    /**
+     * 构建缓存键前缀
+     *
+     * @param cacheName 缓存名称
+     * @return 缓存键前缀
+     */
+    private String buildPrefix(String cacheName) {
+        return cacheName + CacheConstant.COLON;
+    }
+
+    /**
+     * 被跟踪的命名空间版本号
+     *
+     * @param localCache  被跟踪的本地缓存
+     * @param remoteCache 版本号所属的分布式缓存
+     */
+    private record TrackedGeneration(TrackedLocalCache<?, ?> localCache, AbstractRemoteCache<?, ?> remoteCache) {
+
+        /**
+         * 先使版本号失效再清空本地缓存，避免本地缓存从旧版本号的缓存键重新加载
+         */
+        private void invalidate() {
+            remoteCache.resetGeneration();
+            localCache.invalidateAll();
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package cn.floseek.fastcache.cache.tracking;
+
+import cn.floseek.fastcache.cache.AbstractLocalCache;
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.decorator.CacheDecorator;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.converter.KeyConverter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.time.DurationUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 被跟踪的本地缓存
+ * <p>
+ * Redis 推送的失效通知只包含转换后的缓存键，因此在写入本地缓存之前维护一份“转换后的缓存键 -> 原始缓存键”的索引。
+ * 本地缓存支持淘汰监听器时，索引随本地缓存条目的淘汰而删除；否则索引的容量和过期时间与本地缓存保持一致。
+ * 写入进行中的索引条目不会被淘汰或清空删除，保证本地缓存中的条目总能找到索引
+ * </p>
+ * <p>
+ * 从分布式缓存读取后回填本地缓存时，读取到回填之间收到的失效通知找不到索引，因此按转换后的缓存键哈希分段维护失效版本：
+ * 读取分布式缓存之前获取失效版本，回填时失效版本已变化则丢弃回填的值
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class TrackedLocalCache<K, V> extends CacheDecorator<K, V> {
+
+    /**
+     * 失效版本分段数量
+     */
+    private static final int STAMP_STRIPES = 64;
+
+    private final KeyConverter keyConverter;
+
+    /**
+     * 按转换后的缓存键哈希分段的失效版本
+     */
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    /**
+     * 缓存键索引
+     */
+    private final ConcurrentMap<String, IndexEntry<K>> keyIndex;
+
+    public TrackedLocalCache(Cache<K, V> decoratedCache) {
+        super(decoratedCache);
+        CacheConfig<K, V> config = decoratedCache.getConfig();
+        this.keyConverter = config.getKeyConverter();
+
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder();
+        boolean evictionTracked = decoratedCache instanceof AbstractLocalCache<K, V> localCache
+                && localCache.setEvictionListener(this::onEviction);
+        if (!evictionTracked) {
+            if (Objects.nonNull(config.getLocalMaximumSize())) {
+                caffeine.maximumSize(config.getLocalMaximumSize());
+            }
+            if (Objects.nonNull(config.getLocalExpireTime()) && DurationUtils.isPositive(config.getLocalExpireTime())) {
+                caffeine.expireAfterWrite(config.getLocalExpireTime());
+            }
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, IndexEntry<K>> index = caffeine.build();
+        this.keyIndex = index.asMap();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        String convertedKey = this.beginWrite(key);
+        try {
+            super.put(key, value);
+        } finally {
+            this.endWrite(convertedKey);
+        }
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        String convertedKey = this.beginWrite(key);
+        try {
+            super.put(key, value, ttl);
+        } finally {
+            this.endWrite(convertedKey);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        List<String> convertedKeys = map.keySet().stream().map(this::beginWrite).toList();
+        try {
+            super.putAll(map);
+        } finally {
+            convertedKeys.forEach(this::endWrite);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        List<String> convertedKeys = map.keySet().stream().map(this::beginWrite).toList();
+        try {
+            super.putAll(map, ttl);
+        } finally {
+            convertedKeys.forEach(this::endWrite);
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        super.remove(key);
+        this.removeIndex(keyConverter.convert(key));
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        super.removeAll(keys);
+        keys.forEach(key -> this.removeIndex(keyConverter.convert(key)));
+    }
+
+    @Override
+    public void clear() {
+        this.invalidateAll();
+    }
+
+    /**
+     * 获取失效版本快照，在读取分布式缓存之前调用，回填本地缓存时用于检查读取期间是否发生了失效
+     *
+     * @return 失效版本快照
+     */
+    public long[] stamps() {
+        long[] snapshot = new long[STAMP_STRIPES];
+        for (int i = 0; i < STAMP_STRIPES; i++) {
+            snapshot[i] = stamps.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 将从分布式缓存读取的值回填到本地缓存，读取之后缓存键发生了失效时不回填
+     *
+     * @param key      缓存键
+     * @param value    缓存值
+     * @param snapshot 读取分布式缓存之前获取的失效版本快照
+     */
+    public void fill(K key, V value, long[] snapshot) {
+        String convertedKey = this.beginWrite(key);
+        try {
+            this.fill(key, value, convertedKey, snapshot);
+        } finally {
+            this.endWrite(convertedKey);
+        }
+    }
+
+    /**
+     * 将从分布式缓存批量读取的值回填到本地缓存，读取之后发生了失效的缓存键不回填
+     *
+     * @param map      缓存键值对
+     * @param snapshot 读取分布式缓存之前获取的失效版本快照
+     */
+    public void fillAll(Map<? extends K, ? extends V> map, long[] snapshot) {
+        map.forEach((key, value) -> this.fill(key, value, snapshot));
+    }
+
+    /**
+     * 根据转换后的缓存键失效本地缓存
+     *
+     * @param convertedKey 转换后的缓存键
+     */
+    public void invalidate(String convertedKey) {
+        // 先递增失效版本，进行中的回填在写入前后检查失效版本，写入后检查到变化时自行删除
+        stamps.incrementAndGet(this.stripe(convertedKey));
+        IndexEntry<K> entry = keyIndex.get(convertedKey);
+        if (Objects.isNull(entry)) {
+            return;
+        }
+        super.remove(entry.key());
+        this.removeIndex(convertedKey);
+    }
+
+    /**
+     * 失效全部本地缓存，先删除索引再清空本地缓存，写入进行中的索引条目保留
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STAMP_STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        keyIndex.keySet().forEach(this::removeIndex);
+        super.clear();
+    }
+
+    /**
+     * 回填本地缓存，写入前失效版本已变化时不写入，写入后失效版本变化时删除写入的值
+     *
+     * @param key          缓存键
+     * @param value        缓存值
+     * @param convertedKey 转换后的缓存键
+     * @param snapshot     失效版本快照
+     */
+    private void fill(K key, V value, String convertedKey, long[] snapshot) {
+        int stripe = this.stripe(convertedKey);
+        if (stamps.get(stripe) != snapshot[stripe]) {
+            return;
+        }
+        super.put(key, value);
+        if (stamps.get(stripe) != snapshot[stripe]) {
+            super.remove(key);
+        }
+    }
+
+    /**
+     * 计算转换后的缓存键所属的失效版本分段
+     *
+     * @param convertedKey 转换后的缓存键
+     * @return 分段下标
+     */
+    private int stripe(String convertedKey) {
+        return Math.floorMod(convertedKey.hashCode(), STAMP_STRIPES);
+    }
+
+    /**
+     * 写入本地缓存之前登记索引
+     *
+     * @param key 缓存键
+     * @return 转换后的缓存键
+     */
+    private String beginWrite(K key) {
+        String convertedKey = keyConverter.convert(key);
+        keyIndex.compute(convertedKey, (k, entry) -> new IndexEntry<>(key, Objects.isNull(entry) ? 1 : entry.writing() + 1));
+        return convertedKey;
+    }
+
+    /**
+     * 写入本地缓存之后结束登记，索引保留到条目被删除或淘汰
+     *
+     * @param convertedKey 转换后的缓存键
+     */
+    private void endWrite(String convertedKey) {
+        keyIndex.computeIfPresent(convertedKey, (k, entry) -> new IndexEntry<>(entry.key(), Math.max(entry.writing() - 1, 0)));
+    }
+
+    /**
+     * 删除没有写入进行中的索引条目
+     *
+     * @param convertedKey 转换后的缓存键
+     */
+    private void removeIndex(String convertedKey) {
+        keyIndex.computeIfPresent(convertedKey, (k, entry) -> entry.writing() > 0 ? entry : null);
+    }
+
+    /**
+     * 本地缓存条目被淘汰时删除索引
+     *
+     * @param key 缓存键
+     */
+    private void onEviction(K key) {
+        this.removeIndex(keyConverter.convert(key));
+    }
+
+    /**
+     * 索引条目
+     *
+     * @param key     原始缓存键
+     * @param writing 进行中的写入数量
+     */
+    private record IndexEntry<K>(K key, int writing) {
+    }
+
+}
@@ -0,0 +1,29 @@
+package cn.floseek.fastcache.cache.tracking;
+
+import cn.floseek.fastcache.cache.Cache;
+
+/**
+ * 服务端辅助失效管理器接口
+ * <p>
+ * 基于 Redis CLIENT TRACKING 的广播模式，按缓存名称前缀订阅服务端推送的失效通知，并同步失效多级缓存的本地缓存，
+ * 写入方无需再发布广播消息。同时跟踪缓存的命名空间版本号键，其他实例清空缓存时失效本地缓存并重新读取版本号
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public interface TrackingManager {
+
+    /**
+     * 跟踪本地缓存
+     *
+     * @param localCache  被跟踪的本地缓存实例
+     * @param remoteCache 同一多级缓存的分布式缓存实例
+     */
+    void track(TrackedLocalCache<?, ?> localCache, Cache<?, ?> remoteCache);
+
+    /**
+     * 关闭失效管理器
+     */
+    void close();
+
+}
@@ -0,0 +1,251 @@
+package cn.floseek.fastcache.cache.warmup;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.CacheLoader;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import org.apache.commons.collections4.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存预热管理器
+ * <p>
+ * 创建配置了预热键来源和缓存加载器的缓存时登记预热任务，调用 {@link #warmUp()} 时按批次读取预热键，
+ * 以有限的并发度调用 {@link CacheLoader#loadAll(java.util.Collection)} 加载数据并通过 <code>putAll</code> 写入缓存。
+ * 预热写入不经过广播装饰器，数据源未发生变化，不需要通知其他节点。
+ * </p>
+ * <p>
+ * 调用过 {@link #warmUp()} 之后登记的预热任务（如应用启动后按需创建的缓存）立即在后台线程中执行，不阻塞缓存的创建
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class CacheWarmUpManager {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmUpManager.class);
+
+    /**
+     * 待执行的预热任务
+     */
+    private final Queue<Task<?, ?>> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 预热进度映射，key 为缓存名称
+     */
+    private final Map<String, WarmUpProgress> progressMap = new ConcurrentHashMap<>();
+
+    private final GlobalProperties.WarmUp properties;
+
+    /**
+     * 是否已调用过 {@link #warmUp()}
+     */
+    private volatile boolean started = false;
+
+    public CacheWarmUpManager(GlobalProperties.WarmUp properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 登记预热任务
+     *
+     * @param config 缓存配置
+     * @param cache  缓存实例
+     * @param <K>    缓存键类型
+     * @param <V>    缓存值类型
+     */
+    public <K, V> void register(CacheConfig<K, V> config, Cache<K, V> cache) {
+        if (!config.isWarmUpEnabled()) {
+            return;
+        }
+
+        WarmUpProgress progress = new WarmUpProgress(config.getCacheName());
+        progressMap.put(config.getCacheName(), progress);
+        pendingTasks.add(new Task<>(cache, config.getLoader(), config.getWarmUpKeySource(), progress));
+        if (started && properties.isEnabled()) {
+            this.warmUpAsync();
+        }
+    }
+
+    /**
+     * 执行全部待执行的预热任务，阻塞直到全部批次完成或超时
+     *
+     * @return 是否在超时时间内全部完成
+     */
+    public boolean warmUp() {
+        // 先标记再读取待执行任务，并发登记的任务要么在本次执行，要么由登记方在后台执行
+        started = true;
+        if (!properties.isEnabled()) {
+            pendingTasks.clear();
+            return true;
+        }
+        if (pendingTasks.isEmpty()) {
+            return true;
+        }
+
+        int concurrency = Math.max(properties.getConcurrency(), 1);
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-warm-up-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Task<?, ?>> tasks = new ArrayList<>();
+        boolean completed = true;
+        try {
+            Task<?, ?> task;
+            while (completed && (task = pendingTasks.poll()) != null) {
+                tasks.add(task);
+                completed = this.submit(task, executor, permits, deadline);
+            }
+            // 取回全部许可，即等待已提交的批次全部完成
+            completed = completed && permits.tryAcquire(concurrency, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed = false;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (completed) {
+            tasks.forEach(task -> task.progress.finish());
+            log.info("Cache warm-up completed: {}", tasks.stream().map(task -> task.progress).toList());
+        } else {
+            log.warn("Cache warm-up timed out after {}, progress: {}", properties.getTimeout(),
+                    tasks.stream().map(task -> task.progress).toList());
+        }
+        return completed;
+    }
+
+    /**
+     * 获取全部缓存的预热进度
+     *
+     * @return 预热进度映射，key 为缓存名称
+     */
+    public Map<String, WarmUpProgress> getProgress() {
+        return Collections.unmodifiableMap(progressMap);
+    }
+
+    /**
+     * 获取缓存的预热进度
+     *
+     * @param cacheName 缓存名称
+     * @return 预热进度，未配置预热时返回 <code>null</code>
+     */
+    public WarmUpProgress getProgress(String cacheName) {
+        return progressMap.get(cacheName);
+    }
+
+    /**
+     * 在后台线程中执行待执行的预热任务
+     */
+    private void warmUpAsync() {
+        Thread thread = new Thread(this::warmUp, "fast-cache-warm-up-late");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 读取预热键并按批次提交加载
+     *
+     * @return 是否在超时时间内提交全部批次
+     */
+    private <K, V> boolean submit(Task<K, V> task, ExecutorService executor, Semaphore permits, long deadline)
+            throws InterruptedException {
+        task.progress.start();
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        Iterator<? extends K> iterator;
+        try {
+            iterator = task.keySource.keys();
+        } catch (Exception e) {
+            log.error("Failed to open warm-up key source, cache name: {}", task.progress.getCacheName(), e);
+            return true;
+        }
+
+        try {
+            List<K> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= batchSize) {
+                    if (!this.submitBatch(task, batch, executor, permits, deadline)) {
+                        return false;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            return batch.isEmpty() || this.submitBatch(task, batch, executor, permits, deadline);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to read warm-up keys, cache name: {}", task.progress.getCacheName(), e);
+            return true;
+        } finally {
+            if (iterator instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close warm-up key source, cache name: {}", task.progress.getCacheName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 提交一个批次，并发批次数量达到上限时等待
+     *
+     * @return 是否在超时时间内提交
+     */
+    private <K, V> boolean submitBatch(Task<K, V> task, List<K> keys, ExecutorService executor, Semaphore permits, long deadline)
+            throws InterruptedException {
+        if (!permits.tryAcquire(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+
+        task.progress.addReadKeys(keys.size());
+        executor.execute(() -> {
+            try {
+                Map<K, V> values = task.loader.loadAll(keys);
+                if (MapUtils.isNotEmpty(values)) {
+                    task.cache.putAll(values);
+                }
+                task.progress.batchCompleted(MapUtils.size(values));
+            } catch (Exception e) {
+                task.progress.batchFailed();
+                log.error("Failed to warm up cache batch, cache name: {}", task.progress.getCacheName(), e);
+            } finally {
+                permits.release();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 预热任务
+     *
+     * @param cache     缓存实例
+     * @param loader    缓存加载器
+     * @param keySource 预热键来源
+     * @param progress  预热进度
+     */
+    private record Task<K, V>(Cache<K, V> cache, CacheLoader<K, V> loader, WarmUpKeySource<? extends K> keySource,
+                              WarmUpProgress progress) {
+    }
+
+}
@@ -0,0 +1,24 @@
+package cn.floseek.fastcache.cache.warmup;
+
+import java.util.Iterator;
+
+/**
+ * 缓存预热键来源
+ * <p>
+ * 以迭代器的形式逐个提供需要预热的缓存键，例如分页查询数据库中的 ID，避免一次性将全部缓存键加载到内存
+ * </p>
+ *
+ * @param <K> 缓存键类型
+ * @author ChenHongwei472
+ */
+@FunctionalInterface
+public interface WarmUpKeySource<K> {
+
+    /**
+     * 获取需要预热的缓存键迭代器
+     *
+     * @return 缓存键迭代器
+     */
+    Iterator<? extends K> keys();
+
+}
@@ -0,0 +1,115 @@
+package cn.floseek.fastcache.cache.warmup;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存预热进度
+ *
+ * @author ChenHongwei472
+ */
+public class WarmUpProgress {
+
+    private final String cacheName;
+
+    /**
+     * 已读取的缓存键数量
+     */
+    private final AtomicLong readKeys = new AtomicLong();
+
+    /**
+     * 已加载并写入缓存的条目数量
+     */
+    private final AtomicLong loadedEntries = new AtomicLong();
+
+    /**
+     * 已完成的批次数量
+     */
+    private final AtomicLong completedBatches = new AtomicLong();
+
+    /**
+     * 加载失败的批次数量
+     */
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    private volatile long startTime;
+    private volatile long endTime;
+
+    public WarmUpProgress(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public long getReadKeys() {
+        return readKeys.get();
+    }
+
+    public long getLoadedEntries() {
+        return loadedEntries.get();
+    }
+
+    public long getCompletedBatches() {
+        return completedBatches.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * 获取预热耗时
+     *
+     * @return 预热耗时（毫秒），未开始时返回 0
+     */
+    public long getElapsedMillis() {
+        if (startTime == 0) {
+            return 0;
+        }
+        return (endTime == 0 ? System.currentTimeMillis() : endTime) - startTime;
+    }
+
+    /**
+     * 是否已完成
+     *
+     * @return boolean
+     */
+    public boolean isCompleted() {
+        return endTime != 0;
+    }
+
+    void start() {
+        this.startTime = System.currentTimeMillis();
+    }
+
+    void finish() {
+        this.endTime = System.currentTimeMillis();
+    }
+
+    void addReadKeys(long count) {
+        readKeys.addAndGet(count);
+    }
+
+    void batchCompleted(long entries) {
+        loadedEntries.addAndGet(entries);
+        completedBatches.incrementAndGet();
+    }
+
+    void batchFailed() {
+        failedBatches.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpProgress{" +
+                "cacheName='" + cacheName + '\'' +
+                ", readKeys=" + readKeys +
+                ", loadedEntries=" + loadedEntries +
+                ", completedBatches=" + completedBatches +
+                ", failedBatches=" + failedBatches +
+                ", elapsedMillis=" + this.getElapsedMillis() +
+                '}';
+    }
+
+}
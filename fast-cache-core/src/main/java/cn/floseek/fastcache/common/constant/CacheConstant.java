@@ -14,6 +14,16 @@ public interface CacheConstant {
      */
     String COLON = ":";
 
+    /**
+     * 缓存命名空间版本号标记，版本号大于 0 时以 <code>#版本号</code> 的形式位于缓存名称和缓存键之间
+     */
+    String GENERATION_MARKER = "#";
+
+    /**
+     * 缓存命名空间版本号在分布式缓存中的键前缀，后接缓存名称
+     */
+    String GENERATION_KEY_PREFIX = "fast-cache:generation:";
+
     /**
      * 永不过期
      */
@@ -1,5 +1,7 @@
 package cn.floseek.fastcache.common.enums;
 
+import cn.floseek.fastcache.config.TtlJitter;
+
 import java.time.Duration;
 
 /**
@@ -35,4 +37,13 @@ public interface BaseCacheKeyEnum {
      */
     Duration getLocalExpireTime();
 
+    /**
+     * 获取存活时间抖动策略
+     *
+     * @return 存活时间抖动策略，默认不抖动
+     */
+    default TtlJitter getTtlJitter() {
+        return null;
+    }
+
 }
@@ -0,0 +1,26 @@
+package cn.floseek.fastcache.common.enums;
+
+/**
+ * 广播频道模式
+ * <p>
+ * 定义缓存与广播频道的对应关系，用于控制节点需要接收的广播消息范围
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public enum BroadcastChannelMode {
+
+    /**
+     * 共享频道，所有缓存使用同一个广播频道
+     */
+    SHARED,
+    /**
+     * 每个缓存使用独立的广播频道
+     */
+    PER_CACHE,
+    /**
+     * 按缓存名称的哈希值分桶，同一个桶内的缓存共享一个广播频道
+     */
+    BUCKET
+
+}
@@ -0,0 +1,19 @@
+package cn.floseek.fastcache.common.enums;
+
+/**
+ * 广播传输方式
+ *
+ * @author ChenHongwei472
+ */
+public enum BroadcastTransport {
+
+    /**
+     * 发布订阅，消息不落盘，订阅断开期间的消息会丢失
+     */
+    PUBSUB,
+    /**
+     * Redis Streams，消息保存在限定长度的流中，节点重连后可以从上次读取的位置继续读取
+     */
+    STREAM
+
+}
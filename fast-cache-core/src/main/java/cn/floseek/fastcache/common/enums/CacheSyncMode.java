@@ -21,6 +21,13 @@ public enum CacheSyncMode {
     /**
      * 删除
      */
-    INVALIDATE
+    INVALIDATE,
+    /**
+     * 服务端辅助失效
+     * <p>
+     * 基于 Redis CLIENT TRACKING 的广播模式，由 Redis 服务端推送失效通知，仅适用于多级缓存
+     * </p>
+     */
+    TRACKING
 
 }
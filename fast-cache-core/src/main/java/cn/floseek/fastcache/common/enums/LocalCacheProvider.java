@@ -12,8 +12,16 @@ public enum LocalCacheProvider {
      */
     CAFFEINE,
     /**
-     * Guava
+     * Guava，不支持按条目设置存活时间
      */
     GUAVA,
+    /**
+     * 堆外缓存
+     */
+    OFF_HEAP,
+    /**
+     * 内存映射文件磁盘缓存
+     */
+    DISK,
 
 }
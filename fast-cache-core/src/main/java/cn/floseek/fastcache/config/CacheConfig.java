@@ -1,16 +1,20 @@
 package cn.floseek.fastcache.config;
 
+import cn.floseek.fastcache.cache.CacheExpiry;
 import cn.floseek.fastcache.cache.CacheLoader;
+import cn.floseek.fastcache.cache.warmup.WarmUpKeySource;
 import cn.floseek.fastcache.common.enums.BaseCacheKeyEnum;
 import cn.floseek.fastcache.common.enums.CacheSyncMode;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.converter.KeyConverter;
 import cn.floseek.fastcache.serializer.ValueSerializer;
+import cn.floseek.fastcache.weigher.Weigher;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -45,11 +49,31 @@ public class CacheConfig<K, V> implements Serializable {
      */
     private Duration localExpireTime;
 
+    /**
+     * 缓存过期策略，按缓存条目计算存活时间
+     */
+    private CacheExpiry<K, V> expiry;
+
+    /**
+     * 存活时间抖动策略，避免同时写入的缓存条目集中过期
+     */
+    private TtlJitter ttlJitter;
+
     /**
      * 本地缓存最大容量
      */
     private Long localMaximumSize;
 
+    /**
+     * 本地缓存最大权重，设置后优先于本地缓存最大容量
+     */
+    private Long localMaximumWeight;
+
+    /**
+     * 本地缓存权重计算器
+     */
+    private Weigher weigher;
+
     /**
      * 缓存同步模式
      */
@@ -60,6 +84,11 @@ public class CacheConfig<K, V> implements Serializable {
      */
     private RefreshPolicy refreshPolicy;
 
+    /**
+     * 本地缓存异步加载和刷新使用的执行器
+     */
+    private Executor loaderExecutor;
+
     /**
      * 键名转换器
      */
@@ -75,6 +104,11 @@ public class CacheConfig<K, V> implements Serializable {
      */
     private CacheLoader<K, V> loader;
 
+    /**
+     * 缓存预热键来源
+     */
+    private WarmUpKeySource<? extends K> warmUpKeySource;
+
     private CacheConfig() {
     }
 
@@ -88,6 +122,7 @@ public class CacheConfig<K, V> implements Serializable {
         this.cacheName = baseCacheKeyEnum.getName();
         this.expireTime = baseCacheKeyEnum.getExpireTime();
         this.localExpireTime = baseCacheKeyEnum.getLocalExpireTime();
+        this.ttlJitter = baseCacheKeyEnum.getTtlJitter();
     }
 
     public String getCacheName() {
@@ -122,6 +157,22 @@ public class CacheConfig<K, V> implements Serializable {
         this.localExpireTime = localExpireTime;
     }
 
+    public CacheExpiry<K, V> getExpiry() {
+        return expiry;
+    }
+
+    public void setExpiry(CacheExpiry<K, V> expiry) {
+        this.expiry = expiry;
+    }
+
+    public TtlJitter getTtlJitter() {
+        return ttlJitter;
+    }
+
+    public void setTtlJitter(TtlJitter ttlJitter) {
+        this.ttlJitter = ttlJitter;
+    }
+
     public Long getLocalMaximumSize() {
         return localMaximumSize;
     }
@@ -130,6 +181,30 @@ public class CacheConfig<K, V> implements Serializable {
         this.localMaximumSize = localMaximumSize;
     }
 
+    public Long getLocalMaximumWeight() {
+        return localMaximumWeight;
+    }
+
+    public void setLocalMaximumWeight(Long localMaximumWeight) {
+        this.localMaximumWeight = localMaximumWeight;
+    }
+
+    public Executor getLoaderExecutor() {
+        return loaderExecutor;
+    }
+
+    public void setLoaderExecutor(Executor loaderExecutor) {
+        this.loaderExecutor = loaderExecutor;
+    }
+
+    public Weigher getWeigher() {
+        return weigher;
+    }
+
+    public void setWeigher(Weigher weigher) {
+        this.weigher = weigher;
+    }
+
     public CacheSyncMode getCacheSyncMode() {
         return cacheSyncMode;
     }
@@ -170,6 +245,14 @@ public class CacheConfig<K, V> implements Serializable {
         this.loader = loader;
     }
 
+    public WarmUpKeySource<? extends K> getWarmUpKeySource() {
+        return warmUpKeySource;
+    }
+
+    public void setWarmUpKeySource(WarmUpKeySource<? extends K> warmUpKeySource) {
+        this.warmUpKeySource = warmUpKeySource;
+    }
+
     @Override
     public String toString() {
         return "CacheConfig{" +
@@ -177,12 +260,18 @@ public class CacheConfig<K, V> implements Serializable {
                 ", cacheType=" + cacheType +
                 ", expireTime=" + expireTime +
                 ", localExpireTime=" + localExpireTime +
+                ", expiry=" + expiry +
+                ", ttlJitter=" + ttlJitter +
                 ", localMaximumSize=" + localMaximumSize +
+                ", localMaximumWeight=" + localMaximumWeight +
+                ", weigher=" + weigher +
                 ", cacheSyncMode=" + cacheSyncMode +
                 ", refreshPolicy=" + refreshPolicy +
+                ", loaderExecutor=" + loaderExecutor +
                 ", keyConverter=" + keyConverter +
                 ", valueSerializer=" + valueSerializer +
                 ", loader=" + loader +
+                ", warmUpKeySource=" + warmUpKeySource +
                 '}';
     }
 
@@ -274,6 +363,62 @@ public class CacheConfig<K, V> implements Serializable {
         return this;
     }
 
+    /**
+     * 设置缓存过期策略
+     *
+     * @param expiry 缓存过期策略
+     * @return 缓存配置对象
+     */
+    public <K1 extends K, V1 extends V> CacheConfig<K1, V1> expiry(CacheExpiry<K1, V1> expiry) {
+        CacheConfig<K1, V1> cacheConfig = this.build();
+        cacheConfig.expiry = expiry;
+        return cacheConfig;
+    }
+
+    /**
+     * 设置存活时间抖动策略
+     *
+     * @param ttlJitter 存活时间抖动策略
+     * @return 缓存配置对象
+     */
+    public CacheConfig<K, V> ttlJitter(TtlJitter ttlJitter) {
+        this.ttlJitter = ttlJitter;
+        return this;
+    }
+
+    /**
+     * 设置本地缓存异步加载和刷新使用的执行器
+     *
+     * @param loaderExecutor 执行器
+     * @return 缓存配置对象
+     */
+    public CacheConfig<K, V> loaderExecutor(Executor loaderExecutor) {
+        this.loaderExecutor = loaderExecutor;
+        return this;
+    }
+
+    /**
+     * 设置本地缓存最大权重
+     *
+     * @param localMaximumWeight 本地缓存最大权重
+     * @return 缓存配置对象
+     */
+    public CacheConfig<K, V> localMaximumWeight(Long localMaximumWeight) {
+        this.localMaximumWeight = localMaximumWeight;
+        return this;
+    }
+
+    /**
+     * 设置本地缓存权重计算器
+     *
+     * @param weigher 权重计算器
+     * @return 缓存配置对象
+     */
+    public CacheConfig<K, V> weigher(Weigher weigher) {
+        this.weigher = weigher;
+        return this;
+    }
+
     /**
      * 设置缓存同步模式
      *
@@ -318,6 +463,17 @@ public class CacheConfig<K, V> implements Serializable {
         return this;
     }
 
+    /**
+     * 设置缓存预热键来源，启动时通过缓存加载器批量加载这些键并写入缓存
+     *
+     * @param warmUpKeySource 缓存预热键来源
+     * @return 缓存配置对象
+     */
+    public CacheConfig<K, V> warmUp(WarmUpKeySource<? extends K> warmUpKeySource) {
+        this.warmUpKeySource = warmUpKeySource;
+        return this;
+    }
+
     /**
      * 构建缓存配置对象
      *
@@ -344,6 +500,32 @@ public class CacheConfig<K, V> implements Serializable {
         return cacheConfig;
     }
 
+    /**
+     * 复制缓存配置对象，浅拷贝各项配置
+     *
+     * @return 新的缓存配置对象
+     */
+    public CacheConfig<K, V> copy() {
+        CacheConfig<K, V> cacheConfig = new CacheConfig<>();
+        cacheConfig.cacheName = this.cacheName;
+        cacheConfig.cacheType = this.cacheType;
+        cacheConfig.expireTime = this.expireTime;
+        cacheConfig.localExpireTime = this.localExpireTime;
+        cacheConfig.expiry = this.expiry;
+        cacheConfig.ttlJitter = this.ttlJitter;
+        cacheConfig.localMaximumSize = this.localMaximumSize;
+        cacheConfig.localMaximumWeight = this.localMaximumWeight;
+        cacheConfig.weigher = this.weigher;
+        cacheConfig.cacheSyncMode = this.cacheSyncMode;
+        cacheConfig.refreshPolicy = this.refreshPolicy;
+        cacheConfig.loaderExecutor = this.loaderExecutor;
+        cacheConfig.keyConverter = this.keyConverter;
+        cacheConfig.valueSerializer = this.valueSerializer;
+        cacheConfig.loader = this.loader;
+        cacheConfig.warmUpKeySource = this.warmUpKeySource;
+        return cacheConfig;
+    }
+
     /**
      * 是否启用缓存同步
      *
@@ -353,6 +535,33 @@ public class CacheConfig<K, V> implements Serializable {
         return this.cacheSyncMode != CacheSyncMode.NONE;
     }
 
+    /**
+     * 是否启用广播同步
+     *
+     * @return boolean
+     */
+    public boolean isBroadcastEnabled() {
+        return this.cacheSyncMode == CacheSyncMode.UPDATE || this.cacheSyncMode == CacheSyncMode.INVALIDATE;
+    }
+
+    /**
+     * 是否启用服务端辅助失效
+     *
+     * @return boolean
+     */
+    public boolean isTrackingEnabled() {
+        return this.cacheSyncMode == CacheSyncMode.TRACKING && this.cacheType == CacheType.MULTI_LEVEL;
+    }
+
+    /**
+     * 是否按权重限制本地缓存容量
+     *
+     * @return boolean
+     */
+    public boolean isLocalWeighted() {
+        return Objects.nonNull(this.localMaximumWeight) && Objects.nonNull(this.weigher);
+    }
+
     /**
      * 是否启用缓存加载器
      *
@@ -362,4 +571,13 @@ public class CacheConfig<K, V> implements Serializable {
         return Objects.nonNull(this.loader);
     }
 
+    /**
+     * 是否启用缓存预热
+     *
+     * @return boolean
+     */
+    public boolean isWarmUpEnabled() {
+        return Objects.nonNull(this.loader) && Objects.nonNull(this.warmUpKeySource);
+    }
+
 }
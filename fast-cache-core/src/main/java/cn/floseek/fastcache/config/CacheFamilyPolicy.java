@@ -0,0 +1,69 @@
+package cn.floseek.fastcache.config;
+
+import java.time.Duration;
+
+/**
+ * 缓存族策略
+ *
+ * @author ChenHongwei472
+ */
+public class CacheFamilyPolicy {
+
+    /**
+     * 每个成员缓存的最大条目数量，0 表示不限制
+     */
+    private long memberMaximumSize;
+
+    /**
+     * 成员缓存空闲多久后整体淘汰（毫秒），0 表示不淘汰
+     */
+    private long memberIdleMillis;
+
+    public long getMemberMaximumSize() {
+        return memberMaximumSize;
+    }
+
+    public void setMemberMaximumSize(long memberMaximumSize) {
+        this.memberMaximumSize = memberMaximumSize;
+    }
+
+    public long getMemberIdleMillis() {
+        return memberIdleMillis;
+    }
+
+    public void setMemberIdleMillis(long memberIdleMillis) {
+        this.memberIdleMillis = memberIdleMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheFamilyPolicy{" +
+                "memberMaximumSize=" + memberMaximumSize +
+                ", memberIdleMillis=" + memberIdleMillis +
+                '}';
+    }
+
+    /**
+     * 创建缓存族策略
+     *
+     * @param memberMaximumSize 每个成员缓存的最大条目数量，0 表示不限制
+     * @return 缓存族策略
+     */
+    public static CacheFamilyPolicy newPolicy(long memberMaximumSize) {
+        CacheFamilyPolicy cacheFamilyPolicy = new CacheFamilyPolicy();
+        cacheFamilyPolicy.memberMaximumSize = Math.max(memberMaximumSize, 0);
+        return cacheFamilyPolicy;
+    }
+
+    /**
+     * 设置成员缓存空闲多久后整体淘汰
+     *
+     * @param duration 空闲时间
+     * @return 缓存族策略
+     */
+    public CacheFamilyPolicy memberIdleTimeout(Duration duration) {
+        this.memberIdleMillis = Math.max(duration.toMillis(), 0);
+        return this;
+    }
+
+}
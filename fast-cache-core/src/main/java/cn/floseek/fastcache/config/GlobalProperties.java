@@ -1,5 +1,7 @@
 package cn.floseek.fastcache.config;
 
+import cn.floseek.fastcache.common.enums.BroadcastChannelMode;
+import cn.floseek.fastcache.common.enums.BroadcastTransport;
 import cn.floseek.fastcache.common.enums.CacheSyncMode;
 import cn.floseek.fastcache.common.enums.LocalCacheProvider;
 import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
@@ -7,6 +9,10 @@ import cn.floseek.fastcache.converter.KeyConverter;
 import cn.floseek.fastcache.converter.KeyConverterType;
 import cn.floseek.fastcache.serializer.ValueSerializer;
 import cn.floseek.fastcache.serializer.ValueSerializerType;
+import cn.floseek.fastcache.util.CacheUtils;
+import cn.floseek.fastcache.weigher.WeigherType;
+
+import java.time.Duration;
 
 /**
  * 全局配置属性
@@ -30,6 +36,16 @@ public class GlobalProperties {
      */
     private CacheSyncStrategy syncStrategy = new CacheSyncStrategy();
 
+    /**
+     * 本地缓存快照配置
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * 缓存预热配置
+     */
+    private WarmUp warmUp = new WarmUp();
+
     public LocalCache getLocal() {
         return local;
     }
@@ -54,12 +70,30 @@ public class GlobalProperties {
         this.syncStrategy = syncStrategy;
     }
 
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(WarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
     @Override
     public String toString() {
         return "GlobalProperties{" +
                 "local=" + local +
                 ", remote=" + remote +
                 ", syncStrategy=" + syncStrategy +
+                ", snapshot=" + snapshot +
+                ", warmUp=" + warmUp +
                 '}';
     }
 
@@ -81,6 +115,15 @@ public class GlobalProperties {
         return this.local.getMaximumSize();
     }
 
+    /**
+     * 获取本地缓存每个实例最大权重
+     *
+     * @return 每个实例最大权重
+     */
+    public Long getLocalCacheMaximumWeight() {
+        return this.local.getMaximumWeight();
+    }
+
     /**
      * 获取分布式缓存提供者
      *
@@ -126,6 +169,22 @@ public class GlobalProperties {
         return this.syncStrategy.getBroadcastChannel();
     }
 
+    /**
+     * 获取缓存对应的广播频道
+     *
+     * @param cacheName 缓存名称
+     * @return 广播频道
+     */
+    public String getCacheSyncBroadcastChannel(String cacheName) {
+        String broadcastChannel = this.syncStrategy.getBroadcastChannel();
+        return switch (this.syncStrategy.getChannelMode()) {
+            case SHARED -> broadcastChannel;
+            case PER_CACHE -> CacheUtils.generateKey(broadcastChannel, cacheName);
+            case BUCKET -> CacheUtils.generateKey(broadcastChannel,
+                    Math.floorMod(cacheName.hashCode(), Math.max(this.syncStrategy.getChannelBuckets(), 1)));
+        };
+    }
+
     /**
      * 本地缓存配置
      */
@@ -141,6 +200,88 @@ public class GlobalProperties {
          */
         private Long maximumSize;
 
+        /**
+         * 每个实例最大权重，设置后优先于最大容量
+         */
+        private Long maximumWeight;
+
+        /**
+         * 权重计算器类型
+         */
+        private WeigherType weigher = WeigherType.ESTIMATE;
+
+        /**
+         * JVM 内全部本地缓存共享的内存预算（字节），未单独配置最大权重的缓存从该预算中分配容量
+         */
+        private Long memoryBudget;
+
+        /**
+         * 内存预算的重新分配间隔，按各缓存单位容量的未命中数量在缓存之间转移容量
+         */
+        private Duration memoryBudgetRebalanceInterval = Duration.ofSeconds(30);
+
+        /**
+         * 每个缓存分得容量的下限，为内存预算的比例
+         */
+        private double memoryBudgetMinRatio = 0.01;
+
+        /**
+         * 每个缓存分得容量的上限，为内存预算的比例
+         */
+        private double memoryBudgetMaxRatio = 1.0;
+
+        /**
+         * 每次重新分配转移的容量，为内存预算的比例
+         */
+        private double memoryBudgetStepRatio = 0.05;
+
+        /**
+         * Caffeine 本地缓存异步加载和刷新是否使用虚拟线程，需要 Java 21 及以上版本，否则使用公共线程池
+         */
+        private boolean loaderVirtualThreads = false;
+
+        /**
+         * 堆外缓存每个实例的最大容量（字节）
+         */
+        private long offHeapCapacity = 256L * 1024 * 1024;
+
+        /**
+         * 堆外缓存的块大小（字节），缓存值按块存储，每个条目最多浪费一个块的空间
+         */
+        private int offHeapBlockSize = 256;
+
+        /**
+         * 是否为多级缓存启用磁盘缓存层，启用后本地缓存未命中时先查询磁盘缓存再查询分布式缓存
+         */
+        private boolean diskTierEnabled = false;
+
+        /**
+         * 磁盘缓存文件目录
+         */
+        private String diskDirectory = System.getProperty("java.io.tmpdir") + "/fast-cache-disk";
+
+        /**
+         * 磁盘缓存每个实例的最大容量（字节）
+         */
+        private long diskCapacity = 1024L * 1024 * 1024;
+
+        /**
+         * 磁盘缓存段文件大小（字节）
+         */
+        private int diskSegmentSize = 64 * 1024 * 1024;
+
+        /**
+         * 磁盘缓存压缩阈值，最旧段文件中无效数据的比例达到该值时压缩
+         */
+        private double diskCompactionThreshold = 0.5;
+
+        /**
+         * 重启后从段文件恢复的条目的最大存活时间，<code>null</code> 表示保留原有的存活时间。
+         * 使用 Pub/Sub 广播时实例停止期间其他实例发出的失效广播不会被补发，恢复的条目可能已被修改或删除，
+         * 启用缓存同步时应设置为可以接受的最大不一致时间
+         */
+        private Duration diskRestoreMaxTtl;
+
         public LocalCacheProvider getProvider() {
             return provider;
         }
@@ -157,11 +298,155 @@ public class GlobalProperties {
             this.maximumSize = maximumSize;
         }
 
+        public Long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(Long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public WeigherType getWeigher() {
+            return weigher;
+        }
+
+        public void setWeigher(WeigherType weigher) {
+            this.weigher = weigher;
+        }
+
+        public Long getMemoryBudget() {
+            return memoryBudget;
+        }
+
+        public void setMemoryBudget(Long memoryBudget) {
+            this.memoryBudget = memoryBudget;
+        }
+
+        public Duration getMemoryBudgetRebalanceInterval() {
+            return memoryBudgetRebalanceInterval;
+        }
+
+        public void setMemoryBudgetRebalanceInterval(Duration memoryBudgetRebalanceInterval) {
+            this.memoryBudgetRebalanceInterval = memoryBudgetRebalanceInterval;
+        }
+
+        public double getMemoryBudgetMinRatio() {
+            return memoryBudgetMinRatio;
+        }
+
+        public void setMemoryBudgetMinRatio(double memoryBudgetMinRatio) {
+            this.memoryBudgetMinRatio = memoryBudgetMinRatio;
+        }
+
+        public double getMemoryBudgetMaxRatio() {
+            return memoryBudgetMaxRatio;
+        }
+
+        public void setMemoryBudgetMaxRatio(double memoryBudgetMaxRatio) {
+            this.memoryBudgetMaxRatio = memoryBudgetMaxRatio;
+        }
+
+        public double getMemoryBudgetStepRatio() {
+            return memoryBudgetStepRatio;
+        }
+
+        public void setMemoryBudgetStepRatio(double memoryBudgetStepRatio) {
+            this.memoryBudgetStepRatio = memoryBudgetStepRatio;
+        }
+
+        public boolean isLoaderVirtualThreads() {
+            return loaderVirtualThreads;
+        }
+
+        public void setLoaderVirtualThreads(boolean loaderVirtualThreads) {
+            this.loaderVirtualThreads = loaderVirtualThreads;
+        }
+
+        public long getOffHeapCapacity() {
+            return offHeapCapacity;
+        }
+
+        public void setOffHeapCapacity(long offHeapCapacity) {
+            this.offHeapCapacity = offHeapCapacity;
+        }
+
+        public int getOffHeapBlockSize() {
+            return offHeapBlockSize;
+        }
+
+        public void setOffHeapBlockSize(int offHeapBlockSize) {
+            this.offHeapBlockSize = offHeapBlockSize;
+        }
+
+        public boolean isDiskTierEnabled() {
+            return diskTierEnabled;
+        }
+
+        public void setDiskTierEnabled(boolean diskTierEnabled) {
+            this.diskTierEnabled = diskTierEnabled;
+        }
+
+        public String getDiskDirectory() {
+            return diskDirectory;
+        }
+
+        public void setDiskDirectory(String diskDirectory) {
+            this.diskDirectory = diskDirectory;
+        }
+
+        public long getDiskCapacity() {
+            return diskCapacity;
+        }
+
+        public void setDiskCapacity(long diskCapacity) {
+            this.diskCapacity = diskCapacity;
+        }
+
+        public int getDiskSegmentSize() {
+            return diskSegmentSize;
+        }
+
+        public void setDiskSegmentSize(int diskSegmentSize) {
+            this.diskSegmentSize = diskSegmentSize;
+        }
+
+        public double getDiskCompactionThreshold() {
+            return diskCompactionThreshold;
+        }
+
+        public void setDiskCompactionThreshold(double diskCompactionThreshold) {
+            this.diskCompactionThreshold = diskCompactionThreshold;
+        }
+
+        public Duration getDiskRestoreMaxTtl() {
+            return diskRestoreMaxTtl;
+        }
+
+        public void setDiskRestoreMaxTtl(Duration diskRestoreMaxTtl) {
+            this.diskRestoreMaxTtl = diskRestoreMaxTtl;
+        }
+
         @Override
         public String toString() {
             return "LocalCache{" +
                     "provider=" + provider +
                     ", maximumSize=" + maximumSize +
+                    ", maximumWeight=" + maximumWeight +
+                    ", weigher=" + weigher +
+                    ", memoryBudget=" + memoryBudget +
+                    ", memoryBudgetRebalanceInterval=" + memoryBudgetRebalanceInterval +
+                    ", memoryBudgetMinRatio=" + memoryBudgetMinRatio +
+                    ", memoryBudgetMaxRatio=" + memoryBudgetMaxRatio +
+                    ", memoryBudgetStepRatio=" + memoryBudgetStepRatio +
+                    ", loaderVirtualThreads=" + loaderVirtualThreads +
+                    ", offHeapCapacity=" + offHeapCapacity +
+                    ", offHeapBlockSize=" + offHeapBlockSize +
+                    ", diskTierEnabled=" + diskTierEnabled +
+                    ", diskDirectory='" + diskDirectory + '\'' +
+                    ", diskCapacity=" + diskCapacity +
+                    ", diskSegmentSize=" + diskSegmentSize +
+                    ", diskCompactionThreshold=" + diskCompactionThreshold +
+                    ", diskRestoreMaxTtl=" + diskRestoreMaxTtl +
                     '}';
         }
 
@@ -187,6 +472,32 @@ public class GlobalProperties {
          */
         private ValueSerializerType valueSerializer = ValueSerializerType.JAVA;
 
+        /**
+         * 是否开启排序集合范围查询近端缓存
+         */
+        private boolean rangeNearCacheEnabled = false;
+
+        /**
+         * 范围查询近端缓存最大条目数量
+         */
+        private long rangeNearCacheMaximumSize = 1000;
+
+        /**
+         * 范围查询近端缓存存活时间，最长 1 分钟
+         */
+        private Duration rangeNearCacheExpireAfterWrite = Duration.ofSeconds(1);
+
+        /**
+         * 范围查询近端缓存订阅键空间通知的键模式，开启范围查询近端缓存时必须配置，应只匹配需要缓存范围查询的排序集合，
+         * 避免订阅全部键的通知。集群模式下键空间通知只在键所在的节点上发布
+         */
+        private String rangeNearCacheKeyPattern;
+
+        /**
+         * 异步和响应式 Redis 服务的序列化线程数量，0 表示使用公共线程池
+         */
+        private int asyncSerializerThreads = 0;
+
         public RemoteCacheProvider getProvider() {
             return provider;
         }
@@ -211,12 +522,57 @@ public class GlobalProperties {
             this.valueSerializer = valueSerializer;
         }
 
+        public boolean isRangeNearCacheEnabled() {
+            return rangeNearCacheEnabled;
+        }
+
+        public void setRangeNearCacheEnabled(boolean rangeNearCacheEnabled) {
+            this.rangeNearCacheEnabled = rangeNearCacheEnabled;
+        }
+
+        public long getRangeNearCacheMaximumSize() {
+            return rangeNearCacheMaximumSize;
+        }
+
+        public void setRangeNearCacheMaximumSize(long rangeNearCacheMaximumSize) {
+            this.rangeNearCacheMaximumSize = rangeNearCacheMaximumSize;
+        }
+
+        public Duration getRangeNearCacheExpireAfterWrite() {
+            return rangeNearCacheExpireAfterWrite;
+        }
+
+        public void setRangeNearCacheExpireAfterWrite(Duration rangeNearCacheExpireAfterWrite) {
+            this.rangeNearCacheExpireAfterWrite = rangeNearCacheExpireAfterWrite;
+        }
+
+        public String getRangeNearCacheKeyPattern() {
+            return rangeNearCacheKeyPattern;
+        }
+
+        public void setRangeNearCacheKeyPattern(String rangeNearCacheKeyPattern) {
+            this.rangeNearCacheKeyPattern = rangeNearCacheKeyPattern;
+        }
+
+        public int getAsyncSerializerThreads() {
+            return asyncSerializerThreads;
+        }
+
+        public void setAsyncSerializerThreads(int asyncSerializerThreads) {
+            this.asyncSerializerThreads = asyncSerializerThreads;
+        }
+
         @Override
         public String toString() {
             return "RemoteCache{" +
                     "provider=" + provider +
                     ", keyConverter=" + keyConverter +
                     ", valueSerializer=" + valueSerializer +
+                    ", rangeNearCacheEnabled=" + rangeNearCacheEnabled +
+                    ", rangeNearCacheMaximumSize=" + rangeNearCacheMaximumSize +
+                    ", rangeNearCacheExpireAfterWrite=" + rangeNearCacheExpireAfterWrite +
+                    ", rangeNearCacheKeyPattern='" + rangeNearCacheKeyPattern + '\'' +
+                    ", asyncSerializerThreads=" + asyncSerializerThreads +
                     '}';
         }
 
@@ -237,6 +593,69 @@ public class GlobalProperties {
          */
         private String broadcastChannel = "fast_cache_broadcast_channel";
 
+        /**
+         * 广播传输方式。{@link BroadcastTransport#PUBSUB} 方式只投递订阅之后发出的消息，实例停止期间的失效广播不会补发，
+         * 从快照或磁盘缓存恢复的条目需要通过 {@link Snapshot#getRestoreMaxTtl()} 和 {@link LocalCache#getDiskRestoreMaxTtl()}
+         * 限制存活时间；{@link BroadcastTransport#STREAM} 方式在本地缓存恢复了条目时从恢复的数据时间开始重新读取，
+         * 补发仍在流中保留的消息，超出 {@link CacheSyncStrategy#getStreamMaxLength()} 被裁剪的消息无法补发
+         */
+        private BroadcastTransport transport = BroadcastTransport.PUBSUB;
+
+        /**
+         * 广播流的最大长度（近似值），仅在 {@link BroadcastTransport#STREAM} 方式下有效
+         */
+        private long streamMaxLength = 10000;
+
+        /**
+         * 每次读取广播流的最大消息数量，仅在 {@link BroadcastTransport#STREAM} 方式下有效
+         */
+        private int streamBatchSize = 100;
+
+        /**
+         * 读取广播流时的最长阻塞时间，仅在 {@link BroadcastTransport#STREAM} 方式下有效
+         */
+        private Duration streamPollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * 广播频道模式
+         */
+        private BroadcastChannelMode channelMode = BroadcastChannelMode.SHARED;
+
+        /**
+         * 广播频道分桶数量，仅在 {@link BroadcastChannelMode#BUCKET} 模式下有效
+         */
+        private int channelBuckets = 16;
+
+        /**
+         * 处理广播消息的工作线程数量，同一缓存的消息始终由同一线程按顺序处理
+         */
+        private int broadcastThreads = 2;
+
+        /**
+         * 每个工作线程的广播消息队列容量，队列已满时订阅线程最多等待 {@link #broadcastQueueOfferTimeout}
+         */
+        private int broadcastQueueCapacity = 10000;
+
+        /**
+         * 广播消息队列已满时订阅线程的最长等待时间，超时后丢弃排队中的消息并清空相关缓存的本地缓存
+         */
+        private Duration broadcastQueueOfferTimeout = Duration.ofMillis(100);
+
+        /**
+         * 是否合并广播消息
+         */
+        private boolean batchEnabled = false;
+
+        /**
+         * 合并广播消息的最大延迟时间
+         */
+        private Duration batchMaxDelay = Duration.ofMillis(10);
+
+        /**
+         * 合并广播消息的最大键数量，达到后立即发送
+         */
+        private int batchMaxSize = 1000;
+
         public CacheSyncMode getMode() {
             return mode;
         }
@@ -253,11 +672,301 @@ public class GlobalProperties {
             this.broadcastChannel = broadcastChannel;
         }
 
+        public BroadcastTransport getTransport() {
+            return transport;
+        }
+
+        public void setTransport(BroadcastTransport transport) {
+            this.transport = transport;
+        }
+
+        public long getStreamMaxLength() {
+            return streamMaxLength;
+        }
+
+        public void setStreamMaxLength(long streamMaxLength) {
+            this.streamMaxLength = streamMaxLength;
+        }
+
+        public int getStreamBatchSize() {
+            return streamBatchSize;
+        }
+
+        public void setStreamBatchSize(int streamBatchSize) {
+            this.streamBatchSize = streamBatchSize;
+        }
+
+        public Duration getStreamPollTimeout() {
+            return streamPollTimeout;
+        }
+
+        public void setStreamPollTimeout(Duration streamPollTimeout) {
+            this.streamPollTimeout = streamPollTimeout;
+        }
+
+        public BroadcastChannelMode getChannelMode() {
+            return channelMode;
+        }
+
+        public void setChannelMode(BroadcastChannelMode channelMode) {
+            this.channelMode = channelMode;
+        }
+
+        public int getChannelBuckets() {
+            return channelBuckets;
+        }
+
+        public void setChannelBuckets(int channelBuckets) {
+            this.channelBuckets = channelBuckets;
+        }
+
+        public int getBroadcastThreads() {
+            return broadcastThreads;
+        }
+
+        public void setBroadcastThreads(int broadcastThreads) {
+            this.broadcastThreads = broadcastThreads;
+        }
+
+        public int getBroadcastQueueCapacity() {
+            return broadcastQueueCapacity;
+        }
+
+        public void setBroadcastQueueCapacity(int broadcastQueueCapacity) {
+            this.broadcastQueueCapacity = broadcastQueueCapacity;
+        }
+
+        public Duration getBroadcastQueueOfferTimeout() {
+            return broadcastQueueOfferTimeout;
+        }
+
+        public void setBroadcastQueueOfferTimeout(Duration broadcastQueueOfferTimeout) {
+            this.broadcastQueueOfferTimeout = broadcastQueueOfferTimeout;
+        }
+
+        public boolean isBatchEnabled() {
+            return batchEnabled;
+        }
+
+        public void setBatchEnabled(boolean batchEnabled) {
+            this.batchEnabled = batchEnabled;
+        }
+
+        public Duration getBatchMaxDelay() {
+            return batchMaxDelay;
+        }
+
+        public void setBatchMaxDelay(Duration batchMaxDelay) {
+            this.batchMaxDelay = batchMaxDelay;
+        }
+
+        public int getBatchMaxSize() {
+            return batchMaxSize;
+        }
+
+        public void setBatchMaxSize(int batchMaxSize) {
+            this.batchMaxSize = batchMaxSize;
+        }
+
         @Override
         public String toString() {
             return "CacheSyncStrategy{" +
                     "mode=" + mode +
                     ", broadcastChannel='" + broadcastChannel + '\'' +
+                    ", transport=" + transport +
+                    ", streamMaxLength=" + streamMaxLength +
+                    ", streamBatchSize=" + streamBatchSize +
+                    ", streamPollTimeout=" + streamPollTimeout +
+                    ", channelMode=" + channelMode +
+                    ", channelBuckets=" + channelBuckets +
+                    ", broadcastThreads=" + broadcastThreads +
+                    ", broadcastQueueCapacity=" + broadcastQueueCapacity +
+                    ", broadcastQueueOfferTimeout=" + broadcastQueueOfferTimeout +
+                    ", batchEnabled=" + batchEnabled +
+                    ", batchMaxDelay=" + batchMaxDelay +
+                    ", batchMaxSize=" + batchMaxSize +
+                    '}';
+        }
+
+    }
+
+    /**
+     * 本地缓存快照配置
+     */
+    public static class Snapshot {
+
+        /**
+         * 是否启用本地缓存快照
+         */
+        private boolean enabled = false;
+
+        /**
+         * 快照文件目录
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/fast-cache-snapshot";
+
+        /**
+         * 定时保存快照的间隔时间
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * 每个缓存保存的最热条目数量
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * 快照的最大有效时间，超过后不再加载
+         */
+        private Duration maxAge = Duration.ofHours(1);
+
+        /**
+         * 从快照恢复的条目的最大存活时间，包括永不过期的条目，<code>null</code> 表示保留保存快照时的剩余存活时间。
+         * 使用 Pub/Sub 广播时实例停止期间其他实例发出的失效广播不会被补发，恢复的条目可能已被修改或删除，
+         * 应设置为可以接受的最大不一致时间
+         */
+        private Duration restoreMaxTtl = Duration.ofMinutes(1);
+
+        /**
+         * 并行加载快照的线程数量
+         */
+        private int loadThreads = Runtime.getRuntime().availableProcessors();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public Duration getRestoreMaxTtl() {
+            return restoreMaxTtl;
+        }
+
+        public void setRestoreMaxTtl(Duration restoreMaxTtl) {
+            this.restoreMaxTtl = restoreMaxTtl;
+        }
+
+        public int getLoadThreads() {
+            return loadThreads;
+        }
+
+        public void setLoadThreads(int loadThreads) {
+            this.loadThreads = loadThreads;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "enabled=" + enabled +
+                    ", directory='" + directory + '\'' +
+                    ", interval=" + interval +
+                    ", maxEntries=" + maxEntries +
+                    ", maxAge=" + maxAge +
+                    ", restoreMaxTtl=" + restoreMaxTtl +
+                    ", loadThreads=" + loadThreads +
+                    '}';
+        }
+
+    }
+
+    /**
+     * 缓存预热配置
+     */
+    public static class WarmUp {
+
+        /**
+         * 是否启用缓存预热
+         */
+        private boolean enabled = true;
+
+        /**
+         * 每批加载的缓存键数量
+         */
+        private int batchSize = 500;
+
+        /**
+         * 同时执行的最大批次数量
+         */
+        private int concurrency = 4;
+
+        /**
+         * 预热的最大等待时间，超时后剩余的批次不再提交
+         */
+        private Duration timeout = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public String toString() {
+            return "WarmUp{" +
+                    "enabled=" + enabled +
+                    ", batchSize=" + batchSize +
+                    ", concurrency=" + concurrency +
+                    ", timeout=" + timeout +
                     '}';
         }
 
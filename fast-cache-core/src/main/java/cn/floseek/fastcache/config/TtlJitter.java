@@ -0,0 +1,142 @@
+package cn.floseek.fastcache.config;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 存活时间抖动策略
+ * <p>
+ * 批量写入的缓存条目使用相同的存活时间时会在同一时刻集中过期，导致大量请求同时穿透到数据源。
+ * 抖动策略将每个条目的存活时间随机缩短 0 到抖动幅度之间的时长，条目的存活时间不会超过配置的过期时间。
+ * 抖动幅度可以是存活时间的比例，也可以是固定时长。
+ * </p>
+ * <p>
+ * 确定性抖动按缓存键的哈希值计算缩短的比例，同一个缓存键在多次写入中得到相同的存活时间。
+ * 本地缓存和分布式缓存的过期时间相同时，同一个缓存键在各级缓存中同时过期；
+ * 本地缓存过期时间（localExpireTime）与过期时间（expireTime）不同时，各级缓存按相同比例缩短各自的存活时间，过期时刻仍然不同。
+ * 缓存键的 {@code hashCode} 需要在不同实例之间保持一致，例如字符串和数值类型
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class TtlJitter {
+
+    /**
+     * 抖动幅度占存活时间的比例，取值范围 [0, 1]
+     */
+    private double ratio;
+
+    /**
+     * 抖动幅度（毫秒）
+     */
+    private long spreadMillis;
+
+    /**
+     * 是否按缓存键确定性地计算抖动
+     */
+    private boolean deterministic;
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public long getSpreadMillis() {
+        return spreadMillis;
+    }
+
+    public void setSpreadMillis(long spreadMillis) {
+        this.spreadMillis = spreadMillis;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    @Override
+    public String toString() {
+        return "TtlJitter{" +
+                "ratio=" + ratio +
+                ", spreadMillis=" + spreadMillis +
+                ", deterministic=" + deterministic +
+                '}';
+    }
+
+    /**
+     * 创建按比例抖动的策略
+     *
+     * @param ratio 抖动幅度占存活时间的比例，取值范围 [0, 1]
+     * @return 存活时间抖动策略
+     */
+    public static TtlJitter ofRatio(double ratio) {
+        TtlJitter ttlJitter = new TtlJitter();
+        ttlJitter.ratio = Math.min(Math.max(ratio, 0), 1);
+        return ttlJitter;
+    }
+
+    /**
+     * 创建按固定时长抖动的策略
+     *
+     * @param spread 抖动幅度
+     * @return 存活时间抖动策略
+     */
+    public static TtlJitter ofSpread(Duration spread) {
+        TtlJitter ttlJitter = new TtlJitter();
+        ttlJitter.spreadMillis = Math.max(spread.toMillis(), 0);
+        return ttlJitter;
+    }
+
+    /**
+     * 按缓存键确定性地计算抖动，返回新的策略，不修改当前策略
+     *
+     * @return 确定性的存活时间抖动策略
+     */
+    public TtlJitter deterministic() {
+        TtlJitter ttlJitter = new TtlJitter();
+        ttlJitter.ratio = this.ratio;
+        ttlJitter.spreadMillis = this.spreadMillis;
+        ttlJitter.deterministic = true;
+        return ttlJitter;
+    }
+
+    /**
+     * 对存活时间应用抖动
+     *
+     * @param key 缓存键
+     * @param ttl 存活时间
+     * @return 抖动后的存活时间，至少为 1 毫秒
+     */
+    public Duration apply(Object key, Duration ttl) {
+        long ttlMillis = ttl.toMillis();
+        long spread = ratio > 0 ? (long) (ttlMillis * ratio) : Math.min(spreadMillis, ttlMillis);
+        if (spread <= 0 || ttlMillis <= 1) {
+            return ttl;
+        }
+
+        double fraction = deterministic ? fraction(Objects.hashCode(key)) : ThreadLocalRandom.current().nextDouble();
+        return Duration.ofMillis(Math.max(ttlMillis - (long) (spread * fraction), 1));
+    }
+
+    /**
+     * 将哈希值均匀映射到 [0, 1)，先混合高低位避免相邻的缓存键得到相近的结果
+     *
+     * @param hash 哈希值
+     * @return [0, 1) 之间的小数
+     */
+    private static double fraction(int hash) {
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        mixed ^= mixed >>> 32;
+        mixed *= 0xBF58476D1CE4E5B9L;
+        mixed ^= mixed >>> 29;
+        return (mixed >>> 11) * 0x1.0p-53;
+    }
+
+}
@@ -1,15 +1,19 @@
 package cn.floseek.fastcache.service;
 
 import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.CacheExpiry;
 import cn.floseek.fastcache.cache.CacheLoader;
 import cn.floseek.fastcache.cache.CacheManager;
+import cn.floseek.fastcache.cache.warmup.WarmUpKeySource;
 import cn.floseek.fastcache.common.enums.BaseCacheKeyEnum;
 import cn.floseek.fastcache.common.enums.CacheType;
 import cn.floseek.fastcache.common.enums.CacheSyncMode;
 import cn.floseek.fastcache.config.CacheConfig;
 import cn.floseek.fastcache.config.RefreshPolicy;
+import cn.floseek.fastcache.config.TtlJitter;
 import cn.floseek.fastcache.converter.KeyConverter;
 import cn.floseek.fastcache.serializer.ValueSerializer;
+import cn.floseek.fastcache.weigher.Weigher;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.time.Duration;
@@ -56,11 +60,21 @@ public abstract class AbstractCacheService<K, V> implements CacheService<K, V> {
         cache.put(key, value);
     }
 
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        cache.put(key, value, ttl);
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         cache.putAll(map);
     }
 
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
+        cache.putAll(map, ttl);
+    }
+
     @Override
     public void remove(K key) {
         cache.remove(key);
@@ -71,6 +85,11 @@ public abstract class AbstractCacheService<K, V> implements CacheService<K, V> {
         cache.removeAll(keys);
     }
 
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
     @Override
     public V refresh(K key) {
         return cache.refresh(key);
@@ -126,6 +145,42 @@ public abstract class AbstractCacheService<K, V> implements CacheService<K, V> {
         return null;
     }
 
+    /**
+     * 获取缓存过期策略，按缓存条目计算存活时间
+     *
+     * @return 缓存过期策略
+     */
+    protected CacheExpiry<K, V> expiry() {
+        return null;
+    }
+
+    /**
+     * 获取存活时间抖动策略
+     *
+     * @return 存活时间抖动策略
+     */
+    protected TtlJitter ttlJitter() {
+        return this.cacheKeyEnum().getTtlJitter();
+    }
+
+    /**
+     * 获取本地缓存最大权重
+     *
+     * @return 本地缓存最大权重
+     */
+    protected Long localMaximumWeight() {
+        return null;
+    }
+
+    /**
+     * 获取本地缓存权重计算器
+     *
+     * @return 权重计算器
+     */
+    protected Weigher weigher() {
+        return null;
+    }
+
     /**
      * 获取缓存同步模式
      *
@@ -180,6 +235,15 @@ public abstract class AbstractCacheService<K, V> implements CacheService<K, V> {
         return null;
     }
 
+    /**
+     * 获取缓存预热键来源，需要同时提供查询方法
+     *
+     * @return 缓存预热键来源
+     */
+    protected WarmUpKeySource<K> warmUpKeySource() {
+        return null;
+    }
+
     /**
      * 构建缓存配置
      *
@@ -190,18 +254,19 @@ public abstract class AbstractCacheService<K, V> implements CacheService<K, V> {
                 .cacheType(this.cacheType())
                 .expireTime(this.expireTime())
                 .localExpireTime(this.localExpireTime())
+                .ttlJitter(this.ttlJitter())
                 .localMaximumSize(this.localMaximumSize())
+                .localMaximumWeight(this.localMaximumWeight())
+                .weigher(this.weigher())
                 .cacheSyncMode(this.syncMode())
                 .refreshPolicy(this.refreshPolicy())
                 .keyConverter(this.keyConverter())
-                .serializer(this.serializer());
-
-        if (Objects.isNull(this.query())) {
-            return cacheConfig.build();
-        }
+                .serializer(this.serializer())
+                .warmUp(this.warmUpKeySource());
 
-        CacheLoader<K, V> cacheLoader = this.buildCacheLoader();
-        return cacheConfig.build(cacheLoader);
+        CacheConfig<K, V> config = Objects.isNull(this.query()) ? cacheConfig.build() : cacheConfig.build(this.buildCacheLoader());
+        config.setExpiry(this.expiry());
+        return config;
     }
 
     /**
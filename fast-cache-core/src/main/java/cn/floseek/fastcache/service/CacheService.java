@@ -1,5 +1,6 @@
 package cn.floseek.fastcache.service;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,15 @@ public interface CacheService<K, V> {
      */
     void put(K key, V value);
 
+    /**
+     * 设置缓存值并指定存活时间
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @param ttl   存活时间
+     */
+    void put(K key, V value, Duration ttl);
+
     /**
      * 批量设置缓存值
      *
@@ -52,6 +62,14 @@ public interface CacheService<K, V> {
      */
     void putAll(Map<? extends K, ? extends V> map);
 
+    /**
+     * 批量设置缓存值并指定存活时间
+     *
+     * @param map 映射
+     * @param ttl 存活时间
+     */
+    void putAll(Map<? extends K, ? extends V> map, Duration ttl);
+
     /**
      * 删除缓存值
      *
@@ -66,6 +84,11 @@ public interface CacheService<K, V> {
      */
     void removeAll(Collection<? extends K> keys);
 
+    /**
+     * 清空缓存
+     */
+    void clear();
+
     /**
      * 刷新缓存值
      *
@@ -0,0 +1,23 @@
+package cn.floseek.fastcache.weigher;
+
+/**
+ * 缓存条目权重计算器
+ * <p>
+ * 权重用于按内存占用而不是条目数量限制本地缓存的容量，通常为条目占用的近似字节数
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+@FunctionalInterface
+public interface Weigher {
+
+    /**
+     * 计算缓存条目的权重
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @return 权重，不能为负数
+     */
+    int weigh(Object key, Object value);
+
+}
@@ -0,0 +1,54 @@
+package cn.floseek.fastcache.weigher;
+
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import cn.floseek.fastcache.weigher.impl.EstimateWeigher;
+import cn.floseek.fastcache.weigher.impl.SerializedSizeWeigher;
+
+import java.util.function.Function;
+
+/**
+ * 权重计算器类型枚举
+ *
+ * @author ChenHongwei472
+ */
+public enum WeigherType {
+
+    /**
+     * 估算对象占用的堆内存
+     */
+    ESTIMATE("estimate", valueSerializer -> EstimateWeigher.INSTANCE),
+    /**
+     * 使用序列化后的字节数作为权重
+     */
+    SERIALIZED("serialized", SerializedSizeWeigher::new);
+
+    /**
+     * 名称
+     */
+    private final String name;
+
+    /**
+     * 权重计算器工厂
+     */
+    private final Function<ValueSerializer, Weigher> factory;
+
+    WeigherType(String name, Function<ValueSerializer, Weigher> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 创建权重计算器
+     *
+     * @param valueSerializer 缓存的值序列化器
+     * @return 权重计算器
+     */
+    public Weigher createWeigher(ValueSerializer valueSerializer) {
+        return factory.apply(valueSerializer);
+    }
+
+}
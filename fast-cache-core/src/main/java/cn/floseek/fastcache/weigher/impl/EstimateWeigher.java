@@ -0,0 +1,165 @@
+package cn.floseek.fastcache.weigher.impl;
+
+import cn.floseek.fastcache.weigher.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 估算堆内存占用的权重计算器
+ * <p>
+ * 按 64 位 JVM 开启压缩指针时的对象布局估算缓存键和缓存值占用的字节数。字符串、数组、集合和映射按内容估算，
+ * 大集合只抽样前若干个元素再按数量推算；其他对象通过反射遍历实例字段，超过最大深度的引用只计算引用本身。
+ * 结果是近似值，用于在不同大小的缓存值之间分配容量
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class EstimateWeigher implements Weigher {
+
+    public static final EstimateWeigher INSTANCE = new EstimateWeigher();
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_DEPTH = 4;
+    private static final int SAMPLE_SIZE = 32;
+
+    /**
+     * 类的实例字段缓存
+     */
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    } catch (RuntimeException e) {
+                        // 无法访问的字段（例如 JDK 内部类）只计算对象头
+                        return new Field[0];
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        long weight = this.estimate(key, 0, visited) + this.estimate(value, 0, visited);
+        return (int) Math.min(Math.max(weight, 1), Integer.MAX_VALUE);
+    }
+
+    private long estimate(Object object, int depth, Set<Object> visited) {
+        if (object == null || object instanceof Enum<?> || object instanceof Class<?>) {
+            return 0;
+        }
+        if (object instanceof String string) {
+            return align(OBJECT_HEADER + 8) + align(OBJECT_HEADER + string.length());
+        }
+        if (object instanceof Number || object instanceof Boolean || object instanceof Character) {
+            return OBJECT_HEADER + 8;
+        }
+        if (depth > MAX_DEPTH || !visited.add(object)) {
+            return 0;
+        }
+
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return this.estimateArray(object, type.getComponentType(), depth, visited);
+        }
+        if (object instanceof Collection<?> collection) {
+            return align(OBJECT_HEADER + 16) + this.estimateElements(collection.iterator(), collection.size(), depth, visited, REFERENCE * 2);
+        }
+        if (object instanceof Map<?, ?> map) {
+            return align(OBJECT_HEADER + 32) + this.estimateEntries(map, depth, visited);
+        }
+        return this.estimateFields(object, type, depth, visited);
+    }
+
+    private long estimateArray(Object array, Class<?> componentType, int depth, Set<Object> visited) {
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            int elementSize = componentType == long.class || componentType == double.class ? 8
+                    : componentType == int.class || componentType == float.class ? 4
+                    : componentType == short.class || componentType == char.class ? 2 : 1;
+            return align(OBJECT_HEADER + (long) length * elementSize);
+        }
+
+        Object[] elements = (Object[]) array;
+        return align(OBJECT_HEADER + (long) length * REFERENCE)
+                + this.estimateElements(Arrays.asList(elements).iterator(), length, depth, visited, 0);
+    }
+
+    /**
+     * 抽样估算映射条目占用，按条目数量推算总量
+     */
+    private long estimateEntries(Map<?, ?> map, int depth, Set<Object> visited) {
+        long sampled = 0;
+        int count = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (count >= SAMPLE_SIZE) {
+                break;
+            }
+            // 映射节点和哈希表槽位的开销
+            sampled += 32 + REFERENCE + this.estimate(entry.getKey(), depth + 1, visited) + this.estimate(entry.getValue(), depth + 1, visited);
+            count++;
+        }
+        return count == 0 ? 0 : sampled * map.size() / count;
+    }
+
+    /**
+     * 抽样估算元素占用，按元素数量推算总量
+     *
+     * @param overhead 每个元素的额外开销，例如集合节点
+     */
+    private long estimateElements(Iterator<?> iterator, int size, int depth, Set<Object> visited, int overhead) {
+        long sampled = 0;
+        int count = 0;
+        while (iterator.hasNext() && count < SAMPLE_SIZE) {
+            sampled += this.estimate(iterator.next(), depth + 1, visited) + overhead;
+            count++;
+        }
+        return count == 0 ? 0 : sampled * size / count;
+    }
+
+    private long estimateFields(Object object, Class<?> type, int depth, Set<Object> visited) {
+        long size = OBJECT_HEADER;
+        long nested = 0;
+        for (Field field : FIELDS.get(type)) {
+            Class<?> fieldType = field.getType();
+            if (fieldType.isPrimitive()) {
+                size += fieldType == long.class || fieldType == double.class ? 8 : 4;
+                continue;
+            }
+            size += REFERENCE;
+            try {
+                nested += this.estimate(field.get(object), depth + 1, visited);
+            } catch (IllegalAccessException e) {
+                // 忽略无法读取的字段
+            }
+        }
+        return align(size) + nested;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+}
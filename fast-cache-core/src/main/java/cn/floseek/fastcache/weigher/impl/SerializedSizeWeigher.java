@@ -0,0 +1,35 @@
+package cn.floseek.fastcache.weigher.impl;
+
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import cn.floseek.fastcache.weigher.Weigher;
+
+import java.util.Objects;
+
+/**
+ * 基于序列化大小的权重计算器
+ * <p>
+ * 使用缓存的值序列化器序列化缓存键和缓存值，以字节数之和作为权重。
+ * 计算结果与分布式缓存中的占用一致，但每次写入都需要额外序列化一次
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class SerializedSizeWeigher implements Weigher {
+
+    private final ValueSerializer valueSerializer;
+
+    public SerializedSizeWeigher(ValueSerializer valueSerializer) {
+        if (Objects.isNull(valueSerializer)) {
+            throw new CacheException("Value serializer is required for serialized size weigher");
+        }
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = (long) valueSerializer.serialize(key).length + valueSerializer.serialize(value).length;
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+}
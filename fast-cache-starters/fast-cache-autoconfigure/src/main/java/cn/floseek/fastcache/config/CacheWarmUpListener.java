@@ -0,0 +1,40 @@
+package cn.floseek.fastcache.config;
+
+import cn.floseek.fastcache.cache.CacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * 缓存预热监听器
+ * <p>
+ * 在应用上下文刷新完成后、应用就绪之前同步执行缓存预热，预热期间应用的就绪状态为拒绝流量，
+ * 预热完成或超时后由 Spring Boot 发布就绪事件开始接收流量
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class CacheWarmUpListener implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmUpListener.class);
+
+    private final CacheManager cacheManager;
+
+    public CacheWarmUpListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+
+        log.info("Starting cache warm-up");
+        if (!cacheManager.getWarmUpManager().warmUp()) {
+            log.warn("Cache warm-up not completed, application will accept traffic with partially warmed caches");
+        }
+    }
+
+}
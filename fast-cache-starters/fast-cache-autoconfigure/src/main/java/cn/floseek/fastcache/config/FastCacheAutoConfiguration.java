@@ -7,6 +7,8 @@ import cn.floseek.fastcache.cache.builder.LocalCacheBuilder;
 import cn.floseek.fastcache.cache.builder.RemoteCacheBuilder;
 import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
 import cn.floseek.fastcache.cache.local.GuavaCacheBuilder;
+import cn.floseek.fastcache.cache.local.MappedFileCacheBuilder;
+import cn.floseek.fastcache.cache.local.OffHeapCacheBuilder;
 import cn.floseek.fastcache.config.properties.FastCacheProperties;
 import cn.floseek.fastcache.lock.LockTemplate;
 import jakarta.annotation.Resource;
@@ -34,6 +36,11 @@ public class FastCacheAutoConfiguration {
         return new DefaultCacheManager(fastCacheProperties, cacheBuilderManager, lockTemplate);
     }
 
+    @Bean
+    public CacheWarmUpListener cacheWarmUpListener(CacheManager cacheManager) {
+        return new CacheWarmUpListener(cacheManager);
+    }
+
     @Bean
     public <K, V> CacheBuilderManager<K, V> cacheBuilderManager(List<LocalCacheBuilder<K, V>> localCacheBuilders,
                                                                 List<RemoteCacheBuilder<K, V>> remoteCacheBuilders) {
@@ -53,8 +60,8 @@ public class FastCacheAutoConfiguration {
     }
 
     @Bean
-    public <K, V> LocalCacheBuilder<K, V> caffeineCacheBuilder() {
-        return new CaffeineCacheBuilder<>();
+    public <K, V> LocalCacheBuilder<K, V> caffeineCacheBuilder(FastCacheProperties fastCacheProperties) {
+        return new CaffeineCacheBuilder<>(fastCacheProperties);
     }
 
     @Bean
@@ -62,4 +69,14 @@ public class FastCacheAutoConfiguration {
         return new GuavaCacheBuilder<>();
     }
 
+    @Bean
+    public <K, V> LocalCacheBuilder<K, V> offHeapCacheBuilder(FastCacheProperties fastCacheProperties) {
+        return new OffHeapCacheBuilder<>(fastCacheProperties);
+    }
+
+    @Bean
+    public <K, V> LocalCacheBuilder<K, V> mappedFileCacheBuilder(FastCacheProperties fastCacheProperties) {
+        return new MappedFileCacheBuilder<>(fastCacheProperties);
+    }
+
 }
@@ -1,25 +1,49 @@
 package cn.floseek.fastcache.config;
 
 import cn.floseek.fastcache.cache.builder.RemoteCacheBuilder;
+import cn.floseek.fastcache.cache.remote.AsyncRedisService;
+import cn.floseek.fastcache.cache.remote.RangeNearCache;
+import cn.floseek.fastcache.cache.remote.ReactiveRedisService;
 import cn.floseek.fastcache.cache.remote.RedisService;
 import cn.floseek.fastcache.config.properties.FastCacheProperties;
 import cn.floseek.fastcache.lock.LockTemplate;
+import cn.floseek.fastcache.redisson.RedissonAsyncServiceImpl;
 import cn.floseek.fastcache.redisson.RedissonCacheBuilder;
 import cn.floseek.fastcache.redisson.RedissonLockTemplate;
+import cn.floseek.fastcache.redisson.RedissonRangeNearCache;
+import cn.floseek.fastcache.redisson.RedissonReactiveServiceImpl;
 import cn.floseek.fastcache.redisson.RedissonServiceImpl;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Redisson 自动配置类
+ * <p>
+ * 序列化执行器不注册为 Bean，避免 Spring Boot 因已存在执行器 Bean 而不再创建默认的任务执行器，由配置类在容器关闭时关闭
+ * </p>
  *
  * @author ChenHongwei472
  */
 @Configuration
 @EnableConfigurationProperties(FastCacheProperties.class)
-public class RedissonAutoConfiguration {
+public class RedissonAutoConfiguration implements DisposableBean {
+
+    /**
+     * 创建的序列化线程池，使用公共线程池时为 <code>null</code>
+     */
+    private ExecutorService serializerExecutor;
 
     @Bean
     public <K, V> RemoteCacheBuilder<K, V> remoteCacheBuilder(RedissonClient redissonClient) {
@@ -31,13 +55,76 @@ public class RedissonAutoConfiguration {
         return new RedissonLockTemplate(redissonClient);
     }
 
+    /**
+     * 排序集合范围查询近端缓存，容器关闭时取消键空间通知订阅
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = FastCacheProperties.PREFIX + ".remote", name = "range-near-cache-enabled", havingValue = "true")
+    public RangeNearCache rangeNearCache(RedissonClient redissonClient, FastCacheProperties fastCacheProperties) {
+        GlobalProperties.RemoteCache remote = fastCacheProperties.getRemote();
+        return new RedissonRangeNearCache(
+                redissonClient,
+                remote.getRangeNearCacheMaximumSize(),
+                remote.getRangeNearCacheExpireAfterWrite(),
+                remote.getRangeNearCacheKeyPattern()
+        );
+    }
+
     @Bean
-    public RedisService redissonService(RedissonClient redissonClient, FastCacheProperties fastCacheProperties) {
+    public RedisService redissonService(RedissonClient redissonClient, FastCacheProperties fastCacheProperties,
+                                        ObjectProvider<RangeNearCache> rangeNearCache) {
         return new RedissonServiceImpl(
                 redissonClient,
                 fastCacheProperties.getRemoteCacheKeyConverter(),
-                fastCacheProperties.getRemoteCacheValueSerializer()
+                fastCacheProperties.getRemoteCacheValueSerializer(),
+                rangeNearCache.getIfAvailable()
         );
     }
 
+    @Bean
+    public AsyncRedisService asyncRedisService(RedissonClient redissonClient, FastCacheProperties fastCacheProperties,
+                                               ObjectProvider<RangeNearCache> rangeNearCache) {
+        return new RedissonAsyncServiceImpl(
+                redissonClient,
+                fastCacheProperties.getRemoteCacheKeyConverter(),
+                fastCacheProperties.getRemoteCacheValueSerializer(),
+                this.createSerializerExecutor(fastCacheProperties.getRemote().getAsyncSerializerThreads()),
+                rangeNearCache.getIfAvailable()
+        );
+    }
+
+    @Bean
+    public ReactiveRedisService reactiveRedisService(AsyncRedisService asyncRedisService) {
+        return new RedissonReactiveServiceImpl(asyncRedisService);
+    }
+
+    /**
+     * 创建异步和响应式 Redis 服务的序列化执行器
+     *
+     * @param threads 线程数量，0 表示使用公共线程池
+     * @return 执行器
+     */
+    private Executor createSerializerExecutor(int threads) {
+        if (threads <= 0) {
+            return ForkJoinPool.commonPool();
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        serializerExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-serializer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return serializerExecutor;
+    }
+
+    /**
+     * 容器关闭时关闭序列化线程池，已提交的序列化任务执行完毕后线程退出
+     */
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(serializerExecutor)) {
+            serializerExecutor.shutdown();
+        }
+    }
+
 }
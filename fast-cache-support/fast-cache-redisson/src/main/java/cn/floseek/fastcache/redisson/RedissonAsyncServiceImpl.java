@@ -0,0 +1,440 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.remote.AsyncRedisService;
+import cn.floseek.fastcache.cache.remote.RangeNearCache;
+import cn.floseek.fastcache.cache.remote.SortedEntry;
+import cn.floseek.fastcache.common.constant.CacheConstant;
+import cn.floseek.fastcache.converter.KeyConverter;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import org.apache.commons.lang3.time.DurationUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RList;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.protocol.ScoredEntry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Redisson 异步服务实现
+ * <p>
+ * 命令通过 Redisson 异步接口发送，值的序列化在执行器中完成后再发送命令，返回值的反序列化同样切换到执行器，
+ * 不占用 Redisson 的 Netty I/O 线程。排序集合的写入完成后失效范围查询近端缓存
+ * </p>
+ *
+ * @param redissonClient  Redisson 客户端
+ * @param keyConverter    键名转换器
+ * @param valueSerializer 值序列化器
+ * @param executor        序列化执行器
+ * @param rangeNearCache  排序集合范围查询近端缓存，可以为空
+ * @author ChenHongwei472
+ */
+public record RedissonAsyncServiceImpl(
+        RedissonClient redissonClient,
+        KeyConverter keyConverter,
+        ValueSerializer valueSerializer,
+        Executor executor,
+        RangeNearCache rangeNearCache
+) implements AsyncRedisService {
+
+    public RedissonAsyncServiceImpl(RedissonClient redissonClient, KeyConverter keyConverter, ValueSerializer valueSerializer, Executor executor) {
+        this(redissonClient, keyConverter, valueSerializer, executor, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setObject(String key, T value) {
+        return this.setObject(key, value, CacheConstant.NEVER_EXPIRE);
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setObject(String key, T value, Duration duration) {
+        RBucket<byte[]> bucket = this.getByteArrayBucket(key);
+        return this.serializeThen(value, bytes -> DurationUtils.isPositive(duration)
+                ? bucket.setAsync(bytes, duration)
+                : bucket.setAsync(bytes));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setObjects(Map<String, T> objects) {
+        return this.setObjects(objects, CacheConstant.NEVER_EXPIRE);
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setObjects(Map<String, T> objects, Duration duration) {
+        return CompletableFuture.supplyAsync(() -> objects.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> valueSerializer.serialize(entry.getValue()))), executor)
+                .thenCompose(bytesMap -> {
+                    RBatch batch = redissonClient.createBatch();
+                    bytesMap.forEach((key, bytes) -> {
+                        RBucketAsync<byte[]> bucket = batch.getBucket(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+                        if (DurationUtils.isPositive(duration)) {
+                            bucket.setAsync(bytes, duration);
+                        } else {
+                            bucket.setAsync(bytes);
+                        }
+                    });
+                    return batch.executeAsync().toCompletableFuture();
+                })
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> setObjectIfAbsent(String key, T value, Duration duration) {
+        RBucket<byte[]> bucket = this.getByteArrayBucket(key);
+        return this.serializeThen(value, bytes -> DurationUtils.isPositive(duration)
+                ? bucket.setIfAbsentAsync(bytes, duration)
+                : bucket.setIfAbsentAsync(bytes));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> setObjectIfExists(String key, T value, Duration duration) {
+        RBucket<byte[]> bucket = this.getByteArrayBucket(key);
+        return this.serializeThen(value, bytes -> DurationUtils.isPositive(duration)
+                ? bucket.setIfExistsAsync(bytes, duration)
+                : bucket.setIfExistsAsync(bytes));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String key, Duration duration) {
+        return this.getByteArrayBucket(key).expireAsync(duration).toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getObject(String key) {
+        return this.getByteArrayBucket(key).getAsync().toCompletableFuture()
+                .thenApplyAsync(valueSerializer::deserialize, executor);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<List<T>> getObjects(Collection<String> keys) {
+        RBatch batch = redissonClient.createBatch();
+        keys.forEach(key -> batch.getBucket(keyConverter.convert(key), ByteArrayCodec.INSTANCE).getAsync());
+        return batch.executeAsync().toCompletableFuture()
+                .thenApplyAsync(batchResult -> batchResult.getResponses().stream()
+                        .map(response -> (T) valueSerializer.deserialize((byte[]) response))
+                        .collect(Collectors.toList()), executor);
+    }
+
+    @Override
+    public CompletableFuture<Long> getTimeToLive(String key) {
+        return this.getByteArrayBucket(key).remainTimeToLiveAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteObject(String key) {
+        return this.invalidateRangeOnComplete(key, this.getByteArrayBucket(key).deleteAsync().toCompletableFuture());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObjects(Collection<String> keys) {
+        RBatch batch = redissonClient.createBatch();
+        keys.forEach(key -> batch.getBucket(keyConverter.convert(key), ByteArrayCodec.INSTANCE).deleteAsync());
+        return batch.executeAsync().toCompletableFuture()
+                .whenComplete((result, throwable) -> keys.forEach(this::invalidateRange))
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsObject(String key) {
+        return this.getByteArrayBucket(key).isExistsAsync().toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> setList(String key, List<T> dataList) {
+        RList<byte[]> list = this.getByteArrayList(key);
+        return CompletableFuture.supplyAsync(() -> dataList.stream().map(valueSerializer::serialize).toList(), executor)
+                .thenCompose(valueBytes -> list.addAllAsync(valueBytes).toCompletableFuture());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addList(String key, T data) {
+        RList<byte[]> list = this.getByteArrayList(key);
+        return this.serializeThen(data, list::addAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getList(String key) {
+        return this.deserializeList(this.getByteArrayList(key).readAllAsync());
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getListRange(String key, int form, int to) {
+        return this.deserializeList(this.getByteArrayList(key).rangeAsync(form, to));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> setSet(String key, Set<T> dataSet) {
+        RSet<byte[]> set = this.getByteArraySet(key);
+        return CompletableFuture.supplyAsync(() -> dataSet.stream().map(valueSerializer::serialize).collect(Collectors.toSet()), executor)
+                .thenCompose(valueBytes -> set.addAllAsync(valueBytes).toCompletableFuture());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addSet(String key, T data) {
+        RSet<byte[]> set = this.getByteArraySet(key);
+        return this.serializeThen(data, set::addAsync);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Set<T>> getSet(String key) {
+        return this.getByteArraySet(key).readAllAsync().toCompletableFuture()
+                .thenApplyAsync(valueBytes -> valueBytes.stream()
+                        .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                        .collect(Collectors.toSet()), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> getSortedSetRank(String key, T object) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        return this.serializeThen(object, scoredSortedSet::rankAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> getSortedSetReRank(String key, T object) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        return this.serializeThen(object, scoredSortedSet::revRankAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<Double> getSortedSetScore(String key, T element) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        return this.serializeThen(element, scoredSortedSet::getScoreAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<Double>> getSortedSetScore(String key, List<T> elements) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        return CompletableFuture.supplyAsync(() -> elements.stream().map(valueSerializer::serialize).toList(), executor)
+                .thenCompose(valueBytes -> scoredSortedSet.getScoreAsync(valueBytes).toCompletableFuture());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> removeSortedSet(String key, T element) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        return this.invalidateRangeOnComplete(key, this.serializeThen(element, scoredSortedSet::removeAsync));
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> addSortedSet(String key, Map<T, Double> objects) {
+        return this.addSortedSet(key, objects, CacheConstant.NEVER_EXPIRE);
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> addSortedSet(String key, Map<T, Double> objects, Duration duration) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> objects.entrySet().stream()
+                        .collect(Collectors.toMap(entry -> valueSerializer.serialize(entry.getKey()), Map.Entry::getValue)), executor)
+                .thenCompose(bytesMap -> scoredSortedSet.addAllAsync(bytesMap).toCompletableFuture());
+        return this.invalidateRangeOnComplete(key, this.expireAfter(scoredSortedSet, future, duration));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addSortedSet(String key, double score, T object) {
+        return this.addSortedSet(key, score, object, CacheConstant.NEVER_EXPIRE);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addSortedSet(String key, double score, T object, Duration duration) {
+        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(key);
+        CompletableFuture<Boolean> future = this.serializeThen(object, bytes -> scoredSortedSet.addAsync(score, bytes));
+        return this.invalidateRangeOnComplete(key, this.expireAfter(scoredSortedSet, future, duration));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, int startIndex, int endIndex) {
+        return this.deserializeList(this.getByteArrayScoredSortedSet(key).valueRangeAsync(startIndex, endIndex));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, double startScore, double endScore) {
+        return this.deserializeList(this.getByteArrayScoredSortedSet(key).valueRangeAsync(startScore, true, endScore, true));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, double startScore, double endScore, int offset, int count) {
+        return this.deserializeList(this.getByteArrayScoredSortedSet(key).valueRangeAsync(startScore, true, endScore, true, offset, count));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, int startIndex, int endIndex) {
+        return this.deserializeList(this.getByteArrayScoredSortedSet(key).valueRangeReversedAsync(startIndex, endIndex));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, double startScore, double endScore) {
+        return this.deserializeList(this.getByteArrayScoredSortedSet(key).valueRangeReversedAsync(startScore, true, endScore, true));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, double startScore, double endScore, int offset, int count) {
+        return this.deserializeList(this.getByteArrayScoredSortedSet(key).valueRangeReversedAsync(startScore, true, endScore, true, offset, count));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, int startIndex, int endIndex) {
+        return this.deserializeEntries(this.getByteArrayScoredSortedSet(key).entryRangeAsync(startIndex, endIndex));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, double startScore, double endScore) {
+        return this.deserializeEntries(this.getByteArrayScoredSortedSet(key).entryRangeAsync(startScore, true, endScore, true));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, double startScore, double endScore, int offset, int count) {
+        return this.deserializeEntries(this.getByteArrayScoredSortedSet(key).entryRangeAsync(startScore, true, endScore, true, offset, count));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, int startIndex, int endIndex) {
+        return this.deserializeEntries(this.getByteArrayScoredSortedSet(key).entryRangeReversedAsync(startIndex, endIndex));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore) {
+        return this.deserializeEntries(this.getByteArrayScoredSortedSet(key).entryRangeReversedAsync(startScore, true, endScore, true));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore, int offset, int count) {
+        return this.deserializeEntries(this.getByteArrayScoredSortedSet(key).entryRangeReversedAsync(startScore, true, endScore, true, offset, count));
+    }
+
+    @Override
+    public CompletableFuture<Void> setAtomicValue(String key, long value) {
+        return redissonClient.getAtomicLong(key).setAsync(value).toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> getAtomicValue(String key) {
+        return redissonClient.getAtomicLong(key).getAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> incrementAtomicValue(String key) {
+        return redissonClient.getAtomicLong(key).incrementAndGetAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> decrementAtomicValue(String key) {
+        return redissonClient.getAtomicLong(key).decrementAndGetAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> addAtomicValue(String key, long delta) {
+        return redissonClient.getAtomicLong(key).addAndGetAsync(delta).toCompletableFuture();
+    }
+
+    /**
+     * 在执行器中序列化值后发送命令
+     *
+     * @param value   值
+     * @param command 命令
+     * @param <R>     命令结果类型
+     * @return 命令结果
+     */
+    private <R> CompletableFuture<R> serializeThen(Object value, Function<byte[], RFuture<R>> command) {
+        return CompletableFuture.supplyAsync(() -> valueSerializer.serialize(value), executor)
+                .thenCompose(bytes -> command.apply(bytes).toCompletableFuture());
+    }
+
+    /**
+     * 在执行器中反序列化值列表
+     *
+     * @param future 命令结果
+     * @param <T>    值类型
+     * @return 值列表
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<List<T>> deserializeList(RFuture<? extends Collection<byte[]>> future) {
+        return future.toCompletableFuture()
+                .thenApplyAsync(valueBytes -> valueBytes.stream()
+                        .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                        .collect(Collectors.toList()), executor);
+    }
+
+    /**
+     * 在执行器中反序列化排序集合条目
+     *
+     * @param future 命令结果
+     * @param <T>    值类型
+     * @return {@link SortedEntry} 列表
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<List<SortedEntry<T>>> deserializeEntries(RFuture<Collection<ScoredEntry<byte[]>>> future) {
+        return future.toCompletableFuture()
+                .thenApplyAsync(scoredEntries -> scoredEntries.stream()
+                        .map(scoredEntry -> new SortedEntry<>(scoredEntry.getScore(), (T) valueSerializer.deserialize(scoredEntry.getValue())))
+                        .collect(Collectors.toList()), executor);
+    }
+
+    /**
+     * 写入完成后设置排序集合的过期时间
+     *
+     * @param scoredSortedSet 排序集合
+     * @param future          写入结果
+     * @param duration        过期时间
+     * @param <R>             写入结果类型
+     * @return 写入结果
+     */
+    private <R> CompletableFuture<R> expireAfter(RScoredSortedSet<byte[]> scoredSortedSet, CompletableFuture<R> future, Duration duration) {
+        if (!DurationUtils.isPositive(duration)) {
+            return future;
+        }
+        return future.thenCompose(result -> scoredSortedSet.expireAsync(duration).toCompletableFuture().thenApply(expired -> result));
+    }
+
+    /**
+     * 写入完成后失效键在近端缓存中的全部范围
+     *
+     * @param key    缓存键
+     * @param future 写入结果
+     * @param <R>    写入结果类型
+     * @return 写入结果
+     */
+    private <R> CompletableFuture<R> invalidateRangeOnComplete(String key, CompletableFuture<R> future) {
+        if (Objects.isNull(rangeNearCache)) {
+            return future;
+        }
+        return future.whenComplete((result, throwable) -> this.invalidateRange(key));
+    }
+
+    private void invalidateRange(String key) {
+        if (Objects.nonNull(rangeNearCache)) {
+            rangeNearCache.invalidate(keyConverter.convert(key));
+        }
+    }
+
+    private RBucket<byte[]> getByteArrayBucket(String key) {
+        return redissonClient.getBucket(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    private RList<byte[]> getByteArrayList(String key) {
+        return redissonClient.getList(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    private RSet<byte[]> getByteArraySet(String key) {
+        return redissonClient.getSet(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    private RScoredSortedSet<byte[]> getByteArrayScoredSortedSet(String key) {
+        return redissonClient.getScoredSortedSet(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+}
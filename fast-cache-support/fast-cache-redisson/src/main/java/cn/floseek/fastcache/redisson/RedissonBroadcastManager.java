@@ -3,16 +3,32 @@ package cn.floseek.fastcache.redisson;
 import cn.floseek.fastcache.cache.CacheManager;
 import cn.floseek.fastcache.cache.broadcast.AbstractBroadcastManager;
 import cn.floseek.fastcache.cache.broadcast.BroadcastMessage;
+import cn.floseek.fastcache.cache.broadcast.BroadcastMessageCodec;
+import cn.floseek.fastcache.common.enums.BroadcastChannelMode;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.util.CacheUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 基于 Redisson 的广播管理器实现
+ * <p>
+ * 广播消息通过 {@link BroadcastMessageCodec} 编码为紧凑的二进制格式后发布，缓存名称 ID 由 {@link RedissonCacheNameDictionary} 分配。
+ * 使用独立频道或分桶频道时，只有在本地创建缓存后才会订阅其对应的频道。
+ * 发布时通过 Lua 脚本原子地分配缓存级别的消息序号并发布消息，保证同一缓存的消息按序号顺序到达
+ * </p>
  *
  * @author ChenHongwei472
  */
@@ -21,77 +37,151 @@ public class RedissonBroadcastManager extends AbstractBroadcastManager {
     private static final Logger log = LoggerFactory.getLogger(RedissonBroadcastManager.class);
 
     /**
-     * 未订阅状态标识
+     * 分配消息序号并发布消息的 Lua 脚本，将序号以 8 字节大端序写入消息的序号位置
      */
-    private static final int UNSUBSCRIBED = 0;
+    private static final String PUBLISH_SCRIPT = """
+            local sequence = redis.call('INCR', KEYS[1])
+            local bytes = {}
+            local value = sequence
+            for i = 8, 1, -1 do
+                bytes[i] = string.char(value % 256)
+                value = math.floor(value / 256)
+            end
+            local offset = tonumber(ARGV[3])
+            local message = string.sub(ARGV[2], 1, offset) .. table.concat(bytes) .. string.sub(ARGV[2], offset + 9)
+            redis.call('PUBLISH', ARGV[1], message)
+            return sequence
+            """;
+
+    private static final byte[] SEQUENCE_OFFSET = String.valueOf(BroadcastMessageCodec.SEQUENCE_OFFSET).getBytes(StandardCharsets.UTF_8);
 
     /**
-     * 订阅 ID，0 表示未订阅状态
+     * 订阅映射，key 为广播频道，value 为订阅 ID
      */
-    private volatile int subscribeId = UNSUBSCRIBED;
+    private final Map<String, Integer> subscriptions = new ConcurrentHashMap<>();
 
     /**
      * 订阅锁
      */
     private final ReentrantLock reentrantLock = new ReentrantLock();
 
+    private final GlobalProperties globalProperties;
     private final String channel;
     private final RedissonClient redissonClient;
+    private final BroadcastMessageCodec codec;
 
     public RedissonBroadcastManager(CacheManager cacheManager, RedissonClient redissonClient) {
         super(cacheManager);
-        this.channel = cacheManager.getGlobalProperties().getCacheSyncBroadcastChannel();
+        this.globalProperties = cacheManager.getGlobalProperties();
+        this.channel = globalProperties.getCacheSyncBroadcastChannel();
         this.redissonClient = redissonClient;
+        this.codec = new BroadcastMessageCodec(this.getInstanceId(),
+                new RedissonCacheNameDictionary(redissonClient, this.channel), this::getValueSerializer);
     }
 
     @Override
     public void publish(BroadcastMessage broadcastMessage) {
+        if (StringUtils.isBlank(this.channel) || ObjectUtils.isEmpty(broadcastMessage)) {
+            return;
+        }
+
+        String cacheChannel = globalProperties.getCacheSyncBroadcastChannel(broadcastMessage.getCacheName());
         try {
-            if (StringUtils.isNotBlank(this.channel) && ObjectUtils.isNotEmpty(broadcastMessage)) {
-                this.redissonClient.getTopic(this.channel).publish(broadcastMessage);
-                log.debug("Broadcast message published success, channel: {}", this.channel);
-            }
+            String sequenceKey = CacheUtils.generateKey(this.channel, "seq", broadcastMessage.getCacheName());
+            this.redissonClient.getScript(ByteArrayCodec.INSTANCE).eval(sequenceKey, RScript.Mode.READ_WRITE, PUBLISH_SCRIPT,
+                    RScript.ReturnType.INTEGER, List.of(sequenceKey),
+                    cacheChannel.getBytes(StandardCharsets.UTF_8), codec.encode(broadcastMessage), SEQUENCE_OFFSET);
+            log.debug("Broadcast message published success, channel: {}", cacheChannel);
         } catch (Throwable e) {
-            log.error("Failed to publish broadcast message, channel: {}", this.channel, e);
+            log.error("Failed to publish broadcast message, channel: {}", cacheChannel, e);
         }
     }
 
     @Override
     public void subscribe() {
-        reentrantLock.lock();
-        try {
-            if (this.subscribeId == UNSUBSCRIBED && StringUtils.isNotBlank(this.channel)) {
-                this.subscribeId = this.redissonClient.getTopic(this.channel)
-                        .addListener(BroadcastMessage.class, (channel, message) -> processMessage(message));
-                log.info("Subscribed to broadcast channel: {}", this.channel);
-            }
-        } finally {
-            reentrantLock.unlock();
+        // 独立频道和分桶频道在创建缓存时按需订阅
+        if (globalProperties.getSyncStrategy().getChannelMode() == BroadcastChannelMode.SHARED) {
+            this.subscribeChannel(this.channel);
         }
     }
 
+    @Override
+    public void subscribe(String cacheName) {
+        codec.register(cacheName);
+        this.subscribeChannel(globalProperties.getCacheSyncBroadcastChannel(cacheName));
+    }
+
     @Override
     public void close() {
         reentrantLock.lock();
         try {
-            if (this.subscribeId != UNSUBSCRIBED && StringUtils.isNotBlank(this.channel)) {
+            subscriptions.forEach((subscribedChannel, subscribeId) -> {
                 try {
-                    this.redissonClient.getTopic(this.channel).removeListener(this.subscribeId);
-                    log.info("Unsubscribed from broadcast channel: {}", this.channel);
+                    this.getTopic(subscribedChannel).removeListener(subscribeId);
+                    log.info("Unsubscribed from broadcast channel: {}", subscribedChannel);
                 } catch (Throwable e) {
-                    log.error("Failed to unsubscribe from broadcast channel: {}", this.channel, e);
-                } finally {
-                    this.subscribeId = UNSUBSCRIBED;
+                    log.error("Failed to unsubscribe from broadcast channel: {}", subscribedChannel, e);
                 }
-            }
+            });
+            subscriptions.clear();
         } finally {
             reentrantLock.unlock();
+            super.close();
         }
     }
 
     @Override
     public boolean isSubscribed() {
-        return this.subscribeId != UNSUBSCRIBED;
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * 订阅广播频道，已订阅时忽略
+     *
+     * @param subscribeChannel 广播频道
+     */
+    private void subscribeChannel(String subscribeChannel) {
+        if (StringUtils.isBlank(subscribeChannel) || subscriptions.containsKey(subscribeChannel)) {
+            return;
+        }
+
+        reentrantLock.lock();
+        try {
+            if (!subscriptions.containsKey(subscribeChannel)) {
+                int subscribeId = this.getTopic(subscribeChannel)
+                        .addListener(byte[].class, (messageChannel, message) -> this.onMessage(message));
+                subscriptions.put(subscribeChannel, subscribeId);
+                log.info("Subscribed to broadcast channel: {}", subscribeChannel);
+            }
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    /**
+     * 解码并处理接收到的广播消息
+     *
+     * @param message 消息字节数组
+     */
+    private void onMessage(byte[] message) {
+        try {
+            BroadcastMessage broadcastMessage = codec.decode(message);
+            if (broadcastMessage != null) {
+                this.processMessage(broadcastMessage);
+            }
+        } catch (Throwable e) {
+            log.error("Failed to process broadcast message", e);
+        }
+    }
+
+    /**
+     * 获取广播主题
+     *
+     * @param topicChannel 广播频道
+     * @return {@link RTopic}
+     */
+    private RTopic getTopic(String topicChannel) {
+        return this.redissonClient.getTopic(topicChannel, ByteArrayCodec.INSTANCE);
     }
 
 }
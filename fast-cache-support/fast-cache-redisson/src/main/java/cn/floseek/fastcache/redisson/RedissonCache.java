@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Redisson 缓存实现
@@ -78,29 +79,80 @@ public class RedissonCache<K, V> extends AbstractRemoteCache<K, V> {
         return valueMap;
     }
 
+    @Override
+    public CompletableFuture<V> getAsync(K key) {
+        return this.getGenerationAsync().thenCompose(generation -> {
+            RBucket<byte[]> bucket = redissonClient.getBucket(this.getCacheKey(key, generation), this.getCodec());
+            return bucket.getAsync().toCompletableFuture().thenApply(valueSerializer::deserialize);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        List<K> keyList = new ArrayList<>(keys);
+
+        return this.getGenerationAsync().thenCompose(generation -> {
+            RBatch batch = redissonClient.createBatch();
+            keyList.forEach(key -> batch.getBucket(this.getCacheKey(key, generation), this.getCodec()).getAsync());
+            return batch.executeAsync().toCompletableFuture().thenApply(batchResult -> {
+                List<?> responses = batchResult.getResponses();
+                Map<K, V> valueMap = new HashMap<>();
+                for (int i = 0; i < keyList.size(); i++) {
+                    byte[] value = (byte[]) responses.get(i);
+                    if (Objects.nonNull(value)) {
+                        valueMap.put(keyList.get(i), valueSerializer.deserialize(value));
+                    }
+                }
+                return valueMap;
+            });
+        });
+    }
+
     @Override
     public void put(K key, V value) {
+        this.put(key, value, null);
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
         RBucket<byte[]> bucket = redissonClient.getBucket(this.getCacheKey(key), this.getCodec());
-        if (Objects.nonNull(expireTime) && DurationUtils.isPositive(expireTime)) {
-            bucket.set(valueSerializer.serialize(value), expireTime);
-        } else {
+        Duration resolvedTtl = this.resolveTtl(key, value, ttl, expireTime);
+        if (Objects.isNull(resolvedTtl)) {
             bucket.set(valueSerializer.serialize(value));
+        } else if (DurationUtils.isPositive(resolvedTtl)) {
+            // SET PX 原子地写入缓存值和毫秒级存活时间
+            bucket.set(valueSerializer.serialize(value), resolvedTtl);
+        } else {
+            bucket.delete();
         }
     }
 
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
+        this.putAll(map, null);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, Duration ttl) {
         if (MapUtils.isEmpty(map)) {
             return;
         }
 
+        // 每个缓存键的存活时间单独计算，在同一个批处理中提交
         RBatch batch = redissonClient.createBatch();
         map.forEach((key, value) -> {
             RBucketAsync<byte[]> bucket = batch.getBucket(this.getCacheKey(key), this.getCodec());
-            if (Objects.nonNull(expireTime) && DurationUtils.isPositive(expireTime)) {
-                bucket.setAsync(valueSerializer.serialize(value), expireTime);
-            } else {
+            Duration resolvedTtl = this.resolveTtl(key, value, ttl, expireTime);
+            if (Objects.isNull(resolvedTtl)) {
                 bucket.setAsync(valueSerializer.serialize(value));
+            } else if (DurationUtils.isPositive(resolvedTtl)) {
+                bucket.setAsync(valueSerializer.serialize(value), resolvedTtl);
+            } else {
+                bucket.deleteAsync();
             }
         });
         batch.execute();
@@ -122,6 +174,21 @@ public class RedissonCache<K, V> extends AbstractRemoteCache<K, V> {
         batch.execute();
     }
 
+    @Override
+    protected long loadGeneration() {
+        return redissonClient.getAtomicLong(this.getGenerationKey()).get();
+    }
+
+    @Override
+    protected CompletableFuture<Long> loadGenerationAsync() {
+        return redissonClient.getAtomicLong(this.getGenerationKey()).getAsync().toCompletableFuture();
+    }
+
+    @Override
+    protected long incrementGeneration() {
+        return redissonClient.getAtomicLong(this.getGenerationKey()).incrementAndGet();
+    }
+
     /**
      * 获取编解码器
      *
@@ -142,4 +209,16 @@ public class RedissonCache<K, V> extends AbstractRemoteCache<K, V> {
         return new String(keyBytes, Charset.defaultCharset());
     }
 
+    /**
+     * 按指定的命名空间版本号获取缓存键
+     *
+     * @param key        缓存键
+     * @param generation 命名空间版本号
+     * @return 缓存键
+     */
+    private String getCacheKey(K key, long generation) {
+        byte[] keyBytes = super.buildCacheKey(key, generation);
+        return new String(keyBytes, Charset.defaultCharset());
+    }
+
 }
@@ -4,6 +4,8 @@ import cn.floseek.fastcache.cache.Cache;
 import cn.floseek.fastcache.cache.CacheManager;
 import cn.floseek.fastcache.cache.broadcast.BroadcastManager;
 import cn.floseek.fastcache.cache.builder.RemoteCacheBuilder;
+import cn.floseek.fastcache.cache.tracking.TrackingManager;
+import cn.floseek.fastcache.common.enums.BroadcastTransport;
 import cn.floseek.fastcache.config.CacheConfig;
 import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
 import org.redisson.api.RedissonClient;
@@ -30,9 +32,22 @@ public class RedissonCacheBuilder<K, V> extends RemoteCacheBuilder<K, V> {
 
     @Override
     public BroadcastManager createBroadcastManager(CacheManager cacheManager) {
+        if (cacheManager.getGlobalProperties().getSyncStrategy().getTransport() == BroadcastTransport.STREAM) {
+            return new RedissonStreamBroadcastManager(cacheManager, redissonClient);
+        }
         return new RedissonBroadcastManager(cacheManager, redissonClient);
     }
 
+    @Override
+    public boolean supportTracking() {
+        return true;
+    }
+
+    @Override
+    public TrackingManager createTrackingManager(CacheManager cacheManager) {
+        return new RedissonTrackingManager(redissonClient);
+    }
+
     @Override
     public RemoteCacheProvider getProvider() {
         return RemoteCacheProvider.REDISSON;
@@ -0,0 +1,111 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.broadcast.CacheNameDictionary;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Redisson 的缓存名称字典实现
+ * <p>
+ * 名称与 ID 的双向映射保存在 Redis 哈希中，ID 由 Redis 计数器分配，本地缓存映射后不再访问 Redis。
+ * 分配时先写入 ID 到名称的映射，再以 HSETNX 写入名称到 ID 的映射，保证其它节点看到 ID 时一定能解析出名称
+ * </p>
+ * <p>
+ * {@link #getName(int)} 在接收广播消息的线程中调用，只读取本地映射；本地不存在的 ID 返回 <code>null</code>，
+ * 并异步从 Redis 读取后加入本地映射
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class RedissonCacheNameDictionary implements CacheNameDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonCacheNameDictionary.class);
+
+    /**
+     * 本地缓存名称到 ID 的映射
+     */
+    private final Map<String, Integer> idMap = new ConcurrentHashMap<>();
+
+    /**
+     * 本地 ID 到缓存名称的映射
+     */
+    private final Map<Integer, String> nameMap = new ConcurrentHashMap<>();
+
+    /**
+     * 正在异步读取的 ID
+     */
+    private final Set<Integer> resolvingIds = ConcurrentHashMap.newKeySet();
+
+    private final RMap<String, String> remoteIdMap;
+    private final RMap<String, String> remoteNameMap;
+    private final RAtomicLong sequence;
+
+    /**
+     * 构造方法
+     *
+     * @param redissonClient Redisson 客户端
+     * @param keyPrefix      字典键前缀
+     */
+    public RedissonCacheNameDictionary(RedissonClient redissonClient, String keyPrefix) {
+        this.remoteIdMap = redissonClient.getMap(keyPrefix + ":dict:ids", StringCodec.INSTANCE);
+        this.remoteNameMap = redissonClient.getMap(keyPrefix + ":dict:names", StringCodec.INSTANCE);
+        this.sequence = redissonClient.getAtomicLong(keyPrefix + ":dict:seq");
+    }
+
+    @Override
+    public int getId(String cacheName) {
+        return idMap.computeIfAbsent(cacheName, this::register);
+    }
+
+    @Override
+    public String getName(int id) {
+        String cacheName = nameMap.get(id);
+        if (Objects.nonNull(cacheName)) {
+            return cacheName;
+        }
+
+        if (resolvingIds.add(id)) {
+            remoteNameMap.getAsync(String.valueOf(id)).whenComplete((name, e) -> {
+                if (Objects.nonNull(name)) {
+                    nameMap.put(id, name);
+                } else if (Objects.nonNull(e)) {
+                    log.warn("Failed to resolve cache name, id: {}", id, e);
+                }
+                resolvingIds.remove(id);
+            });
+        }
+        return null;
+    }
+
+    /**
+     * 注册缓存名称
+     *
+     * @param cacheName 缓存名称
+     * @return 缓存名称 ID
+     */
+    private Integer register(String cacheName) {
+        String existingId = remoteIdMap.get(cacheName);
+        if (Objects.isNull(existingId)) {
+            String newId = String.valueOf(sequence.incrementAndGet());
+            remoteNameMap.fastPut(newId, cacheName);
+            existingId = remoteIdMap.putIfAbsent(cacheName, newId);
+            if (Objects.isNull(existingId)) {
+                existingId = newId;
+            }
+        }
+
+        Integer id = Integer.valueOf(existingId);
+        nameMap.put(id, cacheName);
+        return id;
+    }
+
+}
@@ -0,0 +1,218 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.remote.RangeNearCache;
+import cn.floseek.fastcache.cache.remote.RedisPipeline;
+import cn.floseek.fastcache.cache.remote.SortedEntry;
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.converter.KeyConverter;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import org.apache.commons.lang3.time.DurationUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RListAsync;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RSetAsync;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.protocol.ScoredEntry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Redisson 管道实现，基于 {@link RBatch}
+ *
+ * @author ChenHongwei472
+ */
+public class RedissonPipeline implements RedisPipeline {
+
+    private final RBatch batch;
+    private final KeyConverter keyConverter;
+    private final ValueSerializer valueSerializer;
+    private final RangeNearCache rangeNearCache;
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    public RedissonPipeline(RBatch batch, KeyConverter keyConverter, ValueSerializer valueSerializer) {
+        this(batch, keyConverter, valueSerializer, null);
+    }
+
+    public RedissonPipeline(RBatch batch, KeyConverter keyConverter, ValueSerializer valueSerializer, RangeNearCache rangeNearCache) {
+        this.batch = batch;
+        this.keyConverter = keyConverter;
+        this.valueSerializer = valueSerializer;
+        this.rangeNearCache = rangeNearCache;
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setObject(String key, T value, Duration duration) {
+        RBucketAsync<byte[]> bucket = this.getBucket(key);
+        byte[] serializedValue = valueSerializer.serialize(value);
+        if (DurationUtils.isPositive(duration)) {
+            return bucket.setAsync(serializedValue, duration).toCompletableFuture();
+        }
+        return bucket.setAsync(serializedValue).toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getObject(String key) {
+        return this.getBucket(key).getAsync().toCompletableFuture().thenApply(valueSerializer::deserialize);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteObject(String key) {
+        return this.invalidateRangeOnComplete(key, this.getBucket(key).deleteAsync().toCompletableFuture());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String key, Duration duration) {
+        return this.getBucket(key).expireAsync(duration).toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addList(String key, T data) {
+        return this.getByteArrayList(key).addAsync(valueSerializer.serialize(data)).toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getList(String key) {
+        return this.getByteArrayList(key).readAllAsync().toCompletableFuture().thenApply(this::deserializeList);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getListRange(String key, int from, int to) {
+        return this.getByteArrayList(key).rangeAsync(from, to).toCompletableFuture().thenApply(this::deserializeList);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addSet(String key, T data) {
+        return this.getByteArraySet(key).addAsync(valueSerializer.serialize(data)).toCompletableFuture();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Set<T>> getSet(String key) {
+        return this.getByteArraySet(key).readAllAsync().toCompletableFuture()
+                .thenApply(valueBytes -> valueBytes.stream()
+                        .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                        .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> getSortedSetRank(String key, T object) {
+        return this.getScoredSortedSet(key).rankAsync(valueSerializer.serialize(object)).toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<Double> getSortedSetScore(String key, T element) {
+        return this.getScoredSortedSet(key).getScoreAsync(valueSerializer.serialize(element)).toCompletableFuture();
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> addSortedSet(String key, double score, T object) {
+        return this.invalidateRangeOnComplete(key, this.getScoredSortedSet(key).addAsync(score, valueSerializer.serialize(object)).toCompletableFuture());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> removeSortedSet(String key, T element) {
+        return this.invalidateRangeOnComplete(key, this.getScoredSortedSet(key).removeAsync(valueSerializer.serialize(element)).toCompletableFuture());
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRange(String key, int startIndex, int endIndex) {
+        return this.getScoredSortedSet(key).valueRangeAsync(startIndex, endIndex).toCompletableFuture().thenApply(this::deserializeList);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getSortedSetValueRangeReversed(String key, int startIndex, int endIndex) {
+        return this.getScoredSortedSet(key).valueRangeReversedAsync(startIndex, endIndex).toCompletableFuture().thenApply(this::deserializeList);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRange(String key, int startIndex, int endIndex) {
+        return this.getScoredSortedSet(key).entryRangeAsync(startIndex, endIndex).toCompletableFuture().thenApply(this::deserializeEntries);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, int startIndex, int endIndex) {
+        return this.getScoredSortedSet(key).entryRangeReversedAsync(startIndex, endIndex).toCompletableFuture().thenApply(this::deserializeEntries);
+    }
+
+    @Override
+    public CompletableFuture<Long> getAtomicValue(String key) {
+        return batch.getAtomicLong(key).getAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> incrementAtomicValue(String key) {
+        return batch.getAtomicLong(key).incrementAndGetAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> decrementAtomicValue(String key) {
+        return batch.getAtomicLong(key).decrementAndGetAsync().toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> addAtomicValue(String key, long delta) {
+        return batch.getAtomicLong(key).addAndGetAsync(delta).toCompletableFuture();
+    }
+
+    @Override
+    public void execute() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new CacheException("Redis pipeline has already been executed");
+        }
+        batch.execute();
+    }
+
+    /**
+     * 写入完成后失效键在近端缓存中的全部范围
+     *
+     * @param key    缓存键
+     * @param future 写入结果
+     * @param <R>    结果类型
+     * @return 写入结果
+     */
+    private <R> CompletableFuture<R> invalidateRangeOnComplete(String key, CompletableFuture<R> future) {
+        if (rangeNearCache == null) {
+            return future;
+        }
+        String convertedKey = keyConverter.convert(key);
+        return future.whenComplete((result, throwable) -> rangeNearCache.invalidate(convertedKey));
+    }
+
+    private RBucketAsync<byte[]> getBucket(String key) {
+        return batch.getBucket(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    private RListAsync<byte[]> getByteArrayList(String key) {
+        return batch.getList(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    private RSetAsync<byte[]> getByteArraySet(String key) {
+        return batch.getSet(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    private RScoredSortedSetAsync<byte[]> getScoredSortedSet(String key) {
+        return batch.getScoredSortedSet(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> deserializeList(Collection<byte[]> valueBytes) {
+        return valueBytes.stream()
+                .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<SortedEntry<T>> deserializeEntries(Collection<ScoredEntry<byte[]>> scoredEntries) {
+        return scoredEntries.stream()
+                .map(scoredEntry -> new SortedEntry<>(scoredEntry.getScore(), (T) valueSerializer.deserialize(scoredEntry.getValue())))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,89 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.remote.RangeNearCache;
+import cn.floseek.fastcache.common.exception.CacheException;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.PatternMessageListener;
+import org.redisson.api.listener.PatternStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * 基于 Redisson 的排序集合范围查询近端缓存
+ * <p>
+ * 订阅 <code>__keyspace@*__:&lt;pattern&gt;</code> 键空间通知，收到任意事件时失效对应键的全部范围，
+ * 订阅建立或重新建立时失效全部范围，避免断线期间丢失通知。
+ * 需要 Redis 开启键空间通知，例如 <code>notify-keyspace-events Kgxz</code>，未开启时只依赖本节点写入和存活时间失效
+ * </p>
+ * <p>
+ * 集群模式下键空间通知只在键所在的节点上发布，不会在集群内转发，模式订阅只能收到订阅连接所在节点的通知，
+ * 其他节点上的键只依赖本节点写入和存活时间失效；需要在集群模式下使用时，应配置较短的存活时间
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class RedissonRangeNearCache extends RangeNearCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonRangeNearCache.class);
+
+    /**
+     * 键空间通知频道前缀
+     */
+    private static final String KEYSPACE_PREFIX = "__keyspace@";
+
+    /**
+     * 键空间通知频道中数据库编号与键的分隔符
+     */
+    private static final String KEYSPACE_SEPARATOR = "__:";
+
+    private final RPatternTopic topic;
+    private final int messageListenerId;
+    private final int statusListenerId;
+
+    public RedissonRangeNearCache(RedissonClient redissonClient, long maximumSize, Duration expireAfterWrite, String keyPattern) {
+        super(maximumSize, expireAfterWrite);
+        if (StringUtils.isBlank(keyPattern)) {
+            throw new CacheException("Key pattern is required for range near cache");
+        }
+        this.topic = redissonClient.getPatternTopic(KEYSPACE_PREFIX + "*" + KEYSPACE_SEPARATOR + keyPattern, StringCodec.INSTANCE);
+        this.messageListenerId = topic.addListener(String.class, (PatternMessageListener<String>) (pattern, channel, event) ->
+                this.processNotification(channel.toString()));
+        this.statusListenerId = topic.addListener(new PatternStatusListener() {
+            @Override
+            public void onPSubscribe(String pattern) {
+                log.info("Range near cache subscribed to keyspace notifications, pattern: {}", pattern);
+                invalidateAll();
+            }
+
+            @Override
+            public void onPUnsubscribe(String pattern) {
+                invalidateAll();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        topic.removeListener(messageListenerId, statusListenerId);
+        super.close();
+    }
+
+    /**
+     * 处理键空间通知
+     *
+     * @param channel 通知频道，格式为 <code>__keyspace@&lt;db&gt;__:&lt;key&gt;</code>
+     */
+    private void processNotification(String channel) {
+        int index = channel.indexOf(KEYSPACE_SEPARATOR, KEYSPACE_PREFIX.length());
+        if (index < 0) {
+            return;
+        }
+        this.invalidate(channel.substring(index + KEYSPACE_SEPARATOR.length()));
+    }
+
+}
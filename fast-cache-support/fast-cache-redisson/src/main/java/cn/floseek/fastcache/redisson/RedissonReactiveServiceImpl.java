@@ -0,0 +1,256 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.remote.AsyncRedisService;
+import cn.floseek.fastcache.cache.remote.ReactiveRedisService;
+import cn.floseek.fastcache.cache.remote.SortedEntry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redisson 响应式服务实现
+ * <p>
+ * 基于 {@link RedissonAsyncServiceImpl} 实现，订阅时才发送命令，取消订阅时取消尚未完成的命令结果，
+ * 序列化同样在异步服务配置的执行器中完成
+ * </p>
+ *
+ * @param asyncRedisService 异步 Redis 服务
+ * @author ChenHongwei472
+ */
+public record RedissonReactiveServiceImpl(AsyncRedisService asyncRedisService) implements ReactiveRedisService {
+
+    @Override
+    public <T> Mono<Void> setObject(String key, T value) {
+        return Mono.fromFuture(() -> asyncRedisService.setObject(key, value));
+    }
+
+    @Override
+    public <T> Mono<Void> setObject(String key, T value, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.setObject(key, value, duration));
+    }
+
+    @Override
+    public <T> Mono<Void> setObjects(Map<String, T> objects) {
+        return Mono.fromFuture(() -> asyncRedisService.setObjects(objects));
+    }
+
+    @Override
+    public <T> Mono<Void> setObjects(Map<String, T> objects, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.setObjects(objects, duration));
+    }
+
+    @Override
+    public <T> Mono<Boolean> setObjectIfAbsent(String key, T value, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.setObjectIfAbsent(key, value, duration));
+    }
+
+    @Override
+    public <T> Mono<Boolean> setObjectIfExists(String key, T value, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.setObjectIfExists(key, value, duration));
+    }
+
+    @Override
+    public Mono<Boolean> expire(String key, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.expire(key, duration));
+    }
+
+    @Override
+    public <T> Mono<T> getObject(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.getObject(key));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getObjects(Collection<String> keys) {
+        return Mono.fromFuture(() -> asyncRedisService.getObjects(keys));
+    }
+
+    @Override
+    public Mono<Long> getTimeToLive(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.getTimeToLive(key));
+    }
+
+    @Override
+    public Mono<Boolean> deleteObject(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.deleteObject(key));
+    }
+
+    @Override
+    public Mono<Void> deleteObjects(Collection<String> keys) {
+        return Mono.fromFuture(() -> asyncRedisService.deleteObjects(keys));
+    }
+
+    @Override
+    public Mono<Boolean> existsObject(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.existsObject(key));
+    }
+
+    @Override
+    public <T> Mono<Boolean> setList(String key, List<T> dataList) {
+        return Mono.fromFuture(() -> asyncRedisService.setList(key, dataList));
+    }
+
+    @Override
+    public <T> Mono<Boolean> addList(String key, T data) {
+        return Mono.fromFuture(() -> asyncRedisService.addList(key, data));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getList(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.getList(key));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getListRange(String key, int form, int to) {
+        return Mono.fromFuture(() -> asyncRedisService.getListRange(key, form, to));
+    }
+
+    @Override
+    public <T> Mono<Boolean> setSet(String key, Set<T> dataSet) {
+        return Mono.fromFuture(() -> asyncRedisService.setSet(key, dataSet));
+    }
+
+    @Override
+    public <T> Mono<Boolean> addSet(String key, T data) {
+        return Mono.fromFuture(() -> asyncRedisService.addSet(key, data));
+    }
+
+    @Override
+    public <T> Mono<Set<T>> getSet(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.getSet(key));
+    }
+
+    @Override
+    public <T> Mono<Integer> getSortedSetRank(String key, T object) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetRank(key, object));
+    }
+
+    @Override
+    public <T> Mono<Integer> getSortedSetReRank(String key, T object) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetReRank(key, object));
+    }
+
+    @Override
+    public <T> Mono<Double> getSortedSetScore(String key, T element) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetScore(key, element));
+    }
+
+    @Override
+    public <T> Mono<List<Double>> getSortedSetScore(String key, List<T> elements) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetScore(key, elements));
+    }
+
+    @Override
+    public <T> Mono<Boolean> removeSortedSet(String key, T element) {
+        return Mono.fromFuture(() -> asyncRedisService.removeSortedSet(key, element));
+    }
+
+    @Override
+    public <T> Mono<Integer> addSortedSet(String key, Map<T, Double> objects) {
+        return Mono.fromFuture(() -> asyncRedisService.addSortedSet(key, objects));
+    }
+
+    @Override
+    public <T> Mono<Integer> addSortedSet(String key, Map<T, Double> objects, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.addSortedSet(key, objects, duration));
+    }
+
+    @Override
+    public <T> Mono<Boolean> addSortedSet(String key, double score, T object) {
+        return Mono.fromFuture(() -> asyncRedisService.addSortedSet(key, score, object));
+    }
+
+    @Override
+    public <T> Mono<Boolean> addSortedSet(String key, double score, T object, Duration duration) {
+        return Mono.fromFuture(() -> asyncRedisService.addSortedSet(key, score, object, duration));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getSortedSetValueRange(String key, int startIndex, int endIndex) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetValueRange(key, startIndex, endIndex));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getSortedSetValueRange(String key, double startScore, double endScore) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetValueRange(key, startScore, endScore));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getSortedSetValueRange(String key, double startScore, double endScore, int offset, int count) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetValueRange(key, startScore, endScore, offset, count));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getSortedSetValueRangeReversed(String key, int startIndex, int endIndex) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetValueRangeReversed(key, startIndex, endIndex));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getSortedSetValueRangeReversed(String key, double startScore, double endScore) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetValueRangeReversed(key, startScore, endScore));
+    }
+
+    @Override
+    public <T> Mono<List<T>> getSortedSetValueRangeReversed(String key, double startScore, double endScore, int offset, int count) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetValueRangeReversed(key, startScore, endScore, offset, count));
+    }
+
+    @Override
+    public <T> Mono<List<SortedEntry<T>>> getSortedSetEntryRange(String key, int startIndex, int endIndex) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetEntryRange(key, startIndex, endIndex));
+    }
+
+    @Override
+    public <T> Mono<List<SortedEntry<T>>> getSortedSetEntryRange(String key, double startScore, double endScore) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetEntryRange(key, startScore, endScore));
+    }
+
+    @Override
+    public <T> Mono<List<SortedEntry<T>>> getSortedSetEntryRange(String key, double startScore, double endScore, int offset, int count) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetEntryRange(key, startScore, endScore, offset, count));
+    }
+
+    @Override
+    public <T> Mono<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, int startIndex, int endIndex) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetEntryRangeReversed(key, startIndex, endIndex));
+    }
+
+    @Override
+    public <T> Mono<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetEntryRangeReversed(key, startScore, endScore));
+    }
+
+    @Override
+    public <T> Mono<List<SortedEntry<T>>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore, int offset, int count) {
+        return Mono.fromFuture(() -> asyncRedisService.getSortedSetEntryRangeReversed(key, startScore, endScore, offset, count));
+    }
+
+    @Override
+    public Mono<Void> setAtomicValue(String key, long value) {
+        return Mono.fromFuture(() -> asyncRedisService.setAtomicValue(key, value));
+    }
+
+    @Override
+    public Mono<Long> getAtomicValue(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.getAtomicValue(key));
+    }
+
+    @Override
+    public Mono<Long> incrementAtomicValue(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.incrementAtomicValue(key));
+    }
+
+    @Override
+    public Mono<Long> decrementAtomicValue(String key) {
+        return Mono.fromFuture(() -> asyncRedisService.decrementAtomicValue(key));
+    }
+
+    @Override
+    public Mono<Long> addAtomicValue(String key, long delta) {
+        return Mono.fromFuture(() -> asyncRedisService.addAtomicValue(key, delta));
+    }
+
+}
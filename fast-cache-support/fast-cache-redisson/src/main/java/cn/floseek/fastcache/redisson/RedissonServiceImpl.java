@@ -3,6 +3,10 @@ package cn.floseek.fastcache.redisson;
 import cn.floseek.fastcache.converter.KeyConverter;
 import cn.floseek.fastcache.serializer.ValueSerializer;
 import cn.floseek.fastcache.common.constant.CacheConstant;
+import cn.floseek.fastcache.cache.remote.BulkKeyDeleter;
+import cn.floseek.fastcache.cache.remote.KeyDeleteOptions;
+import cn.floseek.fastcache.cache.remote.RangeNearCache;
+import cn.floseek.fastcache.cache.remote.RedisPipeline;
 import cn.floseek.fastcache.cache.remote.RedisService;
 import cn.floseek.fastcache.cache.remote.SortedEntry;
 import org.apache.commons.collections4.CollectionUtils;
@@ -27,7 +31,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -36,14 +42,20 @@ import java.util.stream.StreamSupport;
  * @param redissonClient  Redisson 客户端
  * @param keyConverter    键名转换器
  * @param valueSerializer 值序列化器
+ * @param rangeNearCache  排序集合范围查询近端缓存，为空时不缓存范围查询结果
  * @author ChenHongwei472
  */
 public record RedissonServiceImpl(
         RedissonClient redissonClient,
         KeyConverter keyConverter,
-        ValueSerializer valueSerializer
+        ValueSerializer valueSerializer,
+        RangeNearCache rangeNearCache
 ) implements RedisService {
 
+    public RedissonServiceImpl(RedissonClient redissonClient, KeyConverter keyConverter, ValueSerializer valueSerializer) {
+        this(redissonClient, keyConverter, valueSerializer, null);
+    }
+
     @Override
     public <T> void setObject(String key, T value) {
         this.setObject(key, value, CacheConstant.NEVER_EXPIRE);
@@ -137,7 +149,9 @@ public record RedissonServiceImpl(
     @Override
     public boolean deleteObject(String key) {
         RBucket<byte[]> bucket = this.getByteArrayBucket(redissonClient, key, keyConverter);
-        return bucket.delete();
+        boolean result = bucket.delete();
+        this.invalidateRange(key);
+        return result;
     }
 
     @Override
@@ -148,6 +162,7 @@ public record RedissonServiceImpl(
             bucket.deleteAsync();
         });
         batch.execute();
+        keys.forEach(this::invalidateRange);
     }
 
     @Override
@@ -240,7 +255,9 @@ public record RedissonServiceImpl(
     @Override
     public <T> boolean removeSortedSet(String key, T element) {
         RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        return scoredSortedSet.remove(valueSerializer.serialize(element));
+        boolean result = scoredSortedSet.remove(valueSerializer.serialize(element));
+        this.invalidateRange(key);
+        return result;
     }
 
     @Override
@@ -254,6 +271,7 @@ public record RedissonServiceImpl(
         Map<byte[], Double> bytesMap = objects.entrySet().stream()
                 .collect(Collectors.toMap(entry -> valueSerializer.serialize(entry.getKey()), Map.Entry::getValue));
         int result = scoredSortedSet.addAll(bytesMap);
+        this.invalidateRange(key);
         if (DurationUtils.isPositive(duration)) {
             scoredSortedSet.expire(duration);
         }
@@ -269,6 +287,7 @@ public record RedissonServiceImpl(
     public <T> boolean addSortedSet(String key, double score, T object, Duration duration) {
         RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
         boolean result = scoredSortedSet.add(score, valueSerializer.serialize(object));
+        this.invalidateRange(key);
         if (DurationUtils.isPositive(duration)) {
             scoredSortedSet.expire(duration);
         }
@@ -278,103 +297,127 @@ public record RedissonServiceImpl(
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getSortedSetValueRange(String key, int startIndex, int endIndex) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<byte[]> collection = scoredSortedSet.valueRange(startIndex, endIndex);
-        return collection.stream()
-                .map(bytes -> (T) valueSerializer.deserialize(bytes))
-                .collect(Collectors.toList());
+        return this.getRange(key, List.of("ValueRange", startIndex, endIndex), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<byte[]> collection = scoredSortedSet.valueRange(startIndex, endIndex);
+            return collection.stream()
+                    .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getSortedSetValueRange(String key, double startScore, double endScore) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<byte[]> collection = scoredSortedSet.valueRange(startScore, true, endScore, true);
-        return collection.stream()
-                .map(bytes -> (T) valueSerializer.deserialize(bytes))
-                .collect(Collectors.toList());
+        return this.getRange(key, List.of("ValueRange", startScore, endScore), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<byte[]> collection = scoredSortedSet.valueRange(startScore, true, endScore, true);
+            return collection.stream()
+                    .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getSortedSetValueRange(String key, double startScore, double endScore, int offset, int count) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<byte[]> collection = scoredSortedSet.valueRange(startScore, true, endScore, true, offset, count);
-        return collection.stream()
-                .map(bytes -> (T) valueSerializer.deserialize(bytes))
-                .collect(Collectors.toList());
+        return this.getRange(key, List.of("ValueRange", startScore, endScore, offset, count), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<byte[]> collection = scoredSortedSet.valueRange(startScore, true, endScore, true, offset, count);
+            return collection.stream()
+                    .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getSortedSetValueRangeReversed(String key, int startIndex, int endIndex) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<byte[]> collection = scoredSortedSet.valueRangeReversed(startIndex, endIndex);
-        return collection.stream()
-                .map(bytes -> (T) valueSerializer.deserialize(bytes))
-                .collect(Collectors.toList());
+        return this.getRange(key, List.of("ValueRangeReversed", startIndex, endIndex), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<byte[]> collection = scoredSortedSet.valueRangeReversed(startIndex, endIndex);
+            return collection.stream()
+                    .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getSortedSetValueRangeReversed(String key, double startScore, double endScore) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<byte[]> collection = scoredSortedSet.valueRangeReversed(startScore, true, endScore, true);
-        return collection.stream()
-                .map(bytes -> (T) valueSerializer.deserialize(bytes))
-                .collect(Collectors.toList());
+        return this.getRange(key, List.of("ValueRangeReversed", startScore, endScore), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<byte[]> collection = scoredSortedSet.valueRangeReversed(startScore, true, endScore, true);
+            return collection.stream()
+                    .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> getSortedSetValueRangeReversed(String key, double startScore, double endScore, int offset, int count) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<byte[]> collection = scoredSortedSet.valueRangeReversed(startScore, true, endScore, true, offset, count);
-        return collection.stream()
-                .map(bytes -> (T) valueSerializer.deserialize(bytes))
-                .collect(Collectors.toList());
+        return this.getRange(key, List.of("ValueRangeReversed", startScore, endScore, offset, count), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<byte[]> collection = scoredSortedSet.valueRangeReversed(startScore, true, endScore, true, offset, count);
+            return collection.stream()
+                    .map(bytes -> (T) valueSerializer.deserialize(bytes))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
     public <T> List<SortedEntry<T>> getSortedSetEntryRange(String key, int startIndex, int endIndex) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRange(startIndex, endIndex);
-        return this.convertToSortedEntryList(scoredEntryCollection);
+        return this.getRange(key, List.of("EntryRange", startIndex, endIndex), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRange(startIndex, endIndex);
+            return this.convertToSortedEntryList(scoredEntryCollection);
+        });
     }
 
     @Override
     public <T> List<SortedEntry<T>> getSortedSetEntryRange(String key, double startScore, double endScore) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRange(startScore, true, endScore, true);
-        return this.convertToSortedEntryList(scoredEntryCollection);
+        return this.getRange(key, List.of("EntryRange", startScore, endScore), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRange(startScore, true, endScore, true);
+            return this.convertToSortedEntryList(scoredEntryCollection);
+        });
     }
 
     @Override
     public <T> List<SortedEntry<T>> getSortedSetEntryRange(String key, double startScore, double endScore, int offset, int count) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRange(startScore, true, endScore, true, offset, count);
-        return this.convertToSortedEntryList(scoredEntryCollection);
+        return this.getRange(key, List.of("EntryRange", startScore, endScore, offset, count), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRange(startScore, true, endScore, true, offset, count);
+            return this.convertToSortedEntryList(scoredEntryCollection);
+        });
     }
 
     @Override
     public <T> List<SortedEntry<T>> getSortedSetEntryRangeReversed(String key, int startIndex, int endIndex) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRangeReversed(startIndex, endIndex);
-        return this.convertToSortedEntryList(scoredEntryCollection);
+        return this.getRange(key, List.of("EntryRangeReversed", startIndex, endIndex), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRangeReversed(startIndex, endIndex);
+            return this.convertToSortedEntryList(scoredEntryCollection);
+        });
     }
 
     @Override
     public <T> List<SortedEntry<T>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRangeReversed(startScore, true, endScore, true);
-        return this.convertToSortedEntryList(scoredEntryCollection);
+        return this.getRange(key, List.of("EntryRangeReversed", startScore, endScore), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRangeReversed(startScore, true, endScore, true);
+            return this.convertToSortedEntryList(scoredEntryCollection);
+        });
     }
 
     @Override
     public <T> List<SortedEntry<T>> getSortedSetEntryRangeReversed(String key, double startScore, double endScore, int offset, int count) {
-        RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
-        Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRangeReversed(startScore, true, endScore, true, offset, count);
-        return this.convertToSortedEntryList(scoredEntryCollection);
+        return this.getRange(key, List.of("EntryRangeReversed", startScore, endScore, offset, count), () -> {
+            RScoredSortedSet<byte[]> scoredSortedSet = this.getByteArrayScoredSortedSet(redissonClient, key, keyConverter);
+            Collection<ScoredEntry<byte[]>> scoredEntryCollection = scoredSortedSet.entryRangeReversed(startScore, true, endScore, true, offset, count);
+            return this.convertToSortedEntryList(scoredEntryCollection);
+        });
     }
 
     @Override
@@ -401,16 +444,49 @@ public record RedissonServiceImpl(
         return atomicLong.decrementAndGet();
     }
 
+    @Override
+    public long addAtomicValue(String key, long delta) {
+        RAtomicLong atomicLong = redissonClient.getAtomicLong(key);
+        return atomicLong.addAndGet(delta);
+    }
+
     @Override
     public Collection<String> getKeys(String pattern) {
-        KeysScanOptions keysScanOptions = KeysScanOptions.defaults().pattern(pattern);
+        try (Stream<String> keys = this.scanKeys(pattern)) {
+            return keys.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<String> scanKeys(String pattern, int count) {
+        KeysScanOptions keysScanOptions = KeysScanOptions.defaults().pattern(pattern).chunkSize(count);
         Iterable<String> keys = redissonClient.getKeys().getKeys(keysScanOptions);
-        return StreamSupport.stream(keys.spliterator(), false).collect(Collectors.toList());
+        return StreamSupport.stream(keys.spliterator(), false);
     }
 
     @Override
     public void deleteKeys(String pattern) {
-        redissonClient.getKeys().deleteByPattern(pattern);
+        this.deleteKeys(pattern, KeyDeleteOptions.defaults());
+    }
+
+    @Override
+    public long deleteKeys(String pattern, KeyDeleteOptions options) {
+        KeyDeleteOptions deleteOptions = options == null ? KeyDeleteOptions.defaults() : options;
+        RKeys keys = redissonClient.getKeys();
+        try (Stream<String> scannedKeys = this.scanKeys(pattern, deleteOptions.getScanCount())) {
+            return new BulkKeyDeleter(deleteOptions).delete(scannedKeys.iterator(), chunk -> {
+                long deleted = keys.unlink(chunk.toArray(String[]::new));
+                if (rangeNearCache != null) {
+                    chunk.forEach(rangeNearCache::invalidate);
+                }
+                return deleted;
+            });
+        }
+    }
+
+    @Override
+    public RedisPipeline pipeline() {
+        return new RedissonPipeline(redissonClient.createBatch(), keyConverter, valueSerializer, rangeNearCache);
     }
 
     @Override
@@ -479,6 +555,33 @@ public record RedissonServiceImpl(
         return redissonClient.getScoredSortedSet(keyConverter.convert(key), ByteArrayCodec.INSTANCE);
     }
 
+    /**
+     * 获取排序集合范围查询结果，配置了近端缓存时优先读取近端缓存
+     *
+     * @param key    缓存键
+     * @param range  范围描述
+     * @param loader 范围查询
+     * @param <T>    元素类型
+     * @return 结果列表
+     */
+    private <T> List<T> getRange(String key, List<Object> range, Supplier<List<T>> loader) {
+        if (rangeNearCache == null) {
+            return loader.get();
+        }
+        return rangeNearCache.get(keyConverter.convert(key), range, loader);
+    }
+
+    /**
+     * 失效键在近端缓存中的全部范围
+     *
+     * @param key 缓存键
+     */
+    private void invalidateRange(String key) {
+        if (rangeNearCache != null) {
+            rangeNearCache.invalidate(keyConverter.convert(key));
+        }
+    }
+
     /**
      * 转换为 {@link SortedEntry} 列表
      *
@@ -0,0 +1,318 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.CacheManager;
+import cn.floseek.fastcache.cache.broadcast.AbstractBroadcastManager;
+import cn.floseek.fastcache.cache.broadcast.BroadcastMessage;
+import cn.floseek.fastcache.cache.broadcast.BroadcastMessageCodec;
+import cn.floseek.fastcache.common.enums.BroadcastChannelMode;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.util.CacheUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RScript;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamMultiReadArgs;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于 Redis Streams 的广播管理器实现
+ * <p>
+ * 广播消息写入限定长度的流中，每个节点在内存中记录各个流的读取位置，由后台线程以一次 <code>XREAD</code>
+ * 批量读取全部已订阅流的消息。订阅连接断开重连后从上次读取的位置继续读取，流被裁剪导致的消息丢失由消息序号检测。
+ * </p>
+ * <p>
+ * 读取位置只保存在内存中，进程重启后默认从流的最新位置开始读取。本地缓存从快照或磁盘缓存恢复了条目时，
+ * 流的消息 ID 以毫秒时间戳开头，订阅时从恢复的条目的数据时间开始重新读取，补发停止期间发出的消息；
+ * 已订阅的共享流或分桶流会回退读取位置，重复读取的失效消息不影响结果
+ * </p>
+ * <p>
+ * 同一个广播管理器的流和序号键使用相同的哈希标签，保证在集群模式下位于同一个槽位，可以在一次命令中读取
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class RedissonStreamBroadcastManager extends AbstractBroadcastManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonStreamBroadcastManager.class);
+
+    /**
+     * 流中保存消息的字段名
+     */
+    private static final String MESSAGE_FIELD = "m";
+
+    /**
+     * 读取失败后的重试间隔时间（毫秒）
+     */
+    private static final long RETRY_INTERVAL_MILLIS = 1000;
+
+    /**
+     * 分配消息序号并写入流的 Lua 脚本，将序号以 8 字节大端序写入消息的序号位置
+     */
+    private static final String PUBLISH_SCRIPT = """
+            local sequence = redis.call('INCR', KEYS[1])
+            local bytes = {}
+            local value = sequence
+            for i = 8, 1, -1 do
+                bytes[i] = string.char(value % 256)
+                value = math.floor(value / 256)
+            end
+            local offset = tonumber(ARGV[3])
+            local message = string.sub(ARGV[2], 1, offset) .. table.concat(bytes) .. string.sub(ARGV[2], offset + 9)
+            redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[1], '*', ARGV[4], message)
+            return sequence
+            """;
+
+    private static final byte[] SEQUENCE_OFFSET = String.valueOf(BroadcastMessageCodec.SEQUENCE_OFFSET).getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 消息 ID 比较器，先比较毫秒时间戳再比较序号
+     */
+    private static final Comparator<StreamMessageId> ID_COMPARATOR = Comparator.comparingLong(StreamMessageId::getId0)
+            .thenComparingLong(StreamMessageId::getId1);
+
+    /**
+     * 读取位置映射，key 为流的键，value 为最后读取的消息 ID
+     */
+    private final Map<String, StreamMessageId> offsets = new ConcurrentHashMap<>();
+
+    /**
+     * 订阅锁
+     */
+    private final ReentrantLock reentrantLock = new ReentrantLock();
+
+    private final GlobalProperties globalProperties;
+    private final String channel;
+    private final RedissonClient redissonClient;
+    private final BroadcastMessageCodec codec;
+    private final byte[] maxLength;
+    private final int batchSize;
+    private final Duration pollTimeout;
+    private final Thread pollThread;
+
+    private volatile boolean running = true;
+
+    public RedissonStreamBroadcastManager(CacheManager cacheManager, RedissonClient redissonClient) {
+        super(cacheManager);
+        this.globalProperties = cacheManager.getGlobalProperties();
+        this.channel = globalProperties.getCacheSyncBroadcastChannel();
+        this.redissonClient = redissonClient;
+        this.codec = new BroadcastMessageCodec(this.getInstanceId(),
+                new RedissonCacheNameDictionary(redissonClient, this.channel), this::getValueSerializer);
+
+        GlobalProperties.CacheSyncStrategy syncStrategy = globalProperties.getSyncStrategy();
+        this.maxLength = String.valueOf(syncStrategy.getStreamMaxLength()).getBytes(StandardCharsets.UTF_8);
+        this.batchSize = Math.max(syncStrategy.getStreamBatchSize(), 1);
+        this.pollTimeout = syncStrategy.getStreamPollTimeout();
+
+        this.pollThread = new Thread(this::poll, "fast-cache-broadcast-stream");
+        this.pollThread.setDaemon(true);
+        this.pollThread.start();
+    }
+
+    @Override
+    public void publish(BroadcastMessage broadcastMessage) {
+        if (StringUtils.isBlank(this.channel) || ObjectUtils.isEmpty(broadcastMessage)) {
+            return;
+        }
+
+        String streamKey = this.getStreamKey(broadcastMessage.getCacheName());
+        try {
+            String sequenceKey = CacheUtils.generateKey(this.getHashTag(), "seq", broadcastMessage.getCacheName());
+            this.redissonClient.getScript(ByteArrayCodec.INSTANCE).eval(streamKey, RScript.Mode.READ_WRITE, PUBLISH_SCRIPT,
+                    RScript.ReturnType.INTEGER, List.of(sequenceKey, streamKey),
+                    maxLength, codec.encode(broadcastMessage), SEQUENCE_OFFSET, MESSAGE_FIELD.getBytes(StandardCharsets.UTF_8));
+            log.debug("Broadcast message published success, stream: {}", streamKey);
+        } catch (Throwable e) {
+            log.error("Failed to publish broadcast message, stream: {}", streamKey, e);
+        }
+    }
+
+    @Override
+    public void subscribe() {
+        // 独立频道和分桶频道在创建缓存时按需订阅
+        if (globalProperties.getSyncStrategy().getChannelMode() == BroadcastChannelMode.SHARED) {
+            this.subscribeStream(this.getHashTag(), 0);
+        }
+    }
+
+    @Override
+    public void subscribe(String cacheName) {
+        this.subscribe(cacheName, 0);
+    }
+
+    @Override
+    public void subscribe(String cacheName, long since) {
+        codec.register(cacheName);
+        this.subscribeStream(this.getStreamKey(cacheName), since);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        pollThread.interrupt();
+        try {
+            pollThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            offsets.clear();
+            super.close();
+        }
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        return !offsets.isEmpty();
+    }
+
+    /**
+     * 订阅流，从流当前的最后一条消息之后开始读取，指定了补发时间时从该时间开始读取
+     *
+     * @param streamKey 流的键
+     * @param since     补发的起始时间戳（毫秒），0 表示不补发
+     */
+    private void subscribeStream(String streamKey, long since) {
+        if (StringUtils.isBlank(this.channel) || (since <= 0 && offsets.containsKey(streamKey))) {
+            return;
+        }
+
+        // 消息 ID 大于该值的消息都会被读取，包括补发时间当毫秒内的全部消息
+        StreamMessageId replayOffset = since > 0 ? new StreamMessageId(since - 1) : null;
+        reentrantLock.lock();
+        try {
+            StreamMessageId offset = offsets.get(streamKey);
+            if (offset == null) {
+                RStream<byte[], byte[]> stream = this.getStream(streamKey);
+                offset = stream.isExists() ? stream.getInfo().getLastGeneratedId() : StreamMessageId.MIN;
+                if (replayOffset != null && ID_COMPARATOR.compare(replayOffset, offset) < 0) {
+                    offset = replayOffset;
+                }
+                offsets.put(streamKey, offset);
+                log.info("Subscribed to broadcast stream: {}, offset: {}", streamKey, offset);
+            } else if (replayOffset != null && ID_COMPARATOR.compare(replayOffset, offset) < 0) {
+                offsets.put(streamKey, replayOffset);
+                log.info("Rewound broadcast stream: {}, offset: {}", streamKey, replayOffset);
+            }
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    /**
+     * 循环读取已订阅的流，每次以一条 XREAD 命令读取全部流
+     * <p>
+     * 读取过程中新订阅的流会在下一次读取时生效，延迟不超过读取的阻塞时间
+     * </p>
+     */
+    private void poll() {
+        while (running) {
+            try {
+                if (offsets.isEmpty()) {
+                    Thread.sleep(pollTimeout.toMillis());
+                    continue;
+                }
+                this.read();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Failed to read broadcast stream, retry later", e);
+                try {
+                    Thread.sleep(RETRY_INTERVAL_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取一批消息并更新读取位置，读取期间读取位置被回退时保留回退后的位置
+     */
+    private void read() {
+        Map<String, StreamMessageId> readOffsets = new LinkedHashMap<>(offsets);
+        Map<String, StreamMessageId> otherOffsets = new LinkedHashMap<>(readOffsets);
+        Iterator<Map.Entry<String, StreamMessageId>> iterator = otherOffsets.entrySet().iterator();
+        Map.Entry<String, StreamMessageId> first = iterator.next();
+        iterator.remove();
+
+        StreamMultiReadArgs args = StreamMultiReadArgs.greaterThan(first.getValue(), otherOffsets)
+                .count(batchSize)
+                .timeout(pollTimeout);
+        Map<String, Map<StreamMessageId, Map<byte[], byte[]>>> result = this.getStream(first.getKey()).read(args);
+        if (result == null) {
+            return;
+        }
+
+        result.forEach((streamKey, entries) -> {
+            StreamMessageId lastId = null;
+            for (Map.Entry<StreamMessageId, Map<byte[], byte[]>> entry : entries.entrySet()) {
+                entry.getValue().values().forEach(this::onMessage);
+                lastId = entry.getKey();
+            }
+            if (lastId != null) {
+                offsets.replace(streamKey, readOffsets.get(streamKey), lastId);
+            }
+        });
+    }
+
+    /**
+     * 解码并处理接收到的广播消息
+     *
+     * @param message 消息字节数组
+     */
+    private void onMessage(byte[] message) {
+        try {
+            BroadcastMessage broadcastMessage = codec.decode(message);
+            if (broadcastMessage != null) {
+                this.processMessage(broadcastMessage);
+            }
+        } catch (Throwable e) {
+            log.error("Failed to process broadcast message", e);
+        }
+    }
+
+    /**
+     * 获取缓存对应的流的键
+     *
+     * @param cacheName 缓存名称
+     * @return 流的键
+     */
+    private String getStreamKey(String cacheName) {
+        String cacheChannel = globalProperties.getCacheSyncBroadcastChannel(cacheName);
+        return this.getHashTag() + cacheChannel.substring(this.channel.length());
+    }
+
+    /**
+     * 获取哈希标签，同一个广播管理器的键位于同一个槽位
+     *
+     * @return 哈希标签
+     */
+    private String getHashTag() {
+        return "{" + this.channel + "}";
+    }
+
+    private RStream<byte[], byte[]> getStream(String streamKey) {
+        return this.redissonClient.getStream(streamKey, ByteArrayCodec.INSTANCE);
+    }
+
+}
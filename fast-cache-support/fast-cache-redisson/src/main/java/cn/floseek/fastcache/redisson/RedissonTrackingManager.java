@@ -0,0 +1,236 @@
+package cn.floseek.fastcache.redisson;
+
+import cn.floseek.fastcache.cache.tracking.AbstractTrackingManager;
+import cn.floseek.fastcache.common.exception.CacheException;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.ChannelName;
+import org.redisson.client.RedisClient;
+import org.redisson.client.RedisConnection;
+import org.redisson.client.RedisException;
+import org.redisson.client.RedisPubSubConnection;
+import org.redisson.client.RedisPubSubListener;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.connection.MasterSlaveEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于 Redisson 的服务端辅助失效管理器实现
+ * <p>
+ * 为每个主节点建立一条订阅 <code>__redis__:invalidate</code> 频道的连接，并在另一条连接上以
+ * <code>CLIENT TRACKING ON REDIRECT &lt;id&gt; BCAST PREFIX &lt;cacheName&gt;:</code> 开启广播模式的失效跟踪。
+ * 连接断开后会失效全部被跟踪的本地缓存，并由后台线程重新建立连接。
+ * </p>
+ * <p>
+ * 注意：本节点自身的写入同样会收到失效通知，因此写入后的第一次读取会回源到分布式缓存
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class RedissonTrackingManager extends AbstractTrackingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonTrackingManager.class);
+
+    /**
+     * 连接检查间隔时间（毫秒）
+     */
+    private static final long CHECK_INTERVAL_MILLIS = 5000;
+
+    /**
+     * 跟踪会话列表，每个主节点一个
+     */
+    private final List<TrackingSession> sessions = new ArrayList<>();
+
+    /**
+     * 会话锁
+     */
+    private final ReentrantLock reentrantLock = new ReentrantLock();
+
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean closed = false;
+
+    public RedissonTrackingManager(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fast-cache-tracking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::checkSessions, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void enableTracking(String prefix) {
+        reentrantLock.lock();
+        try {
+            if (sessions.isEmpty()) {
+                this.openSessions();
+                return;
+            }
+            for (TrackingSession session : sessions) {
+                session.addPrefix(prefix);
+            }
+        } catch (Exception e) {
+            log.error("Failed to enable tracking for prefix: {}, retry later", prefix, e);
+            this.closeSessions();
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        reentrantLock.lock();
+        try {
+            this.closeSessions();
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    /**
+     * 检查会话状态，连接断开后重新建立会话
+     */
+    private void checkSessions() {
+        if (closed || this.getTrackedPrefixes().isEmpty()) {
+            return;
+        }
+
+        reentrantLock.lock();
+        try {
+            boolean healthy = !sessions.isEmpty() && sessions.stream().allMatch(TrackingSession::isActive);
+            if (healthy) {
+                return;
+            }
+
+            log.warn("Tracking connection lost, invalidate all tracked local caches and reconnect");
+            this.closeSessions();
+            this.invalidateAll();
+            this.openSessions();
+        } catch (Exception e) {
+            log.error("Failed to reconnect tracking sessions", e);
+            this.closeSessions();
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    /**
+     * 为每个主节点建立跟踪会话
+     */
+    private void openSessions() {
+        Collection<String> prefixes = new ArrayList<>(this.getTrackedPrefixes());
+        for (RedisClient redisClient : this.getMasterClients()) {
+            TrackingSession session = new TrackingSession(redisClient);
+            sessions.add(session);
+            session.open(prefixes);
+        }
+    }
+
+    /**
+     * 关闭全部跟踪会话
+     */
+    private void closeSessions() {
+        sessions.forEach(TrackingSession::close);
+        sessions.clear();
+    }
+
+    /**
+     * 获取全部主节点客户端
+     *
+     * @return 主节点客户端集合
+     */
+    private Collection<RedisClient> getMasterClients() {
+        if (!(redissonClient instanceof Redisson redisson)) {
+            throw new CacheException("Tracking requires a Redisson instance, actual: " + redissonClient.getClass().getName());
+        }
+        return redisson.getCommandExecutor().getConnectionManager().getEntrySet().stream()
+                .map(MasterSlaveEntry::getClient)
+                .toList();
+    }
+
+    /**
+     * 跟踪会话
+     */
+    private class TrackingSession {
+
+        private final RedisClient redisClient;
+        private RedisPubSubConnection pubSubConnection;
+        private RedisConnection connection;
+        private Long clientId;
+
+        private TrackingSession(RedisClient redisClient) {
+            this.redisClient = redisClient;
+        }
+
+        /**
+         * 建立会话
+         *
+         * @param prefixes 缓存键前缀集合
+         */
+        private void open(Collection<String> prefixes) {
+            // 订阅连接进入订阅状态后无法执行其它命令，需先获取客户端 ID
+            pubSubConnection = redisClient.connectPubSub();
+            clientId = pubSubConnection.sync(RedisCommands.CLIENT_ID);
+            pubSubConnection.addListener(ChannelName.TRACKING, (RedisPubSubListener<Object>) (channel, message) ->
+                    processInvalidation(Objects.isNull(message) ? null : message.toString()));
+            pubSubConnection.subscribe(StringCodec.INSTANCE, ChannelName.TRACKING).syncUninterruptibly();
+
+            connection = redisClient.connect();
+            prefixes.forEach(this::addPrefix);
+            log.info("Tracking session opened, address: {}, prefixes: {}", redisClient.getAddr(), prefixes);
+        }
+
+        /**
+         * 追加缓存键前缀，广播模式下重复开启跟踪即可追加前缀
+         *
+         * @param prefix 缓存键前缀
+         */
+        private void addPrefix(String prefix) {
+            try {
+                connection.sync(RedisCommands.CLIENT_TRACKING, "ON", "REDIRECT", clientId, "BCAST", "PREFIX", prefix);
+            } catch (RedisException e) {
+                // 前缀与已有前缀重叠时 Redis 会拒绝，此时该缓存不会收到失效通知
+                log.error("Failed to enable tracking for prefix: {}, address: {}", prefix, redisClient.getAddr(), e);
+            }
+        }
+
+        /**
+         * 会话是否可用
+         *
+         * @return boolean
+         */
+        private boolean isActive() {
+            return Objects.nonNull(pubSubConnection) && pubSubConnection.isActive()
+                    && Objects.nonNull(connection) && connection.isActive();
+        }
+
+        /**
+         * 关闭会话
+         */
+        private void close() {
+            if (Objects.nonNull(connection)) {
+                connection.closeAsync();
+            }
+            if (Objects.nonNull(pubSubConnection)) {
+                pubSubConnection.closeAsync();
+            }
+        }
+    }
+
+}
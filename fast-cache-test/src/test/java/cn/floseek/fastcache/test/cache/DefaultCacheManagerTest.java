@@ -0,0 +1,165 @@
+package cn.floseek.fastcache.test.cache;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.DefaultCacheManager;
+import cn.floseek.fastcache.cache.builder.CacheBuilderManager;
+import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
+import cn.floseek.fastcache.common.enums.CacheSyncMode;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.test.support.InMemoryRedis;
+import cn.floseek.fastcache.test.support.InMemoryRemoteCacheBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 默认缓存管理测试
+ *
+ * @author ChenHongwei472
+ */
+public class DefaultCacheManagerTest {
+
+    private DefaultCacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>());
+        cacheBuilderManager.registerRemoteCacheBuilder(RemoteCacheProvider.REDISSON, new InMemoryRemoteCacheBuilder<>(new InMemoryRedis()));
+
+        cacheManager = new DefaultCacheManager(new GlobalProperties(), cacheBuilderManager, null);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        cacheManager.close();
+    }
+
+    @Test
+    public void test_concurrentCreate() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Cache<Object, Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                // 同名缓存并发创建，同时创建其他缓存
+                cacheManager.getOrCreateCache(CacheConfig.newBuilder("tenant-" + index).cacheType(CacheType.LOCAL));
+                return cacheManager.getOrCreateCache(CacheConfig.newBuilder("user").cacheType(CacheType.LOCAL));
+            }));
+        }
+        start.countDown();
+
+        Cache<Object, Object> cache = futures.get(0).get();
+        for (Future<Cache<Object, Object>> future : futures) {
+            assertSame(cache, future.get());
+        }
+        executor.shutdown();
+
+        assertSame(cache, cacheManager.getCache(CacheType.LOCAL, "user"));
+        assertSame(cache, cacheManager.getCache("user"));
+        assertNotNull(cacheManager.getCache(CacheType.LOCAL, "tenant-0"));
+        assertNull(cacheManager.getCache(CacheType.REMOTE, "user"));
+    }
+
+    @Test
+    public void test_concurrentCreateBuildsOnce() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>() {
+            @Override
+            public Cache<Object, Object> build(CacheConfig<Object, Object> config) {
+                // 模拟独占资源的缓存初始化耗时较长，并发调用方需要等待而不是重复创建
+                builds.incrementAndGet();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                return super.build(config);
+            }
+        });
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (DefaultCacheManager slowCacheManager = new DefaultCacheManager(new GlobalProperties(), cacheBuilderManager, null)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Cache<Object, Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return slowCacheManager.getOrCreateCache(CacheConfig.newBuilder("user").cacheType(CacheType.LOCAL));
+                }));
+            }
+            start.countDown();
+
+            Cache<Object, Object> cache = futures.get(0).get();
+            for (Future<Cache<Object, Object>> future : futures) {
+                assertSame(cache, future.get());
+            }
+            assertEquals(1, builds.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_configNotMutated() {
+        CacheConfig<Object, Object> config = CacheConfig.newBuilder("user").cacheType(CacheType.MULTI_LEVEL);
+        Cache<Object, Object> cache = cacheManager.getOrCreateCache(config);
+
+        // 全局默认值只填充到缓存持有的配置副本
+        assertNull(config.getCacheSyncMode());
+        assertNull(config.getValueSerializer());
+        assertNotSame(config, cache.getConfig());
+        assertNotNull(cache.getConfig().getValueSerializer());
+        assertSame(cache, cacheManager.getOrCreateCache(config));
+    }
+
+    @Test
+    public void test_preferBroadcastCacheByName() {
+        cacheManager.getOrCreateCache(CacheConfig.newBuilder("user").cacheType(CacheType.LOCAL).cacheSyncMode(CacheSyncMode.NONE));
+        Cache<Object, Object> cache = cacheManager.getOrCreateCache(CacheConfig.newBuilder("user")
+                .cacheType(CacheType.MULTI_LEVEL)
+                .cacheSyncMode(CacheSyncMode.INVALIDATE));
+
+        // 按缓存名称查找时返回接收广播的缓存
+        assertSame(cache, cacheManager.getCache("user"));
+    }
+
+    @Test
+    public void test_familyRequiresLocalCache() {
+        assertThrows(CacheException.class, () -> cacheManager.getOrCreateFamily(
+                CacheConfig.newBuilder("orders").cacheType(CacheType.MULTI_LEVEL), null));
+        assertThrows(CacheException.class, () -> cacheManager.getOrCreateFamily(
+                CacheConfig.newBuilder("orders").cacheType(CacheType.LOCAL).cacheSyncMode(CacheSyncMode.INVALIDATE), null));
+        assertNotNull(cacheManager.getOrCreateFamily(CacheConfig.newBuilder("orders").cacheType(CacheType.LOCAL), null));
+    }
+
+    @Test
+    public void test_blankCacheName() {
+        assertThrows(CacheException.class, () -> cacheManager.getOrCreateCache(CacheConfig.newBuilder(" ")));
+        assertNull(cacheManager.getCache(CacheType.REMOTE, " "));
+    }
+
+}
@@ -0,0 +1,127 @@
+package cn.floseek.fastcache.test.cache.broadcast;
+
+import cn.floseek.fastcache.cache.broadcast.BatchingBroadcastManager;
+import cn.floseek.fastcache.cache.broadcast.BroadcastManager;
+import cn.floseek.fastcache.cache.broadcast.BroadcastMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 合并发送的广播管理器测试
+ *
+ * @author ChenHongwei472
+ */
+public class BatchingBroadcastManagerTest {
+
+    private static final String INSTANCE_ID = "test";
+
+    private final List<BroadcastMessage> publishedMessages = new CopyOnWriteArrayList<>();
+
+    private BatchingBroadcastManager broadcastManager;
+
+    @BeforeEach
+    public void setUp() {
+        broadcastManager = new BatchingBroadcastManager(new RecordingBroadcastManager(), Duration.ofHours(1), 3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broadcastManager.close();
+    }
+
+    @Test
+    public void test_mergeAndDeduplicate() {
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(1L)));
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(1L)));
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "order", List.of(1L)));
+        broadcastManager.flush();
+
+        assertEquals(2, publishedMessages.size());
+        publishedMessages.forEach(message -> {
+            assertTrue(message.isInvalidate());
+            assertEquals(List.of(1L), message.getKeys());
+        });
+    }
+
+    @Test
+    public void test_updateThenInvalidate() {
+        broadcastManager.publish(BroadcastMessage.buildUpdate(INSTANCE_ID, "user", Map.of(1L, "a")));
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(1L)));
+        broadcastManager.flush();
+
+        assertEquals(1, publishedMessages.size());
+        BroadcastMessage message = publishedMessages.get(0);
+        assertTrue(message.isInvalidate());
+        assertEquals(List.of(1L), message.getKeys());
+    }
+
+    @Test
+    public void test_invalidateThenUpdate() {
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(1L, 2L)));
+        broadcastManager.publish(BroadcastMessage.buildUpdate(INSTANCE_ID, "user", Map.of(1L, "a")));
+        broadcastManager.flush();
+
+        assertEquals(1, publishedMessages.size());
+        BroadcastMessage message = publishedMessages.get(0);
+        assertTrue(message.isMixed());
+        assertEquals(List.of(2L), message.getKeys());
+        assertEquals(Map.of(1L, "a"), message.getKeyValues());
+    }
+
+    @Test
+    public void test_flushWhenMaxSizeReached() {
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(1L, 2L)));
+        assertTrue(publishedMessages.isEmpty());
+
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(3L)));
+        assertEquals(1, publishedMessages.size());
+        assertEquals(List.of(1L, 2L, 3L), publishedMessages.get(0).getKeys());
+    }
+
+    @Test
+    public void test_flushOnClose() {
+        broadcastManager.publish(BroadcastMessage.buildInvalidate(INSTANCE_ID, "user", List.of(1L)));
+        broadcastManager.close();
+
+        assertEquals(1, publishedMessages.size());
+    }
+
+    /**
+     * 记录已发布消息的广播管理器
+     */
+    private class RecordingBroadcastManager implements BroadcastManager {
+
+        @Override
+        public void publish(BroadcastMessage broadcastMessage) {
+            publishedMessages.add(broadcastMessage);
+        }
+
+        @Override
+        public void subscribe() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isSubscribed() {
+            return false;
+        }
+
+        @Override
+        public String getInstanceId() {
+            return INSTANCE_ID;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package cn.floseek.fastcache.test.cache.broadcast;
+
+import cn.floseek.fastcache.cache.broadcast.BroadcastDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 广播消息分发器测试
+ *
+ * @author ChenHongwei472
+ */
+public class BroadcastDispatcherTest {
+
+    private BroadcastDispatcher dispatcher;
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void test_keepOrderPerCache() throws InterruptedException {
+        dispatcher = new BroadcastDispatcher(4, 100);
+        List<Integer> userSequence = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> orderSequence = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 1000; i++) {
+            int sequence = i;
+            dispatcher.dispatch("user", () -> userSequence.add(sequence));
+            dispatcher.dispatch("order", () -> orderSequence.add(sequence));
+        }
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<Integer> expected = IntStream.range(0, 1000).boxed().toList();
+        assertEquals(expected, userSequence);
+        assertEquals(expected, orderSequence);
+        assertEquals(2000, dispatcher.getSubmittedCount());
+        assertEquals(2000, dispatcher.getCompletedCount());
+    }
+
+    @Test
+    public void test_blockWhenQueueFull() throws InterruptedException {
+        dispatcher = new BroadcastDispatcher(1, 1, Duration.ofSeconds(10), null);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        dispatcher.dispatch("user", () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await();
+        dispatcher.dispatch("user", () -> {
+        });
+        assertEquals(1, dispatcher.getQueueSize());
+
+        Thread producer = new Thread(() -> dispatcher.dispatch("user", () -> {
+        }));
+        producer.start();
+        while (dispatcher.getBlockedCount() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(3, dispatcher.getCompletedCount());
+        assertEquals(1, dispatcher.getBlockedCount());
+    }
+
+    @Test
+    public void test_dropQueueOnOverflow() throws InterruptedException {
+        List<String> invalidated = Collections.synchronizedList(new ArrayList<>());
+        dispatcher = new BroadcastDispatcher(1, 2, Duration.ofMillis(10), invalidated::add);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        dispatcher.dispatch("user", () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await();
+        dispatcher.dispatch("user", () -> processed.add("user"));
+        dispatcher.dispatch("order", () -> processed.add("order"));
+
+        // 队列已满且等待超时，丢弃排队中的消息，由溢出处理器清空相关缓存
+        dispatcher.dispatch("item", () -> processed.add("item"));
+        assertEquals(3, dispatcher.getDroppedCount());
+        release.countDown();
+
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(processed.isEmpty());
+        assertEquals(List.of("user", "order", "item"), invalidated);
+        assertEquals(dispatcher.getSubmittedCount(), dispatcher.getCompletedCount());
+    }
+
+    @Test
+    public void test_countFailures() throws InterruptedException {
+        dispatcher = new BroadcastDispatcher(1, 10);
+        dispatcher.dispatch("user", () -> {
+            throw new IllegalStateException("failed");
+        });
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, dispatcher.getFailedCount());
+    }
+
+}
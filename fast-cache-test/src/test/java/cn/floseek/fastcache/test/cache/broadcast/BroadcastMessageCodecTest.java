@@ -0,0 +1,107 @@
+package cn.floseek.fastcache.test.cache.broadcast;
+
+import cn.floseek.fastcache.cache.broadcast.BroadcastMessage;
+import cn.floseek.fastcache.cache.broadcast.BroadcastMessageCodec;
+import cn.floseek.fastcache.cache.broadcast.CacheNameDictionary;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import cn.floseek.fastcache.serializer.ValueSerializerType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 广播消息编解码器测试
+ *
+ * @author ChenHongwei472
+ */
+public class BroadcastMessageCodecTest {
+
+    private static final String SENDER_ID = Long.toHexString(1L);
+    private static final String RECEIVER_ID = Long.toHexString(2L);
+
+    private final CacheNameDictionary dictionary = new InMemoryCacheNameDictionary();
+
+    private final ValueSerializer valueSerializer = ValueSerializerType.JACKSON.getInstance();
+
+    private final BroadcastMessageCodec sender = new BroadcastMessageCodec(SENDER_ID, dictionary, cacheName -> valueSerializer);
+
+    private final BroadcastMessageCodec receiver = new BroadcastMessageCodec(RECEIVER_ID, dictionary,
+            cacheName -> "user".equals(cacheName) ? valueSerializer : null);
+
+    @Test
+    public void test_roundTrip() {
+        BroadcastMessage message = BroadcastMessage.buildMixed(SENDER_ID, "user", List.of(1L, 2L), Map.of(3L, "c"));
+        message.setSequence(42L);
+
+        BroadcastMessage decoded = receiver.decode(sender.encode(message));
+        assertEquals(SENDER_ID, decoded.getInstanceId());
+        assertEquals("user", decoded.getCacheName());
+        assertTrue(decoded.isMixed());
+        assertEquals(42L, decoded.getSequence());
+        assertEquals(List.of(1L, 2L), decoded.getKeys());
+        assertEquals(Map.of(3L, "c"), decoded.getKeyValues());
+    }
+
+    @Test
+    public void test_decodeOwnMessageHeaderOnly() {
+        BroadcastMessage message = BroadcastMessage.buildInvalidate(SENDER_ID, "user", List.of(1L));
+        message.setSequence(7L);
+
+        BroadcastMessage decoded = sender.decode(sender.encode(message));
+        assertEquals(SENDER_ID, decoded.getInstanceId());
+        assertEquals(7L, decoded.getSequence());
+        assertNull(decoded.getKeys());
+    }
+
+    @Test
+    public void test_skipUnknownCache() {
+        BroadcastMessage message = BroadcastMessage.buildInvalidate(SENDER_ID, "order", List.of(1L));
+        assertNull(receiver.decode(sender.encode(message)));
+    }
+
+    @Test
+    public void test_smallerThanJavaSerialization() throws IOException {
+        BroadcastMessage message = BroadcastMessage.buildUpdate(SENDER_ID, "user", Map.of(1L, "a", 2L, "b"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(message);
+        }
+        assertTrue(sender.encode(message).length < out.size());
+    }
+
+    /**
+     * 内存版缓存名称字典
+     */
+    private static class InMemoryCacheNameDictionary implements CacheNameDictionary {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+        private final Map<String, Integer> idMap = new ConcurrentHashMap<>();
+        private final Map<Integer, String> nameMap = new ConcurrentHashMap<>();
+
+        @Override
+        public int getId(String cacheName) {
+            return idMap.computeIfAbsent(cacheName, name -> {
+                int id = sequence.incrementAndGet();
+                nameMap.put(id, name);
+                return id;
+            });
+        }
+
+        @Override
+        public String getName(int id) {
+            return nameMap.get(id);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package cn.floseek.fastcache.test.cache.broadcast;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.DefaultCacheManager;
+import cn.floseek.fastcache.cache.builder.CacheBuilderManager;
+import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
+import cn.floseek.fastcache.common.enums.BroadcastTransport;
+import cn.floseek.fastcache.common.enums.CacheSyncMode;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.redisson.RedissonCacheBuilder;
+import cn.floseek.fastcache.test.support.InMemoryRedisson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 基于 Redis Streams 的广播在实例重启后补发消息的测试
+ *
+ * @author ChenHongwei472
+ */
+public class StreamBroadcastCatchUpTest {
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryRedisson redisson = new InMemoryRedisson();
+
+    @Test
+    public void test_catchUpAfterRestart() throws Exception {
+        // 实例 B 停止前保存快照
+        DefaultCacheManager nodeB = this.createCacheManager(true);
+        Cache<Long, String> cacheB = nodeB.getOrCreateCache(this.createConfig());
+        cacheB.put(1L, "a");
+        cacheB.put(2L, "b");
+        nodeB.close();
+        Thread.sleep(5);
+
+        // 实例 B 停止期间实例 A 删除缓存键并发出失效广播，实例 A 不保存快照，避免覆盖实例 B 的快照
+        try (DefaultCacheManager nodeA = this.createCacheManager(false)) {
+            Cache<Long, String> cacheA = nodeA.getOrCreateCache(this.createConfig());
+            cacheA.remove(1L);
+        }
+
+        // 实例 B 重启后从快照恢复，并从快照的创建时间开始补发失效广播
+        try (DefaultCacheManager restarted = this.createCacheManager(true)) {
+            Cache<Long, String> restoredCache = restarted.getOrCreateCache(this.createConfig());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((restoredCache.get(2L) == null || restoredCache.get(1L) != null) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("b", restoredCache.get(2L));
+            assertNull(restoredCache.get(1L));
+        }
+    }
+
+    private DefaultCacheManager createCacheManager(boolean snapshotEnabled) {
+        GlobalProperties globalProperties = new GlobalProperties();
+        globalProperties.getSyncStrategy().setMode(CacheSyncMode.INVALIDATE);
+        globalProperties.getSyncStrategy().setTransport(BroadcastTransport.STREAM);
+        globalProperties.getSyncStrategy().setStreamPollTimeout(Duration.ofMillis(10));
+        globalProperties.getSnapshot().setEnabled(snapshotEnabled);
+        globalProperties.getSnapshot().setDirectory(directory.toString());
+        globalProperties.getSnapshot().setInterval(Duration.ofHours(1));
+
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>());
+        cacheBuilderManager.registerRemoteCacheBuilder(RemoteCacheProvider.REDISSON, new RedissonCacheBuilder<>(redisson.client()));
+        return new DefaultCacheManager(globalProperties, cacheBuilderManager, null);
+    }
+
+    private CacheConfig<Long, String> createConfig() {
+        return CacheConfig.newBuilder("user")
+                .cacheType(CacheType.LOCAL)
+                .localExpireTime(Duration.ofMinutes(10))
+                .build();
+    }
+
+}
@@ -0,0 +1,160 @@
+package cn.floseek.fastcache.test.cache.budget;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.DefaultCacheManager;
+import cn.floseek.fastcache.cache.budget.BudgetDecision;
+import cn.floseek.fastcache.cache.budget.LocalMemoryBudget;
+import cn.floseek.fastcache.cache.builder.CacheBuilderManager;
+import cn.floseek.fastcache.cache.local.CaffeineCache;
+import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
+import cn.floseek.fastcache.cache.local.GuavaCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 本地缓存内存预算测试
+ *
+ * @author ChenHongwei472
+ */
+public class LocalMemoryBudgetTest {
+
+    private static final long BUDGET = 10_000;
+    private static final long STEP = 500;
+
+    @Test
+    public void test_rebalance() {
+        LocalMemoryBudget budget = this.createBudget();
+
+        long firstShare = budget.nextShare();
+        assertEquals(BUDGET, firstShare);
+        CaffeineCache<Long, String> first = new CaffeineCache<>(this.createConfig("first", firstShare));
+        budget.register("first", first, firstShare);
+
+        // 不支持运行时调整的缓存保留创建时的份额
+        long secondShare = budget.nextShare();
+        assertEquals(BUDGET / 2, secondShare);
+        GuavaCache<Long, String> second = new GuavaCache<>(this.createConfig("second", secondShare));
+        budget.register("second", second, secondShare);
+
+        long thirdShare = budget.nextShare();
+        assertEquals((BUDGET - secondShare) / 2, thirdShare);
+        CaffeineCache<Long, String> third = new CaffeineCache<>(this.createConfig("third", thirdShare));
+        budget.register("third", third, thirdShare);
+
+        Map<String, Long> allocations = budget.getAllocations();
+        assertEquals(thirdShare, allocations.get("first"));
+        assertEquals(secondShare, allocations.get("second"));
+        assertEquals(thirdShare, allocations.get("third"));
+
+        budget.unregister("third");
+        assertEquals(BUDGET - secondShare, budget.getAllocations().get("first"));
+    }
+
+    @Test
+    public void test_adaptiveRebalance() {
+        LocalMemoryBudget budget = this.createBudget();
+        long hotShare = budget.nextShare();
+        CaffeineCache<Long, String> hot = new CaffeineCache<>(this.createConfig("hot", hotShare));
+        budget.register("hot", hot, hotShare);
+        long coldShare = budget.nextShare();
+        CaffeineCache<Long, String> cold = new CaffeineCache<>(this.createConfig("cold", coldShare));
+        budget.register("cold", cold, coldShare);
+        assertEquals(BUDGET / 2, budget.getAllocations().get("hot"));
+
+        // 热点缓存写满且持续未命中，冷缓存几乎为空
+        String value = "v".repeat(100);
+        for (long i = 0; i < 1000; i++) {
+            if (hot.get(i) == null) {
+                hot.put(i, value);
+            }
+        }
+        cold.put(0L, value);
+        this.awaitWeightedSize(hot, BUDGET / 2);
+
+        BudgetDecision decision = budget.rebalance();
+        assertNotNull(decision);
+        assertEquals("cold", decision.donor());
+        assertEquals("hot", decision.receiver());
+        assertEquals(BUDGET / 2 + STEP, budget.getAllocations().get("hot"));
+        assertEquals(BUDGET / 2 - STEP, budget.getAllocations().get("cold"));
+        assertEquals(1, budget.getDecisions().size());
+
+        // 没有新的未命中时不再转移容量
+        assertNull(budget.rebalance());
+        budget.close();
+    }
+
+    @Test
+    public void test_floorWithinBudget() {
+        GlobalProperties.LocalCache properties = this.createProperties();
+        properties.setMemoryBudgetMinRatio(0.2);
+        LocalMemoryBudget budget = new LocalMemoryBudget(properties);
+
+        // 八个缓存的下限之和超过总预算，份额之和仍不超过总预算
+        for (int i = 0; i < 8; i++) {
+            long share = budget.nextShare();
+            budget.register("cache" + i, new CaffeineCache<>(this.createConfig("cache" + i, share)), share);
+            long allocated = budget.getAllocations().values().stream().mapToLong(Long::longValue).sum();
+            assertTrue(allocated <= BUDGET, "allocated: " + allocated);
+        }
+        budget.close();
+    }
+
+    @Test
+    public void test_unregisterOnClose() throws Exception {
+        GlobalProperties globalProperties = new GlobalProperties();
+        globalProperties.getLocal().setMemoryBudget(BUDGET);
+        globalProperties.getLocal().setMemoryBudgetRebalanceInterval(Duration.ZERO);
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>());
+        DefaultCacheManager cacheManager = new DefaultCacheManager(globalProperties, cacheBuilderManager, null);
+
+        Cache<Object, Object> first = cacheManager.getOrCreateCache(CacheConfig.newBuilder("first").cacheType(CacheType.LOCAL));
+        cacheManager.getOrCreateCache(CacheConfig.newBuilder("second").cacheType(CacheType.LOCAL));
+        assertEquals(BUDGET / 2, cacheManager.getMemoryBudget().getAllocations().get("second_LOCAL"));
+
+        // 关闭的缓存从预算中取消注册，剩余缓存分得全部预算
+        first.close();
+        assertEquals(Map.of("second_LOCAL", BUDGET), cacheManager.getMemoryBudget().getAllocations());
+        cacheManager.close();
+    }
+
+    private void awaitWeightedSize(CaffeineCache<Long, String> cache, long weight) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.getWeightedSize() < weight * 0.9 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private LocalMemoryBudget createBudget() {
+        return new LocalMemoryBudget(this.createProperties());
+    }
+
+    private GlobalProperties.LocalCache createProperties() {
+        GlobalProperties.LocalCache properties = new GlobalProperties.LocalCache();
+        properties.setMemoryBudget(BUDGET);
+        properties.setMemoryBudgetRebalanceInterval(Duration.ZERO);
+        properties.setMemoryBudgetStepRatio((double) STEP / BUDGET);
+        return properties;
+    }
+
+    private CacheConfig<Long, String> createConfig(String cacheName, long maximumWeight) {
+        return CacheConfig.newBuilder(cacheName)
+                .cacheType(CacheType.LOCAL)
+                .localMaximumWeight(maximumWeight)
+                .weigher((key, value) -> ((String) value).length())
+                .build();
+    }
+
+}
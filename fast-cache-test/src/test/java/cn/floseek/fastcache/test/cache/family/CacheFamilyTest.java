@@ -0,0 +1,107 @@
+package cn.floseek.fastcache.test.cache.family;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.family.CacheFamily;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.CacheFamilyPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 缓存族测试
+ *
+ * @author ChenHongwei472
+ */
+public class CacheFamilyTest {
+
+    private CacheFamily<Long, String> family;
+
+    @AfterEach
+    public void tearDown() {
+        family.close();
+    }
+
+    @Test
+    public void test_sharedStore() {
+        family = this.createFamily(CacheFamilyPolicy.newPolicy(0));
+        Cache<Long, String> tenant1 = family.getCache("1");
+        Cache<Long, String> tenant2 = family.getCache("2");
+
+        tenant1.put(1L, "a");
+        tenant2.put(1L, "b");
+
+        assertSame(tenant1, family.getCache("1"));
+        assertEquals("orders:1", tenant1.getConfig().getCacheName());
+        assertEquals("a", tenant1.get(1L));
+        assertEquals("b", tenant2.get(1L));
+        assertEquals(2, family.estimatedSize());
+    }
+
+    @Test
+    public void test_memberQuota() {
+        family = this.createFamily(CacheFamilyPolicy.newPolicy(3));
+        Cache<Long, String> tenant1 = family.getCache("1");
+        Cache<Long, String> tenant2 = family.getCache("2");
+
+        for (long key = 0; key < 10; key++) {
+            tenant1.put(key, "value");
+        }
+        tenant2.put(1L, "b");
+
+        assertEquals(3, family.getMemberSize("1"));
+        assertEquals("value", tenant1.get(9L));
+        assertEquals("b", tenant2.get(1L));
+    }
+
+    @Test
+    public void test_invalidateMember() {
+        family = this.createFamily(CacheFamilyPolicy.newPolicy(0));
+        Cache<Long, String> tenant1 = family.getCache("1");
+        Cache<Long, String> tenant2 = family.getCache("2");
+        tenant1.put(1L, "a");
+        tenant1.put(2L, "a");
+        tenant2.put(1L, "b");
+
+        family.invalidate("1");
+
+        assertNull(tenant1.get(1L));
+        assertNull(tenant1.get(2L));
+        assertEquals("b", tenant2.get(1L));
+    }
+
+    @Test
+    public void test_evictIdleMember() throws InterruptedException {
+        family = this.createFamily(CacheFamilyPolicy.newPolicy(0).memberIdleTimeout(Duration.ofHours(1)));
+        family.getCache("1").put(1L, "a");
+        assertEquals(0, family.evictIdleMembers());
+
+        family.close();
+        family = this.createFamily(CacheFamilyPolicy.newPolicy(0).memberIdleTimeout(Duration.ofMillis(50)));
+        Cache<Long, String> tenant1 = family.getCache("1");
+        tenant1.put(1L, "a");
+        TimeUnit.MILLISECONDS.sleep(100);
+        family.evictIdleMembers();
+
+        assertEquals(Set.of(), family.getMembers());
+        assertEquals(0, family.estimatedSize());
+        assertNull(tenant1.get(1L));
+    }
+
+    private CacheFamily<Long, String> createFamily(CacheFamilyPolicy policy) {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("orders")
+                .cacheType(CacheType.LOCAL)
+                .localMaximumSize(1000L)
+                .build();
+        return new CacheFamily<>(config, policy);
+    }
+
+}
@@ -0,0 +1,57 @@
+package cn.floseek.fastcache.test.cache.local;
+
+import cn.floseek.fastcache.cache.local.CaffeineCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Caffeine 缓存按条目过期测试
+ *
+ * @author ChenHongwei472
+ */
+public class CaffeineCacheExpiryTest {
+
+    @Test
+    public void test_expiry() throws InterruptedException {
+        // 以 short 开头的缓存值存活 100 毫秒，其他缓存值使用本地缓存过期时间
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("promotion")
+                .cacheType(CacheType.LOCAL)
+                .localExpireTime(Duration.ofMinutes(1))
+                .<Long, String>expiry((key, value) -> value.startsWith("short") ? Duration.ofMillis(100) : null);
+        CaffeineCache<Long, String> cache = new CaffeineCache<>(config);
+
+        cache.put(1L, "short-lived");
+        cache.put(2L, "long-lived");
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertNull(cache.get(1L));
+        assertEquals("long-lived", cache.get(2L));
+    }
+
+    @Test
+    public void test_putWithTtl() throws InterruptedException {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("promotion")
+                .cacheType(CacheType.LOCAL)
+                .build();
+        CaffeineCache<Long, String> cache = new CaffeineCache<>(config);
+
+        cache.put(1L, "a", Duration.ofMillis(100));
+        cache.putAll(Map.of(2L, "b", 3L, "c"), Duration.ofMillis(100));
+        cache.put(4L, "d");
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNull(cache.get(3L));
+        assertEquals("d", cache.get(4L));
+    }
+
+}
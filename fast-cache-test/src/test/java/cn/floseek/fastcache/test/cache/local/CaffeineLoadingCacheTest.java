@@ -0,0 +1,81 @@
+package cn.floseek.fastcache.test.cache.local;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.CacheLoader;
+import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
+import cn.floseek.fastcache.cache.local.CaffeineLoadingCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.RefreshPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Caffeine 加载缓存测试
+ *
+ * @author ChenHongwei472
+ */
+public class CaffeineLoadingCacheTest {
+
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicInteger bulkLoads = new AtomicInteger();
+
+    @Test
+    public void test_refreshAfterWrite() throws InterruptedException {
+        Cache<Long, String> cache = this.createCache();
+        assertInstanceOf(CaffeineLoadingCache.class, cache);
+
+        assertEquals("1-1", cache.get(1L));
+        assertEquals("1-1", cache.get(1L));
+
+        // 超过刷新间隔后，读取触发重新加载
+        TimeUnit.MILLISECONDS.sleep(150);
+        version.incrementAndGet();
+        cache.get(1L);
+        assertEquals("1-2", cache.get(1L));
+    }
+
+    @Test
+    public void test_loadAll() {
+        Cache<Long, String> cache = this.createCache();
+        Map<Long, String> values = cache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(3, values.size());
+        assertEquals("2-1", values.get(2L));
+        assertEquals(1, bulkLoads.get());
+    }
+
+    private Cache<Long, String> createCache() {
+        version.set(1);
+        CacheLoader<Long, String> loader = new CacheLoader<>() {
+            @Override
+            public String load(Long key) {
+                return key + "-" + version.get();
+            }
+
+            @Override
+            public Map<Long, String> loadAll(Collection<Long> keys) {
+                bulkLoads.incrementAndGet();
+                Map<Long, String> resultMap = new HashMap<>();
+                keys.forEach(key -> resultMap.put(key, this.load(key)));
+                return resultMap;
+            }
+        };
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("product")
+                .cacheType(CacheType.LOCAL)
+                .refreshPolicy(RefreshPolicy.newPolicy(100, TimeUnit.MILLISECONDS))
+                .loaderExecutor(Runnable::run)
+                .build(loader);
+        return new CaffeineCacheBuilder<Long, String>().build(config);
+    }
+
+}
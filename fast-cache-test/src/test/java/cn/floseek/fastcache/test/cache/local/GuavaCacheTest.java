@@ -0,0 +1,38 @@
+package cn.floseek.fastcache.test.cache.local;
+
+import cn.floseek.fastcache.cache.local.GuavaCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Guava 缓存测试
+ *
+ * @author ChenHongwei472
+ */
+public class GuavaCacheTest {
+
+    @Test
+    public void test_putWithNonPositiveTtl() {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("promotion")
+                .cacheType(CacheType.LOCAL)
+                .localExpireTime(Duration.ofMinutes(1))
+                .build();
+        GuavaCache<Long, String> cache = new GuavaCache<>(config);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+
+        // 存活时间不为正数时删除条目，存活时间为正数时使用本地缓存过期时间
+        cache.put(1L, "c", Duration.ZERO);
+        cache.put(2L, "d", Duration.ofMillis(100));
+
+        assertNull(cache.get(1L));
+        assertEquals("d", cache.get(2L));
+    }
+
+}
@@ -0,0 +1,114 @@
+package cn.floseek.fastcache.test.cache.local;
+
+import cn.floseek.fastcache.cache.local.MappedFileCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.exception.CacheException;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.serializer.ValueSerializerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 内存映射文件磁盘缓存测试
+ *
+ * @author ChenHongwei472
+ */
+public class MappedFileCacheTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final long CAPACITY = 4 * SEGMENT_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void test_recoverAfterRestart() {
+        MappedFileCache<Long, String> cache = this.createCache();
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.put(1L, "c");
+        cache.remove(2L);
+        cache.close();
+
+        MappedFileCache<Long, String> reopened = this.createCache();
+        assertEquals("c", reopened.get(1L));
+        assertNull(reopened.get(2L));
+        assertEquals(1, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    public void test_rejectAfterCloseAndSharedDirectory() {
+        MappedFileCache<Long, String> cache = this.createCache();
+        // 同一进程内的其他实例不能使用同一目录
+        assertThrows(CacheException.class, this::createCache);
+
+        cache.close();
+        assertThrows(CacheException.class, () -> cache.put(1L, "a"));
+        assertThrows(CacheException.class, () -> cache.remove(1L));
+        assertThrows(CacheException.class, cache::clear);
+        assertNull(cache.get(1L));
+
+        MappedFileCache<Long, String> reopened = this.createCache();
+        reopened.put(1L, "a");
+        assertEquals("a", reopened.get(1L));
+        reopened.close();
+    }
+
+    @Test
+    public void test_capRestoredTtl() throws InterruptedException {
+        MappedFileCache<Long, String> cache = this.createCache();
+        cache.put(1L, "a");
+        cache.close();
+
+        // 恢复的永不过期条目最多再保留指定的存活时间
+        MappedFileCache<Long, String> reopened = new MappedFileCache<>(this.createConfig(), directory.toString(), CAPACITY,
+                SEGMENT_SIZE, 0.5, Duration.ofMillis(100));
+        assertEquals("a", reopened.get(1L));
+        Thread.sleep(200);
+        assertNull(reopened.get(1L));
+        reopened.close();
+    }
+
+    @Test
+    public void test_compactWithinCapacity() {
+        MappedFileCache<Long, String> cache = this.createCache();
+        String value = "v".repeat(100);
+        cache.put(-1L, "hot");
+        for (int round = 0; round < 50; round++) {
+            for (long key = 0; key < 10; key++) {
+                cache.put(key, value + round);
+            }
+        }
+
+        assertTrue(cache.getDiskUsage() <= CAPACITY);
+        for (long key = 0; key < 10; key++) {
+            assertEquals(value + 49, cache.get(key));
+        }
+
+        cache.clear();
+        assertNull(cache.get(0L));
+        assertEquals(0, cache.size());
+        cache.close();
+    }
+
+    private MappedFileCache<Long, String> createCache() {
+        return new MappedFileCache<>(this.createConfig(), directory.toString(), CAPACITY, SEGMENT_SIZE, 0.5);
+    }
+
+    private CacheConfig<Long, String> createConfig() {
+        return CacheConfig.newBuilder("catalog")
+                .cacheType(CacheType.LOCAL)
+                .serializer(ValueSerializerType.JACKSON.getInstance())
+                .build();
+    }
+
+}
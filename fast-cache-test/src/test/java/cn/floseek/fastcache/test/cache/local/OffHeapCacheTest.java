@@ -0,0 +1,69 @@
+package cn.floseek.fastcache.test.cache.local;
+
+import cn.floseek.fastcache.cache.local.OffHeapCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.serializer.ValueSerializerType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 堆外缓存测试
+ *
+ * @author ChenHongwei472
+ */
+public class OffHeapCacheTest {
+
+    private static final long CAPACITY = 64 * 1024;
+
+    @Test
+    public void test_putAndGet() {
+        OffHeapCache<Long, String> cache = this.createCache();
+        String largeValue = "x".repeat(5000);
+        cache.put(1L, "a");
+        cache.put(2L, largeValue);
+
+        assertEquals("a", cache.get(1L));
+        assertEquals(largeValue, cache.get(2L));
+
+        cache.put(1L, "b");
+        assertEquals("b", cache.get(1L));
+
+        cache.remove(1L);
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void test_evictByCapacity() {
+        OffHeapCache<Long, String> cache = this.createCache();
+        String value = "v".repeat(200);
+        for (long i = 0; i < 1000; i++) {
+            cache.put(i, value);
+            // 访问第一个键，使其不被淘汰
+            cache.get(0L);
+        }
+
+        assertTrue(cache.getUsedBytes() <= CAPACITY);
+        assertTrue(cache.size() < 1000);
+        assertEquals(value, cache.get(0L));
+        assertEquals(value, cache.get(999L));
+        assertNull(cache.get(1L));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    private OffHeapCache<Long, String> createCache() {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("user")
+                .cacheType(CacheType.LOCAL)
+                .serializer(ValueSerializerType.JACKSON.getInstance())
+                .build();
+        return new OffHeapCache<>(config, CAPACITY, 256);
+    }
+
+}
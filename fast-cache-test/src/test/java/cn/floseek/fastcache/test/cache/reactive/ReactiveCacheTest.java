@@ -0,0 +1,139 @@
+package cn.floseek.fastcache.test.cache.reactive;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.DefaultCacheManager;
+import cn.floseek.fastcache.cache.builder.CacheBuilderManager;
+import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
+import cn.floseek.fastcache.cache.multilevel.MultiLevelCache;
+import cn.floseek.fastcache.cache.reactive.ReactiveCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.config.RefreshPolicy;
+import cn.floseek.fastcache.test.support.InMemoryRedis;
+import cn.floseek.fastcache.test.support.InMemoryRemoteCacheBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 响应式缓存测试
+ *
+ * @author ChenHongwei472
+ */
+public class ReactiveCacheTest {
+
+    private DefaultCacheManager cacheManager;
+    private Cache<Object, Object> cache;
+    private ReactiveCache<Object, Object> reactiveCache;
+
+    @BeforeEach
+    public void setUp() {
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>());
+        cacheBuilderManager.registerRemoteCacheBuilder(RemoteCacheProvider.REDISSON, new InMemoryRemoteCacheBuilder<>(new InMemoryRedis()));
+        cacheManager = new DefaultCacheManager(new GlobalProperties(), cacheBuilderManager, null);
+
+        CacheConfig<Object, Object> config = CacheConfig.newBuilder("user").cacheType(CacheType.MULTI_LEVEL);
+        reactiveCache = cacheManager.getOrCreateReactiveCache(config);
+        cache = reactiveCache.getCache();
+        assertSame(reactiveCache, cacheManager.getReactiveCache(CacheType.MULTI_LEVEL, "user"));
+        assertSame(cache, cacheManager.getCache(CacheType.MULTI_LEVEL, "user"));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        cacheManager.close();
+    }
+
+    @Test
+    public void test_getThroughTiers() {
+        MultiLevelCache<Object, Object> multiLevelCache = (MultiLevelCache<Object, Object>) cache;
+        multiLevelCache.getRemoteCache().put("remote", "r");
+        reactiveCache.put("both", "b").block();
+
+        assertEquals("b", reactiveCache.get("both").block());
+        assertNull(reactiveCache.get("missing").block());
+
+        // 分布式缓存命中后回填本地缓存
+        assertEquals("r", reactiveCache.get("remote").block());
+        assertEquals("r", multiLevelCache.getLocalCache().get("remote"));
+
+        assertEquals("loaded", reactiveCache.get("missing", key -> Mono.just("loaded")).block());
+        this.awaitWriteBack("missing", "loaded");
+    }
+
+    @Test
+    public void test_getAllWithLoader() {
+        MultiLevelCache<Object, Object> multiLevelCache = (MultiLevelCache<Object, Object>) cache;
+        multiLevelCache.getLocalCache().put("local", "l");
+        multiLevelCache.getRemoteCache().put("remote", "r");
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Map.Entry<Object, Object>> entries = reactiveCache.getAll(List.of("local", "remote", "loaded", "absent"),
+                key -> {
+                    loads.incrementAndGet();
+                    return "loaded".equals(key) ? Mono.just("v") : Mono.empty();
+                }).collectList().block();
+
+        // 本地命中的条目最先发出
+        assertEquals("local", entries.get(0).getKey());
+        assertEquals(Map.of("local", "l", "remote", "r", "loaded", "v"),
+                entries.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+        assertEquals(2, loads.get());
+        this.awaitWriteBack("loaded", "v");
+    }
+
+    @Test
+    public void test_concurrentLoadShared() {
+        AtomicInteger loads = new AtomicInteger();
+        Mono<Object> loaded = reactiveCache.get("hot", key -> Mono.delay(Duration.ofMillis(100)).map(tick -> {
+            loads.incrementAndGet();
+            return "value";
+        }));
+
+        List<Object> values = Mono.zip(loaded, loaded, loaded).map(tuple -> List.of(tuple.getT1(), tuple.getT2(), tuple.getT3())).block();
+        assertEquals(List.of("value", "value", "value"), values);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void test_skipSyncLoaderOfLoadingLocalCache() {
+        AtomicInteger syncLoads = new AtomicInteger();
+        CacheConfig<Object, Object> config = CacheConfig.newBuilder("loading")
+                .cacheType(CacheType.LOCAL)
+                .refreshPolicy(RefreshPolicy.newPolicy(Duration.ofMinutes(1)))
+                .build(key -> {
+                    syncLoads.incrementAndGet();
+                    return "sync";
+                });
+        ReactiveCache<Object, Object> loadingCache = cacheManager.getOrCreateReactiveCache(config);
+
+        assertNull(loadingCache.get("k").block());
+        assertEquals(Map.of(), loadingCache.getAll(List.of("k")).collectMap(Map.Entry::getKey, Map.Entry::getValue).block());
+        assertEquals("reactive", loadingCache.get("k", key -> Mono.just("reactive")).block());
+        assertEquals(0, syncLoads.get());
+    }
+
+    private void awaitWriteBack(Object key, Object value) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline && !value.equals(cache.get(key))) {
+            Thread.onSpinWait();
+        }
+        assertEquals(value, cache.get(key));
+    }
+
+}
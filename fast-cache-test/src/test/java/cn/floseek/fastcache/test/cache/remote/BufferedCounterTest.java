@@ -0,0 +1,140 @@
+package cn.floseek.fastcache.test.cache.remote;
+
+import cn.floseek.fastcache.cache.remote.BufferedCounter;
+import cn.floseek.fastcache.cache.remote.BufferedCounterOptions;
+import cn.floseek.fastcache.cache.remote.RedisPipeline;
+import cn.floseek.fastcache.cache.remote.RedisService;
+import cn.floseek.fastcache.common.exception.CacheException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 缓冲计数器测试
+ *
+ * @author ChenHongwei472
+ */
+public class BufferedCounterTest {
+
+    private final Map<String, Long> redis = new ConcurrentHashMap<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    @Test
+    public void test_flushAndReadYourWrites() {
+        BufferedCounterOptions options = BufferedCounterOptions.defaults()
+                .flushInterval(Duration.ofHours(1))
+                .readYourWrites();
+        try (BufferedCounter counter = new BufferedCounter(this.redisService(), options)) {
+            IntStream.range(0, 1000).parallel().forEach(i -> counter.increment("views:" + (i % 2)));
+            counter.add("views:0", -100);
+
+            // 刷新前只累加在本地，读己之写合并本地增量
+            assertEquals(0, executions.get());
+            assertEquals(400, counter.get("views:0"));
+
+            counter.flush();
+            assertEquals(1, executions.get());
+            assertEquals(400L, redis.get("views:0"));
+            assertEquals(500L, redis.get("views:1"));
+            assertEquals(0, counter.getLocalDelta("views:0"));
+            assertEquals(400, counter.get("views:0"));
+
+            counter.increment("views:1");
+        }
+
+        // 关闭时刷新剩余的增量
+        assertEquals(501L, redis.get("views:1"));
+    }
+
+    @Test
+    public void test_retryFailedFlush() {
+        BufferedCounterOptions options = BufferedCounterOptions.defaults().flushInterval(Duration.ofHours(1));
+        BufferedCounter counter = new BufferedCounter(this.redisService(), options);
+        counter.add("likes", 5);
+
+        failing.set(true);
+        assertThrows(CacheException.class, counter::flush);
+        assertEquals(5, counter.getLocalDelta("likes"));
+        assertEquals(0, counter.get("likes"));
+
+        failing.set(false);
+        counter.close();
+        assertEquals(5L, redis.get("likes"));
+        assertThrows(CacheException.class, () -> counter.increment("likes"));
+    }
+
+    @Test
+    public void test_flushDuringIncrements() throws Exception {
+        BufferedCounterOptions options = BufferedCounterOptions.defaults().flushInterval(Duration.ofHours(1));
+        BufferedCounter counter = new BufferedCounter(this.redisService(), options);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    counter.increment("hot");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // 刷新与递增并发执行，递增不会丢失
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            counter.flush();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        counter.close();
+        assertEquals(80000L, redis.get("hot"));
+    }
+
+    /**
+     * 只实现缓冲计数器用到的方法的 Redis 服务替身
+     *
+     * @return Redis 服务
+     */
+    private RedisService redisService() {
+        return (RedisService) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{RedisService.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAtomicValue" -> redis.getOrDefault((String) args[0], 0L);
+                    case "pipeline" -> this.pipeline();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private RedisPipeline pipeline() {
+        List<Runnable> commands = new ArrayList<>();
+        return (RedisPipeline) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{RedisPipeline.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "addAtomicValue" -> {
+                        CompletableFuture<Long> future = new CompletableFuture<>();
+                        commands.add(() -> future.complete(redis.merge((String) args[0], (Long) args[1], Long::sum)));
+                        yield future;
+                    }
+                    case "execute" -> {
+                        executions.incrementAndGet();
+                        if (failing.get()) {
+                            throw new IllegalStateException("connection refused");
+                        }
+                        commands.forEach(Runnable::run);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+}
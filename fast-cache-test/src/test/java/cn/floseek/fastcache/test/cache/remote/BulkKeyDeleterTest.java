@@ -0,0 +1,63 @@
+package cn.floseek.fastcache.test.cache.remote;
+
+import cn.floseek.fastcache.cache.remote.BulkKeyDeleter;
+import cn.floseek.fastcache.cache.remote.KeyDeleteOptions;
+import cn.floseek.fastcache.cache.remote.KeyDeleteProgress;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分批删除键测试
+ *
+ * @author ChenHongwei472
+ */
+public class BulkKeyDeleterTest {
+
+    @Test
+    public void test_chunkAndProgress() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<KeyDeleteProgress> progresses = new ArrayList<>();
+        KeyDeleteOptions options = KeyDeleteOptions.defaults()
+                .chunkSize(4)
+                .progressListener(progresses::add);
+
+        long deleted = new BulkKeyDeleter(options).delete(this.keys(10), chunk -> {
+            chunkSizes.add(chunk.size());
+            return chunk.size();
+        });
+
+        assertEquals(10, deleted);
+        assertEquals(List.of(4, 4, 2), chunkSizes);
+        assertEquals(3, progresses.size());
+        assertEquals(10, progresses.get(2).scanned());
+        assertEquals(10, progresses.get(2).deleted());
+    }
+
+    @Test
+    public void test_rateLimit() {
+        KeyDeleteOptions options = KeyDeleteOptions.defaults()
+                .chunkSize(10)
+                .maxKeysPerSecond(100);
+        List<KeyDeleteProgress> progresses = new ArrayList<>();
+        options.progressListener(progresses::add);
+
+        long deleted = new BulkKeyDeleter(options).delete(this.keys(30), List::size);
+
+        // 30 个键按每秒 100 个的速率删除，前两批完成后至少经过 200 毫秒
+        assertEquals(30, deleted);
+        assertTrue(progresses.get(2).elapsed().compareTo(Duration.ofMillis(200)) >= 0);
+    }
+
+    private Iterator<String> keys(int size) {
+        return IntStream.range(0, size).mapToObj(i -> "user:" + i).iterator();
+    }
+
+}
@@ -0,0 +1,61 @@
+package cn.floseek.fastcache.test.cache.remote;
+
+import cn.floseek.fastcache.cache.remote.RangeNearCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 排序集合范围查询近端缓存测试
+ *
+ * @author ChenHongwei472
+ */
+public class RangeNearCacheTest {
+
+    @Test
+    public void test_hitAndInvalidate() {
+        RangeNearCache nearCache = new RangeNearCache(100, Duration.ofSeconds(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        List<String> top = nearCache.get("rank", List.of(0, 99), () -> this.load(loads, "a", "b"));
+        assertEquals(List.of("a", "b"), nearCache.get("rank", List.of(0, 99), () -> this.load(loads, "x")));
+        assertEquals(1, loads.get());
+        assertThrows(UnsupportedOperationException.class, () -> top.add("c"));
+
+        // 不同范围独立缓存，失效键时全部范围一起失效
+        nearCache.get("rank", List.of(0, 9), () -> this.load(loads, "a"));
+        nearCache.get("other", List.of(0, 9), () -> this.load(loads, "z"));
+        assertEquals(3, loads.get());
+        nearCache.invalidate("rank");
+
+        assertEquals(List.of("c"), nearCache.get("rank", List.of(0, 99), () -> this.load(loads, "c")));
+        assertEquals(List.of("z"), nearCache.get("other", List.of(0, 9), () -> this.load(loads, "y")));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void test_invalidateDuringLoad() {
+        RangeNearCache nearCache = new RangeNearCache(100, Duration.ofSeconds(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        // 查询期间发生失效，本次结果不缓存
+        nearCache.get("rank", List.of(0, 9), () -> {
+            nearCache.invalidate("rank");
+            return this.load(loads, "stale");
+        });
+        assertEquals(List.of("fresh"), nearCache.get("rank", List.of(0, 9), () -> this.load(loads, "fresh")));
+        assertEquals(2, loads.get());
+    }
+
+    private List<String> load(AtomicInteger loads, String... values) {
+        loads.incrementAndGet();
+        return new ArrayList<>(List.of(values));
+    }
+
+}
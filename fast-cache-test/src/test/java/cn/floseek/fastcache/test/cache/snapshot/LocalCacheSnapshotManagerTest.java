@@ -0,0 +1,90 @@
+package cn.floseek.fastcache.test.cache.snapshot;
+
+import cn.floseek.fastcache.cache.local.CaffeineCache;
+import cn.floseek.fastcache.cache.snapshot.LocalCacheSnapshotManager;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.serializer.ValueSerializerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 本地缓存快照管理器测试
+ *
+ * @author ChenHongwei472
+ */
+public class LocalCacheSnapshotManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void test_saveAndRestore() throws InterruptedException {
+        GlobalProperties.Snapshot properties = new GlobalProperties.Snapshot();
+        properties.setDirectory(directory.toString());
+        properties.setInterval(Duration.ofHours(1));
+
+        CaffeineCache<Long, String> cache = this.createCache();
+        for (long i = 0; i < 2500; i++) {
+            cache.put(i, "value" + i);
+        }
+        LocalCacheSnapshotManager snapshotManager = new LocalCacheSnapshotManager(properties);
+        snapshotManager.register("user", CacheType.LOCAL, cache);
+        snapshotManager.close();
+
+        CaffeineCache<Long, String> restoredCache = this.createCache();
+        LocalCacheSnapshotManager restoreManager = new LocalCacheSnapshotManager(properties);
+        restoreManager.register("user", CacheType.LOCAL, restoredCache);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((restoredCache.get(0L) == null || restoredCache.get(2499L) == null) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("value0", restoredCache.get(0L));
+        assertEquals("value2499", restoredCache.get(2499L));
+        restoreManager.close();
+    }
+
+    @Test
+    public void test_skipKeysChangedDuringRestore() {
+        CaffeineCache<Long, String> cache = this.createCache();
+        cache.beginRestore(System.currentTimeMillis());
+
+        // 恢复期间收到的失效通知和写入不被快照中的旧值覆盖
+        cache.remove(1L);
+        cache.put(2L, "new");
+        cache.restore(1L, "stale", null);
+        cache.restore(2L, "stale", null);
+        cache.restore(3L, "value3", null);
+        assertNull(cache.get(1L));
+        assertEquals("new", cache.get(2L));
+        assertEquals("value3", cache.get(3L));
+
+        cache.clear();
+        cache.restore(4L, "stale", null);
+        assertNull(cache.get(4L));
+
+        cache.endRestore();
+        cache.restore(1L, "value1", null);
+        assertEquals("value1", cache.get(1L));
+    }
+
+    private CaffeineCache<Long, String> createCache() {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("user")
+                .cacheType(CacheType.LOCAL)
+                .localExpireTime(Duration.ofMinutes(10))
+                .localMaximumSize(10000L)
+                .serializer(ValueSerializerType.JACKSON.getInstance())
+                .build();
+        return new CaffeineCache<>(config);
+    }
+
+}
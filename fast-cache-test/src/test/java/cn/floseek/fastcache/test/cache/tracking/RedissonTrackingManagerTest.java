@@ -0,0 +1,98 @@
+package cn.floseek.fastcache.test.cache.tracking;
+
+import cn.floseek.fastcache.cache.local.CaffeineCache;
+import cn.floseek.fastcache.cache.tracking.TrackedLocalCache;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.redisson.RedissonTrackingManager;
+import cn.floseek.fastcache.test.support.TrackingRedisServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 基于 Redisson 的服务端辅助失效管理器测试，失效通知经过 Redisson 的订阅连接送达
+ *
+ * @author ChenHongwei472
+ */
+public class RedissonTrackingManagerTest {
+
+    private TrackingRedisServer server;
+
+    private RedissonClient redissonClient;
+
+    private RedissonTrackingManager trackingManager;
+
+    private TrackedLocalCache<Long, String> localCache;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new TrackingRedisServer();
+        Config config = new Config();
+        config.useSingleServer().setAddress(server.getAddress());
+        redissonClient = Redisson.create(config);
+        trackingManager = new RedissonTrackingManager(redissonClient);
+
+        CacheConfig<Long, String> cacheConfig = CacheConfig.newBuilder("user")
+                .cacheType(CacheType.LOCAL)
+                .build();
+        cacheConfig.keyConverter(new GlobalProperties().getRemoteCacheKeyConverter());
+        localCache = new TrackedLocalCache<>(new CaffeineCache<>(cacheConfig));
+        trackingManager.track(localCache, null);
+        this.await(() -> server.getTrackedPrefixes().contains("user:"));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        trackingManager.close();
+        redissonClient.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void test_invalidateByMessage() throws InterruptedException {
+        localCache.put(1L, "a");
+        localCache.put(2L, "b");
+
+        server.invalidate("user:#0:1");
+        this.await(() -> localCache.get(1L) == null);
+        assertEquals("b", localCache.get(2L));
+    }
+
+    @Test
+    public void test_dropFillInvalidatedDuringRemoteRead() throws InterruptedException {
+        localCache.put(2L, "b");
+
+        // 读取分布式缓存之前获取失效版本，读取期间收到失效通知，此时本地缓存中还没有该键
+        long[] stamps = localCache.stamps();
+        server.invalidate("user:#0:1");
+        server.invalidate("user:#0:2");
+        this.await(() -> localCache.get(2L) == null);
+
+        localCache.fill(1L, "stale", stamps);
+        assertNull(localCache.get(1L));
+
+        localCache.fill(1L, "fresh", localCache.stamps());
+        assertEquals("fresh", localCache.get(1L));
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+}
@@ -0,0 +1,148 @@
+package cn.floseek.fastcache.test.cache.tracking;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.DefaultCacheManager;
+import cn.floseek.fastcache.cache.builder.CacheBuilderManager;
+import cn.floseek.fastcache.cache.local.CaffeineCacheBuilder;
+import cn.floseek.fastcache.cache.multilevel.MultiLevelCache;
+import cn.floseek.fastcache.common.enums.CacheSyncMode;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.common.enums.LocalCacheProvider;
+import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import cn.floseek.fastcache.serializer.ValueSerializer;
+import cn.floseek.fastcache.test.support.InMemoryRedis;
+import cn.floseek.fastcache.test.support.InMemoryRemoteCacheBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 服务端辅助失效测试
+ *
+ * @author ChenHongwei472
+ */
+public class TrackingTest {
+
+    private InMemoryRedis redis;
+
+    private DefaultCacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        redis = new InMemoryRedis();
+
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>());
+        cacheBuilderManager.registerRemoteCacheBuilder(RemoteCacheProvider.REDISSON, new InMemoryRemoteCacheBuilder<>(redis));
+
+        cacheManager = new DefaultCacheManager(new GlobalProperties(), cacheBuilderManager, null);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        cacheManager.close();
+    }
+
+    @Test
+    public void test_invalidateLocalCacheOnExternalWrite() {
+        Cache<Long, String> cache = this.createCache("user");
+        Cache<Long, String> localCache = this.getLocalCache(cache);
+        ValueSerializer valueSerializer = cache.getConfig().getValueSerializer();
+
+        cache.put(1L, "a");
+        assertEquals("a", localCache.get(1L));
+
+        // 绕过 fast-cache 直接写入 Redis
+        redis.set("user:#0:1", valueSerializer.serialize("b"));
+        assertNull(localCache.get(1L));
+        assertEquals("b", cache.get(1L));
+        assertEquals("b", localCache.get(1L));
+    }
+
+    @Test
+    public void test_invalidateOnlyMatchingPrefix() {
+        Cache<Long, String> userCache = this.createCache("user");
+        Cache<Long, String> orderCache = this.createCache("order");
+
+        userCache.put(1L, "user");
+        orderCache.put(1L, "order");
+
+        redis.delete("user:#0:1");
+        assertNull(this.getLocalCache(userCache).get(1L));
+        assertEquals("order", this.getLocalCache(orderCache).get(1L));
+    }
+
+    @Test
+    public void test_invalidateAllOnFlush() {
+        Cache<Long, String> cache = this.createCache("user");
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+
+        redis.flushAll();
+        assertNull(this.getLocalCache(cache).get(1L));
+        assertNull(this.getLocalCache(cache).get(2L));
+    }
+
+    @Test
+    public void test_clear() {
+        Cache<Long, String> cache = this.createCache("user");
+        Cache<Long, String> localCache = this.getLocalCache(cache);
+        ValueSerializer valueSerializer = cache.getConfig().getValueSerializer();
+        cache.put(1L, "a");
+
+        cache.clear();
+        assertNull(localCache.get(1L));
+        assertNull(cache.get(1L));
+        assertEquals("a", valueSerializer.deserialize(redis.get("user:#0:1")));
+
+        // 清空后的缓存键带有命名空间版本号，仍然能够被跟踪失效
+        cache.put(1L, "b");
+        assertEquals("b", valueSerializer.deserialize(redis.get("user:#1:1")));
+        redis.set("user:#1:1", valueSerializer.serialize("c"));
+        assertNull(localCache.get(1L));
+        assertEquals("c", cache.get(1L));
+    }
+
+    @Test
+    public void test_clearFromOtherInstance() throws Exception {
+        CacheBuilderManager<Object, Object> cacheBuilderManager = new CacheBuilderManager<>();
+        cacheBuilderManager.registerLocalCacheBuilder(LocalCacheProvider.CAFFEINE, new CaffeineCacheBuilder<>());
+        cacheBuilderManager.registerRemoteCacheBuilder(RemoteCacheProvider.REDISSON, new InMemoryRemoteCacheBuilder<>(redis));
+
+        try (DefaultCacheManager otherCacheManager = new DefaultCacheManager(new GlobalProperties(), cacheBuilderManager, null)) {
+            Cache<Long, String> cache = this.createCache("user");
+            Cache<Long, String> otherCache = this.createCache(otherCacheManager, "user");
+            cache.put(1L, "a");
+            assertEquals("a", otherCache.get(1L));
+
+            // 其他实例清空缓存时递增版本号键，本实例通过跟踪版本号键失效本地缓存
+            cache.clear();
+            assertNull(this.getLocalCache(otherCache).get(1L));
+            assertNull(otherCache.get(1L));
+        }
+    }
+
+    private Cache<Long, String> createCache(String cacheName) {
+        return this.createCache(cacheManager, cacheName);
+    }
+
+    private Cache<Long, String> createCache(DefaultCacheManager manager, String cacheName) {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder(cacheName)
+                .cacheType(CacheType.MULTI_LEVEL)
+                .cacheSyncMode(CacheSyncMode.TRACKING)
+                .build();
+        return manager.getOrCreateCache(config);
+    }
+
+    private Cache<Long, String> getLocalCache(Cache<Long, String> cache) {
+        assertInstanceOf(MultiLevelCache.class, cache);
+        return ((MultiLevelCache<Long, String>) cache).getLocalCache();
+    }
+
+}
@@ -0,0 +1,93 @@
+package cn.floseek.fastcache.test.cache.warmup;
+
+import cn.floseek.fastcache.cache.CacheLoader;
+import cn.floseek.fastcache.cache.local.CaffeineCache;
+import cn.floseek.fastcache.cache.warmup.CacheWarmUpManager;
+import cn.floseek.fastcache.cache.warmup.WarmUpProgress;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.GlobalProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 缓存预热管理器测试
+ *
+ * @author ChenHongwei472
+ */
+public class CacheWarmUpManagerTest {
+
+    @Test
+    public void test_warmUp() {
+        GlobalProperties.WarmUp properties = new GlobalProperties.WarmUp();
+        properties.setBatchSize(100);
+        properties.setConcurrency(2);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CacheLoader<Long, String> loader = new CacheLoader<>() {
+            @Override
+            public String load(Long key) {
+                return "value" + key;
+            }
+
+            @Override
+            public Map<Long, String> loadAll(Collection<Long> keys) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return keys.stream().collect(Collectors.toMap(Function.identity(), this::load));
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("user")
+                .cacheType(CacheType.LOCAL)
+                .warmUp(() -> LongStream.range(0, 1050).boxed().iterator())
+                .build(loader);
+        CaffeineCache<Long, String> cache = new CaffeineCache<>(config);
+
+        CacheWarmUpManager warmUpManager = new CacheWarmUpManager(properties);
+        warmUpManager.register(config, cache);
+        assertTrue(warmUpManager.warmUp());
+
+        WarmUpProgress progress = warmUpManager.getProgress("user");
+        assertTrue(progress.isCompleted());
+        assertEquals(1050, progress.getReadKeys());
+        assertEquals(1050, progress.getLoadedEntries());
+        assertEquals(11, progress.getCompletedBatches());
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals("value1049", cache.get(1049L));
+    }
+
+    @Test
+    public void test_warmUpRegisteredAfterStart() {
+        CacheWarmUpManager warmUpManager = new CacheWarmUpManager(new GlobalProperties.WarmUp());
+        assertTrue(warmUpManager.warmUp());
+
+        // 预热执行之后创建的缓存在后台预热
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("order")
+                .cacheType(CacheType.LOCAL)
+                .warmUp(() -> LongStream.range(0, 10).boxed().iterator())
+                .build(key -> "value" + key);
+        CaffeineCache<Long, String> cache = new CaffeineCache<>(config);
+        warmUpManager.register(config, cache);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!warmUpManager.getProgress("order").isCompleted() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(warmUpManager.getProgress("order").isCompleted());
+        assertEquals("value9", cache.get(9L));
+    }
+
+}
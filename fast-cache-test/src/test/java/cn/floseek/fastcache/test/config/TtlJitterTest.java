@@ -0,0 +1,80 @@
+package cn.floseek.fastcache.test.config;
+
+import cn.floseek.fastcache.cache.local.CaffeineCache;
+import cn.floseek.fastcache.cache.snapshot.SnapshotEntry;
+import cn.floseek.fastcache.common.enums.CacheType;
+import cn.floseek.fastcache.config.CacheConfig;
+import cn.floseek.fastcache.config.TtlJitter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 存活时间抖动测试
+ *
+ * @author ChenHongwei472
+ */
+public class TtlJitterTest {
+
+    @Test
+    public void test_ratio() {
+        TtlJitter ttlJitter = TtlJitter.ofRatio(0.2);
+        Duration ttl = Duration.ofMinutes(10);
+
+        Set<Duration> ttlSet = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Duration jittered = ttlJitter.apply("key", ttl);
+            assertTrue(jittered.compareTo(ttl) <= 0);
+            assertTrue(jittered.compareTo(Duration.ofMinutes(8)) >= 0);
+            ttlSet.add(jittered);
+        }
+        assertTrue(ttlSet.size() > 1);
+    }
+
+    @Test
+    public void test_deterministic() {
+        TtlJitter randomJitter = TtlJitter.ofSpread(Duration.ofMinutes(1));
+        TtlJitter ttlJitter = randomJitter.deterministic();
+        Duration ttl = Duration.ofMinutes(10);
+
+        // 返回新的策略，原策略保持随机抖动
+        assertFalse(randomJitter.isDeterministic());
+        assertEquals(randomJitter.getSpreadMillis(), ttlJitter.getSpreadMillis());
+
+        // 同一个键多次计算结果相同，不同的键分散在抖动幅度内
+        Set<Duration> ttlSet = new HashSet<>();
+        for (long key = 0; key < 100; key++) {
+            Duration jittered = ttlJitter.apply(key, ttl);
+            assertEquals(jittered, ttlJitter.apply(key, ttl));
+            assertTrue(jittered.compareTo(Duration.ofMinutes(9)) >= 0);
+            ttlSet.add(jittered);
+        }
+        assertTrue(ttlSet.size() > 50);
+    }
+
+    @Test
+    public void test_localCache() {
+        CacheConfig<Long, String> config = CacheConfig.newBuilder("promotion")
+                .cacheType(CacheType.LOCAL)
+                .localExpireTime(Duration.ofMinutes(10))
+                .ttlJitter(TtlJitter.ofRatio(0.5))
+                .build();
+        CaffeineCache<Long, String> cache = new CaffeineCache<>(config);
+        for (long key = 0; key < 20; key++) {
+            cache.put(key, "value");
+        }
+
+        List<SnapshotEntry<Long, String>> entries = cache.snapshot(20);
+        assertEquals(20, entries.size());
+        entries.forEach(entry -> assertTrue(entry.ttl().compareTo(Duration.ofMinutes(10)) <= 0));
+        assertTrue(entries.stream().anyMatch(entry -> entry.ttl().compareTo(Duration.ofMinutes(9)) < 0));
+    }
+
+}
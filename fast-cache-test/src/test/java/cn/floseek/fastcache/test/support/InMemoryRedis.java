@@ -0,0 +1,70 @@
+package cn.floseek.fastcache.test.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 内存版 Redis 替身
+ * <p>
+ * 仅模拟测试所需的键值读写和计数器，以及 CLIENT TRACKING 广播模式下按前缀推送失效通知的行为
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class InMemoryRedis {
+
+    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+
+    private final List<Tracking> trackings = new CopyOnWriteArrayList<>();
+
+    public byte[] get(String key) {
+        return store.get(key);
+    }
+
+    public void set(String key, byte[] value) {
+        store.put(key, value);
+        this.notifyInvalidation(key);
+    }
+
+    public void delete(String key) {
+        if (store.remove(key) != null) {
+            this.notifyInvalidation(key);
+        }
+    }
+
+    public long incr(String key) {
+        byte[] value = store.merge(key, "1".getBytes(StandardCharsets.UTF_8), (oldValue, one) ->
+                String.valueOf(Long.parseLong(new String(oldValue, StandardCharsets.UTF_8)) + 1).getBytes(StandardCharsets.UTF_8));
+        this.notifyInvalidation(key);
+        return Long.parseLong(new String(value, StandardCharsets.UTF_8));
+    }
+
+    public void flushAll() {
+        store.clear();
+        trackings.forEach(tracking -> tracking.listener().accept(null));
+    }
+
+    /**
+     * 开启广播模式的失效跟踪
+     *
+     * @param prefix   键前缀
+     * @param listener 失效通知监听器
+     */
+    public void track(String prefix, Consumer<String> listener) {
+        trackings.add(new Tracking(prefix, listener));
+    }
+
+    private void notifyInvalidation(String key) {
+        trackings.stream()
+                .filter(tracking -> key.startsWith(tracking.prefix()))
+                .forEach(tracking -> tracking.listener().accept(key));
+    }
+
+    private record Tracking(String prefix, Consumer<String> listener) {
+    }
+
+}
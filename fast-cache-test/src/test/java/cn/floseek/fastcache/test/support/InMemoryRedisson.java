@@ -0,0 +1,187 @@
+package cn.floseek.fastcache.test.support;
+
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamInfo;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamMultiReadParams;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 内存版 Redisson 客户端替身
+ * <p>
+ * 仅模拟广播管理器用到的命令：哈希表、计数器、流的写入和读取，以及广播脚本分配消息序号并写入流的行为
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class InMemoryRedisson {
+
+    private static final Comparator<StreamMessageId> ID_COMPARATOR = Comparator.comparingLong(StreamMessageId::getId0)
+            .thenComparingLong(StreamMessageId::getId1);
+
+    private final Map<String, Map<Object, Object>> maps = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, NavigableMap<StreamMessageId, byte[]>> streams = new ConcurrentHashMap<>();
+
+    private long lastMillis;
+
+    private long lastSequence;
+
+    /**
+     * 创建 Redisson 客户端，未模拟的方法抛出 {@link UnsupportedOperationException}
+     *
+     * @return Redisson 客户端
+     */
+    public RedissonClient client() {
+        return this.proxy(RedissonClient.class, (method, args) -> switch (method) {
+            case "getMap" -> this.map((String) args[0]);
+            case "getAtomicLong" -> this.atomicLong((String) args[0]);
+            case "getScript" -> this.script();
+            case "getStream" -> this.stream((String) args[0]);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * 写入流，消息 ID 以当前毫秒时间戳开头并单调递增
+     *
+     * @param streamKey 流的键
+     * @param message   消息
+     */
+    public synchronized void xadd(String streamKey, byte[] message) {
+        long millis = System.currentTimeMillis();
+        if (millis > lastMillis) {
+            lastMillis = millis;
+            lastSequence = 0;
+        } else {
+            lastSequence++;
+        }
+        streams.computeIfAbsent(streamKey, key -> new ConcurrentSkipListMap<>(ID_COMPARATOR))
+                .put(new StreamMessageId(lastMillis, lastSequence), message);
+    }
+
+    private Object map(String name) {
+        Map<Object, Object> map = maps.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+        return this.proxy(RMap.class, (method, args) -> switch (method) {
+            case "get" -> map.get(args[0]);
+            case "getAsync" -> new CompletableFutureWrapper<>(map.get(args[0]));
+            case "putIfAbsent" -> map.putIfAbsent(args[0], args[1]);
+            case "fastPut" -> map.put(args[0], args[1]) == null;
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private Object atomicLong(String name) {
+        AtomicLong counter = counters.computeIfAbsent(name, key -> new AtomicLong());
+        return this.proxy(RAtomicLong.class, (method, args) -> switch (method) {
+            case "get" -> counter.get();
+            case "incrementAndGet" -> counter.incrementAndGet();
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * 广播脚本：递增序号键，将序号以 8 字节大端序写入消息的序号位置后写入流
+     */
+    private Object script() {
+        return this.proxy(RScript.class, (method, args) -> {
+            if (!"eval".equals(method) || args.length != 6) {
+                throw new UnsupportedOperationException(method);
+            }
+            List<?> keys = (List<?>) args[4];
+            Object[] values = (Object[]) args[5];
+            long sequence = counters.computeIfAbsent((String) keys.get(0), key -> new AtomicLong()).incrementAndGet();
+            byte[] message = ((byte[]) values[1]).clone();
+            int offset = Integer.parseInt(new String((byte[]) values[2], StandardCharsets.UTF_8));
+            for (int i = 7; i >= 0; i--) {
+                message[offset + i] = (byte) (sequence >>> (8 * (7 - i)));
+            }
+            this.xadd((String) keys.get(1), message);
+            return sequence;
+        });
+    }
+
+    private Object stream(String name) {
+        return this.proxy(RStream.class, (method, args) -> switch (method) {
+            case "isExists" -> streams.containsKey(name);
+            case "getInfo" -> {
+                StreamInfo<Object, Object> info = new StreamInfo<>();
+                info.setLastGeneratedId(streams.get(name).lastKey());
+                yield info;
+            }
+            case "read" -> this.read(name, (StreamMultiReadParams) args[0]);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * 读取多个流中 ID 大于读取位置的消息，没有消息时短暂等待后返回空结果
+     */
+    private Map<String, Map<StreamMessageId, Map<byte[], byte[]>>> read(String name, StreamMultiReadParams params) {
+        Map<String, StreamMessageId> readOffsets = new LinkedHashMap<>();
+        readOffsets.put(name, params.getId1());
+        readOffsets.putAll(params.getOffsets());
+
+        Map<String, Map<StreamMessageId, Map<byte[], byte[]>>> result = new LinkedHashMap<>();
+        readOffsets.forEach((streamKey, offset) -> {
+            NavigableMap<StreamMessageId, byte[]> stream = streams.get(streamKey);
+            if (stream == null) {
+                return;
+            }
+            Map<StreamMessageId, Map<byte[], byte[]>> entries = new LinkedHashMap<>();
+            for (Map.Entry<StreamMessageId, byte[]> entry : stream.tailMap(offset, false).entrySet()) {
+                if (entries.size() >= params.getCount()) {
+                    break;
+                }
+                entries.put(entry.getKey(), Map.of("m".getBytes(StandardCharsets.UTF_8), entry.getValue()));
+            }
+            if (!entries.isEmpty()) {
+                result.put(streamKey, entries);
+            }
+        });
+        if (result.isEmpty()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName();
+                };
+            }
+            return handler.handle(method.getName(), args == null ? new Object[0] : args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(String method, Object[] args) throws Throwable;
+    }
+
+}
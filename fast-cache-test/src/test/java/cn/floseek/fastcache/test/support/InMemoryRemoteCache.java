@@ -0,0 +1,90 @@
+package cn.floseek.fastcache.test.support;
+
+import cn.floseek.fastcache.cache.AbstractRemoteCache;
+import cn.floseek.fastcache.config.CacheConfig;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 基于 {@link InMemoryRedis} 的分布式缓存替身
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class InMemoryRemoteCache<K, V> extends AbstractRemoteCache<K, V> {
+
+    private final InMemoryRedis redis;
+
+    public InMemoryRemoteCache(CacheConfig<K, V> config, InMemoryRedis redis) {
+        super(config);
+        this.redis = redis;
+    }
+
+    @Override
+    public V get(K key) {
+        return config.getValueSerializer().deserialize(redis.get(this.getCacheKey(key)));
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> valueMap = new HashMap<>();
+        keys.forEach(key -> {
+            V value = this.get(key);
+            if (Objects.nonNull(value)) {
+                valueMap.put(key, value);
+            }
+        });
+        return valueMap;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        redis.set(this.getCacheKey(key), config.getValueSerializer().serialize(value));
+    }
+
+    /**
+     * 替身不模拟过期
+     */
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        this.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void remove(K key) {
+        redis.delete(this.getCacheKey(key));
+    }
+
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        keys.forEach(this::remove);
+    }
+
+    @Override
+    protected long loadGeneration() {
+        byte[] value = redis.get(this.getGenerationKey());
+        return value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected long incrementGeneration() {
+        return redis.incr(this.getGenerationKey());
+    }
+
+    private String getCacheKey(K key) {
+        return new String(super.buildCacheKey(key), Charset.defaultCharset());
+    }
+
+}
@@ -0,0 +1,67 @@
+package cn.floseek.fastcache.test.support;
+
+import cn.floseek.fastcache.cache.Cache;
+import cn.floseek.fastcache.cache.CacheManager;
+import cn.floseek.fastcache.cache.broadcast.BroadcastManager;
+import cn.floseek.fastcache.cache.builder.RemoteCacheBuilder;
+import cn.floseek.fastcache.cache.tracking.AbstractTrackingManager;
+import cn.floseek.fastcache.cache.tracking.TrackingManager;
+import cn.floseek.fastcache.common.enums.RemoteCacheProvider;
+import cn.floseek.fastcache.config.CacheConfig;
+
+/**
+ * 基于 {@link InMemoryRedis} 的分布式缓存构建器替身
+ *
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author ChenHongwei472
+ */
+public class InMemoryRemoteCacheBuilder<K, V> extends RemoteCacheBuilder<K, V> {
+
+    private final InMemoryRedis redis;
+
+    public InMemoryRemoteCacheBuilder(InMemoryRedis redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Cache<K, V> build(CacheConfig<K, V> config) {
+        return new InMemoryRemoteCache<>(config, redis);
+    }
+
+    @Override
+    public boolean supportBroadcast() {
+        return false;
+    }
+
+    @Override
+    public BroadcastManager createBroadcastManager(CacheManager cacheManager) {
+        return null;
+    }
+
+    @Override
+    public boolean supportTracking() {
+        return true;
+    }
+
+    @Override
+    public TrackingManager createTrackingManager(CacheManager cacheManager) {
+        return new AbstractTrackingManager() {
+
+            @Override
+            protected void enableTracking(String prefix) {
+                redis.track(prefix, this::processInvalidation);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Override
+    public RemoteCacheProvider getProvider() {
+        return RemoteCacheProvider.REDISSON;
+    }
+
+}
@@ -0,0 +1,199 @@
+package cn.floseek.fastcache.test.support;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 只支持失效跟踪的 Redis 服务端替身
+ * <p>
+ * 基于 RESP2 协议应答客户端建立连接、获取客户端 ID、订阅频道和开启失效跟踪的命令，其它命令一律返回 OK；
+ * 失效通知以 RESP2 的订阅消息推送到订阅了 <code>__redis__:invalidate</code> 频道的连接
+ * </p>
+ *
+ * @author ChenHongwei472
+ */
+public class TrackingRedisServer implements AutoCloseable {
+
+    private static final String INVALIDATE_CHANNEL = "__redis__:invalidate";
+
+    private final ServerSocket serverSocket;
+
+    private final AtomicLong clientIdGenerator = new AtomicLong();
+
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+    /**
+     * 订阅了失效频道的连接
+     */
+    private final List<OutputStream> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * 已开启跟踪的缓存键前缀
+     */
+    private final Set<String> trackedPrefixes = ConcurrentHashMap.newKeySet();
+
+    public TrackingRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "tracking-redis-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * 获取服务端地址
+     *
+     * @return Redis 地址
+     */
+    public String getAddress() {
+        return "redis://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    /**
+     * 获取已开启跟踪的缓存键前缀
+     *
+     * @return 缓存键前缀集合
+     */
+    public Set<String> getTrackedPrefixes() {
+        return trackedPrefixes;
+    }
+
+    /**
+     * 向全部订阅连接推送一个键的失效通知
+     *
+     * @param key 失效的 Redis 键
+     */
+    public void invalidate(String key) {
+        StringBuilder message = new StringBuilder("*3\r\n");
+        this.appendBulk(message, "message");
+        this.appendBulk(message, INVALIDATE_CHANNEL);
+        message.append("*1\r\n");
+        this.appendBulk(message, key);
+        for (OutputStream outputStream : subscribers) {
+            this.write(outputStream, message.toString());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sockets.add(socket);
+                Thread handler = new Thread(() -> this.handle(socket), "tracking-redis-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        long clientId = clientIdGenerator.incrementAndGet();
+        try (InputStream inputStream = new BufferedInputStream(socket.getInputStream())) {
+            OutputStream outputStream = socket.getOutputStream();
+            List<String> command;
+            while ((command = this.readCommand(inputStream)) != null) {
+                this.write(outputStream, this.execute(command, clientId, outputStream));
+            }
+        } catch (IOException e) {
+            // 连接关闭
+        }
+    }
+
+    private String execute(List<String> command, long clientId, OutputStream outputStream) {
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        String subcommand = command.size() > 1 ? command.get(1).toUpperCase(Locale.ROOT) : "";
+        if ("PING".equals(name)) {
+            return "+PONG\r\n";
+        }
+        if ("CLIENT".equals(name) && "ID".equals(subcommand)) {
+            return ":" + clientId + "\r\n";
+        }
+        if ("CLIENT".equals(name) && "TRACKING".equals(subcommand)) {
+            int index = command.indexOf("PREFIX");
+            if (index > 0 && index + 1 < command.size()) {
+                trackedPrefixes.add(command.get(index + 1));
+            }
+            return "+OK\r\n";
+        }
+        if ("SUBSCRIBE".equals(name)) {
+            StringBuilder reply = new StringBuilder();
+            for (int i = 1; i < command.size(); i++) {
+                if (INVALIDATE_CHANNEL.equals(command.get(i))) {
+                    subscribers.add(outputStream);
+                }
+                reply.append("*3\r\n");
+                this.appendBulk(reply, "subscribe");
+                this.appendBulk(reply, command.get(i));
+                reply.append(':').append(i).append("\r\n");
+            }
+            return reply.toString();
+        }
+        return "+OK\r\n";
+    }
+
+    private List<String> readCommand(InputStream inputStream) throws IOException {
+        String header = this.readLine(inputStream);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(this.readLine(inputStream).substring(1));
+            byte[] bytes = inputStream.readNBytes(length + 2);
+            command.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private String readLine(InputStream inputStream) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            if (b == '\r') {
+                inputStream.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return null;
+    }
+
+    private void appendBulk(StringBuilder builder, String value) {
+        builder.append('$').append(value.getBytes(StandardCharsets.UTF_8).length).append("\r\n").append(value).append("\r\n");
+    }
+
+    private void write(OutputStream outputStream, String reply) {
+        try {
+            synchronized (outputStream) {
+                outputStream.write(reply.getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            subscribers.remove(outputStream);
+        }
+    }
+
+}